@@ -0,0 +1,122 @@
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build step run by the {@code static-assets} execution in the pom against
+ * the copied static resources (target/classes/static), never against src.
+ * <p>
+ * Every top-level script and stylesheet is copied to
+ * {@code assets/<name>.<hash>.<ext>}, named after the first ten hex digits of
+ * the SHA-256 of its content, so it can be cached for good: a changed file is
+ * a new URL. The HTML pages are rewritten to reference those copies. The
+ * copies and the pages then get a gzip and a brotli variant next to them,
+ * each kept only if it is smaller. The originals stay where they are, so the
+ * page still works when the resources are served straight from src.
+ */
+public class StaticAssets {
+
+    private static final int HASH_LENGTH = 10;
+
+    public static void main(String[] args) throws Exception {
+        Path root = Path.of(args[0]);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        Brotli4jLoader.ensureAvailability();
+
+        Path assets = root.resolve("assets");
+        if (Files.exists(assets)) {
+            try (Stream<Path> stale = Files.walk(assets)) {
+                for (Path path : stale.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+        Files.createDirectories(assets);
+
+        Map<String, String> fingerprinted = new LinkedHashMap<>();
+        List<Path> pages = new ArrayList<>();
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".js") || name.endsWith(".css")) {
+                    byte[] content = Files.readAllBytes(file);
+                    int dot = name.lastIndexOf('.');
+                    String hashed = name.substring(0, dot) + "." + hash(content) + name.substring(dot);
+                    Path copy = assets.resolve(hashed);
+                    Files.write(copy, content);
+                    precompress(copy);
+                    fingerprinted.put(name, "assets/" + hashed);
+                } else if (name.endsWith(".html")) {
+                    pages.add(file);
+                }
+            }
+        }
+
+        for (Path page : pages) {
+            String html = Files.readString(page, StandardCharsets.UTF_8);
+            for (Map.Entry<String, String> asset : fingerprinted.entrySet()) {
+                html = reference(asset.getKey()).matcher(html)
+                        .replaceAll(match -> match.group(1) + Matcher.quoteReplacement(asset.getValue()) + "\"");
+            }
+            Files.writeString(page, html, StandardCharsets.UTF_8);
+            precompress(page);
+        }
+        System.out.printf("static-assets: fingerprinted %s, rewrote %d page(s)%n",
+                fingerprinted.values(), pages.size());
+    }
+
+    /**
+     * Matches {@code src="name"} and {@code href="name"}, and also a reference
+     * an earlier build already rewrote: the resources plugin does not copy a
+     * page again unless its source changed.
+     */
+    private static Pattern reference(String name) {
+        int dot = name.lastIndexOf('.');
+        return Pattern.compile("((?:src|href)=\")(?:\\./)?(?:assets/)?" + Pattern.quote(name.substring(0, dot))
+                + "(?:\\.[0-9a-f]{" + HASH_LENGTH + "})?" + Pattern.quote(name.substring(dot)) + "\"");
+    }
+
+    private static String hash(byte[] content) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+        return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+    }
+
+    private static void precompress(Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            out.write(content);
+        }
+        writeIfSmaller(file, ".gz", gzip.toByteArray(), content.length);
+        writeIfSmaller(file, ".br", Encoder.compress(content, new Encoder.Parameters().setQuality(11)), content.length);
+    }
+
+    private static void writeIfSmaller(Path file, String suffix, byte[] compressed, int original) throws IOException {
+        Path target = file.resolveSibling(file.getFileName() + suffix);
+        if (compressed.length < original) {
+            Files.write(target, compressed);
+        } else {
+            Files.deleteIfExists(target);
+        }
+    }
+}
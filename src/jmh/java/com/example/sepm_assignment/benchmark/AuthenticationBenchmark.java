@@ -0,0 +1,82 @@
+package com.example.sepm_assignment.benchmark;
+
+import com.example.sepm_assignment.config.SecurityConfig;
+import com.example.sepm_assignment.security.CachingAuthenticationProvider;
+import com.example.sepm_assignment.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three ways a request can be authenticated: a full BCrypt check with the
+ * encoder {@link SecurityConfig} configures, a hit in the credential cache of
+ * {@link CachingAuthenticationProvider}, and verifying a bearer token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String USERNAME = "user";
+    private static final String PASSWORD = "userpass";
+
+    private PasswordEncoder passwordEncoder;
+    private String passwordHash;
+    private CachingAuthenticationProvider cachingProvider;
+    private TokenService tokenService;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        SecurityConfig securityConfig = new SecurityConfig();
+        passwordEncoder = securityConfig.passwordEncoder();
+        UserDetailsService userDetailsService = securityConfig.userDetailsService(passwordEncoder);
+        passwordHash = userDetailsService.loadUserByUsername(USERNAME).getPassword();
+
+        cachingProvider = new CachingAuthenticationProvider(userDetailsService, passwordEncoder, 1000,
+                Duration.ofMinutes(5));
+        cachingProvider.authenticate(credentials());
+
+        tokenService = new TokenService(userDetailsService, "", Duration.ofMinutes(15), Duration.ofHours(8),
+                Clock.systemUTC());
+        accessToken = tokenService.issue(userDetailsService.loadUserByUsername(USERNAME)).accessToken();
+    }
+
+    private static Authentication credentials() {
+        return UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD);
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    @Benchmark
+    public Authentication cachedCredentials() {
+        return cachingProvider.authenticate(credentials());
+    }
+
+    @Benchmark
+    public Optional<Authentication> bearerToken() {
+        return tokenService.authenticate(accessToken);
+    }
+}
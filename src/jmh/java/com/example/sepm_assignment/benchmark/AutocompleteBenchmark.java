@@ -0,0 +1,94 @@
+package com.example.sepm_assignment.benchmark;
+
+import com.example.sepm_assignment.search.LivePrefixIndex;
+import com.example.sepm_assignment.search.PrefixIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory type-ahead index behind {@code /api/autocomplete} with
+ * {@code keys} student ids of the {@code S0000001} form. {@code find} looks
+ * up the first seven characters of a random id, which matches up to ten keys;
+ * {@code findWithPendingChanges} does the same while {@value #PENDING}
+ * changes wait in the overlay, just below the point where they are folded
+ * into the base; {@code compact} is that fold. The index size is printed
+ * during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutocompleteBenchmark {
+
+    private static final int PENDING = 1000;
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "1000000"})
+    private int keys;
+
+    private PrefixIndex base;
+    private LivePrefixIndex live;
+    private Map<Long, String> changes;
+    private final Random random = new Random(42);
+
+    @Setup
+    public void setUp() {
+        PrefixIndex.Builder builder = PrefixIndex.builder();
+        for (int i = 1; i <= keys; i++) {
+            builder.add(i, studentId(i));
+        }
+        base = builder.build();
+        System.out.printf("%n%d keys, %d bytes, %.1f bytes per key%n",
+                base.size(), base.memoryBytes(), (double) base.memoryBytes() / base.size());
+
+        changes = new HashMap<>();
+        for (int i = 0; i < PENDING; i++) {
+            long id = 1 + random.nextInt(keys);
+            changes.put(id, i % 2 == 0 ? studentId(keys + 1 + i) : null);
+        }
+        live = new LivePrefixIndex(PENDING + 1);
+        live.rebuild(() -> base);
+        live.apply(changes);
+    }
+
+    private static String studentId(int i) {
+        return String.format("S%07d", i);
+    }
+
+    private String prefix() {
+        return studentId(1 + random.nextInt(keys)).substring(0, 7);
+    }
+
+    @Benchmark
+    public List<PrefixIndex.Entry> find() {
+        return base.find(prefix(), LIMIT);
+    }
+
+    @Benchmark
+    public List<PrefixIndex.Entry> findWithPendingChanges() {
+        return live.find(prefix(), LIMIT);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PrefixIndex compact() {
+        return base.withChanges(changes);
+    }
+}
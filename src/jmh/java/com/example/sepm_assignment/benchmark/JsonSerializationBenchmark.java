@@ -0,0 +1,102 @@
+package com.example.sepm_assignment.benchmark;
+
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.dto.TeacherDto;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the shapes the controllers return: flat student
+ * lists, teacher entity graphs held together by
+ * {@code @JsonManagedReference}/{@code @JsonBackReference}, and the
+ * {@link TeacherDto} read model that replaced them on the teacher endpoints.
+ * {@code rows} is the number of students; every teacher has 100 students and
+ * 10 courses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int STUDENTS_PER_TEACHER = 100;
+    private static final int COURSES_PER_TEACHER = 10;
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    // Same defaults as the ObjectMapper Spring Boot configures for the controllers
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Student> students;
+    private List<Teacher> teachers;
+    private List<TeacherDto> teacherDtos;
+
+    @Setup
+    public void setUp() {
+        students = new ArrayList<>(rows);
+        teachers = new ArrayList<>();
+        teacherDtos = new ArrayList<>();
+        long courseId = 0;
+        for (int t = 0; t * STUDENTS_PER_TEACHER < rows; t++) {
+            Teacher teacher = new Teacher((long) t, "Teacher " + t, "teacher" + t + "@school.com", "CS",
+                    new ArrayList<>(), new ArrayList<>(), 0L, null);
+            List<StudentDto> studentDtos = new ArrayList<>();
+            List<CourseDto> courseDtos = new ArrayList<>();
+            for (int s = t * STUDENTS_PER_TEACHER; s < Math.min(rows, (t + 1) * STUDENTS_PER_TEACHER); s++) {
+                Student student = new Student((long) s, "Student " + s, "student" + s + "@school.com", "S" + s,
+                        teacher, 0L, null);
+                teacher.getStudents().add(student);
+                students.add(student);
+                studentDtos.add(StudentDto.from(student));
+            }
+            for (int c = 0; c < COURSES_PER_TEACHER; c++, courseId++) {
+                Course course = new Course(courseId, "Course " + courseId, "C" + courseId, 3, null, teacher,
+                        0L, null);
+                teacher.getCourses().add(course);
+                courseDtos.add(CourseDto.from(course));
+            }
+            teachers.add(teacher);
+            teacherDtos.add(TeacherDto.from(teacher, studentDtos, courseDtos));
+        }
+    }
+
+    @Benchmark
+    public void studentList() throws IOException {
+        // writeValue closes its target, so each call gets a fresh sink
+        objectMapper.writeValue(OutputStream.nullOutputStream(), students);
+    }
+
+    @Benchmark
+    public void teacherEntityGraph() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), teachers);
+    }
+
+    @Benchmark
+    public void teacherDtoList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), teacherDtos);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.sepm_assignment.benchmark;
+
+import com.example.sepm_assignment.SepmAssignmentApplication;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * The single-row lookups {@code findByStudentId}, {@code findByEmail} and
+ * {@code findByCourseCode} against the H2 database of the {@code test}
+ * profile, with the unique indexes of the {@code V2} migration and, for
+ * comparison, after dropping them. Each invocation looks up a random seeded
+ * row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupIndexBenchmark {
+
+    private static final int TEACHERS = 20_000;
+    private static final int STUDENTS = 100_000;
+    private static final int COURSES = 20_000;
+    private static final List<String> LOOKUP_INDEXES =
+            List.of("ux_teachers_email", "ux_students_student_id", "ux_courses_course_code");
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private TeacherRepository teacherRepository;
+    private StudentRepository studentRepository;
+    private CourseRepository courseRepository;
+    private final Random random = new Random(7);
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SepmAssignmentApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        teacherRepository = context.getBean(TeacherRepository.class);
+        studentRepository = context.getBean(StudentRepository.class);
+        courseRepository = context.getBean(CourseRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        insert(jdbcTemplate, "insert into teachers (id, name, email, department) values (?, ?, ?, ?)", TEACHERS,
+                i -> new Object[]{i + 1L, "Teacher " + i, "teacher" + i + "@bench.com", "Dept " + i % 20});
+        insert(jdbcTemplate, "insert into students (id, name, email, student_id, teacher_id) values (?, ?, ?, ?, ?)",
+                STUDENTS, i -> new Object[]{i + 1L, "Student " + i, "student" + i + "@bench.com", "BENCH-" + i,
+                        1L + i % TEACHERS});
+        insert(jdbcTemplate, "insert into courses (id, title, course_code, credits, teacher_id) values (?, ?, ?, ?, ?)",
+                COURSES, i -> new Object[]{i + 1L, "Course " + i, "BENCH-C-" + i, 3, 1L + i % TEACHERS});
+        if (!indexed) {
+            LOOKUP_INDEXES.forEach(index -> jdbcTemplate.execute("drop index " + index));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, int rows, IntFunction<Object[]> row) {
+        List<Object[]> batch = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            batch.add(row.apply(i));
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    @Benchmark
+    public Optional<Student> studentFindByStudentId() {
+        return studentRepository.findByStudentId("BENCH-" + random.nextInt(STUDENTS));
+    }
+
+    @Benchmark
+    public Optional<Teacher> teacherFindByEmail() {
+        return teacherRepository.findByEmail("teacher" + random.nextInt(TEACHERS) + "@bench.com");
+    }
+
+    @Benchmark
+    public Optional<Course> courseFindByCourseCode() {
+        return courseRepository.findByCourseCode("BENCH-C-" + random.nextInt(COURSES));
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.sepm_assignment.benchmark;
+
+import com.example.sepm_assignment.SepmAssignmentApplication;
+import com.example.sepm_assignment.dto.RegistrationResult.Status;
+import com.example.sepm_assignment.dto.SeatSummary;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.registration.SeatLedger;
+import com.example.sepm_assignment.service.CourseService;
+import com.example.sepm_assignment.service.RegistrationService;
+import com.example.sepm_assignment.service.StudentService;
+import com.example.sepm_assignment.service.TeacherService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A registration rush: {@value #THREADS} threads registering students for
+ * {@code courses} courses of {@value #CAPACITY} seats at once, so every
+ * course has hundreds of registrations in flight. {@code seatCounter} goes
+ * through {@link RegistrationService}, which reserves seats on an in-memory
+ * counter and writes them in batches under one course row lock each;
+ * {@code rowLock} writes every registration in a transaction of its own that
+ * locks the course row, which is what enrolling through the JPA entity with a
+ * pessimistic lock amounts to. Both run against the H2 in-memory database of
+ * the {@code test} profile with fresh courses every iteration.
+ * <p>
+ * After each iteration the fairness of the run is printed: how many students
+ * got a seat although they started registering after somebody else had
+ * already been told the course was full (late admissions, which first come,
+ * first served rules out), whether any course ended up over capacity, and
+ * Jain's index over the registrations each thread completed (1.0 when every
+ * thread got the same share, 1/n when one thread got them all).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(SeatAllocationBenchmark.THREADS)
+@Fork(1)
+public class SeatAllocationBenchmark {
+
+    static final int THREADS = 256;
+    private static final int STUDENTS = 50_000;
+    private static final int CAPACITY = 1_000;
+
+    @Param({"1", "2"})
+    private int courses;
+
+    private ConfigurableApplicationContext context;
+    private RegistrationService registrationService;
+    private CourseService courseService;
+    private TransactionTemplate transactionTemplate;
+    private DataSource dataSource;
+    private Long teacherId;
+    private final List<Long> studentIds = new ArrayList<>();
+
+    private int iteration;
+    private long[] courseIds;
+    private AtomicLong[] firstFullAnswer;
+    private List<Queue<Long>> admittedStarts;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLongArray perThread = new AtomicLongArray(THREADS);
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SepmAssignmentApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        registrationService = context.getBean(RegistrationService.class);
+        courseService = context.getBean(CourseService.class);
+        dataSource = context.getBean(DataSource.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        teacherId = context.getBean(TeacherService.class).save(new Teacher(null, "Registrar", "rush@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>())).getId();
+        StudentService studentService = context.getBean(StudentService.class);
+        for (int from = 0; from < STUDENTS; from += StudentService.MAX_BULK_SIZE) {
+            List<Student> students = new ArrayList<>();
+            for (int n = from; n < from + StudentService.MAX_BULK_SIZE; n++) {
+                students.add(new Student(null, "Student " + n, "rush" + n + "@school.com", "RUSH-" + n, null));
+            }
+            studentIds.addAll(studentService.saveAllWithTeacher(teacherId, students).ids());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openRegistration() {
+        iteration++;
+        courseIds = new long[courses];
+        firstFullAnswer = new AtomicLong[courses];
+        admittedStarts = new ArrayList<>();
+        for (int c = 0; c < courses; c++) {
+            Course course = new Course(null, "Popular " + c, "RUSH-" + iteration + "-" + c, 5, null);
+            course.setCapacity(CAPACITY);
+            courseIds[c] = courseService.saveWithTeacher(teacherId, course).getId();
+            firstFullAnswer[c] = new AtomicLong(Long.MAX_VALUE);
+            admittedStarts.add(new ConcurrentLinkedQueue<>());
+        }
+        next.set(0);
+        for (int t = 0; t < THREADS; t++) {
+            perThread.set(t, 0);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportFairness(BenchmarkParams params) {
+        long admitted = 0;
+        long waitlisted = 0;
+        long late = 0;
+        boolean overbooked = false;
+        for (int c = 0; c < courses; c++) {
+            long full = firstFullAnswer[c].get();
+            late += admittedStarts.get(c).stream().filter(started -> started > full).count();
+            SeatSummary seats = registrationService.seats(courseIds[c]).orElseThrow();
+            admitted += seats.enrolled();
+            waitlisted += seats.waitlisted();
+            overbooked |= seats.enrolled() > CAPACITY;
+        }
+        double sum = 0;
+        double squares = 0;
+        for (int t = 0; t < THREADS; t++) {
+            sum += perThread.get(t);
+            squares += (double) perThread.get(t) * perThread.get(t);
+        }
+        System.out.printf("%n%s: admitted %d, waitlisted %d, late admissions %d, overbooked %b, Jain's index %.3f%n",
+                params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.') + 1),
+                admitted, waitlisted, late, overbooked, sum * sum / (THREADS * squares));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Status seatCounter(ThreadParams thread) {
+        int n = next.getAndIncrement();
+        long started = System.nanoTime();
+        Status status = registrationService.register(courseIds[n % courses], student(n)).join();
+        record(n, started, status, thread);
+        return status;
+    }
+
+    @Benchmark
+    public Status rowLock(ThreadParams thread) {
+        int n = next.getAndIncrement();
+        long courseId = courseIds[n % courses];
+        List<SeatLedger.Registration> registration = List.of(new SeatLedger.Registration(student(n), true));
+        long started = System.nanoTime();
+        Status status = transactionTemplate.execute(tx -> {
+            try {
+                return SeatLedger.allocate(DataSourceUtils.getConnection(dataSource), courseId, registration)
+                        .orElseThrow().statuses().get(0);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        });
+        record(n, started, status, thread);
+        return status;
+    }
+
+    private long student(int n) {
+        return studentIds.get((n / courses) % STUDENTS);
+    }
+
+    private void record(int n, long started, Status status, ThreadParams thread) {
+        int course = n % courses;
+        if (status == Status.ENROLLED) {
+            admittedStarts.get(course).add(started);
+        } else if (status == Status.WAITLISTED) {
+            firstFullAnswer[course].accumulateAndGet(System.nanoTime(), Math::min);
+        }
+        perThread.incrementAndGet(thread.getThreadIndex());
+    }
+}
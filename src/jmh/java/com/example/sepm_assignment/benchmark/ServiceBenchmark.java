@@ -0,0 +1,155 @@
+package com.example.sepm_assignment.benchmark;
+
+import com.example.sepm_assignment.SepmAssignmentApplication;
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.KeysetPage;
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.service.CourseService;
+import com.example.sepm_assignment.service.EntityCacheEvictor;
+import com.example.sepm_assignment.service.StudentService;
+import com.example.sepm_assignment.service.TeacherService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StudentService} and {@link CourseService} reads against the H2
+ * in-memory database of the {@code test} profile, with the caches and the
+ * Flyway schema the application runs with. Each invocation moves on to the
+ * next seeded row. The uncached variants evict the Spring cache entry first;
+ * course loads can still be served by the Hibernate second-level cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int TEACHERS = 100;
+    private static final int STUDENTS_PER_TEACHER = 100;
+    private static final int COURSES_PER_TEACHER = 10;
+    private static final int PAGE_SIZE = 50;
+    // well below spring.cache.caffeine.spec's maximumSize so cached lookups stay hits
+    private static final int HOT_IDS = 500;
+
+    private ConfigurableApplicationContext context;
+    private StudentService studentService;
+    private CourseService courseService;
+    private Cache studentCache;
+    private Cache courseCache;
+
+    private final List<Long> teacherIds = new ArrayList<>();
+    private final List<Long> studentIds = new ArrayList<>();
+    private final List<Long> courseIds = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SepmAssignmentApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        studentService = context.getBean(StudentService.class);
+        courseService = context.getBean(CourseService.class);
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        studentCache = cacheManager.getCache(EntityCacheEvictor.STUDENTS);
+        courseCache = cacheManager.getCache(EntityCacheEvictor.COURSES);
+
+        TeacherService teacherService = context.getBean(TeacherService.class);
+        for (int t = 0; t < TEACHERS; t++) {
+            Long teacherId = teacherService.save(new Teacher(null, "Teacher " + t, "bench" + t + "@school.com", "CS",
+                    new ArrayList<>(), new ArrayList<>())).getId();
+            teacherIds.add(teacherId);
+
+            List<Student> students = new ArrayList<>(STUDENTS_PER_TEACHER);
+            for (int s = 0; s < STUDENTS_PER_TEACHER; s++) {
+                int n = t * STUDENTS_PER_TEACHER + s;
+                students.add(new Student(null, "Student " + n, "bench" + n + "@school.com", "BENCH-" + n, null));
+            }
+            studentIds.addAll(studentService.saveAllWithTeacher(teacherId, students).ids());
+
+            for (int c = 0; c < COURSES_PER_TEACHER; c++) {
+                int n = t * COURSES_PER_TEACHER + c;
+                courseIds.add(courseService.saveWithTeacher(teacherId,
+                        new Course(null, "Course " + n, "BENCH-C-" + n, 3, null)).getId());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private Long nextId(List<Long> ids) {
+        next = (next + 1) % ids.size();
+        return ids.get(next);
+    }
+
+    // ─── students ────────────────────────────────────────────────────────────
+
+    @Benchmark
+    public Optional<StudentDto> studentFindByIdCached() {
+        return studentService.findById(nextId(studentIds.subList(0, HOT_IDS)));
+    }
+
+    @Benchmark
+    public Optional<StudentDto> studentFindByIdUncached() {
+        Long id = nextId(studentIds);
+        studentCache.evict(id);
+        return studentService.findById(id);
+    }
+
+    @Benchmark
+    public List<Student> studentFindByTeacherId() {
+        return studentService.findByTeacherId(nextId(teacherIds));
+    }
+
+    @Benchmark
+    public KeysetPage<Student> studentFindPage() {
+        return studentService.findPage(nextId(studentIds) - 1, PAGE_SIZE);
+    }
+
+    // ─── courses ─────────────────────────────────────────────────────────────
+
+    @Benchmark
+    public Optional<CourseDto> courseFindByIdCached() {
+        return courseService.findById(nextId(courseIds.subList(0, HOT_IDS)));
+    }
+
+    @Benchmark
+    public Optional<CourseDto> courseFindByIdUncached() {
+        Long id = nextId(courseIds);
+        courseCache.evict(id);
+        return courseService.findById(id);
+    }
+
+    @Benchmark
+    public List<Course> courseFindByTeacherId() {
+        return courseService.findByTeacherId(nextId(teacherIds));
+    }
+}
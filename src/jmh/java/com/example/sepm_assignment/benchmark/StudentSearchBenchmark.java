@@ -0,0 +1,168 @@
+package com.example.sepm_assignment.benchmark;
+
+import com.example.sepm_assignment.SepmAssignmentApplication;
+import com.example.sepm_assignment.dto.StudentSearchHit;
+import com.example.sepm_assignment.service.StudentSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StudentSearchService} on PostgreSQL with a million students, served
+ * by the {@code pg_trgm} GIN index of the {@code V4} migration. H2 has no
+ * trigram index, so unlike the other benchmarks this one needs a PostgreSQL
+ * server, such as the one in {@code compose.yaml}. The server is read from
+ * {@code BENCHMARK_POSTGRES_URL} (default {@code jdbc:postgresql://localhost:5432/})
+ * and the credentials from {@code SPRING_DATASOURCE_USERNAME} and
+ * {@code SPRING_DATASOURCE_PASSWORD}. A scratch database {@value #DATABASE}
+ * is created there, migrated, filled with one set-based insert, and dropped
+ * after the run.
+ * <p>
+ * Students get one of 32 first names and one of 4096 generated surnames, so
+ * a full name is shared by about 8 students and a surname by about 250. Each
+ * invocation searches for the next of {@value #QUERIES} students sampled from
+ * the table, by full name, by full name with two letters of the surname
+ * swapped, by the name part of the email, or by student id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StudentSearchBenchmark {
+
+    private static final String DATABASE = "student_search_benchmark";
+    private static final int TEACHERS = 1000;
+    private static final int QUERIES = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String SEED_TEACHERS = "insert into teachers (id, name, email, department)"
+            + " select t, 'Teacher ' || t, 'teacher' || t || '@school.com', 'Department ' || (t % 20)"
+            + " from generate_series(1, " + TEACHERS + ") t";
+
+    @Param({"1000000"})
+    private int students;
+
+    @Param({"name", "typo", "email", "studentId"})
+    private String query;
+
+    private String serverUrl;
+    private String username;
+    private String password;
+    private ConfigurableApplicationContext context;
+    private StudentSearchService searchService;
+    private final List<String> queries = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() throws SQLException {
+        serverUrl = Objects.requireNonNullElse(System.getenv("BENCHMARK_POSTGRES_URL"),
+                "jdbc:postgresql://localhost:5432/");
+        username = Objects.requireNonNullElse(System.getenv("SPRING_DATASOURCE_USERNAME"), "postgres");
+        password = Objects.requireNonNullElse(System.getenv("SPRING_DATASOURCE_PASSWORD"), "kindaodd");
+        onServer("drop database if exists " + DATABASE);
+        onServer("create database " + DATABASE);
+
+        context = new SpringApplicationBuilder(SepmAssignmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                // arguments, because application.properties would override default properties
+                .run("--spring.jpa.show-sql=false",
+                        "--spring.docker.compose.enabled=false",
+                        "--spring.datasource.url=" + serverUrl + DATABASE,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password);
+        searchService = context.getBean(StudentSearchService.class);
+
+        try (Connection connection = context.getBean(DataSource.class).getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(SEED_TEACHERS);
+            statement.execute(seedStudents(students));
+            statement.execute("vacuum analyze students");
+            try (ResultSet rows = statement.executeQuery("select name, email, student_id from students"
+                    + " order by random() limit " + QUERIES)) {
+                while (rows.next()) {
+                    queries.add(queryFor(rows.getString(1), rows.getString(2), rows.getString(3)));
+                }
+            }
+        }
+    }
+
+    private String queryFor(String name, String email, String studentId) {
+        return switch (query) {
+            case "name" -> name;
+            case "typo" -> {
+                char[] chars = name.toCharArray();
+                int i = name.indexOf(' ') + 2;
+                char swapped = chars[i];
+                chars[i] = chars[i + 1];
+                chars[i + 1] = swapped;
+                yield new String(chars);
+            }
+            case "email" -> email.substring(0, email.indexOf('@')).replaceAll("[0-9]+$", "");
+            case "studentId" -> studentId;
+            default -> throw new IllegalArgumentException("Unknown query kind " + query);
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        context.close();
+        onServer("drop database if exists " + DATABASE);
+    }
+
+    private void onServer(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(serverUrl + "postgres", username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String seedStudents(int count) {
+        return "insert into students (id, name, email, student_id, teacher_id)"
+                + " select i, first_name || ' ' || surname,"
+                + " lower(first_name) || '.' || lower(surname) || i || '@school.com',"
+                + " 'S' || lpad(i::text, 7, '0'), 1 + i % " + TEACHERS
+                + " from (select i,"
+                + " (array['Alice','Bruno','Chiara','Daniel','Elena','Farid','Grace','Hiro','Ines','Jonas','Kavya',"
+                + "'Liam','Maya','Nikolai','Olga','Pedro','Quinn','Rosa','Samir','Tara','Umar','Vera','Wei','Ximena',"
+                + "'Yusuf','Zoe','Amara','Bjorn','Carmen','Dmitri','Esther','Felix'])[1 + i % 32] as first_name,"
+                + " initcap((array['ka','mo','ri','ta','lu','be','no','sa','vi','de','go','ha','ji','pe','zu','fa'])"
+                + "[1 + (i / 32) % 16]"
+                + " || (array['ran','tel','mis','dor','vak','lin','sor','pem','gut','ber','nal','tox','wen','rik','hum',"
+                + "'caz'])[1 + (i / 512) % 16]"
+                + " || (array['a','o','ez','ian','son','berg','ov','ski','ard','ini','ley','ton','man','ic','us','el'])"
+                + "[1 + (i / 8192) % 16]) as surname"
+                + " from generate_series(1, " + count + ") i) n";
+    }
+
+    @Benchmark
+    public List<StudentSearchHit> search() {
+        next = (next + 1) % queries.size();
+        return searchService.search(queries.get(next), 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sepm_assignment.loadtest;
+
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.example.sepm_assignment.service.StudentService;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ids of the seeded rows. Student {@code n} (the n-th entry of
+ * {@code studentIds}) has the email {@link #studentEmail(int)} and the student
+ * id {@link #studentNumber(int)}, so writes can send complete bodies without
+ * reading the row first.
+ */
+record Dataset(long[] teacherIds, long[] studentIds, long[] courseIds) {
+
+    static String studentEmail(int n) {
+        return "load" + n + "@school.com";
+    }
+
+    static String studentNumber(int n) {
+        return "LOAD-" + n;
+    }
+
+    /**
+     * Inserts the configured volume through the application's own services
+     * and repositories: teachers and courses with one {@code saveAll} each,
+     * students per teacher through the batched bulk insert.
+     */
+    static Dataset seed(ApplicationContext context, LoadTestProperties properties) {
+        TeacherRepository teacherRepository = context.getBean(TeacherRepository.class);
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        StudentService studentService = context.getBean(StudentService.class);
+
+        List<Teacher> teachers = new ArrayList<>(properties.teachers());
+        for (int t = 0; t < properties.teachers(); t++) {
+            teachers.add(new Teacher(null, "Teacher " + t, "load-teacher" + t + "@school.com", "Dept " + t % 10,
+                    new ArrayList<>(), new ArrayList<>()));
+        }
+        teachers = teacherRepository.saveAll(teachers);
+
+        List<Long> studentIds = new ArrayList<>(properties.teachers() * properties.studentsPerTeacher());
+        List<Course> courses = new ArrayList<>(properties.teachers() * properties.coursesPerTeacher());
+        for (int t = 0; t < teachers.size(); t++) {
+            Teacher teacher = teachers.get(t);
+            List<Student> students = new ArrayList<>(properties.studentsPerTeacher());
+            for (int s = 0; s < properties.studentsPerTeacher(); s++) {
+                int n = t * properties.studentsPerTeacher() + s;
+                students.add(new Student(null, "Student " + n, studentEmail(n), studentNumber(n), null));
+            }
+            studentIds.addAll(studentService.saveAllWithTeacher(teacher.getId(), students).ids());
+            for (int c = 0; c < properties.coursesPerTeacher(); c++) {
+                int n = t * properties.coursesPerTeacher() + c;
+                courses.add(new Course(null, "Course " + n, "LOAD-C-" + n, 1 + n % 5, teacher));
+            }
+        }
+        courses = courseRepository.saveAll(courses);
+
+        return new Dataset(
+                teachers.stream().mapToLong(Teacher::getId).toArray(),
+                studentIds.stream().mapToLong(Long::longValue).toArray(),
+                courses.stream().mapToLong(Course::getId).toArray());
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.sepm_assignment.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the {@link Workload} at the application and records per-operation
+ * latencies in microseconds.
+ * <p>
+ * In the open model request {@code i} is due at {@code start + i / rate} and
+ * is sent asynchronously at that time whether or not earlier requests have
+ * completed; its latency is measured from when it was due, not from when it
+ * actually went out, so a stalled server shows up in the tail instead of
+ * silently lowering the request rate (coordinated omission). The closed
+ * model measures service times of a fixed number of clients and is mainly
+ * useful to find the saturation throughput.
+ */
+final class LoadGenerator implements AutoCloseable {
+
+    private final Workload workload;
+    private final ExecutorService clientExecutor = Executors.newCachedThreadPool(daemonThreads("load-client"));
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(clientExecutor)
+            .build();
+
+    LoadGenerator(Workload workload) {
+        this.workload = workload;
+    }
+
+    static final class OperationStats {
+
+        // auto-resizing, three significant digits
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long startNanos, boolean ok) {
+            latencies.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        Histogram latencies() {
+            return latencies;
+        }
+
+        long errors() {
+            return errors.sum();
+        }
+    }
+
+    record Result(Map<String, OperationStats> operations, Duration elapsed) {
+    }
+
+    /**
+     * Sends every operation of the mix once and fails if one is rejected.
+     * This also fills the credential cache, so the warm-up does not start
+     * with a burst of concurrent BCrypt checks for the same two accounts.
+     */
+    void smokeTest() throws IOException, InterruptedException {
+        Random random = new Random();
+        for (Workload.Operation operation : workload.operations()) {
+            HttpRequest request = operation.request().apply(random);
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (!succeeded(status)) {
+                throw new IllegalStateException(operation.name() + " answered " + status + " to "
+                        + request.method() + " " + request.uri());
+            }
+        }
+    }
+
+    Result runOpen(double rate, Duration duration) throws InterruptedException {
+        Map<String, OperationStats> stats = newStats();
+        Random random = new Random();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long due = start; due < end; due += intervalNanos) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Workload.Operation operation = workload.next(random);
+            OperationStats operationStats = stats.get(operation.name());
+            long dueNanos = due;
+            inFlight.incrementAndGet();
+            client.sendAsync(operation.request().apply(random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        operationStats.record(dueNanos, error == null && succeeded(response.statusCode()));
+                        inFlight.decrementAndGet();
+                    });
+        }
+        // every request has a timeout, so this ends at the latest one timeout after the last send
+        while (inFlight.get() > 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return new Result(stats, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    Result runClosed(int concurrency, Duration duration) throws InterruptedException {
+        Map<String, OperationStats> stats = newStats();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency, daemonThreads("load-closed"));
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int c = 0; c < concurrency; c++) {
+                futures.add(clients.submit(() -> {
+                    Random random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < end) {
+                        Workload.Operation operation = workload.next(random);
+                        HttpRequest request = operation.request().apply(random);
+                        long sent = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = succeeded(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        stats.get(operation.name()).record(sent, ok);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            clients.shutdownNow();
+        }
+        return new Result(stats, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+
+    private Map<String, OperationStats> newStats() {
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        workload.operations().forEach(operation -> stats.put(operation.name(), new OperationStats()));
+        return stats;
+    }
+
+    private static boolean succeeded(int status) {
+        return status < 400;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.sepm_assignment.loadtest;
+
+import com.example.sepm_assignment.SepmAssignmentApplication;
+import com.example.sepm_assignment.dto.TokenRequest;
+import com.example.sepm_assignment.dto.TokenResponse;
+import com.example.sepm_assignment.loadtest.LoadTestProperties.Auth;
+import com.example.sepm_assignment.loadtest.LoadTestProperties.Threads;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Boots the application on the H2 {@code test} profile with a random port,
+ * seeds a {@link Dataset}, warms up and then drives the {@link Workload} for
+ * the configured duration. Prints throughput and latency percentiles per
+ * operation and writes each operation's full percentile distribution as an
+ * {@code .hgrm} file (values in milliseconds) to the report directory.
+ * <p>
+ * With several {@code loadtest.threads} or {@code loadtest.auth} modes it
+ * repeats the whole run per combination and finishes with a side-by-side
+ * table.
+ * <p>
+ * Run with {@code ./mvnw -Ploadtest verify}; settings are the
+ * {@code loadtest.*} properties of {@link LoadTestProperties}.
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // default properties rank below application.properties, which pins the port
+        System.getProperties().putIfAbsent("server.port", "0");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        LoadTestProperties properties = Binder.get(environment).bindOrCreate("loadtest", LoadTestProperties.class);
+        if (properties.threads().contains(Threads.VIRTUAL) && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, this is Java " + Runtime.version().feature());
+        }
+
+        boolean single = properties.threads().size() == 1 && properties.auth().size() == 1;
+        Map<String, LoadGenerator.Result> results = new LinkedHashMap<>();
+        for (Threads threads : properties.threads()) {
+            for (Auth auth : properties.auth()) {
+                String name = runName(threads, auth, properties);
+                Path reportDirectory = single ? properties.reportDirectory() : properties.reportDirectory().resolve(name);
+                results.put(name, run(threads, auth, name, properties, reportDirectory, args));
+            }
+        }
+        if (results.size() > 1) {
+            compare(results, System.out);
+        }
+    }
+
+    private static LoadGenerator.Result run(Threads threads, Auth auth, String name, LoadTestProperties properties,
+                                            Path reportDirectory, String[] args) throws Exception {
+        List<String> runArgs = new ArrayList<>(List.of(args));
+        // a database of its own per run, so every run seeds the same dataset
+        runArgs.add("--spring.datasource.url=jdbc:h2:mem:loadtest-" + name
+                + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL");
+        if (auth == Auth.BASIC_UNCACHED) {
+            runArgs.add("--app.security.credential-cache.maximum-size=0");
+        }
+        if (auth == Auth.BEARER) {
+            // the tokens are issued once, so they have to outlive the run
+            runArgs.add("--app.security.token.access-ttl="
+                    + properties.warmup().plus(properties.duration()).plusMinutes(5));
+        }
+        String[] profiles = threads == Threads.VIRTUAL ? new String[] {"test", "virtual-threads"} : new String[] {"test"};
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SepmAssignmentApplication.class)
+                .profiles(profiles)
+                .properties("logging.level.root=WARN")
+                .run(runArgs.toArray(String[]::new))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("%n=== %s threads, %s ===%n", name(threads), name(auth));
+
+            long seedStart = System.nanoTime();
+            Dataset dataset = Dataset.seed(context, properties);
+            System.out.printf("Seeded %d teachers, %d students and %d courses in %d ms%n",
+                    dataset.teacherIds().length, dataset.studentIds().length, dataset.courseIds().length,
+                    (System.nanoTime() - seedStart) / 1_000_000);
+
+            URI baseUri = URI.create("http://localhost:" + port);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            Workload workload = new Workload(baseUri, dataset, properties.mix(),
+                    authorization(auth, baseUri, objectMapper, "user", "userpass"),
+                    authorization(auth, baseUri, objectMapper, "admin", "adminpass"));
+            try (LoadGenerator generator = new LoadGenerator(workload)) {
+                generator.smokeTest();
+                System.out.printf("Warming up for %ds, then measuring for %ds (%s)%n",
+                        properties.warmup().toSeconds(), properties.duration().toSeconds(), describe(properties));
+                if (!properties.warmup().isZero()) {
+                    run(generator, properties, properties.warmup());
+                }
+                LoadGenerator.Result result = run(generator, properties, properties.duration());
+                report(result, System.out);
+                writeHistograms(result, reportDirectory);
+                return result;
+            }
+        }
+    }
+
+    private static String authorization(Auth auth, URI baseUri, ObjectMapper objectMapper, String username,
+                                        String password) throws IOException, InterruptedException {
+        if (auth != Auth.BEARER) {
+            return Workload.basic(username, password);
+        }
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/auth/token"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        objectMapper.writeValueAsString(new TokenRequest(username, password))))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("/api/auth/token answered " + response.statusCode() + " for " + username);
+        }
+        return "Bearer " + objectMapper.readValue(response.body(), TokenResponse.class).accessToken();
+    }
+
+    private static LoadGenerator.Result run(LoadGenerator generator, LoadTestProperties properties,
+                                            Duration duration) throws InterruptedException {
+        return switch (properties.model()) {
+            case OPEN -> generator.runOpen(properties.rate(), duration);
+            case CLOSED -> generator.runClosed(properties.concurrency(), duration);
+        };
+    }
+
+    private static String describe(LoadTestProperties properties) {
+        return switch (properties.model()) {
+            case OPEN -> "open model, " + properties.rate() + " requests/s";
+            case CLOSED -> "closed model, " + properties.concurrency() + " clients";
+        };
+    }
+
+    private static void report(LoadGenerator.Result result, PrintStream out) {
+        double seconds = seconds(result);
+
+        out.printf("%n%-20s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, LoadGenerator.OperationStats> entry : result.operations().entrySet()) {
+            row(out, entry.getKey(), entry.getValue().latencies(), entry.getValue().errors(), seconds);
+        }
+        row(out, "all", allLatencies(result), allErrors(result), seconds);
+    }
+
+    /**
+     * One line per operation with throughput, errors and p50/p99 of every
+     * run next to each other.
+     */
+    private static void compare(Map<String, LoadGenerator.Result> results, PrintStream out) {
+        int width = results.keySet().stream().mapToInt(String::length).max().orElse(0);
+        out.printf("%n%-20s", "operation");
+        for (String name : results.keySet()) {
+            out.printf(" | %-" + width + "s %8s %6s %8s %8s", name, "req/s", "errors", "p50 ms", "p99 ms");
+        }
+        out.println();
+
+        LoadGenerator.Result first = results.values().iterator().next();
+        for (String operation : first.operations().keySet()) {
+            out.printf("%-20s", operation);
+            for (LoadGenerator.Result result : results.values()) {
+                LoadGenerator.OperationStats stats = result.operations().get(operation);
+                compareCells(out, width, stats.latencies(), stats.errors(), seconds(result));
+            }
+            out.println();
+        }
+        out.printf("%-20s", "all");
+        for (LoadGenerator.Result result : results.values()) {
+            compareCells(out, width, allLatencies(result), allErrors(result), seconds(result));
+        }
+        out.println();
+    }
+
+    private static void compareCells(PrintStream out, int width, Histogram latencies, long errors, double seconds) {
+        out.printf(" | %-" + width + "s %8.1f %6d %8.2f %8.2f", "", latencies.getTotalCount() / seconds, errors,
+                millis(latencies, 50), millis(latencies, 99));
+    }
+
+    private static Histogram allLatencies(LoadGenerator.Result result) {
+        Histogram all = new Histogram(3);
+        result.operations().values().forEach(stats -> all.add(stats.latencies()));
+        return all;
+    }
+
+    private static long allErrors(LoadGenerator.Result result) {
+        return result.operations().values().stream().mapToLong(LoadGenerator.OperationStats::errors).sum();
+    }
+
+    private static double seconds(LoadGenerator.Result result) {
+        return result.elapsed().toNanos() / 1e9;
+    }
+
+    private static String name(Threads threads) {
+        return threads.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String name(Auth auth) {
+        return auth.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    // names only the modes that vary between the runs
+    private static String runName(Threads threads, Auth auth, LoadTestProperties properties) {
+        if (properties.auth().size() == 1) {
+            return name(threads);
+        }
+        return properties.threads().size() == 1 ? name(auth) : name(threads) + "-" + name(auth);
+    }
+
+    private static void row(PrintStream out, String name, Histogram latencies, long errors, double seconds) {
+        out.printf("%-20s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, latencies.getTotalCount(), errors, latencies.getTotalCount() / seconds,
+                millis(latencies, 50), millis(latencies, 99), millis(latencies, 99.9),
+                latencies.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void writeHistograms(LoadGenerator.Result result, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, LoadGenerator.OperationStats> entry : result.operations().entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")))) {
+                // recorded in microseconds, reported in milliseconds
+                entry.getValue().latencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("\nPercentile distributions written to " + directory.toAbsolutePath());
+    }
+}
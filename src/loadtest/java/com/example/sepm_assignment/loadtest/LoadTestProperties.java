@@ -0,0 +1,63 @@
+package com.example.sepm_assignment.loadtest;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of a load-test run, bound from {@code loadtest.*} properties, e.g.
+ * {@code -Dloadtest.rate=500 -Dloadtest.mix.student-by-id=80}.
+ *
+ * @param model            {@code open} sends at a fixed arrival rate regardless of
+ *                         response times; {@code closed} runs {@code concurrency}
+ *                         clients that each wait for their previous response
+ * @param rate             requests per second in the open model
+ * @param concurrency      number of clients in the closed model
+ * @param mix              relative weights by operation name, overriding
+ *                         {@link Workload#DEFAULT_MIX}; a weight of 0 disables an operation
+ * @param reportDirectory  where the per-operation {@code .hgrm} percentile files go
+ * @param threads          request thread modes to run one after another, each on a
+ *                         freshly booted and seeded application, e.g.
+ *                         {@code platform,virtual} for a side-by-side comparison;
+ *                         {@code virtual} needs Java 21
+ * @param auth             how the requests authenticate, one run per mode like
+ *                         {@code threads}: {@code basic} sends HTTP Basic with the
+ *                         credential cache on, {@code basic-uncached} sends it with
+ *                         the cache off, so every request pays for a BCrypt check,
+ *                         and {@code bearer} sends access tokens issued by
+ *                         {@code /api/auth/token} before the run
+ */
+public record LoadTestProperties(@DefaultValue("200") int teachers,
+                                 @DefaultValue("50") int studentsPerTeacher,
+                                 @DefaultValue("5") int coursesPerTeacher,
+                                 @DefaultValue("open") Model model,
+                                 @DefaultValue("200") double rate,
+                                 @DefaultValue("16") int concurrency,
+                                 @DefaultValue("10s") Duration warmup,
+                                 @DefaultValue("30s") Duration duration,
+                                 Map<String, Integer> mix,
+                                 @DefaultValue("target/loadtest") Path reportDirectory,
+                                 @DefaultValue("platform") List<Threads> threads,
+                                 @DefaultValue("basic") List<Auth> auth) {
+
+    public enum Model {
+        OPEN, CLOSED
+    }
+
+    public enum Threads {
+        PLATFORM, VIRTUAL
+    }
+
+    public enum Auth {
+        BASIC, BASIC_UNCACHED, BEARER
+    }
+
+    public LoadTestProperties {
+        mix = mix == null ? Map.of() : Map.copyOf(mix);
+        threads = List.copyOf(threads);
+        auth = List.copyOf(auth);
+    }
+}
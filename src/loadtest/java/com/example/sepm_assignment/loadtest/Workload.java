@@ -0,0 +1,153 @@
+package com.example.sepm_assignment.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * The weighted request mix. Reads go out with the {@code user} account and
+ * writes with {@code admin}, each with the {@code Authorization} header it is
+ * given, HTTP Basic or a bearer token as configured in {@code SecurityConfig};
+ * the ids are drawn uniformly from the seeded {@link Dataset}.
+ */
+final class Workload {
+
+    static final Map<String, Integer> DEFAULT_MIX = defaultMix();
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int PAGE_SIZE = 50;
+    // teacher pages embed every student and course of each teacher
+    private static final int TEACHER_PAGE_SIZE = 10;
+
+    record Operation(String name, Function<Random, HttpRequest> request) {
+    }
+
+    private final URI baseUri;
+    private final Dataset dataset;
+    private final String userAuthorization;
+    private final String adminAuthorization;
+    private final AtomicLong createdCourses = new AtomicLong();
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final int[] cumulativeWeights;
+
+    Workload(URI baseUri, Dataset dataset, Map<String, Integer> mixOverrides, String userAuthorization,
+             String adminAuthorization) {
+        this.baseUri = baseUri;
+        this.dataset = dataset;
+        this.userAuthorization = userAuthorization;
+        this.adminAuthorization = adminAuthorization;
+
+        Map<String, Function<Random, HttpRequest>> available = new LinkedHashMap<>();
+        available.put("student-by-id", r -> get("/api/students/" + pick(r, dataset.studentIds())));
+        available.put("students-by-teacher", r -> get("/api/students/teacher/" + pick(r, dataset.teacherIds())));
+        available.put("students-page", r -> get("/api/students?limit=" + PAGE_SIZE
+                + "&after=" + (pick(r, dataset.studentIds()) - 1)));
+        available.put("teacher-by-id", r -> get("/api/teachers/" + pick(r, dataset.teacherIds())));
+        available.put("teachers-page", r -> get("/api/teachers?limit=" + TEACHER_PAGE_SIZE
+                + "&after=" + (pick(r, dataset.teacherIds()) - 1)));
+        available.put("course-by-id", r -> get("/api/courses/" + pick(r, dataset.courseIds())));
+        available.put("courses-by-teacher", r -> get("/api/courses/teacher/" + pick(r, dataset.teacherIds())));
+        available.put("student-update", this::updateStudent);
+        available.put("course-create", this::createCourse);
+
+        for (String name : mixOverrides.keySet()) {
+            if (!available.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown operation " + name + ", expected one of " + available.keySet());
+            }
+        }
+        Map<String, Integer> mix = new LinkedHashMap<>(DEFAULT_MIX);
+        mix.putAll(mixOverrides);
+
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                operations.add(new Operation(entry.getKey(), available.get(entry.getKey())));
+                cumulative.add(total);
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight");
+        }
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    Operation next(Random random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private HttpRequest get(String path) {
+        return request(path, userAuthorization).GET().build();
+    }
+
+    private HttpRequest updateStudent(Random random) {
+        int n = random.nextInt(dataset.studentIds().length);
+        String body = "{\"name\":\"Student " + n + " (" + random.nextInt(1000) + ")\",\"email\":\""
+                + Dataset.studentEmail(n) + "\",\"studentId\":\"" + Dataset.studentNumber(n) + "\"}";
+        return request("/api/students/" + dataset.studentIds()[n], adminAuthorization)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest createCourse(Random random) {
+        long n = createdCourses.incrementAndGet();
+        String body = "{\"title\":\"New course " + n + "\",\"courseCode\":\"LOAD-NEW-" + n + "\",\"credits\":3}";
+        return request("/api/courses/teacher/" + pick(random, dataset.teacherIds()), adminAuthorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String authorization) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Authorization", authorization);
+    }
+
+    private static long pick(Random random, long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Integer> defaultMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        mix.put("student-by-id", 25);
+        mix.put("students-by-teacher", 10);
+        mix.put("students-page", 10);
+        mix.put("teacher-by-id", 15);
+        mix.put("teachers-page", 5);
+        mix.put("course-by-id", 10);
+        mix.put("courses-by-teacher", 10);
+        mix.put("student-update", 12);
+        mix.put("course-create", 3);
+        return Collections.unmodifiableMap(mix);
+    }
+}
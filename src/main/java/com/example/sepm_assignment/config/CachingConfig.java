@@ -0,0 +1,68 @@
+package com.example.sepm_assignment.config;
+
+import com.example.sepm_assignment.metrics.HibernateRequestStatistics;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Enables the service-level {@code @Cacheable} caches. The caches themselves
+ * are Caffeine caches configured through {@code spring.cache.*}.
+ * <p>
+ * The caches run in async mode. A synchronous Caffeine cache runs a
+ * {@code sync = true} load inside the map's compute, holding a lock that
+ * writers need to evict the key while the load waits for a pooled
+ * connection; under load, transactions holding the remaining connections
+ * then block on that lock until the pool times out. In async mode a miss
+ * only installs a future and the load runs on a separate thread, so
+ * concurrent misses on a key still share one load and evicting an in-flight
+ * key drops the future instead of waiting for it. Loads carry the caller's
+ * {@link HibernateRequestStatistics} scope so their queries still count
+ * toward the request that missed. With virtual threads enabled the loads
+ * get a virtual thread each, as requests are then no longer bounded by
+ * Tomcat's pool and neither should the threads waiting for a connection be.
+ */
+@Configuration
+@EnableCaching
+public class CachingConfig {
+
+    // Daemon threads without a bound: each load has a caller blocked on it, so request threads cap the count
+    private static final ExecutorService LOAD_EXECUTOR = Executors.newCachedThreadPool(loadThreadFactory());
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> asyncCaffeineCaches(CacheProperties cacheProperties,
+                                                                           Environment environment) {
+        Executor loadExecutor = Threading.VIRTUAL.isActive(environment) ? virtualLoadExecutor() : LOAD_EXECUTOR;
+        return cacheManager -> {
+            String spec = cacheProperties.getCaffeine().getSpec();
+            Caffeine<Object, Object> builder = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+            cacheManager.setCaffeine(builder.executor(task -> loadExecutor.execute(HibernateRequestStatistics.propagate(task))));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+
+    private static Executor virtualLoadExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("cache-load-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    private static CustomizableThreadFactory loadThreadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-load-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
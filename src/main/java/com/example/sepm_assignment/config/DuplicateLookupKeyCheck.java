@@ -0,0 +1,97 @@
+package com.example.sepm_assignment.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs before the {@code V2} migration, which adds unique indexes on
+ * {@code teachers.email}, {@code students.student_id} and
+ * {@code courses.course_code}. Databases baselined from {@code ddl-auto}
+ * never enforced those, so they can hold duplicates that would make the
+ * index creation fail with a bare constraint error. Instead the migration is
+ * stopped with the duplicated values, which have to be made unique by hand
+ * before the application is started again. Only V2 is checked; later
+ * migrations already run against the indexes.
+ */
+@Component
+public class DuplicateLookupKeyCheck implements Callback {
+
+    static final String VERSION = "2";
+    // reported per column; the rest are summarized by their count
+    static final int MAX_REPORTED = 20;
+
+    private static final String[][] UNIQUE_COLUMNS = {
+            {"teachers", "email"}, {"students", "student_id"}, {"courses", "course_code"}};
+
+    // Flyway also asks without a context, so the migration is checked in handle
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        MigrationInfo migration = context.getMigrationInfo();
+        if (migration == null || migration.getVersion() == null
+                || !VERSION.equals(migration.getVersion().getVersion())) {
+            return;
+        }
+        List<String> problems = new ArrayList<>();
+        try {
+            for (String[] column : UNIQUE_COLUMNS) {
+                List<String> duplicates = duplicates(context, column[0], column[1]);
+                if (!duplicates.isEmpty()) {
+                    problems.add(column[0] + "." + column[1] + ": " + String.join(", ", duplicates));
+                }
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Could not check for duplicate lookup keys: " + e.getMessage(), e);
+        }
+        if (!problems.isEmpty()) {
+            throw new FlywayException("Migration V" + VERSION + " adds unique indexes, but these values occur more"
+                    + " than once (value x rows). Make them unique and start the application again. "
+                    + String.join("; ", problems));
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "duplicateLookupKeyCheck";
+    }
+
+    private static List<String> duplicates(Context context, String table, String column) throws SQLException {
+        List<String> duplicates = new ArrayList<>();
+        int more = 0;
+        String sql = "select " + column + ", count(*) from " + table
+                + " where " + column + " is not null group by " + column + " having count(*) > 1 order by " + column;
+        try (PreparedStatement statement = context.getConnection().prepareStatement(sql);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                if (duplicates.size() < MAX_REPORTED) {
+                    duplicates.add("'" + rs.getString(1) + "' x" + rs.getLong(2));
+                } else {
+                    more++;
+                }
+            }
+        }
+        if (more > 0) {
+            duplicates.add("and " + more + " more");
+        }
+        return duplicates;
+    }
+}
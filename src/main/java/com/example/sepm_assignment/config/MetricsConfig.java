@@ -0,0 +1,54 @@
+package com.example.sepm_assignment.config;
+
+import com.example.sepm_assignment.metrics.HibernateRequestStatistics;
+import com.example.sepm_assignment.metrics.RequestStatisticsFilter;
+import com.example.sepm_assignment.metrics.ServiceMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Application metrics on top of what Actuator records by itself (HTTP
+ * server requests, the Hikari pool and Hibernate's global statistics):
+ * Hibernate work per API request and timers around the service methods.
+ * Histogram buckets for all of them are configured under
+ * {@code management.metrics.distribution}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // hibernate.integrator_provider, read by Hibernate's JPA bootstrap
+    private static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
+    @Bean
+    public HibernateRequestStatistics hibernateRequestStatistics() {
+        return new HibernateRequestStatistics();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateRequestStatisticsCustomizer(HibernateRequestStatistics statistics) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, statistics);
+            hibernateProperties.put(INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(statistics));
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestStatisticsFilter> requestStatisticsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new RequestStatisticsFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public ServiceMetricsAspect serviceMetricsAspect(MeterRegistry meterRegistry) {
+        return new ServiceMetricsAspect(meterRegistry);
+    }
+}
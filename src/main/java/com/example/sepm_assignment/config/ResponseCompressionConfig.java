@@ -0,0 +1,120 @@
+package com.example.sepm_assignment.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Makes {@code server.compression.min-response-size} hold for the JSON API.
+ * Tomcat can only compare a response against it while the length is known,
+ * which it is when the whole body still sits in the response buffer at the
+ * end of the request. Spring MVC flushes after writing a body, which commits
+ * the response without a length, and Tomcat then compresses even a few bytes
+ * of JSON into more bytes than before. Flushes of JSON responses, of the
+ * stream and of the buffer alike, are dropped here; a body larger than the
+ * buffer is still sent as it is written. Other types, such as the NDJSON
+ * export, flush as before.
+ */
+@Configuration
+public class ResponseCompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<JsonFlushFilter> jsonFlushFilter() {
+        FilterRegistrationBean<JsonFlushFilter> registration = new FilterRegistrationBean<>(new JsonFlushFilter());
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    static class JsonFlushFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            filterChain.doFilter(request, new JsonResponse(response));
+        }
+    }
+
+    private static class JsonResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+
+        JsonResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new JsonOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!isJson()) {
+                super.flushBuffer();
+            }
+        }
+
+        boolean isJson() {
+            String contentType = getContentType();
+            return contentType != null
+                    && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        }
+    }
+
+    private static class JsonOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final JsonResponse response;
+
+        JsonOutputStream(ServletOutputStream delegate, JsonResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!response.isJson()) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.sepm_assignment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} maintenance tasks, such as pruning the delta
+ * sync's tombstones. They run on Spring Boot's auto-configured scheduler.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,73 @@
+package com.example.sepm_assignment.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Backs the Hibernate second-level cache with Caffeine through JCache.
+ * <p>
+ * Every region named by an {@code @Cache} annotation must be listed under
+ * {@code app.cache.regions.<region>} with its maximum size and time to live;
+ * Hibernate refuses to start if one is missing
+ * ({@code hibernate.javax.cache.missing_cache_strategy=fail}), so a region can
+ * never silently fall back to an unbounded cache.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheConfig.RegionProperties.class)
+public class SecondLevelCacheConfig {
+
+    @ConfigurationProperties("app.cache")
+    public record RegionProperties(Map<String, Region> regions) {
+
+        public RegionProperties {
+            regions = regions == null ? Map.of() : Map.copyOf(regions);
+        }
+
+        public record Region(long maximumSize, Duration ttl) {
+        }
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(RegionProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager(properties));
+    }
+
+    /**
+     * Hibernate closes the manager together with the session factory. Each
+     * application context gets its own URI so contexts that live side by side
+     * (as in the test suite) never share regions.
+     */
+    private static CacheManager cacheManager(RegionProperties properties) {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("sepm-assignment:hibernate-" + UUID.randomUUID()),
+                SecondLevelCacheConfig.class.getClassLoader());
+
+        properties.regions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            configuration.setMaximumSize(OptionalLong.of(region.maximumSize()));
+            if (region.ttl() != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+            }
+            cacheManager.createCache(name, configuration);
+        });
+        return cacheManager;
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.sepm_assignment.config;
 
+import com.example.sepm_assignment.security.BearerTokenAuthenticationFilter;
+import com.example.sepm_assignment.security.CachingAuthenticationProvider;
+import com.example.sepm_assignment.security.TokenService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,10 +19,13 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -48,12 +56,32 @@ public class SecurityConfig {
         return new InMemoryUserDetailsManager(admin, user);
     }
 
+    @Bean
+    public CachingAuthenticationProvider authenticationProvider(
+            UserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.security.credential-cache.maximum-size:1000}") long maximumSize,
+            @Value("${app.security.credential-cache.ttl:PT5M}") Duration timeToLive) {
+        return new CachingAuthenticationProvider(userDetailsService, passwordEncoder, maximumSize, timeToLive);
+    }
+
+    @Bean
+    public TokenService tokenService(
+            UserDetailsService userDetailsService,
+            @Value("${app.security.token.secret:}") String secret,
+            @Value("${app.security.token.access-ttl:PT15M}") Duration accessTokenTtl,
+            @Value("${app.security.token.refresh-ttl:PT8H}") Duration refreshTokenTtl) {
+        return new TokenService(userDetailsService, secret, accessTokenTtl, refreshTokenTtl, Clock.systemUTC());
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:8081"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // read by clients for If-Match and for following paged results
+        configuration.setExposedHeaders(List.of("ETag", "Link", "X-Next-Cursor", "X-Next-Offset"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -61,16 +89,30 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * Scripts, stylesheets and the fingerprinted assets are public and carry
+     * no user data, so they skip the filter chain entirely. The HTML pages
+     * still go through it to get the security headers.
+     */
+    @Bean
+    public WebSecurityCustomizer staticResourcesOutsideFilterChain() {
+        return web -> web.ignoring().requestMatchers("/assets/**", "/*.js", "/*.css", "/favicon.ico");
+    }
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
             .cors(Customizer.withDefaults())
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/", "/index.html", "/style.css", "/app.js", "/*.css", "/*.js", "/favicon.ico").permitAll()
+                .requestMatchers("/", "/*.html").permitAll()
+                .requestMatchers("/api/auth/token", "/api/auth/refresh").permitAll()
                 .requestMatchers("/api/**").authenticated()
+                .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().permitAll()
             )
+            .addFilterBefore(new BearerTokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
             .httpBasic(Customizer.withDefaults());
 
         return http.build();
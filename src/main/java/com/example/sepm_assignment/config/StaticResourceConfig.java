@@ -0,0 +1,33 @@
+package com.example.sepm_assignment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * Serves the fingerprinted copies the build writes to {@code static/assets}
+ * (see {@code src/build/java/StaticAssets.java}). Their names change with
+ * their content, so browsers may keep them for a year without asking again.
+ * A request accepting brotli or gzip gets the precompressed variant, and
+ * nothing is compressed per request. The pages themselves keep their names
+ * and are served by the default handler with {@code no-cache}, so a deploy
+ * is picked up on the next revalidation.
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    private static final Duration IMMUTABLE_MAX_AGE = Duration.ofDays(365);
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(CacheControl.maxAge(IMMUTABLE_MAX_AGE).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+}
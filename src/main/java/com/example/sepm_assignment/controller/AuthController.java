@@ -0,0 +1,48 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.dto.RefreshRequest;
+import com.example.sepm_assignment.dto.TokenRequest;
+import com.example.sepm_assignment.dto.TokenResponse;
+import com.example.sepm_assignment.security.TokenService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    private final AuthenticationProvider authenticationProvider;
+    private final TokenService tokenService;
+
+    public AuthController(AuthenticationProvider authenticationProvider, TokenService tokenService) {
+        this.authenticationProvider = authenticationProvider;
+        this.tokenService = tokenService;
+    }
+
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponse> issueToken(@RequestBody TokenRequest request) {
+        if (request.username() == null || request.password() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Authentication authentication = authenticationProvider.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.username(), request.password()));
+            return ResponseEntity.ok(tokenService.issue((UserDetails) authentication.getPrincipal()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refreshToken(@RequestBody RefreshRequest request) {
+        return tokenService.refresh(request.refreshToken())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.dto.AutocompleteSuggestion;
+import com.example.sepm_assignment.service.AutocompleteIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Type-ahead for course codes and student ids: the keys starting with
+ * {@code prefix}, ignoring case, in key order. Served from memory by
+ * {@link AutocompleteIndex} without querying the database.
+ */
+@RestController
+@RequestMapping("/api/autocomplete")
+public class AutocompleteController {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    public AutocompleteController(AutocompleteIndex autocompleteIndex) {
+        this.autocompleteIndex = autocompleteIndex;
+    }
+
+    @GetMapping("/courses")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<AutocompleteSuggestion>> suggestCourses(@RequestParam String prefix,
+                                                                       @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(autocompleteIndex.courses(prefix.strip(), limit(limit)));
+    }
+
+    @GetMapping("/students")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<AutocompleteSuggestion>> suggestStudents(@RequestParam String prefix,
+                                                                        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(autocompleteIndex.students(prefix.strip(), limit(limit)));
+    }
+
+    private static int limit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.dto.CacheRegionStats;
+import com.example.sepm_assignment.dto.EntityCacheStats;
+import com.example.sepm_assignment.service.CacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheService cacheService;
+
+    public CacheController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @GetMapping("/regions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheRegionStats>> getRegionStatistics() {
+        return ResponseEntity.ok(cacheService.regionStatistics());
+    }
+
+    @GetMapping("/entities")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<EntityCacheStats>> getEntityCacheStatistics() {
+        return ResponseEntity.ok(cacheService.entityCacheStatistics());
+    }
+
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> evictAll() {
+        cacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
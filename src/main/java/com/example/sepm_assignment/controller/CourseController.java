@@ -1,13 +1,20 @@
 package com.example.sepm_assignment.controller;
 
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.CoursePatch;
 import com.example.sepm_assignment.model.Course;
 import com.example.sepm_assignment.service.CourseService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.OptionalLong;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -21,22 +28,43 @@ public class CourseController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<List<Course>> getAllCourses() {
-        return ResponseEntity.ok(courseService.findAll());
+    public ResponseEntity<List<Course>> getAllCourses(@RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 WebRequest request) {
+        if (request.checkNotModified(ETags.forCollection("courses", List.of(courseService.versionSummary())))) {
+            return null;
+        }
+        if (!KeysetPagination.requested(after, limit)) {
+            return ResponseEntity.ok(courseService.findAll());
+        }
+        int pageSize = KeysetPagination.limit(limit);
+        return KeysetPagination.toResponse(courseService.findPage(KeysetPagination.after(after), pageSize), pageSize);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<Course> getCourseById(@PathVariable Long id) {
+    public ResponseEntity<CourseDto> getCourseById(@PathVariable Long id) {
         return courseService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(course -> ResponseEntity.ok().eTag(ETags.of(course)).body(course))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/teacher/{teacherId}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<List<Course>> getCoursesByTeacher(@PathVariable Long teacherId) {
-        return ResponseEntity.ok(courseService.findByTeacherId(teacherId));
+    public ResponseEntity<List<Course>> getCoursesByTeacher(@PathVariable Long teacherId,
+                                                       @RequestParam(required = false) Long after,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       WebRequest request) {
+        if (request.checkNotModified(ETags.forCollection("courses",
+                List.of(courseService.versionSummaryByTeacherId(teacherId))))) {
+            return null;
+        }
+        if (!KeysetPagination.requested(after, limit)) {
+            return ResponseEntity.ok(courseService.findByTeacherId(teacherId));
+        }
+        int pageSize = KeysetPagination.limit(limit);
+        return KeysetPagination.toResponse(
+                courseService.findPageByTeacherId(teacherId, KeysetPagination.after(after), pageSize), pageSize);
     }
 
     @PostMapping("/teacher/{teacherId}")
@@ -56,11 +84,42 @@ public class CourseController {
         try {
             Course updatedCourse = courseService.update(id, course);
             return ResponseEntity.ok(updatedCourse);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Partial update guarded by {@code If-Match}: 428 without the header, 412
+     * when the tag is not the course's current one, 409 when the new courseCode
+     * is another course's, otherwise 204 with the new ETag.
+     */
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> patchCourse(@PathVariable Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                            @RequestBody CoursePatch patch) {
+        if (ifMatch == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        OptionalLong version = ETags.versionFromIfMatch(ifMatch, "course", id);
+        if (version.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        try {
+            long updated = courseService.patch(id, version.getAsLong(), patch);
+            return ResponseEntity.noContent().eTag(ETags.forVersion("course", id, updated)).build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteCourse(@PathVariable Long id) {
@@ -0,0 +1,28 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.dto.CurrentUser;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/me")
+public class CurrentUserController {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    /**
+     * The caller's name and roles. Answered from the credentials alone,
+     * without touching the database, so clients can use it as a cheap session check.
+     */
+    @GetMapping
+    public ResponseEntity<CurrentUser> getCurrentUser(Authentication authentication) {
+        return ResponseEntity.ok(new CurrentUser(authentication.getName(), authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                .sorted()
+                .toList()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.dto.DashboardSummary;
+import com.example.sepm_assignment.service.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    /**
+     * Totals, teachers per department and per-teacher student, course and
+     * credit counts, replacing full teacher, student and course list fetches
+     * where only the counts are shown.
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<DashboardSummary> getSummary() {
+        return ResponseEntity.ok(dashboardService.summary());
+    }
+}
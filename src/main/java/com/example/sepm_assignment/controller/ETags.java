@@ -0,0 +1,81 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.dto.TeacherDto;
+import com.example.sepm_assignment.dto.VersionSummary;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+
+/**
+ * Entity tags built from {@code @Version} columns. Single resources get
+ * strong tags by id and version; a teacher also folds in the versions of the
+ * students and courses it embeds. PATCH requests hand the version back
+ * through {@code If-Match}. Collections get weak tags from the
+ * {@link VersionSummary} of the tables they are read from, which the
+ * controllers check before loading any rows. They are only ever compared
+ * through {@code If-None-Match}, and being weak lets the server gzip them:
+ * Tomcat leaves responses with a strong tag uncompressed, since the tag
+ * would then name two different byte sequences.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(StudentDto student) {
+        return forVersion("student", student.id(), version(student.version()));
+    }
+
+    static String of(CourseDto course) {
+        return forVersion("course", course.id(), version(course.version()));
+    }
+
+    static String forVersion(String type, Long id, long version) {
+        return "\"" + type + "-" + id + "-" + version + "\"";
+    }
+
+    static String of(TeacherDto teacher) {
+        return "\"teacher-" + teacher.id() + "-" + version(teacher.version())
+                + "-" + token(VersionSummary.of(teacher.students(), StudentDto::id, StudentDto::version))
+                + "-" + token(VersionSummary.of(teacher.courses(), CourseDto::id, CourseDto::version)) + "\"";
+    }
+
+    static String forCollection(String name, List<VersionSummary> summaries) {
+        return "W/\"" + name + "-" + summaries.stream().map(ETags::token).collect(Collectors.joining("-")) + "\"";
+    }
+
+    /**
+     * Reads the version of resource {@code type}/{@code id} out of an
+     * {@code If-Match} value. Empty when no listed tag belongs to the resource;
+     * weak tags never match because If-Match uses strong comparison. For a
+     * teacher only the teacher's own version is read, since a PATCH touches no
+     * student or course.
+     */
+    static OptionalLong versionFromIfMatch(String ifMatch, String type, Long id) {
+        String prefix = "\"" + type + "-" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.length() > prefix.length() && tag.startsWith(prefix) && tag.endsWith("\"")) {
+                String rest = tag.substring(prefix.length(), tag.length() - 1);
+                int end = rest.indexOf('-');
+                try {
+                    return OptionalLong.of(Long.parseLong(end < 0 ? rest : rest.substring(0, end)));
+                } catch (NumberFormatException e) {
+                    // not one of our tags, try the next one
+                }
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    private static String token(VersionSummary summary) {
+        return summary.count() + "." + summary.maxId() + "." + summary.versionSum();
+    }
+
+    private static long version(Long version) {
+        return version == null ? 0 : version;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.EnrollmentRequest;
+import com.example.sepm_assignment.dto.EnrollmentResult;
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.service.EnrollmentService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Course rosters, student schedules and batch enrollment. Rosters and
+ * schedules are always paged with {@code ?after=&limit=}, like the other
+ * lists when those parameters are given.
+ */
+@RestController
+@RequestMapping("/api")
+public class EnrollmentController {
+
+    private final EnrollmentService enrollmentService;
+
+    public EnrollmentController(EnrollmentService enrollmentService) {
+        this.enrollmentService = enrollmentService;
+    }
+
+    @GetMapping("/courses/{courseId}/students")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<StudentDto>> getRoster(@PathVariable Long courseId,
+                                                      @RequestParam(required = false) Long after,
+                                                      @RequestParam(required = false) Integer limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        return enrollmentService.findRoster(courseId, KeysetPagination.after(after), pageSize)
+                .map(page -> KeysetPagination.toResponse(page, pageSize))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/students/{studentId}/courses")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<CourseDto>> getSchedule(@PathVariable Long studentId,
+                                                       @RequestParam(required = false) Long after,
+                                                       @RequestParam(required = false) Integer limit) {
+        int pageSize = KeysetPagination.limit(limit);
+        return enrollmentService.findSchedule(studentId, KeysetPagination.after(after), pageSize)
+                .map(page -> KeysetPagination.toResponse(page, pageSize))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/courses/{courseId}/enrollments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EnrollmentResult> enroll(@PathVariable Long courseId,
+                                                   @RequestBody EnrollmentRequest request) {
+        try {
+            return ResponseEntity.ok(enrollmentService.enroll(courseId, request.studentIds()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/courses/{courseId}/enrollments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EnrollmentResult> unenroll(@PathVariable Long courseId,
+                                                     @RequestBody EnrollmentRequest request) {
+        try {
+            return ResponseEntity.ok(enrollmentService.unenroll(courseId, request.studentIds()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.events.ChangeBroadcaster;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * The change feed: a Server-Sent Events stream of the teachers, students and
+ * courses created, updated and deleted from now on, so clients can patch what
+ * they show instead of refetching it. A client that reconnects sends the id of
+ * the last event it got in {@code Last-Event-ID} and resumes after it.
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    private final ChangeBroadcaster broadcaster;
+
+    public EventController(ChangeBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return broadcaster.subscribe(lastEventId);
+    }
+}
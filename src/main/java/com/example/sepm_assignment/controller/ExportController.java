@@ -0,0 +1,44 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/students")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportStudents(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        exportService.exportStudents(response.getOutputStream());
+    }
+
+    @GetMapping("/teachers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportTeachers(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        exportService.exportTeachers(response.getOutputStream());
+    }
+
+    @GetMapping("/courses")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportCourses(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        exportService.exportCourses(response.getOutputStream());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.dto.ImportProgress;
+import com.example.sepm_assignment.importer.ImportJob;
+import com.example.sepm_assignment.importer.ImportJobRegistry;
+import com.example.sepm_assignment.service.RosterImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    private final RosterImportService rosterImportService;
+    private final ImportJobRegistry jobRegistry;
+
+    public ImportController(RosterImportService rosterImportService, ImportJobRegistry jobRegistry) {
+        this.rosterImportService = rosterImportService;
+        this.jobRegistry = jobRegistry;
+    }
+
+    @PostMapping(value = "/students", consumes = {"text/csv", "text/plain"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportProgress> importStudents(HttpServletRequest request) throws IOException {
+        try (Reader csv = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            ImportJob job = rosterImportService.importStudents(csv);
+            if (job.getStatus() == ImportJob.Status.FAILED) {
+                return ResponseEntity.badRequest().body(job.snapshot());
+            }
+            return ResponseEntity.ok(job.snapshot());
+        }
+    }
+
+    @GetMapping("/jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ImportProgress>> getJobs() {
+        return ResponseEntity.ok(jobRegistry.all().stream().map(ImportJob::snapshot).toList());
+    }
+
+    @GetMapping("/jobs/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportProgress> getJob(@PathVariable String id) {
+        return jobRegistry.find(id)
+                .map(job -> ResponseEntity.ok(job.snapshot()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.dto.KeysetPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Shared handling of the {@code ?after=&limit=} list parameters. The body
+ * stays a plain JSON array; the cursor for the next page travels in the
+ * {@code X-Next-Cursor} and {@code Link} headers.
+ */
+final class KeysetPagination {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private KeysetPagination() {
+    }
+
+    static boolean requested(Long after, Integer limit) {
+        return after != null || limit != null;
+    }
+
+    static long after(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    static int limit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    static <T> ResponseEntity<List<T>> toResponse(KeysetPage<T> page, int limit) {
+        if (page.nextCursor() == null) {
+            return ResponseEntity.ok(page.items());
+        }
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", page.nextCursor())
+                .replaceQueryParam("limit", limit)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, page.nextCursor().toString())
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(page.items());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.dto.RegistrationRequest;
+import com.example.sepm_assignment.dto.RegistrationResult;
+import com.example.sepm_assignment.dto.SeatSummary;
+import com.example.sepm_assignment.service.RegistrationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Self-service registration within course capacity. The response is sent
+ * asynchronously once the registration is committed, so the request thread
+ * is free while the registration waits for its batch.
+ */
+@RestController
+@RequestMapping("/api/courses/{courseId}")
+public class RegistrationController {
+
+    private final RegistrationService registrationService;
+
+    public RegistrationController(RegistrationService registrationService) {
+        this.registrationService = registrationService;
+    }
+
+    @PostMapping("/registrations")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public CompletableFuture<ResponseEntity<RegistrationResult>> register(@PathVariable Long courseId,
+                                                                          @RequestBody RegistrationRequest request) {
+        if (request.studentId() == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return registrationService.register(courseId, request.studentId())
+                .handle((status, failure) -> {
+                    if (failure == null) {
+                        return ResponseEntity.ok(new RegistrationResult(status));
+                    }
+                    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                    return cause instanceof NoSuchElementException
+                            ? ResponseEntity.notFound().build()
+                            : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+                });
+    }
+
+    @GetMapping("/seats")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<SeatSummary> getSeats(@PathVariable Long courseId) {
+        return registrationService.seats(courseId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,42 +1,110 @@
 package com.example.sepm_assignment.controller;
 
+import com.example.sepm_assignment.dto.BulkCreateResult;
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.dto.StudentPatch;
+import com.example.sepm_assignment.dto.StudentSearchHit;
 import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.service.StudentSearchService;
 import com.example.sepm_assignment.service.StudentService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
+import java.util.OptionalLong;
 
 @RestController
 @RequestMapping("/api/students")
 public class StudentController {
 
+    static final String NEXT_OFFSET_HEADER = "X-Next-Offset";
+    // shorter queries have too few trigrams to narrow the search down
+    static final int MIN_SEARCH_LENGTH = 3;
+
     private final StudentService studentService;
+    private final StudentSearchService studentSearchService;
 
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, StudentSearchService studentSearchService) {
         this.studentService = studentService;
+        this.studentSearchService = studentSearchService;
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<List<Student>> getAllStudents() {
-        return ResponseEntity.ok(studentService.findAll());
+    public ResponseEntity<List<Student>> getAllStudents(@RequestParam(required = false) Long after,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 WebRequest request) {
+        if (request.checkNotModified(ETags.forCollection("students", List.of(studentService.versionSummary())))) {
+            return null;
+        }
+        if (!KeysetPagination.requested(after, limit)) {
+            return ResponseEntity.ok(studentService.findAll());
+        }
+        int pageSize = KeysetPagination.limit(limit);
+        return KeysetPagination.toResponse(studentService.findPage(KeysetPagination.after(after), pageSize), pageSize);
+    }
+
+    /**
+     * Fuzzy search by name, email or student id, best match first. Results
+     * are ranked, so pages are addressed by {@code offset}; while more follow,
+     * the next offset is sent in {@code X-Next-Offset} and a {@code Link} header.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<List<StudentSearchHit>> searchStudents(@RequestParam String q,
+                                                                 @RequestParam(defaultValue = "0") int offset,
+                                                                 @RequestParam(required = false) Integer limit) {
+        String query = q.strip();
+        if (query.length() < MIN_SEARCH_LENGTH || offset < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = KeysetPagination.limit(limit);
+        List<StudentSearchHit> hits = studentSearchService.search(query, offset, pageSize + 1);
+        if (hits.size() <= pageSize) {
+            return ResponseEntity.ok(hits);
+        }
+        int nextOffset = offset + pageSize;
+        String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("offset", nextOffset)
+                .replaceQueryParam("limit", pageSize)
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(NEXT_OFFSET_HEADER, Integer.toString(nextOffset))
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(hits.subList(0, pageSize));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
+    public ResponseEntity<StudentDto> getStudentById(@PathVariable Long id) {
         return studentService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(student -> ResponseEntity.ok().eTag(ETags.of(student)).body(student))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/teacher/{teacherId}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<List<Student>> getStudentsByTeacher(@PathVariable Long teacherId) {
-        return ResponseEntity.ok(studentService.findByTeacherId(teacherId));
+    public ResponseEntity<List<Student>> getStudentsByTeacher(@PathVariable Long teacherId,
+                                                       @RequestParam(required = false) Long after,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       WebRequest request) {
+        if (request.checkNotModified(ETags.forCollection("students",
+                List.of(studentService.versionSummaryByTeacherId(teacherId))))) {
+            return null;
+        }
+        if (!KeysetPagination.requested(after, limit)) {
+            return ResponseEntity.ok(studentService.findByTeacherId(teacherId));
+        }
+        int pageSize = KeysetPagination.limit(limit);
+        return KeysetPagination.toResponse(
+                studentService.findPageByTeacherId(teacherId, KeysetPagination.after(after), pageSize), pageSize);
     }
 
     @PostMapping("/teacher/{teacherId}")
@@ -50,6 +118,18 @@ public class StudentController {
         }
     }
 
+    @PostMapping("/teacher/{teacherId}/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkCreateResult> createStudents(@PathVariable Long teacherId,
+                                                           @RequestBody List<Student> students) {
+        try {
+            BulkCreateResult result = studentService.saveAllWithTeacher(teacherId, students);
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Student> updateStudent(@PathVariable Long id, @RequestBody Student student) {
@@ -61,6 +141,35 @@ public class StudentController {
         }
     }
 
+    /**
+     * Partial update guarded by {@code If-Match}: 428 without the header, 412
+     * when the tag is not the student's current one, 409 when the new email or
+     * studentId is another student's, otherwise 204 with the new ETag.
+     */
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> patchStudent(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @RequestBody StudentPatch patch) {
+        if (ifMatch == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        OptionalLong version = ETags.versionFromIfMatch(ifMatch, "student", id);
+        if (version.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        try {
+            long updated = studentService.patch(id, version.getAsLong(), patch);
+            return ResponseEntity.noContent().eTag(ETags.forVersion("student", id, updated)).build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
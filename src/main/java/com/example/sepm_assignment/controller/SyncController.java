@@ -0,0 +1,48 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.dto.SyncResponse;
+import com.example.sepm_assignment.service.SyncService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Delta sync for integrations that mirror the data: without {@code since}
+ * the first page of everything, with it only what changed after that token.
+ * Each response carries the token for the next call. A token too old to
+ * account for every deletion is answered with 410 Gone.
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    static final int DEFAULT_LIMIT = 1000;
+    static final int MAX_LIMIT = 10_000;
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<SyncResponse> sync(@RequestParam(required = false) String since,
+                                             @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(syncService.changesSince(since, limit(limit)));
+        } catch (SyncService.ExpiredTokenException e) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static int limit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -1,13 +1,20 @@
 package com.example.sepm_assignment.controller;
 
+import com.example.sepm_assignment.dto.TeacherDto;
+import com.example.sepm_assignment.dto.TeacherPatch;
 import com.example.sepm_assignment.model.Teacher;
 import com.example.sepm_assignment.service.TeacherService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.OptionalLong;
 
 @RestController
 @RequestMapping("/api/teachers")
@@ -21,15 +28,26 @@ public class TeacherController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<List<Teacher>> getAllTeachers() {
-        return ResponseEntity.ok(teacherService.findAll());
+    public ResponseEntity<List<TeacherDto>> getAllTeachers(@RequestParam(required = false) Long after,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           WebRequest request) {
+        // Checked before any rows are loaded; checkNotModified has already written the 304
+        if (request.checkNotModified(ETags.forCollection("teachers", teacherService.versionSummaries()))) {
+            return null;
+        }
+        if (!KeysetPagination.requested(after, limit)) {
+            return ResponseEntity.ok(teacherService.findAllWithRelations());
+        }
+        int pageSize = KeysetPagination.limit(limit);
+        return KeysetPagination.toResponse(
+                teacherService.findPageWithRelations(KeysetPagination.after(after), pageSize), pageSize);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<Teacher> getTeacherById(@PathVariable Long id) {
+    public ResponseEntity<TeacherDto> getTeacherById(@PathVariable Long id) {
         return teacherService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(teacher -> ResponseEntity.ok().eTag(ETags.of(teacher)).body(teacher))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -51,6 +69,37 @@ public class TeacherController {
         }
     }
 
+    /**
+     * Partial update guarded by {@code If-Match}: 428 without the header, 412
+     * when the tag is not the teacher's current one, 409 when the new email is
+     * another teacher's, otherwise 204. No ETag is
+     * returned because a teacher's tag also covers its students and courses,
+     * which the update does not read.
+     */
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> patchTeacher(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @RequestBody TeacherPatch patch) {
+        if (ifMatch == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        OptionalLong version = ETags.versionFromIfMatch(ifMatch, "teacher", id);
+        if (version.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        try {
+            teacherService.patch(id, version.getAsLong(), patch);
+            return ResponseEntity.noContent().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteTeacher(@PathVariable Long id) {
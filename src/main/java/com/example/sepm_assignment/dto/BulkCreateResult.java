@@ -0,0 +1,6 @@
+package com.example.sepm_assignment.dto;
+
+import java.util.List;
+
+public record BulkCreateResult(int requested, int created, List<Long> ids, List<BulkRowError> errors) {
+}
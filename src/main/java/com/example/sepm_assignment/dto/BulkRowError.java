@@ -0,0 +1,8 @@
+package com.example.sepm_assignment.dto;
+
+/**
+ * A row of a bulk request that was not inserted. {@code index} is the
+ * zero-based position of the row in the submitted array.
+ */
+public record BulkRowError(int index, String key, String reason) {
+}
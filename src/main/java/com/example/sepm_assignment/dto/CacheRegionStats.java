@@ -0,0 +1,9 @@
+package com.example.sepm_assignment.dto;
+
+public record CacheRegionStats(String region, long hits, long misses, long puts, double hitRatio) {
+
+    public static CacheRegionStats of(String region, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        return new CacheRegionStats(region, hits, misses, puts, lookups == 0 ? 0.0 : (double) hits / lookups);
+    }
+}
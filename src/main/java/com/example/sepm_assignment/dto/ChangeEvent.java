@@ -0,0 +1,21 @@
+package com.example.sepm_assignment.dto;
+
+/**
+ * A committed change to a teacher, student or course, as published on
+ * {@code /api/events}. {@code data} is the row after the change (before it,
+ * for a delete) in the shape of the NDJSON export, or {@code null} when the
+ * write bypassed Hibernate and clients have to read the row. A
+ * {@link Action#RELOAD} carries no row: too many rows of that kind changed at
+ * once, or, without an entity, the client missed events, and the data has to
+ * be loaded again.
+ */
+public record ChangeEvent(Entity entity, Action action, Long id, Object data) {
+
+    public enum Entity { TEACHER, STUDENT, COURSE }
+
+    public enum Action { CREATED, UPDATED, DELETED, RELOAD }
+
+    public static ChangeEvent reload(Entity entity) {
+        return new ChangeEvent(entity, Action.RELOAD, null, null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.sepm_assignment.dto;
+
+import com.example.sepm_assignment.model.Course;
+
+public record CourseDto(Long id, String title, String courseCode, Integer credits, Integer capacity, Long version) {
+
+    public static CourseDto from(Course course) {
+        return new CourseDto(course.getId(), course.getTitle(), course.getCourseCode(), course.getCredits(),
+                course.getCapacity(), course.getVersion());
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.sepm_assignment.dto;
+
+public record CourseExportRow(Long id, String title, String courseCode, Integer credits, Long teacherId) {
+}
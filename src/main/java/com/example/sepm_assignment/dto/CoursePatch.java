@@ -0,0 +1,9 @@
+package com.example.sepm_assignment.dto;
+
+/** Fields of a course PATCH; {@code null} leaves the column unchanged. */
+public record CoursePatch(String title, String courseCode, Integer credits, Integer capacity) {
+
+    public boolean isEmpty() {
+        return title == null && courseCode == null && credits == null && capacity == null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.sepm_assignment.dto;
+
+import java.util.List;
+
+public record DashboardSummary(DashboardTotals totals,
+                               List<DepartmentCount> departments,
+                               List<TeacherSummary> teachers) {
+}
@@ -0,0 +1,4 @@
+package com.example.sepm_assignment.dto;
+
+public record DepartmentCount(String department, long teachers) {
+}
@@ -0,0 +1,6 @@
+package com.example.sepm_assignment.dto;
+
+import java.util.List;
+
+public record EnrollmentRequest(List<Long> studentIds) {
+}
@@ -0,0 +1,8 @@
+package com.example.sepm_assignment.dto;
+
+/**
+ * Outcome of a batch enroll or unenroll: how many distinct student ids were
+ * sent and how many enrollments were actually added or removed.
+ */
+public record EnrollmentResult(int requested, int changed) {
+}
@@ -0,0 +1,10 @@
+package com.example.sepm_assignment.dto;
+
+public record EntityCacheStats(String cache,
+                               long size,
+                               long hits,
+                               long misses,
+                               double hitRatio,
+                               long evictions,
+                               double averageLoadMillis) {
+}
@@ -0,0 +1,16 @@
+package com.example.sepm_assignment.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ImportProgress(String id,
+                             String status,
+                             long rowsRead,
+                             long imported,
+                             long rejected,
+                             double rowsPerSecond,
+                             Instant startedAt,
+                             Instant finishedAt,
+                             String failure,
+                             List<ImportRowError> errors) {
+}
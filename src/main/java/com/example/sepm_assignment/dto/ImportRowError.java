@@ -0,0 +1,4 @@
+package com.example.sepm_assignment.dto;
+
+public record ImportRowError(long line, String reason) {
+}
@@ -0,0 +1,25 @@
+package com.example.sepm_assignment.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) scan ordered by id. {@code nextCursor} is the
+ * id to pass as {@code after} for the following page, or {@code null} when
+ * this is the last page.
+ */
+public record KeysetPage<T>(List<T> items, Long nextCursor) {
+
+    /**
+     * Builds a page from a query that fetched {@code limit + 1} rows; the extra
+     * row only signals that another page exists and is not returned.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new KeysetPage<>(items, idOf.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.sepm_assignment.dto;
+
+/** Body of a registration: the student taking a seat. */
+public record RegistrationRequest(Long studentId) {
+}
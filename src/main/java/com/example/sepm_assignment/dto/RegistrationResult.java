@@ -0,0 +1,7 @@
+package com.example.sepm_assignment.dto;
+
+/** Where a registration left the student. */
+public record RegistrationResult(Status status) {
+
+    public enum Status { ENROLLED, WAITLISTED, ALREADY_ENROLLED, ALREADY_WAITLISTED }
+}
@@ -0,0 +1,5 @@
+package com.example.sepm_assignment.dto;
+
+/** Seats of a course: its capacity ({@code null} for no limit), enrollments and waitlist length. */
+public record SeatSummary(Integer capacity, long enrolled, long waitlisted) {
+}
@@ -0,0 +1,11 @@
+package com.example.sepm_assignment.dto;
+
+import com.example.sepm_assignment.model.Student;
+
+public record StudentDto(Long id, String name, String email, String studentId, Long version) {
+
+    public static StudentDto from(Student student) {
+        return new StudentDto(student.getId(), student.getName(), student.getEmail(), student.getStudentId(),
+                student.getVersion());
+    }
+}
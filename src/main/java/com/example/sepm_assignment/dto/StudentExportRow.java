@@ -0,0 +1,4 @@
+package com.example.sepm_assignment.dto;
+
+public record StudentExportRow(Long id, String name, String email, String studentId, Long teacherId) {
+}
@@ -0,0 +1,9 @@
+package com.example.sepm_assignment.dto;
+
+/** Fields of a student PATCH; {@code null} leaves the column unchanged. */
+public record StudentPatch(String name, String email, String studentId) {
+
+    public boolean isEmpty() {
+        return name == null && email == null && studentId == null;
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.sepm_assignment.dto;
+
+public record StudentSearchHit(Long id, String name, String email, String studentId, double score) {
+}
@@ -0,0 +1,5 @@
+package com.example.sepm_assignment.dto;
+
+/** A teacher, student or course deleted since the sync token. */
+public record SyncDeletion(ChangeEvent.Entity entity, Long id) {
+}
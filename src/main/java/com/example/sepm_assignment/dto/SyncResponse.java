@@ -0,0 +1,18 @@
+package com.example.sepm_assignment.dto;
+
+import java.util.List;
+
+/**
+ * The changes since a sync token: rows in their current state, in the shape
+ * of the export, and the ids of deleted rows. A client applies the rows, then
+ * the deletions, and passes {@code token} to the next sync; while
+ * {@code more} is set, further changes are waiting and it can sync again
+ * right away.
+ */
+public record SyncResponse(List<TeacherExportRow> teachers,
+                           List<StudentExportRow> students,
+                           List<CourseExportRow> courses,
+                           List<SyncDeletion> deleted,
+                           String token,
+                           boolean more) {
+}
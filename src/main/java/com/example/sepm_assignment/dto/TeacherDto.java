@@ -0,0 +1,25 @@
+package com.example.sepm_assignment.dto;
+
+import com.example.sepm_assignment.model.Teacher;
+
+import java.util.List;
+
+/**
+ * Read model for teacher listings. Serializes to the same shape as
+ * {@link Teacher} with its managed {@code students} and {@code courses}
+ * references, but is assembled from pre-fetched rows so that Jackson never
+ * triggers lazy loading.
+ */
+public record TeacherDto(Long id,
+                         String name,
+                         String email,
+                         String department,
+                         Long version,
+                         List<StudentDto> students,
+                         List<CourseDto> courses) {
+
+    public static TeacherDto from(Teacher teacher, List<StudentDto> students, List<CourseDto> courses) {
+        return new TeacherDto(teacher.getId(), teacher.getName(), teacher.getEmail(), teacher.getDepartment(),
+                teacher.getVersion(), students, courses);
+    }
+}
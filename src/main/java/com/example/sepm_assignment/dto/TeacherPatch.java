@@ -0,0 +1,9 @@
+package com.example.sepm_assignment.dto;
+
+/** Fields of a teacher PATCH; {@code null} leaves the column unchanged. */
+public record TeacherPatch(String name, String email, String department) {
+
+    public boolean isEmpty() {
+        return name == null && email == null && department == null;
+    }
+}
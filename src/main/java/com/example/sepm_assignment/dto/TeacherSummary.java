@@ -0,0 +1,5 @@
+package com.example.sepm_assignment.dto;
+
+public record TeacherSummary(Long id, String name, String email, String department,
+                             long students, long courses, long credits) {
+}
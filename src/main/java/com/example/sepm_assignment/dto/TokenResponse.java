@@ -0,0 +1,11 @@
+package com.example.sepm_assignment.dto;
+
+import java.util.List;
+
+public record TokenResponse(String accessToken,
+                            String refreshToken,
+                            String tokenType,
+                            long expiresIn,
+                            String username,
+                            List<String> roles) {
+}
@@ -0,0 +1,27 @@
+package com.example.sepm_assignment.dto;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Row count, highest id and sum of {@code @Version} values of a set of rows.
+ * Inserts raise the highest id (ids are never reused), deletes lower the
+ * count and every update raises the version sum, so any committed change
+ * alters at least one component.
+ */
+public record VersionSummary(long count, long maxId, long versionSum) {
+
+    public static <T> VersionSummary of(Collection<T> items, Function<T, Long> id, Function<T, Long> version) {
+        long maxId = 0;
+        long versionSum = 0;
+        for (T item : items) {
+            maxId = Math.max(maxId, valueOf(id.apply(item)));
+            versionSum += valueOf(version.apply(item));
+        }
+        return new VersionSummary(items.size(), maxId, versionSum);
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.sepm_assignment.events;
+
+import com.example.sepm_assignment.dto.ChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans committed {@link ChangeEvent}s out to the Server-Sent Events
+ * subscribers of {@code /api/events}.
+ * <p>
+ * A subscription holds no thread. Each event is serialized into an SSE frame
+ * once, numbered, kept in a {@link ReplayBuffer} of
+ * {@code app.events.replay-size} frames and offered to every subscriber's
+ * queue of {@code app.events.subscriber-buffer} frames, so publishing never
+ * waits for a client. A small pool of {@code app.events.sender-threads}
+ * threads writes the queued frames; a subscriber only occupies one while it
+ * has frames to write. A subscriber that falls a full queue behind is
+ * disconnected rather than slowing down publishing or growing without
+ * bound. So is one whose write has not returned after
+ * {@code app.events.send-timeout}, a client that stopped reading: the pool
+ * then starts a thread in place of the one stuck in the write, so stalled
+ * clients cannot starve the healthy ones. The stuck thread completes the
+ * emitter and leaves the pool once the container gives up on the write; the
+ * emitter cannot be completed before, because Spring holds its monitor while
+ * writing. Like any client that lost its connection, it reconnects with the
+ * last id it received in {@code Last-Event-ID} and gets the frames it missed
+ * from the replay buffer, or a {@code reload} event if they are gone.
+ * <p>
+ * Ids are {@code <epoch>-<sequence>}, the epoch naming this process, so an id
+ * from before a restart or from another instance is answered with
+ * {@code reload} instead of the wrong events. A comment is sent every
+ * {@code app.events.heartbeat} to keep proxies from closing idle streams.
+ */
+@Component
+public class ChangeBroadcaster {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    private final ObjectMapper objectMapper;
+    private final int subscriberBuffer;
+    private final Duration sendTimeout;
+    private final Duration timeout;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReplayBuffer<Set<DataWithMediaType>> replay;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor sender;
+    // heartbeats and send deadlines
+    private final ScheduledExecutorService timer;
+
+    public ChangeBroadcaster(ObjectMapper objectMapper,
+                             @Value("${app.events.replay-size:1024}") int replaySize,
+                             @Value("${app.events.subscriber-buffer:256}") int subscriberBuffer,
+                             @Value("${app.events.sender-threads:4}") int senderThreads,
+                             @Value("${app.events.send-timeout:PT10S}") Duration sendTimeout,
+                             @Value("${app.events.heartbeat:PT15S}") Duration heartbeatInterval,
+                             @Value("${app.events.timeout:PT30M}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.subscriberBuffer = subscriberBuffer;
+        this.sendTimeout = sendTimeout;
+        this.timeout = timeout;
+        this.replay = new ReplayBuffer<>(replaySize);
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreadFactory("event-sender-"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("event-timer-"));
+        this.timer.scheduleAtFixedRate(this::sendHeartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a subscription. Without {@code lastEventId} it starts at the next
+     * event; with one it first replays what came after that id. The first
+     * frame is always a {@code ready} event carrying the position, so a
+     * client that reconnects before any change still resumes without a gap.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(timeout.toMillis()));
+    }
+
+    // package-private so tests can pass an emitter that stands in for a slow client
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        lock.lock();
+        try {
+            Optional<List<Set<DataWithMediaType>>> missed = lastEventId == null
+                    ? Optional.of(List.of())
+                    : sequence(lastEventId).flatMap(replay::after);
+            if (missed.isEmpty() || missed.get().size() >= subscriberBuffer) {
+                subscriber.offer(frame(replay.last(), "reload", ChangeEvent.reload(null)));
+            } else {
+                subscriber.offer(frame(replay.last(), "ready", null));
+                missed.get().forEach(subscriber::offer);
+            }
+            if (!subscriber.dropped) {
+                subscribers.add(subscriber);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return emitter;
+    }
+
+    /** Publishes the changes of one transaction, in order. */
+    public void publish(List<ChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (ChangeEvent event : events) {
+                long sequence = replay.last() + 1;
+                Set<DataWithMediaType> frame = frame(sequence, name(event), event);
+                replay.append(frame);
+                subscribers.forEach(subscriber -> subscriber.offer(frame));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        subscribers.forEach(subscriber -> subscriber.execute(subscriber.emitter::complete));
+        sender.shutdown();
+        sender.awaitTermination(5, TimeUnit.SECONDS);
+        // after the sender, whose writes still schedule their deadlines
+        timer.shutdownNow();
+    }
+
+    private void sendHeartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offerIfRoom(HEARTBEAT));
+    }
+
+    private Set<DataWithMediaType> frame(long sequence, String name, ChangeEvent event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().id(epoch + "-" + sequence).name(name);
+        try {
+            return builder.data(event == null ? "{}" : objectMapper.writeValueAsString(event)).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private Optional<Long> sequence(String eventId) {
+        String prefix = epoch + "-";
+        if (!eventId.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(eventId.substring(prefix.length())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String name(ChangeEvent event) {
+        return (event.entity().name() + "." + event.action().name()).toLowerCase(Locale.ROOT);
+    }
+
+    // one thread more while a write is stuck past its deadline, one less once it returns
+    private void resizeSender(int delta) {
+        lock.lock();
+        try {
+            int size = sender.getCorePoolSize() + delta;
+            if (delta > 0) {
+                sender.setMaximumPoolSize(size);
+                sender.setCorePoolSize(size);
+            } else {
+                sender.setCorePoolSize(size);
+                sender.setMaximumPoolSize(size);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(subscriberBuffer);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // set while a write runs; whoever clears it first, the write or its deadline, decides how it ended
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            if (!queue.offer(frame)) {
+                drop();
+                return;
+            }
+            wakeSender();
+        }
+
+        void offerIfRoom(Set<DataWithMediaType> frame) {
+            if (queue.offer(frame)) {
+                wakeSender();
+            }
+        }
+
+        // the sender may be blocked writing to this client, so completing is left to the pool as well
+        private void drop() {
+            if (dropped) {
+                return;
+            }
+            dropped = true;
+            subscribers.remove(this);
+            queue.clear();
+            execute(emitter::complete);
+        }
+
+        private void wakeSender() {
+            if (sending.compareAndSet(false, true)) {
+                execute(this::send);
+            }
+        }
+
+        private void send() {
+            do {
+                Set<DataWithMediaType> frame;
+                try {
+                    while (!dropped && (frame = queue.poll()) != null) {
+                        write(frame);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // the client is gone; the container completes the emitter
+                    dropped = true;
+                    subscribers.remove(this);
+                    queue.clear();
+                }
+                sending.set(false);
+            } while (!dropped && !queue.isEmpty() && sending.compareAndSet(false, true));
+        }
+
+        private void write(Set<DataWithMediaType> frame) throws IOException {
+            writing.set(true);
+            ScheduledFuture<?> deadline = timer.schedule(this::expire, sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            boolean expired;
+            try {
+                emitter.send(frame);
+            } finally {
+                deadline.cancel(false);
+                expired = !writing.compareAndSet(true, false);
+                if (expired) {
+                    resizeSender(-1);
+                }
+            }
+            if (expired) {
+                emitter.complete();
+            }
+        }
+
+        // on the timer: the write is still blocked, so this thread is given up for the stalled client
+        private void expire() {
+            if (writing.compareAndSet(true, false)) {
+                dropped = true;
+                subscribers.remove(this);
+                queue.clear();
+                resizeSender(1);
+            }
+        }
+
+        private void execute(Runnable task) {
+            try {
+                sender.execute(task);
+            } catch (RejectedExecutionException e) {
+                // shutting down; close() completes the emitters
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.sepm_assignment.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The last {@code capacity} items appended, by sequence number, starting at
+ * 1. Not thread-safe; {@link ChangeBroadcaster} appends and reads under its
+ * publish lock.
+ */
+public class ReplayBuffer<T> {
+
+    private final Object[] items;
+    private long next = 1;
+
+    public ReplayBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.items = new Object[capacity];
+    }
+
+    /** Appends the item and returns its sequence number. */
+    public long append(T item) {
+        items[(int) (next % items.length)] = item;
+        return next++;
+    }
+
+    /** Sequence number of the last item appended, 0 before the first. */
+    public long last() {
+        return next - 1;
+    }
+
+    /**
+     * The items appended after {@code sequence}, oldest first, or empty when
+     * some of them were already overwritten or {@code sequence} was never
+     * handed out.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<List<T>> after(long sequence) {
+        if (sequence < 0 || sequence > last() || sequence < next - 1 - items.length) {
+            return Optional.empty();
+        }
+        List<T> after = new ArrayList<>((int) (last() - sequence));
+        for (long s = sequence + 1; s < next; s++) {
+            after.add((T) items[(int) (s % items.length)]);
+        }
+        return Optional.of(after);
+    }
+}
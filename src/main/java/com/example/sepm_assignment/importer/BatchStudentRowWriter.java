@@ -0,0 +1,43 @@
+package com.example.sepm_assignment.importer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Portable fallback for databases without {@code COPY} (the H2 test profile):
+ * a single JDBC batch per chunk of rows.
+ */
+public class BatchStudentRowWriter implements StudentRowWriter {
+
+    private static final String INSERT_SQL =
+            "insert into students (id, name, email, student_id, teacher_id, updated_at) values (?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public void write(Connection connection, long[] ids, List<StudentImportRow> rows, Instant updatedAt)
+            throws SQLException {
+        OffsetDateTime stamp = updatedAt.atOffset(ZoneOffset.UTC);
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (int i = 0; i < rows.size(); i++) {
+                StudentImportRow row = rows.get(i);
+                statement.setLong(1, ids[i]);
+                statement.setString(2, row.name());
+                statement.setString(3, row.email());
+                statement.setString(4, row.studentId());
+                if (row.teacherId() != null) {
+                    statement.setLong(5, row.teacherId());
+                } else {
+                    statement.setNull(5, Types.BIGINT);
+                }
+                statement.setObject(6, stamp);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.sepm_assignment.importer;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Streams rows into PostgreSQL with {@code COPY ... FROM STDIN} through the
+ * pgjdbc {@link org.postgresql.copy.CopyManager}, which avoids per-row
+ * statement overhead entirely.
+ */
+public class CopyStudentRowWriter implements StudentRowWriter {
+
+    private static final String COPY_SQL =
+            "COPY students (id, name, email, student_id, teacher_id, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+    @Override
+    public void write(Connection connection, long[] ids, List<StudentImportRow> rows, Instant updatedAt)
+            throws SQLException {
+        String stamp = updatedAt.toString();
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder line = new StringBuilder(128);
+            for (int i = 0; i < rows.size(); i++) {
+                StudentImportRow row = rows.get(i);
+                line.setLength(0);
+                line.append(ids[i]).append(',');
+                appendQuoted(line, row.name()).append(',');
+                appendQuoted(line, row.email()).append(',');
+                appendQuoted(line, row.studentId()).append(',');
+                if (row.teacherId() != null) {
+                    line.append(row.teacherId());
+                }
+                line.append(',').append(stamp).append('\n');
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copy.writeToCopy(bytes, 0, bytes.length);
+            }
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        return out.append('"');
+    }
+}
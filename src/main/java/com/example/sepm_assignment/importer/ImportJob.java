@@ -0,0 +1,96 @@
+package com.example.sepm_assignment.importer;
+
+import com.example.sepm_assignment.dto.ImportProgress;
+import com.example.sepm_assignment.dto.ImportRowError;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live state of one import. Counters are updated by the importing thread and
+ * read concurrently by progress requests; only the first
+ * {@link #MAX_REPORTED_ERRORS} row errors are kept.
+ */
+public class ImportJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final String id = UUID.randomUUID().toString();
+    private final Clock clock;
+    private final Instant startedAt;
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    // guarded by errorsLock
+    private final List<ImportRowError> errors = new ArrayList<>();
+    private final ReentrantLock errorsLock = new ReentrantLock();
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String failure;
+
+    public ImportJob(Clock clock) {
+        this.clock = clock;
+        this.startedAt = clock.instant();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void rowsImported(int count) {
+        imported.addAndGet(count);
+    }
+
+    public void reject(long line, String reason) {
+        rejected.incrementAndGet();
+        errorsLock.lock();
+        try {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(line, reason));
+            }
+        } finally {
+            errorsLock.unlock();
+        }
+    }
+
+    public void complete() {
+        finishedAt = clock.instant();
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String message) {
+        finishedAt = clock.instant();
+        failure = message;
+        status = Status.FAILED;
+    }
+
+    public ImportProgress snapshot() {
+        Instant end = finishedAt != null ? finishedAt : clock.instant();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        List<ImportRowError> reported;
+        errorsLock.lock();
+        try {
+            reported = List.copyOf(errors);
+        } finally {
+            errorsLock.unlock();
+        }
+        return new ImportProgress(id, status.name(), rowsRead.get(), imported.get(), rejected.get(),
+                rowsRead.get() * 1000.0 / millis, startedAt, finishedAt, failure, reported);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.sepm_assignment.importer;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps running imports and the most recent finished ones so their progress
+ * can be polled from other requests.
+ */
+@Component
+public class ImportJobRegistry {
+
+    static final int MAX_FINISHED_JOBS = 20;
+
+    // guarded by lock
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Clock clock = Clock.systemUTC();
+
+    public ImportJob start() {
+        ImportJob job = new ImportJob(clock);
+        lock.lock();
+        try {
+            jobs.put(job.getId(), job);
+            evictFinished();
+        } finally {
+            lock.unlock();
+        }
+        return job;
+    }
+
+    public Optional<ImportJob> find(String id) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(jobs.get(id));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<ImportJob> all() {
+        lock.lock();
+        try {
+            return new ArrayList<>(jobs.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictFinished() {
+        long finished = jobs.values().stream().filter(j -> j.getStatus() != ImportJob.Status.RUNNING).count();
+        Iterator<ImportJob> iterator = jobs.values().iterator();
+        while (finished > MAX_FINISHED_JOBS && iterator.hasNext()) {
+            if (iterator.next().getStatus() != ImportJob.Status.RUNNING) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+}
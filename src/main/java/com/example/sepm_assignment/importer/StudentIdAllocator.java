@@ -0,0 +1,50 @@
+package com.example.sepm_assignment.importer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Hands out student ids for rows written outside Hibernate. Uses the same
+ * pooled {@code students_seq} as the {@code Student} mapping: every value
+ * {@code v} drawn from the sequence reserves the block {@code (v - 50, v]},
+ * exactly as Hibernate's pooled optimizer interprets it, so ids never collide
+ * with entities persisted through JPA.
+ */
+public class StudentIdAllocator {
+
+    static final int BLOCK_SIZE = 50;
+
+    private final String nextBlocksSql;
+
+    public StudentIdAllocator(boolean postgres) {
+        this.nextBlocksSql = postgres
+                ? "select nextval('students_seq') from generate_series(1, ?)"
+                : "select nextval('students_seq') from system_range(1, ?)";
+    }
+
+    public long[] allocate(Connection connection, int count) throws SQLException {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            int blocks = (count - filled + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            try (PreparedStatement statement = connection.prepareStatement(nextBlocksSql)) {
+                statement.setInt(1, blocks);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next() && filled < count) {
+                        long hi = rs.getLong(1);
+                        // The very first value of a fresh sequence does not describe a full block
+                        if (hi < BLOCK_SIZE) {
+                            continue;
+                        }
+                        for (long id = hi - BLOCK_SIZE + 1; id <= hi && filled < count; id++) {
+                            ids[filled++] = id;
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.sepm_assignment.importer;
+
+public record StudentImportRow(long line, String name, String email, String studentId, Long teacherId) {
+}
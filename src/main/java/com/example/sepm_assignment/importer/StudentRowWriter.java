@@ -0,0 +1,15 @@
+package com.example.sepm_assignment.importer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Writes validated roster rows, stamped with {@code updatedAt}, to the
+ * {@code students} table on the connection of the surrounding transaction.
+ */
+public interface StudentRowWriter {
+
+    void write(Connection connection, long[] ids, List<StudentImportRow> rows, Instant updatedAt) throws SQLException;
+}
@@ -0,0 +1,136 @@
+package com.example.sepm_assignment.metrics;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL statements, entity loads and collection fetches Hibernate
+ * performs on the current thread while a {@link Scope} is open.
+ * <p>
+ * Hibernate's own {@code Statistics} are global, so they cannot tell which
+ * request caused the work. This class is registered as the session factory's
+ * {@link StatementInspector} and, through the {@link Integrator} callback, as
+ * a post-load and collection-initialization listener; each callback bumps the
+ * counters of the scope bound to the calling thread, if any. Work handed to
+ * another thread is counted only if the task was wrapped with
+ * {@link #propagate(Runnable)}, as the {@code @Cacheable} loads are.
+ */
+public class HibernateRequestStatistics
+        implements Integrator, StatementInspector, PostLoadEventListener, InitializeCollectionEventListener {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The counters of one request, shared with the tasks it propagated to.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope previous;
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+        private final LongAdder collectionFetches = new LongAdder();
+
+        private Scope(Scope previous) {
+            this.previous = previous;
+        }
+
+        public long statements() {
+            return statements.sum();
+        }
+
+        public long entityLoads() {
+            return entityLoads.sum();
+        }
+
+        public long collectionFetches() {
+            return collectionFetches.sum();
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Binds the caller's scope, if any, to the thread that runs {@code task}.
+     */
+    public static Runnable propagate(Runnable task) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            Scope previous = CURRENT.get();
+            CURRENT.set(scope);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements.increment();
+        }
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.entityLoads.increment();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.collectionFetches.increment();
+        }
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_LOAD, this);
+        listeners.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
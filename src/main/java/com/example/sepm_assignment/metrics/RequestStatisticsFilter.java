@@ -0,0 +1,61 @@
+package com.example.sepm_assignment.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the Hibernate work of each request as distribution summaries
+ * tagged like {@code http.server.requests}: {@code hibernate.request.statements},
+ * {@code hibernate.request.entity.loads} and
+ * {@code hibernate.request.collection.fetches}. The {@code uri} tag is the
+ * matched handler pattern, so every student id shares one series.
+ * <p>
+ * The buckets are set here rather than under
+ * {@code management.metrics.distribution.slo}, which reads plain numbers
+ * as milliseconds and drops them for summaries.
+ */
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private static final double[] BUCKETS = {1, 2, 5, 10, 25, 50, 100, 250, 1000};
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestStatisticsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HibernateRequestStatistics.Scope scope = HibernateRequestStatistics.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? UNKNOWN_URI : pattern.toString());
+            record("hibernate.request.statements", tags, scope.statements());
+            record("hibernate.request.entity.loads", tags, scope.entityLoads());
+            record("hibernate.request.collection.fetches", tags, scope.collectionFetches());
+        }
+    }
+
+    private void record(String name, Tags tags, long count) {
+        DistributionSummary.builder(name)
+                .tags(tags)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry)
+                .record(count);
+    }
+}
@@ -1,33 +1,65 @@
 package com.example.sepm_assignment.model;
 
+import com.example.sepm_assignment.service.AutocompleteIndex;
+import com.example.sepm_assignment.service.ChangeFeed;
+import com.example.sepm_assignment.service.EntityCacheEvictor;
+import com.example.sepm_assignment.service.SyncTracker;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "courses")
+@EntityListeners({EntityCacheEvictor.class, AutocompleteIndex.Listener.class, ChangeFeed.Listener.class,
+        SyncTracker.Listener.class})
+@Table(name = "courses", indexes = @Index(name = "idx_courses_teacher_id", columnList = "teacher_id, id"))
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
+    @SequenceGenerator(name = "course_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
-    @Column(nullable = false)
+    @Column(nullable = false, unique = true)
     private String courseCode;
 
     @Column(nullable = false)
     private Integer credits;
 
+    /** Seats open to registration; {@code null} means no limit. */
+    private Integer capacity;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id")
     @JsonBackReference(value = "teacher-courses")
     private Teacher teacher;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /** Last insert or update, set by {@link SyncTracker}; drives the delta sync. */
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public Course(Long id, String title, String courseCode, Integer credits, Teacher teacher) {
+        this(id, title, courseCode, credits, null, teacher, null, null);
+    }
 }
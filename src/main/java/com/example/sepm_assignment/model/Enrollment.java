@@ -0,0 +1,42 @@
+package com.example.sepm_assignment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A student taking a course. Rows are written with set-based statements by
+ * {@code EnrollmentRepository}; the entity exists so that roster and
+ * schedule queries can join from the composite key to one side. Neither
+ * {@link Course} nor {@link Student} maps the enrollments as a collection.
+ */
+@Entity
+@Table(name = "enrollments",
+        indexes = @Index(name = "ix_enrollments_student_course", columnList = "student_id, course_id"))
+@Getter
+@Setter
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class Enrollment {
+
+    @EmbeddedId
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private EnrollmentId id;
+
+    @MapsId("courseId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    @MapsId("studentId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id")
+    private Student student;
+}
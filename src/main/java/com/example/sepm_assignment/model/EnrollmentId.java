@@ -0,0 +1,22 @@
+package com.example.sepm_assignment.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentId implements Serializable {
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "student_id")
+    private Long studentId;
+}
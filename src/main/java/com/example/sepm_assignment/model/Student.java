@@ -1,20 +1,30 @@
 package com.example.sepm_assignment.model;
 
+import com.example.sepm_assignment.service.AutocompleteIndex;
+import com.example.sepm_assignment.service.ChangeFeed;
+import com.example.sepm_assignment.service.EntityCacheEvictor;
+import com.example.sepm_assignment.service.SyncTracker;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "students")
+@EntityListeners({EntityCacheEvictor.class, AutocompleteIndex.Listener.class, ChangeFeed.Listener.class,
+        SyncTracker.Listener.class})
+@Table(name = "students", indexes = @Index(name = "idx_students_teacher_id", columnList = "teacher_id, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+    @SequenceGenerator(name = "student_seq", sequenceName = "students_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -23,11 +33,24 @@ public class Student {
     @Column(nullable = false, unique = true)
     private String email;
 
-    @Column(nullable = false)
+    @Column(nullable = false, unique = true)
     private String studentId;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id")
     @JsonBackReference
     private Teacher teacher;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /** Last insert or update, set by {@link SyncTracker}; drives the delta sync. */
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public Student(Long id, String name, String email, String studentId, Teacher teacher) {
+        this(id, name, email, studentId, teacher, null, null);
+    }
 }
@@ -1,29 +1,42 @@
 package com.example.sepm_assignment.model;
 
+import com.example.sepm_assignment.service.ChangeFeed;
+import com.example.sepm_assignment.service.EntityCacheEvictor;
+import com.example.sepm_assignment.service.SyncTracker;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners({EntityCacheEvictor.class, ChangeFeed.Listener.class, SyncTracker.Listener.class})
 @Table(name = "teachers")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teachers")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Teacher {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teacher_seq")
+    @SequenceGenerator(name = "teacher_seq", sequenceName = "teachers_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false)
+    @Column(nullable = false, unique = true)
     private String email;
 
     @Column(nullable = false)
@@ -34,6 +47,21 @@ public class Teacher {
     private List<Student> students = new ArrayList<>();
 
     @OneToMany(mappedBy = "teacher", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teacher-courses")
     @JsonManagedReference(value = "teacher-courses")
     private List<Course> courses = new ArrayList<>();
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /** Last insert or update, set by {@link SyncTracker}; drives the delta sync. */
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public Teacher(Long id, String name, String email, String department,
+                   List<Student> students, List<Course> courses) {
+        this(id, name, email, department, students, courses, null, null);
+    }
 }
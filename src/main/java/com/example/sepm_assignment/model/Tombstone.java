@@ -0,0 +1,35 @@
+package com.example.sepm_assignment.model;
+
+import com.example.sepm_assignment.dto.ChangeEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A deleted teacher, student or course, kept so that the delta sync can
+ * report the deletion. Written by {@link com.example.sepm_assignment.service.SyncTracker}.
+ */
+@Entity
+@Table(name = "tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeEvent.Entity entity;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+}
@@ -0,0 +1,75 @@
+package com.example.sepm_assignment.registration;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory seat count of one course, taken without locks.
+ * <p>
+ * The count is one {@code long}: the enrollments the database held after the
+ * last written batch in the high half and the seats reserved since, not yet
+ * written, in the low half. A reservation is a single compare-and-set that
+ * fails once the two add up to the capacity, so concurrent registrations are
+ * admitted in the order their CAS lands and never beyond the capacity this
+ * counter knows of. When a batch has been written, {@link #settle} replaces
+ * the enrolled half with the database's count and drops the reservations the
+ * batch carried, which also folds in anything that changed the enrollments
+ * behind the counter's back. The database stays the authority: the counter
+ * only decides who is offered a seat before the write checks it.
+ */
+public final class SeatCounter {
+
+    private static final long MASK = 0xffff_ffffL;
+
+    private final AtomicLong seats;
+    private volatile long capacity;
+
+    /** A counter for a course with {@code enrolled} students; a {@code null} capacity means no limit. */
+    public SeatCounter(Integer capacity, int enrolled) {
+        this.capacity = limit(capacity);
+        this.seats = new AtomicLong(pack(enrolled, 0));
+    }
+
+    /** Reserves a seat unless the course is full. */
+    public boolean tryReserve() {
+        long current;
+        do {
+            current = seats.get();
+            if (enrolled(current) + reserved(current) >= capacity) {
+                return false;
+            }
+        } while (!seats.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Records a written batch: the course now has {@code enrolled} students
+     * and the given capacity, and {@code reserved} of the outstanding
+     * reservations were part of the batch.
+     */
+    public void settle(Integer capacity, int enrolled, int reserved) {
+        this.capacity = limit(capacity);
+        seats.getAndUpdate(current -> pack(enrolled, reserved(current) - reserved));
+    }
+
+    /** Seats neither taken nor reserved. */
+    public long available() {
+        long current = seats.get();
+        return Math.max(0, capacity - enrolled(current) - reserved(current));
+    }
+
+    private static long limit(Integer capacity) {
+        return capacity == null ? Long.MAX_VALUE : capacity;
+    }
+
+    private static long pack(long enrolled, long reserved) {
+        return enrolled << 32 | reserved;
+    }
+
+    private static long enrolled(long seats) {
+        return seats >>> 32;
+    }
+
+    private static long reserved(long seats) {
+        return seats & MASK;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.sepm_assignment.registration;
+
+import com.example.sepm_assignment.dto.RegistrationResult.Status;
+import com.example.sepm_assignment.dto.SeatSummary;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The registration writes on the connection of the surrounding transaction.
+ * <p>
+ * {@link #allocate} takes the course row lock once for a whole batch of
+ * registrations, counts the enrollments under it and only then seats
+ * students, so the capacity holds however many writers there are and
+ * whatever the in-memory counters believe. Students are inserted with one
+ * JDBC batch per kind of write; a row the batch skips (already enrolled,
+ * already waiting, unknown student) is told apart afterwards with a lookup
+ * of its own, which only duplicates pay for.
+ */
+public final class SeatLedger {
+
+    private static final String LOCK_COURSE = "select capacity from courses where id = ? for update";
+    private static final String COUNT_ENROLLED = "select count(*) from enrollments where course_id = ?";
+    private static final String SUMMARY = "select c.capacity,"
+            + " (select count(*) from enrollments e where e.course_id = c.id),"
+            + " (select count(*) from waitlist w where w.course_id = c.id)"
+            + " from courses c where c.id = ?";
+    private static final String ENROLL = "insert into enrollments (course_id, student_id)"
+            + " select ?, s.id from students s where s.id = ? on conflict do nothing";
+    private static final String JOIN_WAITLIST = "insert into waitlist (course_id, student_id, ticket)"
+            + " select ?, s.id, nextval('waitlist_seq') from students s where s.id = ?"
+            + " and not exists (select 1 from enrollments e where e.course_id = ? and e.student_id = s.id)"
+            + " on conflict do nothing";
+    private static final String LEAVE_WAITLIST = "delete from waitlist where course_id = ? and student_id = ?";
+    private static final String WAITLIST_HEAD =
+            "select student_id from waitlist where course_id = ? order by ticket limit ?";
+    private static final String IS_ENROLLED = "select 1 from enrollments where course_id = ? and student_id = ?";
+    private static final String IS_WAITLISTED = "select 1 from waitlist where course_id = ? and student_id = ?";
+    private static final String WAITLISTED_COURSES = "select distinct course_id from waitlist";
+
+    private SeatLedger() {
+    }
+
+    /** A student registering; {@code reserved} when the in-memory counter offered a seat. */
+    public record Registration(long studentId, boolean reserved) {
+    }
+
+    /**
+     * A written batch: the course's capacity and enrollment count after it,
+     * and per registration its outcome, {@code null} for an unknown student.
+     */
+    public record Allocation(Integer capacity, int enrolled, List<Status> statuses) {
+    }
+
+    public static Optional<SeatSummary> summary(Connection connection, long courseId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SUMMARY)) {
+            statement.setLong(1, courseId);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                int capacity = rs.getInt(1);
+                return Optional.of(new SeatSummary(rs.wasNull() ? null : capacity, rs.getLong(2), rs.getLong(3)));
+            }
+        }
+    }
+
+    /** Courses with students waiting, whose waitlists may be owed seats. */
+    public static List<Long> waitlistedCourses(Connection connection) throws SQLException {
+        List<Long> courseIds = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(WAITLISTED_COURSES);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                courseIds.add(rs.getLong(1));
+            }
+        }
+        return courseIds;
+    }
+
+    /**
+     * Writes a batch of registrations for one course, or returns empty when
+     * the course does not exist. Registrations holding a reservation are
+     * enrolled in order while the database count leaves seats; the others,
+     * and any reservation the database cannot honour, join the waitlist.
+     * Seats still free afterwards, including those a previous unenroll left,
+     * go to the head of the waitlist. An empty batch only does the latter.
+     */
+    public static Optional<Allocation> allocate(Connection connection, long courseId,
+                                                List<Registration> registrations) throws SQLException {
+        Integer capacity;
+        try (PreparedStatement lock = connection.prepareStatement(LOCK_COURSE)) {
+            lock.setLong(1, courseId);
+            try (ResultSet rs = lock.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                int value = rs.getInt(1);
+                capacity = rs.wasNull() ? null : value;
+            }
+        }
+        int enrolled = count(connection, courseId);
+        long free = capacity == null ? Long.MAX_VALUE : capacity - enrolled;
+
+        List<Integer> seated = new ArrayList<>();
+        List<Integer> queued = new ArrayList<>();
+        for (int i = 0; i < registrations.size(); i++) {
+            if (registrations.get(i).reserved() && free > 0) {
+                seated.add(i);
+                free--;
+            } else {
+                queued.add(i);
+            }
+        }
+
+        Status[] statuses = new Status[registrations.size()];
+        List<Long> newlyEnrolled = new ArrayList<>();
+        int[] inserted = executeBatch(connection, ENROLL, seated, i -> new long[]{
+                courseId, registrations.get(i).studentId()});
+        for (int k = 0; k < seated.size(); k++) {
+            int i = seated.get(k);
+            if (inserted[k] > 0) {
+                statuses[i] = Status.ENROLLED;
+                newlyEnrolled.add(registrations.get(i).studentId());
+                enrolled++;
+            } else {
+                statuses[i] = existing(connection, courseId, registrations.get(i).studentId());
+            }
+        }
+        if (capacity != null && !newlyEnrolled.isEmpty()) {
+            executeBatch(connection, LEAVE_WAITLIST, newlyEnrolled, id -> new long[]{courseId, id});
+        }
+
+        int[] joined = executeBatch(connection, JOIN_WAITLIST, queued, i -> new long[]{
+                courseId, registrations.get(i).studentId(), courseId});
+        for (int k = 0; k < queued.size(); k++) {
+            int i = queued.get(k);
+            statuses[i] = joined[k] > 0 ? Status.WAITLISTED
+                    : existing(connection, courseId, registrations.get(i).studentId());
+        }
+
+        if (capacity != null && enrolled < capacity) {
+            Map<Long, Integer> waiting = new HashMap<>();
+            for (int i : queued) {
+                waiting.put(registrations.get(i).studentId(), i);
+            }
+            List<Long> promoted = new ArrayList<>();
+            enrolled += promote(connection, courseId, capacity - enrolled, promoted);
+            for (Long studentId : promoted) {
+                Integer i = waiting.get(studentId);
+                if (i != null) {
+                    statuses[i] = Status.ENROLLED;
+                }
+            }
+        }
+        return Optional.of(new Allocation(capacity, enrolled, Arrays.asList(statuses)));
+    }
+
+    /**
+     * Moves up to {@code seats} students from the head of the waitlist into
+     * the course, adding the ids it enrolled to {@code promoted}, and returns
+     * how many it enrolled. Waitlist rows of students enrolled by other means
+     * are dropped without taking a seat.
+     */
+    private static int promote(Connection connection, long courseId, int seats, List<Long> promoted)
+            throws SQLException {
+        int enrolled = 0;
+        while (enrolled < seats) {
+            List<Long> head = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(WAITLIST_HEAD)) {
+                statement.setLong(1, courseId);
+                statement.setInt(2, seats - enrolled);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        head.add(rs.getLong(1));
+                    }
+                }
+            }
+            if (head.isEmpty()) {
+                break;
+            }
+            int[] inserted = executeBatch(connection, ENROLL, head, id -> new long[]{courseId, id});
+            executeBatch(connection, LEAVE_WAITLIST, head, id -> new long[]{courseId, id});
+            for (int k = 0; k < head.size(); k++) {
+                if (inserted[k] > 0) {
+                    promoted.add(head.get(k));
+                    enrolled++;
+                }
+            }
+        }
+        return enrolled;
+    }
+
+    private static Status existing(Connection connection, long courseId, long studentId) throws SQLException {
+        if (exists(connection, IS_ENROLLED, courseId, studentId)) {
+            return Status.ALREADY_ENROLLED;
+        }
+        return exists(connection, IS_WAITLISTED, courseId, studentId) ? Status.ALREADY_WAITLISTED : null;
+    }
+
+    private static boolean exists(Connection connection, String sql, long courseId, long studentId)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, courseId);
+            statement.setLong(2, studentId);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static int count(Connection connection, long courseId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(COUNT_ENROLLED)) {
+            statement.setLong(1, courseId);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private interface Parameters<T> {
+        long[] of(T row);
+    }
+
+    /** One JDBC batch of {@code sql}, one statement per row, returning the row counts. */
+    private static <T> int[] executeBatch(Connection connection, String sql, List<T> rows, Parameters<T> parameters)
+            throws SQLException {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (T row : rows) {
+                long[] values = parameters.of(row);
+                for (int p = 0; p < values.length; p++) {
+                    statement.setLong(p + 1, values[p]);
+                }
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        }
+    }
+}
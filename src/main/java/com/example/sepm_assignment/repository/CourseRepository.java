@@ -1,14 +1,41 @@
 package com.example.sepm_assignment.repository;
 
+import com.example.sepm_assignment.dto.VersionSummary;
 import com.example.sepm_assignment.model.Course;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByTeacherId(Long teacherId);
+    List<Course> findByTeacherIdInOrderByIdAsc(Collection<Long> teacherIds);
+    List<Course> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+    List<Course> findByTeacherIdAndIdGreaterThanOrderByIdAsc(Long teacherId, Long after, Limit limit);
     Optional<Course> findByCourseCode(String courseCode);
+
+    @Query("select new com.example.sepm_assignment.dto.VersionSummary("
+            + "count(c), coalesce(max(c.id), 0L), coalesce(sum(c.version), 0L)) from Course c")
+    VersionSummary versionSummary();
+
+    @Query("select new com.example.sepm_assignment.dto.VersionSummary("
+            + "count(c), coalesce(max(c.id), 0L), coalesce(sum(c.version), 0L)) from Course c"
+            + " where c.teacher.id = :teacherId")
+    VersionSummary versionSummaryByTeacherId(@Param("teacherId") Long teacherId);
+
+    /** {@code [id, courseCode]} of every course, read in batches; call inside a transaction. */
+    @Query("select c.id, c.courseCode from Course c")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    Stream<Object[]> streamIdAndCourseCode();
 }
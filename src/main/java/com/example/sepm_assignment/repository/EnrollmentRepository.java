@@ -0,0 +1,59 @@
+package com.example.sepm_assignment.repository;
+
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.EnrollmentId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EnrollmentRepository extends JpaRepository<Enrollment, EnrollmentId> {
+
+    /** One page of a course roster by student id, read along the primary key. */
+    @Query("select new com.example.sepm_assignment.dto.StudentDto(s.id, s.name, s.email, s.studentId, s.version)"
+            + " from Enrollment e join e.student s"
+            + " where e.id.courseId = :courseId and e.id.studentId > :after order by e.id.studentId")
+    List<StudentDto> findRoster(@Param("courseId") Long courseId, @Param("after") Long after, Limit limit);
+
+    /** One page of a student's schedule by course id, read along ix_enrollments_student_course. */
+    @Query("select new com.example.sepm_assignment.dto.CourseDto(c.id, c.title, c.courseCode, c.credits,"
+            + " c.capacity, c.version) from Enrollment e join e.course c"
+            + " where e.id.studentId = :studentId and e.id.courseId > :after order by e.id.courseId")
+    List<CourseDto> findSchedule(@Param("studentId") Long studentId, @Param("after") Long after, Limit limit);
+
+    /**
+     * Enrolls the existing students among {@code studentIds} in the course in
+     * one statement; ids that are unknown or already enrolled are skipped.
+     */
+    @Modifying
+    @Query(value = "insert into enrollments (course_id, student_id)"
+            + " select :courseId, s.id from students s where s.id in (:studentIds)"
+            + " on conflict do nothing", nativeQuery = true)
+    int enroll(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+
+    /** The capacity-limited courses the student holds a seat in. */
+    @Query("select e.id.courseId from Enrollment e join e.course c"
+            + " where e.id.studentId = :studentId and c.capacity is not null")
+    List<Long> findCappedCourseIdsByStudentId(@Param("studentId") Long studentId);
+
+    /**
+     * The capacity-limited courses, other than the teacher's own, that the
+     * teacher's students hold seats in.
+     */
+    @Query("select distinct c.id from Enrollment e join e.course c join e.student s"
+            + " where s.teacher.id = :teacherId and c.capacity is not null"
+            + " and (c.teacher is null or c.teacher.id <> :teacherId)")
+    List<Long> findCappedCourseIdsByTeacherStudents(@Param("teacherId") Long teacherId);
+
+    @Modifying
+    @Query("delete from Enrollment e where e.id.courseId = :courseId and e.id.studentId in :studentIds")
+    int unenroll(@Param("courseId") Long courseId, @Param("studentIds") Collection<Long> studentIds);
+}
@@ -1,15 +1,48 @@
 package com.example.sepm_assignment.repository;
 
+import com.example.sepm_assignment.dto.VersionSummary;
 import com.example.sepm_assignment.model.Student;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByTeacherId(Long teacherId);
+    List<Student> findByTeacherIdInOrderByIdAsc(Collection<Long> teacherIds);
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+    List<Student> findByTeacherIdAndIdGreaterThanOrderByIdAsc(Long teacherId, Long after, Limit limit);
     Optional<Student> findByEmail(String email);
+
     Optional<Student> findByStudentId(String studentId);
+
+    /** {@code [email, studentId]} of the students holding any of the emails or student ids. */
+    @Query("select s.email, s.studentId from Student s where s.email in :emails or s.studentId in :studentIds")
+    List<Object[]> findTaken(@Param("emails") Collection<String> emails,
+                             @Param("studentIds") Collection<String> studentIds);
+
+    @Query("select new com.example.sepm_assignment.dto.VersionSummary("
+            + "count(s), coalesce(max(s.id), 0L), coalesce(sum(s.version), 0L)) from Student s")
+    VersionSummary versionSummary();
+
+    @Query("select new com.example.sepm_assignment.dto.VersionSummary("
+            + "count(s), coalesce(max(s.id), 0L), coalesce(sum(s.version), 0L)) from Student s"
+            + " where s.teacher.id = :teacherId")
+    VersionSummary versionSummaryByTeacherId(@Param("teacherId") Long teacherId);
+
+    /** {@code [id, studentId]} of every student, read in batches; call inside a transaction. */
+    @Query("select s.id, s.studentId from Student s")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    Stream<Object[]> streamIdAndStudentId();
 }
@@ -1,12 +1,21 @@
 package com.example.sepm_assignment.repository;
 
+import com.example.sepm_assignment.dto.VersionSummary;
 import com.example.sepm_assignment.model.Teacher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByEmail(String email);
+    List<Teacher> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    @Query("select new com.example.sepm_assignment.dto.VersionSummary("
+            + "count(t), coalesce(max(t.id), 0L), coalesce(sum(t.version), 0L)) from Teacher t")
+    VersionSummary versionSummary();
 }
@@ -0,0 +1,140 @@
+package com.example.sepm_assignment.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A {@link PrefixIndex} that takes changes and rebuilds while serving lookups.
+ * <p>
+ * Changes land in a small overlay, keyed by id and with its keys sorted like
+ * the base, that lookups merge into the results of the base index. Once the
+ * overlay holds {@code compactAt} ids it is folded into a new base. The base and the overlay are published together
+ * through one volatile field, so a lookup reads a consistent pair without
+ * taking a lock; writers serialize among themselves and swap in the next pair.
+ * A rebuild loads the new base without holding the write lock and replays the
+ * changes applied meanwhile, so neither lookups nor writers wait for the load.
+ * The locks are {@link ReentrantLock}s rather than monitors because a rebuild
+ * holds one across a database load, which would pin a virtual thread.
+ */
+public final class LivePrefixIndex {
+
+    private final int compactAt;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile State state = State.of(PrefixIndex.EMPTY);
+    // changes applied while a rebuild is loading; guarded by writeLock
+    private Map<Long, String> sinceRebuild;
+
+    public LivePrefixIndex(int compactAt) {
+        this.compactAt = compactAt;
+    }
+
+    /** Size of the base index; see {@link PrefixIndex#memoryBytes()}. */
+    public long memoryBytes() {
+        return state.base().memoryBytes();
+    }
+
+    public List<PrefixIndex.Entry> find(String prefix, int limit) {
+        State current = state;
+        if (current.overlay().isEmpty()) {
+            return current.base().find(prefix, limit);
+        }
+        List<PrefixIndex.Entry> found = new ArrayList<>(
+                current.base().find(prefix, limit, current.overlay()::containsKey));
+        found.addAll(current.added().find(prefix, limit));
+        found.sort(PrefixIndex.ORDER);
+        return found.size() <= limit ? found : found.subList(0, limit);
+    }
+
+    /**
+     * Sets the key of every id in {@code changes}; an id mapped to
+     * {@code null} is removed.
+     */
+    public void apply(Map<Long, String> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (sinceRebuild != null) {
+                sinceRebuild.putAll(changes);
+            }
+            state = state.with(changes, compactAt);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents with the index {@code loader} builds, keeping the
+     * changes applied while it ran. Lookups see the previous contents until
+     * the new base is in place.
+     */
+    public void rebuild(Supplier<PrefixIndex> loader) {
+        rebuildLock.lock();
+        try {
+            writeLock.lock();
+            try {
+                sinceRebuild = new HashMap<>();
+            } finally {
+                writeLock.unlock();
+            }
+            PrefixIndex loaded;
+            try {
+                loaded = loader.get();
+            } catch (RuntimeException e) {
+                writeLock.lock();
+                try {
+                    sinceRebuild = null;
+                } finally {
+                    writeLock.unlock();
+                }
+                throw e;
+            }
+            writeLock.lock();
+            try {
+                state = State.of(loaded).with(sinceRebuild, compactAt);
+                sinceRebuild = null;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * The base index, the pending changes by id and, indexed on their own, the
+     * keys those changes set.
+     */
+    private record State(PrefixIndex base, Map<Long, String> overlay, PrefixIndex added) {
+
+        static State of(PrefixIndex base) {
+            return new State(base, Map.of(), PrefixIndex.EMPTY);
+        }
+
+        State with(Map<Long, String> changes, int compactAt) {
+            if (changes.isEmpty()) {
+                return this;
+            }
+            Map<Long, String> merged = new HashMap<>(overlay);
+            merged.putAll(changes);
+            if (merged.size() >= compactAt) {
+                return of(base.withChanges(merged));
+            }
+            PrefixIndex.Builder added = PrefixIndex.builder();
+            merged.forEach((id, key) -> {
+                if (key != null) {
+                    added.add(id, key);
+                }
+            });
+            return new State(base, Collections.unmodifiableMap(merged), added.build());
+        }
+    }
+}
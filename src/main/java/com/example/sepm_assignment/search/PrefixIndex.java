@@ -0,0 +1,243 @@
+package com.example.sepm_assignment.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable set of {@code (id, key)} pairs sorted for prefix lookups.
+ * <p>
+ * The keys are stored back to back as UTF-8 in one byte array, next to an
+ * {@code int} offset and a {@code long} id per key. There is no object per
+ * key, so n keys with an average encoded length of b bytes take
+ * n &times; (b + 12) bytes plus three array headers: 20 bytes for an
+ * 8-character student id, where a {@code String[]} and {@code long[]} of the
+ * same keys take about 60. Keys are ordered and matched ignoring ASCII case,
+ * which is all the course codes and student ids need; a lookup is a binary
+ * search for the first match followed by a scan of the matching run.
+ */
+public final class PrefixIndex {
+
+    public static final PrefixIndex EMPTY = new PrefixIndex(new byte[0], new int[1], new long[0]);
+
+    /** Orders entries the way the index stores them. */
+    static final Comparator<Entry> ORDER = (a, b) -> {
+        byte[] x = encode(a.key());
+        byte[] y = encode(b.key());
+        int order = compare(x, 0, x.length, y, 0, y.length);
+        return order != 0 ? order : Long.compare(a.id(), b.id());
+    };
+
+    private final byte[] keys;
+    private final int[] offsets;
+    private final long[] ids;
+
+    private PrefixIndex(byte[] keys, int[] offsets, long[] ids) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.ids = ids;
+    }
+
+    public record Entry(long id, String key) {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Shallow size of the index on a 64-bit JVM with compressed references:
+     * the index object and its three arrays.
+     */
+    public long memoryBytes() {
+        return align(12 + 3 * 4) + arrayBytes(keys.length) + arrayBytes(4L * offsets.length)
+                + arrayBytes(8L * ids.length);
+    }
+
+    public List<Entry> find(String prefix, int limit) {
+        return find(prefix, limit, id -> false);
+    }
+
+    /**
+     * The first {@code limit} entries whose key starts with {@code prefix},
+     * ignoring ASCII case, in index order, leaving out the ids {@code skip}
+     * accepts.
+     */
+    public List<Entry> find(String prefix, int limit, LongPredicate skip) {
+        byte[] wanted = encode(prefix);
+        List<Entry> found = new ArrayList<>(Math.min(limit, 16));
+        for (int i = firstAtLeast(wanted); i < ids.length && found.size() < limit; i++) {
+            if (!startsWith(i, wanted)) {
+                break;
+            }
+            if (!skip.test(ids[i])) {
+                found.add(entry(i));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * A new index with {@code changes} applied: every id in the map loses its
+     * current key and, unless it maps to {@code null}, gets the given one. The
+     * unchanged keys are copied over in order without being decoded, so the
+     * cost is one pass over this index plus sorting the changes.
+     */
+    public PrefixIndex withChanges(Map<Long, String> changes) {
+        List<Entry> added = changes.entrySet().stream()
+                .filter(change -> change.getValue() != null)
+                .map(change -> new Entry(change.getKey(), change.getValue()))
+                .sorted(ORDER)
+                .toList();
+        Builder merged = new Builder();
+        int next = 0;
+        byte[] pending = next < added.size() ? encode(added.get(next).key()) : null;
+        for (int i = 0; i < ids.length; i++) {
+            if (changes.containsKey(ids[i])) {
+                continue;
+            }
+            while (pending != null && precedes(pending, added.get(next).id(), i)) {
+                merged.append(added.get(next).id(), pending, 0, pending.length);
+                pending = ++next < added.size() ? encode(added.get(next).key()) : null;
+            }
+            merged.append(ids[i], keys, offsets[i], offsets[i + 1]);
+        }
+        while (pending != null) {
+            merged.append(added.get(next).id(), pending, 0, pending.length);
+            pending = ++next < added.size() ? encode(added.get(next).key()) : null;
+        }
+        return merged.pack();
+    }
+
+    private boolean precedes(byte[] key, long id, int i) {
+        int order = compare(key, 0, key.length, keys, offsets[i], offsets[i + 1]);
+        return order != 0 ? order < 0 : id < ids[i];
+    }
+
+    private int firstAtLeast(byte[] prefix) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareFolded(keys, offsets[mid], offsets[mid + 1], prefix, 0, prefix.length) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean startsWith(int i, byte[] prefix) {
+        int from = offsets[i];
+        if (offsets[i + 1] - from < prefix.length) {
+            return false;
+        }
+        return compareFolded(keys, from, from + prefix.length, prefix, 0, prefix.length) == 0;
+    }
+
+    private Entry entry(int i) {
+        return new Entry(ids[i], new String(keys, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8));
+    }
+
+    private static byte[] encode(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Case-folded order first, so keys differing only in case sit together. */
+    private static int compare(byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo) {
+        int order = compareFolded(a, aFrom, aTo, b, bFrom, bTo);
+        return order != 0 ? order : Arrays.compareUnsigned(a, aFrom, aTo, b, bFrom, bTo);
+    }
+
+    // UTF-8 byte order is code point order, and no byte of a multi-byte sequence is ASCII
+    private static int compareFolded(byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo) {
+        int length = Math.min(aTo - aFrom, bTo - bFrom);
+        for (int i = 0; i < length; i++) {
+            int x = fold(a[aFrom + i]);
+            int y = fold(b[bFrom + i]);
+            if (x != y) {
+                return x - y;
+            }
+        }
+        return (aTo - aFrom) - (bTo - bFrom);
+    }
+
+    private static int fold(byte b) {
+        int c = b & 0xff;
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    private static long arrayBytes(long payload) {
+        return align(16 + payload);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /** Collects entries in any order; {@link #build()} sorts them once. */
+    public static final class Builder {
+
+        private byte[] keys = new byte[1024];
+        private int[] offsets = new int[129];
+        private long[] ids = new long[128];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(long id, String key) {
+            byte[] bytes = encode(key);
+            return append(id, bytes, 0, bytes.length);
+        }
+
+        public PrefixIndex build() {
+            int[] order = IntStream.range(0, size).boxed()
+                    .sorted((a, b) -> {
+                        int keyOrder = compare(keys, offsets[a], offsets[a + 1], keys, offsets[b], offsets[b + 1]);
+                        return keyOrder != 0 ? keyOrder : Long.compare(ids[a], ids[b]);
+                    })
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            Builder sorted = new Builder();
+            sorted.keys = new byte[offsets[size]];
+            sorted.offsets = new int[size + 1];
+            sorted.ids = new long[size];
+            for (int i : order) {
+                sorted.append(ids[i], keys, offsets[i], offsets[i + 1]);
+            }
+            return sorted.pack();
+        }
+
+        private Builder append(long id, byte[] source, int from, int to) {
+            int length = to - from;
+            int end = offsets[size];
+            if (end + length > keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(keys.length * 2, end + length));
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2 + 1);
+            }
+            System.arraycopy(source, from, keys, end, length);
+            ids[size] = id;
+            offsets[++size] = end + length;
+            return this;
+        }
+
+        private PrefixIndex pack() {
+            return new PrefixIndex(Arrays.copyOf(keys, offsets[size]), Arrays.copyOf(offsets, size + 1),
+                    Arrays.copyOf(ids, size));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.sepm_assignment.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Java port of PostgreSQL's {@code pg_trgm} {@code word_similarity}, registered
+ * as an SQL function on H2 (see {@code db/migration/h2}) so that student search
+ * ranks and filters the same way on the test database as on PostgreSQL.
+ * <p>
+ * As in {@code pg_trgm}, text is lower-cased and split into words at every
+ * non-alphanumeric character, and each word is padded with two spaces in front
+ * and one behind before it is cut into trigrams.
+ */
+public final class Trigrams {
+
+    /** Default of {@code pg_trgm.word_similarity_threshold}, the cut-off of the {@code <%} operator. */
+    public static final double WORD_SIMILARITY_THRESHOLD = 0.6;
+
+    private Trigrams() {
+    }
+
+    /**
+     * The trigrams of {@code text} in order of appearance, repeats included.
+     */
+    public static List<String> of(String text) {
+        List<String> trigrams = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int i = 0;
+        while (i < lower.length()) {
+            if (!Character.isLetterOrDigit(lower.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < lower.length() && Character.isLetterOrDigit(lower.charAt(i))) {
+                i++;
+            }
+            String padded = "  " + lower.substring(start, i) + " ";
+            for (int j = 0; j + 3 <= padded.length(); j++) {
+                trigrams.add(padded.substring(j, j + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Greatest similarity between the trigram set of {@code query} and any
+     * continuous extent of the ordered trigrams of {@code text}, searched the
+     * way {@code pg_trgm}'s {@code iterate_word_similarity} does it. Returns
+     * 0 when either argument is {@code null} or has no trigrams.
+     */
+    public static double wordSimilarity(String query, String text) {
+        if (query == null || text == null) {
+            return 0;
+        }
+        Set<String> queryTrigrams = new HashSet<>(of(query));
+        int queryLength = queryTrigrams.size();
+        if (queryLength == 0) {
+            return 0;
+        }
+
+        List<String> textTrigrams = of(text);
+        Map<String, Integer> indexes = new HashMap<>();
+        int[] textIndexes = new int[textTrigrams.size()];
+        for (int i = 0; i < textIndexes.length; i++) {
+            textIndexes[i] = indexes.computeIfAbsent(textTrigrams.get(i), trigram -> indexes.size());
+        }
+        boolean[] found = new boolean[indexes.size()];
+        indexes.forEach((trigram, index) -> found[index] = queryTrigrams.contains(trigram));
+
+        int[] lastPosition = new int[found.length];
+        Arrays.fill(lastPosition, -1);
+        int lower = -1;
+        int count = 0;
+        int extentLength = 0;
+        float max = 0;
+        for (int upper = 0; upper < textIndexes.length; upper++) {
+            int trigram = textIndexes[upper];
+            if (lower >= 0 || found[trigram]) {
+                if (lastPosition[trigram] < 0) {
+                    extentLength++;
+                    if (found[trigram]) {
+                        count++;
+                    }
+                }
+                lastPosition[trigram] = upper;
+            }
+            if (!found[trigram]) {
+                continue;
+            }
+            if (lower == -1) {
+                lower = upper;
+                extentLength = 1;
+            }
+
+            // try moving the lower bound up for a greater similarity
+            float current = similarity(count, queryLength, extentLength);
+            int candidateCount = count;
+            int candidateLength = extentLength;
+            int previousLower = lower;
+            for (int candidateLower = lower; candidateLower <= upper; candidateLower++) {
+                float candidate = similarity(candidateCount, queryLength, candidateLength);
+                if (candidate > current) {
+                    current = candidate;
+                    extentLength = candidateLength;
+                    lower = candidateLower;
+                    count = candidateCount;
+                }
+                int dropped = textIndexes[candidateLower];
+                if (lastPosition[dropped] == candidateLower) {
+                    candidateLength--;
+                    if (found[dropped]) {
+                        candidateCount--;
+                    }
+                }
+            }
+            max = Math.max(max, current);
+
+            for (int dropped = previousLower; dropped < lower; dropped++) {
+                if (lastPosition[textIndexes[dropped]] == dropped) {
+                    lastPosition[textIndexes[dropped]] = -1;
+                }
+            }
+        }
+        return max;
+    }
+
+    // float like pg_trgm, so results compare against the threshold exactly as they do there
+    private static float similarity(int count, int queryLength, int extentLength) {
+        return (float) count / (float) (queryLength + extentLength - count);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.sepm_assignment.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers successful username/password verifications so that repeated
+ * HTTP Basic requests do not pay for a BCrypt comparison every time.
+ * <p>
+ * Entries are keyed by an HMAC-SHA256 of the submitted credentials under a
+ * per-process random key, so the cache never holds plaintext passwords. Each
+ * entry also records the stored password hash and authorities it was verified
+ * against; a hit is only honoured while those still match what the
+ * {@link UserDetailsService} returns, which drops entries as soon as a user's
+ * password or roles change.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final UserDetailsService userDetailsService;
+    private final DaoAuthenticationProvider delegate;
+    private final Cache<String, VerifiedCredential> cache;
+    private final SecretKeySpec key;
+    private final AccountStatusUserDetailsChecker statusChecker = new AccountStatusUserDetailsChecker();
+
+    public CachingAuthenticationProvider(UserDetailsService userDetailsService,
+                                         PasswordEncoder passwordEncoder,
+                                         long maximumSize,
+                                         Duration timeToLive) {
+        this.userDetailsService = userDetailsService;
+        this.delegate = new DaoAuthenticationProvider(passwordEncoder);
+        this.delegate.setUserDetailsService(userDetailsService);
+        // evictions run on the calling thread, so a maximum size of 0 keeps nothing and turns the cache off
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .executor(Runnable::run)
+                .build();
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String cacheKey = fingerprint(username, credentials.toString());
+        VerifiedCredential cached = cache.getIfPresent(cacheKey);
+        if (cached != null) {
+            UserDetails user = loadUserOrNull(username);
+            if (user != null && cached.matches(user)) {
+                statusChecker.check(user);
+                UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken
+                        .authenticated(user, null, user.getAuthorities());
+                result.setDetails(authentication.getDetails());
+                return result;
+            }
+            cache.invalidate(cacheKey);
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.getPrincipal() instanceof UserDetails user) {
+            cache.put(cacheKey, VerifiedCredential.of(user));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    /**
+     * Drops every cached verification for the given user, e.g. after an
+     * administrative password reset.
+     */
+    public void invalidate(String username) {
+        cache.asMap().values().removeIf(entry -> entry.username().equals(username));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private UserDetails loadUserOrNull(String username) {
+        try {
+            return userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    private String fingerprint(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private record VerifiedCredential(String username, String encodedPassword, Set<String> authorities) {
+
+        static VerifiedCredential of(UserDetails user) {
+            return new VerifiedCredential(user.getUsername(), user.getPassword(), authorityNames(user));
+        }
+
+        boolean matches(UserDetails user) {
+            return encodedPassword.equals(user.getPassword()) && authorities.equals(authorityNames(user));
+        }
+
+        private static Set<String> authorityNames(UserDetails user) {
+            return user.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+}
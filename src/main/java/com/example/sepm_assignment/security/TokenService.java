@@ -0,0 +1,171 @@
+package com.example.sepm_assignment.security;
+
+import com.example.sepm_assignment.dto.TokenResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Issues and verifies short-lived HMAC-signed tokens.
+ * <p>
+ * A token is {@code base64url(payload) + "." + base64url(HMAC-SHA256(payload))}
+ * where the payload carries the token type, username, expiry and granted
+ * authorities. Verifying an access token is a single HMAC computation, so
+ * requests carrying one never touch the password encoder. Refresh tokens are
+ * exchanged for a new pair after re-reading the user, which picks up role
+ * changes and rejects users that no longer exist.
+ */
+public class TokenService {
+
+    public static final String TOKEN_TYPE = "Bearer";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String ACCESS = "access";
+    private static final String REFRESH = "refresh";
+
+    private final UserDetailsService userDetailsService;
+    private final SecretKeySpec key;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+    private final Clock clock;
+
+    public TokenService(UserDetailsService userDetailsService,
+                        String secret,
+                        Duration accessTokenTtl,
+                        Duration refreshTokenTtl,
+                        Clock clock) {
+        this.userDetailsService = userDetailsService;
+        this.key = new SecretKeySpec(secretBytes(secret), HMAC_ALGORITHM);
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+        this.clock = clock;
+    }
+
+    public TokenResponse issue(UserDetails user) {
+        List<String> authorities = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .toList();
+        List<String> roles = authorities.stream()
+                .filter(a -> a.startsWith("ROLE_"))
+                .map(a -> a.substring("ROLE_".length()))
+                .toList();
+
+        return new TokenResponse(
+                sign(ACCESS, user.getUsername(), authorities, accessTokenTtl),
+                sign(REFRESH, user.getUsername(), authorities, refreshTokenTtl),
+                TOKEN_TYPE,
+                accessTokenTtl.toSeconds(),
+                user.getUsername(),
+                roles);
+    }
+
+    public Optional<Authentication> authenticate(String accessToken) {
+        return decode(accessToken, ACCESS).map(claims -> UsernamePasswordAuthenticationToken.authenticated(
+                claims.username(),
+                null,
+                claims.authorities().stream().map(SimpleGrantedAuthority::new).toList()));
+    }
+
+    public Optional<TokenResponse> refresh(String refreshToken) {
+        return decode(refreshToken, REFRESH).flatMap(claims -> {
+            try {
+                UserDetails user = userDetailsService.loadUserByUsername(claims.username());
+                if (!user.isEnabled() || !user.isAccountNonLocked() || !user.isAccountNonExpired()) {
+                    return Optional.empty();
+                }
+                return Optional.of(issue(user));
+            } catch (UsernameNotFoundException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private String sign(String type, String username, List<String> authorities, Duration ttl) {
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        String payload = String.join("\n", type, username, Long.toString(expiresAt), String.join(",", authorities));
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payloadBytes) + "." + encoder.encodeToString(hmac(payloadBytes));
+    }
+
+    private Optional<Claims> decode(String token, String expectedType) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payloadBytes = decoder.decode(token.substring(0, dot));
+            signature = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(hmac(payloadBytes), signature)) {
+            return Optional.empty();
+        }
+
+        String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\n", -1);
+        if (parts.length != 4 || !parts[0].equals(expectedType)) {
+            return Optional.empty();
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(parts[2]);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (clock.instant().getEpochSecond() >= expiresAt) {
+            return Optional.empty();
+        }
+
+        List<String> authorities = parts[3].isEmpty() ? List.of() : Arrays.asList(parts[3].split(","));
+        return Optional.of(new Claims(parts[1], authorities));
+    }
+
+    private byte[] hmac(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Claims(String username, List<String> authorities) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.AutocompleteSuggestion;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.search.LivePrefixIndex;
+import com.example.sepm_assignment.search.PrefixIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Type-ahead over course codes and student ids, served from memory.
+ * <p>
+ * Both key sets are loaded into a {@link LivePrefixIndex} once the application
+ * is ready, and lookups never touch the database. {@link Listener} is
+ * registered as a JPA entity listener next to {@link EntityCacheEvictor}, so
+ * every course and student Hibernate inserts, updates or deletes, including
+ * the children removed with a teacher, reaches the index; the changes of a
+ * transaction are applied when it commits and dropped when it rolls back.
+ * Writes that bypass Hibernate must call {@link #studentsChanged}.
+ */
+@Component
+public class AutocompleteIndex {
+
+    // overlay size at which pending changes are folded into the sorted base
+    private static final int COMPACT_AT = 1024;
+
+    private final ObjectProvider<CourseRepository> courseRepository;
+    private final ObjectProvider<StudentRepository> studentRepository;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private final LivePrefixIndex courses = new LivePrefixIndex(COMPACT_AT);
+    private final LivePrefixIndex students = new LivePrefixIndex(COMPACT_AT);
+
+    // looked up late: Hibernate creates its entity listeners while building the
+    // entity manager factory that the repositories and transaction manager need
+    public AutocompleteIndex(ObjectProvider<CourseRepository> courseRepository,
+                             ObjectProvider<StudentRepository> studentRepository,
+                             ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+        this.transactionManager = transactionManager;
+    }
+
+    public List<AutocompleteSuggestion> courses(String prefix, int limit) {
+        return suggestions(courses, prefix, limit);
+    }
+
+    public List<AutocompleteSuggestion> students(String prefix, int limit) {
+        return suggestions(students, prefix, limit);
+    }
+
+    /** Reloads both indexes from the database; lookups keep being served meanwhile. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        courses.rebuild(() -> load(() -> courseRepository.getObject().streamIdAndCourseCode()));
+        students.rebuild(() -> load(() -> studentRepository.getObject().streamIdAndStudentId()));
+    }
+
+    /**
+     * Records students written without the entity listener, by id; a
+     * {@code null} student id removes the student.
+     */
+    public void studentsChanged(Map<Long, String> studentIds) {
+        record(students, studentIds);
+    }
+
+    private PrefixIndex load(Supplier<Stream<Object[]>> rows) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager.getObject());
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            PrefixIndex.Builder builder = PrefixIndex.builder();
+            try (Stream<Object[]> stream = rows.get()) {
+                stream.forEach(row -> builder.add((Long) row[0], (String) row[1]));
+            }
+            return builder.build();
+        });
+    }
+
+    private static List<AutocompleteSuggestion> suggestions(LivePrefixIndex index, String prefix, int limit) {
+        return index.find(prefix, limit).stream()
+                .map(entry -> new AutocompleteSuggestion(entry.id(), entry.key()))
+                .toList();
+    }
+
+    private void record(LivePrefixIndex index, Long id, String key) {
+        record(index, Collections.singletonMap(id, key));
+    }
+
+    private void record(LivePrefixIndex index, Map<Long, String> changes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.apply(changes);
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges(this);
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(index, changes);
+    }
+
+    /**
+     * The JPA entity listener. Hibernate creates its own instance rather than
+     * using a singleton, so it forwards to the index bean; slices such as
+     * {@code @DataJpaTest} run without one.
+     */
+    public static class Listener {
+
+        private final ObjectProvider<AutocompleteIndex> index;
+
+        public Listener(ObjectProvider<AutocompleteIndex> index) {
+            this.index = index;
+        }
+
+        @PostPersist
+        @PostUpdate
+        public void onSave(Object entity) {
+            index.ifAvailable(target -> {
+                if (entity instanceof Course course) {
+                    target.record(target.courses, course.getId(), course.getCourseCode());
+                } else if (entity instanceof Student student) {
+                    target.record(target.students, student.getId(), student.getStudentId());
+                }
+            });
+        }
+
+        @PostRemove
+        public void onRemove(Object entity) {
+            index.ifAvailable(target -> {
+                if (entity instanceof Course course) {
+                    target.record(target.courses, course.getId(), null);
+                } else if (entity instanceof Student student) {
+                    target.record(target.students, student.getId(), null);
+                }
+            });
+        }
+    }
+
+    /** Keys written by one transaction, by id, applied once it commits. */
+    private static final class PendingChanges implements TransactionSynchronization {
+
+        private final AutocompleteIndex owner;
+        private final Map<LivePrefixIndex, Map<Long, String>> changes = new HashMap<>();
+
+        private PendingChanges(AutocompleteIndex owner) {
+            this.owner = owner;
+        }
+
+        void add(LivePrefixIndex index, Map<Long, String> keys) {
+            changes.computeIfAbsent(index, i -> new HashMap<>()).putAll(keys);
+        }
+
+        @Override
+        public void afterCommit() {
+            changes.forEach(LivePrefixIndex::apply);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(owner);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.CacheRegionStats;
+import com.example.sepm_assignment.dto.EntityCacheStats;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reports and resets the Hibernate second-level cache and the services'
+ * {@code findById} caches. Updates made through JPA keep both consistent on
+ * their own; {@link #evictAll()} is for changes made behind Hibernate's back,
+ * such as manual SQL or migrations.
+ */
+@Service
+public class CacheService {
+
+    private final SessionFactory sessionFactory;
+    private final CacheManager cacheManager;
+    private final EntityCacheEvictor cacheEvictor;
+
+    public CacheService(EntityManagerFactory entityManagerFactory,
+                        CacheManager cacheManager,
+                        EntityCacheEvictor cacheEvictor) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cacheManager = cacheManager;
+        this.cacheEvictor = cacheEvictor;
+    }
+
+    public List<CacheRegionStats> regionStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+                    return CacheRegionStats.of(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount());
+                })
+                .toList();
+    }
+
+    public List<EntityCacheStats> entityCacheStatistics() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> {
+                    com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                            ((CaffeineCache) cache).getNativeCache();
+                    CacheStats stats = nativeCache.stats();
+                    return new EntityCacheStats(cache.getName(), nativeCache.estimatedSize(),
+                            stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(),
+                            stats.averageLoadPenalty() / 1_000_000.0);
+                })
+                .toList();
+    }
+
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+        cacheEvictor.evictAll();
+    }
+}
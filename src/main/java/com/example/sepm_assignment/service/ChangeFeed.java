@@ -0,0 +1,159 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.ChangeEvent;
+import com.example.sepm_assignment.dto.ChangeEvent.Action;
+import com.example.sepm_assignment.dto.ChangeEvent.Entity;
+import com.example.sepm_assignment.dto.CourseExportRow;
+import com.example.sepm_assignment.dto.StudentExportRow;
+import com.example.sepm_assignment.dto.TeacherExportRow;
+import com.example.sepm_assignment.events.ChangeBroadcaster;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the teachers, students and courses a transaction writes and hands
+ * them to the {@link ChangeBroadcaster} once it commits; a rollback publishes
+ * nothing. {@link Listener} is registered as a JPA entity listener like
+ * {@link AutocompleteIndex.Listener}, so every change the services make
+ * through Hibernate is seen, including the students and courses deleted with
+ * their teacher. A transaction changing more than
+ * {@value #MAX_EVENTS_PER_ENTITY} rows of one kind publishes a single
+ * {@code RELOAD} for it instead. Writes that bypass Hibernate must call
+ * {@link #studentUpdated} or {@link #reload}.
+ */
+@Component
+public class ChangeFeed {
+
+    static final int MAX_EVENTS_PER_ENTITY = 100;
+
+    private final ChangeBroadcaster broadcaster;
+
+    public ChangeFeed(ChangeBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    /** Records an update of a student whose new row the caller does not have. */
+    public void studentUpdated(Long id) {
+        record(new ChangeEvent(Entity.STUDENT, Action.UPDATED, id, null));
+    }
+
+    /** Records a bulk write to the entity's table, telling clients to reload it. */
+    public void reload(Entity entity) {
+        record(ChangeEvent.reload(entity));
+    }
+
+    private void record(ChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            broadcaster.publish(List.of(event));
+            return;
+        }
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents(this);
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(event);
+    }
+
+    /**
+     * The JPA entity listener. Hibernate creates its own instance rather than
+     * using a singleton, so it forwards to the feed bean; slices such as
+     * {@code @DataJpaTest} run without one.
+     */
+    public static class Listener {
+
+        private final ObjectProvider<ChangeFeed> feed;
+
+        public Listener(ObjectProvider<ChangeFeed> feed) {
+            this.feed = feed;
+        }
+
+        @PostPersist
+        public void onPersist(Object entity) {
+            feed.ifAvailable(target -> target.record(event(entity, Action.CREATED)));
+        }
+
+        @PostUpdate
+        public void onUpdate(Object entity) {
+            feed.ifAvailable(target -> target.record(event(entity, Action.UPDATED)));
+        }
+
+        @PostRemove
+        public void onRemove(Object entity) {
+            feed.ifAvailable(target -> target.record(event(entity, Action.DELETED)));
+        }
+
+        private static ChangeEvent event(Object entity, Action action) {
+            if (entity instanceof Student student) {
+                return new ChangeEvent(Entity.STUDENT, action, student.getId(), new StudentExportRow(
+                        student.getId(), student.getName(), student.getEmail(), student.getStudentId(),
+                        teacherId(student.getTeacher())));
+            }
+            if (entity instanceof Course course) {
+                return new ChangeEvent(Entity.COURSE, action, course.getId(), new CourseExportRow(
+                        course.getId(), course.getTitle(), course.getCourseCode(), course.getCredits(),
+                        teacherId(course.getTeacher())));
+            }
+            Teacher teacher = (Teacher) entity;
+            return new ChangeEvent(Entity.TEACHER, action, teacher.getId(), new TeacherExportRow(
+                    teacher.getId(), teacher.getName(), teacher.getEmail(), teacher.getDepartment()));
+        }
+
+        private static Long teacherId(Teacher teacher) {
+            return teacher == null ? null : teacher.getId();
+        }
+    }
+
+    /** Events of one transaction in order, published once it commits. */
+    private static final class PendingEvents implements TransactionSynchronization {
+
+        private final ChangeFeed owner;
+        private final List<ChangeEvent> events = new ArrayList<>();
+        private final Map<Entity, Integer> counts = new EnumMap<>(Entity.class);
+        private final Set<Entity> reloaded = EnumSet.noneOf(Entity.class);
+
+        private PendingEvents(ChangeFeed owner) {
+            this.owner = owner;
+        }
+
+        void add(ChangeEvent event) {
+            if (reloaded.contains(event.entity())) {
+                return;
+            }
+            if (event.action() == Action.RELOAD
+                    || counts.merge(event.entity(), 1, Integer::sum) > MAX_EVENTS_PER_ENTITY) {
+                events.removeIf(e -> e.entity() == event.entity());
+                events.add(ChangeEvent.reload(event.entity()));
+                reloaded.add(event.entity());
+            } else {
+                events.add(event);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            owner.broadcaster.publish(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(owner);
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.sepm_assignment.service;
 
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.CoursePatch;
+import com.example.sepm_assignment.dto.KeysetPage;
+import com.example.sepm_assignment.dto.VersionSummary;
 import com.example.sepm_assignment.model.Course;
 import com.example.sepm_assignment.model.Teacher;
 import com.example.sepm_assignment.repository.CourseRepository;
 import com.example.sepm_assignment.repository.TeacherRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -16,24 +24,49 @@ public class CourseService {
 
     private final CourseRepository courseRepository;
     private final TeacherRepository teacherRepository;
+    private final RegistrationService registrationService;
 
-    public CourseService(CourseRepository courseRepository, TeacherRepository teacherRepository) {
+    public CourseService(CourseRepository courseRepository, TeacherRepository teacherRepository,
+                         RegistrationService registrationService) {
         this.courseRepository = courseRepository;
         this.teacherRepository = teacherRepository;
+        this.registrationService = registrationService;
     }
 
     public List<Course> findAll() {
         return courseRepository.findAll();
     }
 
-    public Optional<Course> findById(Long id) {
-        return courseRepository.findById(id);
+    @Transactional(readOnly = true)
+    public VersionSummary versionSummary() {
+        return courseRepository.versionSummary();
+    }
+
+    @Transactional(readOnly = true)
+    public VersionSummary versionSummaryByTeacherId(Long teacherId) {
+        return courseRepository.versionSummaryByTeacherId(teacherId);
+    }
+
+    public KeysetPage<Course> findPage(long after, int limit) {
+        return KeysetPage.of(courseRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1)),
+                limit, Course::getId);
+    }
+
+    @Cacheable(cacheNames = EntityCacheEvictor.COURSES, key = "#id", sync = true)
+    @Transactional(readOnly = true)
+    public Optional<CourseDto> findById(Long id) {
+        return courseRepository.findById(id).map(CourseDto::from);
     }
 
     public List<Course> findByTeacherId(Long teacherId) {
         return courseRepository.findByTeacherId(teacherId);
     }
 
+    public KeysetPage<Course> findPageByTeacherId(Long teacherId, long after, int limit) {
+        return KeysetPage.of(courseRepository.findByTeacherIdAndIdGreaterThanOrderByIdAsc(teacherId, after, Limit.of(limit + 1)),
+                limit, Course::getId);
+    }
+
     public Course save(Course course) {
         return courseRepository.save(course);
     }
@@ -42,6 +75,7 @@ public class CourseService {
         Teacher teacher = teacherRepository.findById(teacherId)
                 .orElseThrow(() -> new RuntimeException("Teacher not found with id: " + teacherId));
         course.setTeacher(teacher);
+        requireCapacity(course.getCapacity());
         return courseRepository.save(course);
     }
 
@@ -52,11 +86,66 @@ public class CourseService {
         course.setTitle(courseDetails.getTitle());
         course.setCourseCode(courseDetails.getCourseCode());
         course.setCredits(courseDetails.getCredits());
+        setCapacity(course, courseDetails.getCapacity());
 
         return courseRepository.save(course);
     }
 
+    /**
+     * Applies the non-null fields of {@code patch} if the course is still at
+     * {@code expectedVersion} and returns the resulting version. The course is
+     * normally served by the second-level cache and {@code @DynamicUpdate}
+     * limits the UPDATE to the changed columns, so an edit costs one
+     * statement. A missing course fails the precondition like a stale one.
+     */
+    public long patch(Long id, long expectedVersion, CoursePatch patch) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch contains no fields");
+        }
+        Course course = courseRepository.findById(id)
+                .filter(c -> Objects.equals(c.getVersion(), expectedVersion))
+                .orElseThrow(() -> new OptimisticLockingFailureException(
+                        "Course " + id + " is not at version " + expectedVersion));
+
+        if (patch.title() != null) {
+            course.setTitle(requireText(patch.title(), "title"));
+        }
+        if (patch.courseCode() != null) {
+            course.setCourseCode(requireText(patch.courseCode(), "courseCode"));
+        }
+        if (patch.credits() != null) {
+            course.setCredits(patch.credits());
+        }
+        if (patch.capacity() != null) {
+            setCapacity(course, patch.capacity());
+        }
+        return courseRepository.saveAndFlush(course).getVersion();
+    }
+
     public void delete(Long id) {
         courseRepository.deleteById(id);
     }
+
+    /** Sets the capacity, handing any seats it adds to the course's waitlist. */
+    private void setCapacity(Course course, Integer capacity) {
+        Integer previous = course.getCapacity();
+        course.setCapacity(requireCapacity(capacity));
+        if (previous != null && (capacity == null || capacity > previous)) {
+            registrationService.seatsFreed(course.getId());
+        }
+    }
+
+    private static Integer requireCapacity(Integer capacity) {
+        if (capacity != null && capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        return capacity;
+    }
+
+    private static String requireText(String value, String field) {
+        if (value.isBlank()) {
+            throw new IllegalArgumentException(field + " must not be blank");
+        }
+        return value;
+    }
 }
@@ -0,0 +1,75 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.DashboardSummary;
+import com.example.sepm_assignment.dto.DashboardTotals;
+import com.example.sepm_assignment.dto.DepartmentCount;
+import com.example.sepm_assignment.dto.TeacherSummary;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the dashboard from a single aggregate statement, so its cost depends
+ * on the number of teachers but not on the number of students or courses,
+ * none of which are loaded as entities.
+ * <p>
+ * The statement returns one row per teacher, each carrying the totals, and a
+ * lone row of totals when there are no teachers. The rows come sorted by
+ * department, so the department counts are read off in the database's own
+ * order before the teachers are put back in id order.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DashboardService {
+
+    private static final String SUMMARY = "select tot.teachers, tot.students, tot.courses, tot.credits,"
+            + " t.id, t.name, t.email, t.department,"
+            + " (select count(*) from students s where s.teacher_id = t.id),"
+            + " (select count(*) from courses c where c.teacher_id = t.id),"
+            + " (select coalesce(sum(c.credits), 0) from courses c where c.teacher_id = t.id)"
+            + " from (select (select count(*) from teachers) as teachers, (select count(*) from students) as students,"
+            + " (select count(*) from courses) as courses,"
+            + " (select coalesce(sum(credits), 0) from courses) as credits) tot"
+            + " left join teachers t on true"
+            + " order by t.department, t.id";
+
+    private final EntityManager entityManager;
+
+    public DashboardService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @SuppressWarnings("unchecked")
+    public DashboardSummary summary() {
+        List<Object[]> rows = entityManager.createNativeQuery(SUMMARY).getResultList();
+        Object[] first = rows.get(0);
+        DashboardTotals totals = new DashboardTotals(number(first[0]), number(first[1]), number(first[2]),
+                number(first[3]));
+
+        Map<String, Long> departments = new LinkedHashMap<>();
+        List<TeacherSummary> teachers = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (row[4] == null) {
+                continue;
+            }
+            String department = (String) row[7];
+            departments.merge(department, 1L, Long::sum);
+            teachers.add(new TeacherSummary(number(row[4]), (String) row[5], (String) row[6], department,
+                    number(row[8]), number(row[9]), number(row[10])));
+        }
+        teachers.sort(Comparator.comparing(TeacherSummary::id));
+        return new DashboardSummary(totals,
+                departments.entrySet().stream().map(e -> new DepartmentCount(e.getKey(), e.getValue())).toList(),
+                teachers);
+    }
+
+    private static long number(Object value) {
+        return ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.EnrollmentResult;
+import com.example.sepm_assignment.dto.KeysetPage;
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@Transactional
+public class EnrollmentService {
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final RegistrationService registrationService;
+
+    public EnrollmentService(EnrollmentRepository enrollmentRepository,
+                             CourseRepository courseRepository,
+                             StudentRepository studentRepository,
+                             RegistrationService registrationService) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+        this.registrationService = registrationService;
+    }
+
+    /**
+     * One page of the course's students, or empty when the course does not
+     * exist. A page with rows costs a single query; only an empty page is
+     * followed by a check that the course exists.
+     */
+    @Transactional(readOnly = true)
+    public Optional<KeysetPage<StudentDto>> findRoster(Long courseId, long after, int limit) {
+        KeysetPage<StudentDto> page = KeysetPage.of(
+                enrollmentRepository.findRoster(courseId, after, Limit.of(limit + 1)), limit, StudentDto::id);
+        if (page.items().isEmpty() && !courseRepository.existsById(courseId)) {
+            return Optional.empty();
+        }
+        return Optional.of(page);
+    }
+
+    /** One page of the student's courses, or empty when the student does not exist; see {@link #findRoster}. */
+    @Transactional(readOnly = true)
+    public Optional<KeysetPage<CourseDto>> findSchedule(Long studentId, long after, int limit) {
+        KeysetPage<CourseDto> page = KeysetPage.of(
+                enrollmentRepository.findSchedule(studentId, after, Limit.of(limit + 1)), limit, CourseDto::id);
+        if (page.items().isEmpty() && !studentRepository.existsById(studentId)) {
+            return Optional.empty();
+        }
+        return Optional.of(page);
+    }
+
+    /**
+     * Enrolls the students in the course with one {@code INSERT ... SELECT}.
+     * Unknown student ids and students already enrolled are not counted as
+     * changed. This is the registrar's path and does not check the course's
+     * capacity; students register within it through {@link RegistrationService}.
+     */
+    public EnrollmentResult enroll(Long courseId, List<Long> studentIds) {
+        Set<Long> ids = distinctIds(studentIds);
+        requireCourse(courseId);
+        int enrolled = ids.isEmpty() ? 0 : enrollmentRepository.enroll(courseId, ids);
+        return new EnrollmentResult(ids.size(), enrolled);
+    }
+
+    /**
+     * Removes the students from the course with one {@code DELETE}; the seats
+     * they free go to the course's waitlist after the commit. The course is
+     * read through the second-level cache, and one without a capacity has no
+     * waitlist to promote.
+     */
+    public EnrollmentResult unenroll(Long courseId, List<Long> studentIds) {
+        Set<Long> ids = distinctIds(studentIds);
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+        int unenrolled = ids.isEmpty() ? 0 : enrollmentRepository.unenroll(courseId, ids);
+        if (unenrolled > 0 && course.getCapacity() != null) {
+            registrationService.seatsFreed(courseId);
+        }
+        return new EnrollmentResult(ids.size(), unenrolled);
+    }
+
+    private void requireCourse(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+    }
+
+    private static Set<Long> distinctIds(List<Long> studentIds) {
+        if (studentIds == null) {
+            throw new IllegalArgumentException("studentIds is required");
+        }
+        if (studentIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " students per request");
+        }
+        if (studentIds.contains(null)) {
+            throw new IllegalArgumentException("studentIds must not contain null");
+        }
+        return new LinkedHashSet<>(studentIds);
+    }
+}
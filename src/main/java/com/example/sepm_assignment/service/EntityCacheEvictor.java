@@ -0,0 +1,169 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.TeacherDto;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the {@code findById} caches of the services in step with writes.
+ * <p>
+ * Registered as a JPA entity listener, so every insert, update and delete
+ * Hibernate performs evicts the affected entries, including the children
+ * removed by {@code Teacher}'s cascade and orphan removal. A teacher entry
+ * embeds the teacher's students and courses, so their changes evict it too.
+ * Entries are evicted when the change is flushed and again once the
+ * transaction completes, so a read racing the commit cannot re-cache the old
+ * row. Writes that bypass Hibernate must call {@link #evictTeachers},
+ * {@link #evictStudent} or {@link #evictStudents}.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    public static final String STUDENTS = "students";
+    public static final String TEACHERS = "teachers";
+    public static final String COURSES = "courses";
+
+    private final CacheManager cacheManager;
+
+    public EntityCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof Student student) {
+            evict(STUDENTS, student.getId());
+            evictTeacherOf(student.getTeacher());
+        } else if (entity instanceof Course course) {
+            evict(COURSES, course.getId());
+            evictTeacherOf(course.getTeacher());
+        } else if (entity instanceof Teacher teacher) {
+            evict(TEACHERS, teacher.getId());
+        }
+    }
+
+    public void evictTeachers(Collection<Long> teacherIds) {
+        teacherIds.forEach(id -> evict(TEACHERS, id));
+    }
+
+    /**
+     * Evicts a student written without the entity listener, together with
+     * every cached teacher that embeds it. The teachers are found among the
+     * cached entries, so the caller does not have to read the student's
+     * teacher back from the database.
+     */
+    public void evictStudent(Long studentId) {
+        evict(STUDENTS, studentId);
+        evictTeachersEmbedding(studentId);
+        PendingEvictions pending = pending();
+        if (pending != null) {
+            pending.addStudent(studentId);
+        }
+    }
+
+    /**
+     * Evicts newly inserted students, so an id looked up before the insert is
+     * no longer cached as absent. No cached teacher can embed a student that
+     * did not exist yet, so unlike {@link #evictStudent} this leaves the
+     * teacher entries to {@link #evictTeachers}.
+     */
+    public void evictStudents(Collection<Long> studentIds) {
+        studentIds.forEach(id -> evict(STUDENTS, id));
+    }
+
+    public void evictAll() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private void evictTeacherOf(Teacher teacher) {
+        if (teacher != null) {
+            evict(TEACHERS, teacher.getId());
+        }
+    }
+
+    private void evict(String cacheName, Long id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || id == null) {
+            return;
+        }
+        cache.evict(id);
+        PendingEvictions pending = pending();
+        if (pending != null) {
+            pending.add(cache, id);
+        }
+    }
+
+    private void evictTeachersEmbedding(Long studentId) {
+        Cache cache = cacheManager.getCache(TEACHERS);
+        if (cache == null) {
+            return;
+        }
+        if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> entries)) {
+            cache.clear();
+            return;
+        }
+        entries.asMap().forEach((key, value) -> {
+            if (value instanceof TeacherDto teacher
+                    && teacher.students().stream().anyMatch(s -> studentId.equals(s.id()))) {
+                cache.evict(key);
+            }
+        });
+    }
+
+    private PendingEvictions pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingEvictions pending = (PendingEvictions) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvictions(this);
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    /** Keys touched by one transaction, evicted once more after it ends. */
+    private static final class PendingEvictions implements TransactionSynchronization {
+
+        private final EntityCacheEvictor owner;
+        private final Map<Cache, Set<Long>> keys = new HashMap<>();
+        private final Set<Long> students = new HashSet<>();
+
+        private PendingEvictions(EntityCacheEvictor owner) {
+            this.owner = owner;
+        }
+
+        void add(Cache cache, Long id) {
+            keys.computeIfAbsent(cache, c -> new HashSet<>()).add(id);
+        }
+
+        void addStudent(Long studentId) {
+            students.add(studentId);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(owner);
+            keys.forEach((cache, ids) -> ids.forEach(cache::evict));
+            students.forEach(owner::evictTeachersEmbedding);
+        }
+    }
+}
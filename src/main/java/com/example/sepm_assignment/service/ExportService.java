@@ -0,0 +1,82 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.CourseExportRow;
+import com.example.sepm_assignment.dto.StudentExportRow;
+import com.example.sepm_assignment.dto.TeacherExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables as newline-delimited JSON. Rows are read through a
+ * forward-only JDBC cursor (fetch size {@code app.export.fetch-size}) as
+ * constructor projections, written straight to the output stream and never
+ * collected, so memory use does not depend on the number of rows.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final String STUDENTS = "select new com.example.sepm_assignment.dto.StudentExportRow("
+            + "s.id, s.name, s.email, s.studentId, s.teacher.id) from Student s order by s.id";
+    private static final String TEACHERS = "select new com.example.sepm_assignment.dto.TeacherExportRow("
+            + "t.id, t.name, t.email, t.department) from Teacher t order by t.id";
+    private static final String COURSES = "select new com.example.sepm_assignment.dto.CourseExportRow("
+            + "c.id, c.title, c.courseCode, c.credits, c.teacher.id) from Course c order by c.id";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ExportService(EntityManager entityManager,
+                         ObjectMapper objectMapper,
+                         @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public long exportStudents(OutputStream out) throws IOException {
+        return export(out, STUDENTS, StudentExportRow.class);
+    }
+
+    public long exportTeachers(OutputStream out) throws IOException {
+        return export(out, TEACHERS, TeacherExportRow.class);
+    }
+
+    public long exportCourses(OutputStream out) throws IOException {
+        return export(out, COURSES, CourseExportRow.class);
+    }
+
+    private <T> long export(OutputStream out, String jpql, Class<T> rowType) throws IOException {
+        long count = 0;
+        try (Stream<T> rows = entityManager.createQuery(jpql, rowType)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                generator.writeRaw('\n');
+                if (++count % fetchSize == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
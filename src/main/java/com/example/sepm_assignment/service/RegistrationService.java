@@ -0,0 +1,255 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.RegistrationResult.Status;
+import com.example.sepm_assignment.dto.SeatSummary;
+import com.example.sepm_assignment.registration.SeatCounter;
+import com.example.sepm_assignment.registration.SeatLedger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Self-service registration for courses with a capacity, built for the rush
+ * when registration opens and many students go for the same few courses.
+ * <p>
+ * A registration never locks the course row itself. It reserves a seat on the
+ * course's in-memory {@link SeatCounter} with one CAS, or learns the course
+ * is full, and queues for a single writer thread. The writer takes whatever
+ * has queued up since its last write, up to {@code app.registration.batch-size},
+ * and writes it per course in one transaction that locks the course row once
+ * for the whole batch ({@link SeatLedger#allocate}). The caller's future
+ * completes only after that commit, so an answer is never lost to a crash:
+ * a registration that was not answered was not written, and retrying it is
+ * safe because enrollments and waitlist entries are unique per student. The
+ * counters are rebuilt from the database on first use and corrected after
+ * every write, and the locked count decides in the end, so neither a restart
+ * nor a second instance can overbook a course.
+ */
+@Service
+public class RegistrationService {
+
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int batchSize;
+
+    private final Map<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    // courses whose waitlist may be owed seats, promoted on the next write
+    private final Set<Long> freed = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(writerThreadFactory());
+
+    public RegistrationService(DataSource dataSource,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.registration.batch-size:1000}") int batchSize) {
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    private record Pending(Long courseId, SeatCounter counter, SeatLedger.Registration registration,
+                           CompletableFuture<Status> result) {
+    }
+
+    /**
+     * Registers the student for the course. The future completes once the
+     * outcome is committed, or fails with {@link NoSuchElementException} for
+     * an unknown course or student.
+     */
+    public CompletableFuture<Status> register(Long courseId, Long studentId) {
+        Optional<SeatCounter> counter = counter(courseId);
+        if (counter.isEmpty()) {
+            return CompletableFuture.failedFuture(new NoSuchElementException("Course not found with id: " + courseId));
+        }
+        Pending pending = new Pending(courseId, counter.get(),
+                new SeatLedger.Registration(studentId, counter.get().tryReserve()), new CompletableFuture<>());
+        queue.add(pending);
+        wakeWriter();
+        return pending.result();
+    }
+
+    public Optional<SeatSummary> seats(Long courseId) {
+        return readOnlyTransactionTemplate.execute(
+                inConnection(connection -> SeatLedger.summary(connection, courseId)));
+    }
+
+    /**
+     * Hands seats freed outside registration, by an unenroll or a raised
+     * capacity, to the course's waitlist once the current transaction commits.
+     */
+    public void seatsFreed(Long courseId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            promote(courseId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                promote(courseId);
+            }
+        });
+    }
+
+    /** Promotes waitlists that seats were freed for before a restart. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void promoteWaitlists() {
+        readOnlyTransactionTemplate.execute(inConnection(SeatLedger::waitlistedCourses)).forEach(this::promote);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // Loaded outside the map's compute, so a slow query never holds up registrations for other courses
+    private Optional<SeatCounter> counter(Long courseId) {
+        SeatCounter counter = counters.get(courseId);
+        if (counter != null) {
+            return Optional.of(counter);
+        }
+        return seats(courseId).map(seats -> counters.computeIfAbsent(courseId,
+                id -> new SeatCounter(seats.capacity(), (int) seats.enrolled())));
+    }
+
+    private void promote(Long courseId) {
+        freed.add(courseId);
+        wakeWriter();
+    }
+
+    private void wakeWriter() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                Pending pending;
+                while ((pending = queue.poll()) != null) {
+                    counters.remove(pending.courseId());
+                    pending.result().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void drain() {
+        do {
+            List<Pending> batch;
+            while (!(batch = poll()).isEmpty() || !freed.isEmpty()) {
+                write(batch);
+            }
+            draining.set(false);
+        } while ((!queue.isEmpty() || !freed.isEmpty()) && draining.compareAndSet(false, true));
+    }
+
+    private List<Pending> poll() {
+        List<Pending> batch = new ArrayList<>();
+        Pending pending;
+        while (batch.size() < batchSize && (pending = queue.poll()) != null) {
+            batch.add(pending);
+        }
+        return batch;
+    }
+
+    private void write(List<Pending> batch) {
+        Map<Long, List<Pending>> byCourse = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            byCourse.computeIfAbsent(pending.courseId(), id -> new ArrayList<>()).add(pending);
+        }
+        for (Iterator<Long> courseIds = freed.iterator(); courseIds.hasNext(); ) {
+            byCourse.putIfAbsent(courseIds.next(), List.of());
+            courseIds.remove();
+        }
+        byCourse.forEach(this::write);
+    }
+
+    private void write(Long courseId, List<Pending> pending) {
+        List<SeatLedger.Registration> registrations = pending.stream().map(Pending::registration).toList();
+        Optional<SeatLedger.Allocation> allocation;
+        try {
+            allocation = transactionTemplate.execute(
+                    inConnection(connection -> SeatLedger.allocate(connection, courseId, registrations)));
+        } catch (RuntimeException e) {
+            // the reservations are gone with the batch; the next registration reloads the count
+            counters.remove(courseId);
+            pending.forEach(p -> p.result().completeExceptionally(e));
+            return;
+        }
+        if (allocation.isEmpty()) {
+            counters.remove(courseId);
+            pending.forEach(p -> p.result().completeExceptionally(
+                    new NoSuchElementException("Course not found with id: " + courseId)));
+            return;
+        }
+
+        SeatCounter counter = counters.get(courseId);
+        if (counter != null) {
+            int reserved = (int) pending.stream()
+                    .filter(p -> p.counter() == counter && p.registration().reserved())
+                    .count();
+            counter.settle(allocation.get().capacity(), allocation.get().enrolled(), reserved);
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            Status status = allocation.get().statuses().get(i);
+            if (status == null) {
+                pending.get(i).result().completeExceptionally(new NoSuchElementException(
+                        "Student not found with id: " + pending.get(i).registration().studentId()));
+            } else {
+                pending.get(i).result().complete(status);
+            }
+        }
+    }
+
+    private interface ConnectionCallback<T> {
+        T doInConnection(Connection connection) throws SQLException;
+    }
+
+    private <T> TransactionCallback<T> inConnection(ConnectionCallback<T> callback) {
+        return status -> {
+            try {
+                return callback.doInConnection(DataSourceUtils.getConnection(dataSource));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        };
+    }
+
+    private static CustomizableThreadFactory writerThreadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("registration-writer-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
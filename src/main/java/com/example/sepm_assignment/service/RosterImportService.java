@@ -0,0 +1,269 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.ChangeEvent;
+import com.example.sepm_assignment.importer.BatchStudentRowWriter;
+import com.example.sepm_assignment.importer.CopyStudentRowWriter;
+import com.example.sepm_assignment.importer.CsvReader;
+import com.example.sepm_assignment.importer.ImportJob;
+import com.example.sepm_assignment.importer.ImportJobRegistry;
+import com.example.sepm_assignment.importer.StudentIdAllocator;
+import com.example.sepm_assignment.importer.StudentImportRow;
+import com.example.sepm_assignment.importer.StudentRowWriter;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports student rosters from CSV with the header
+ * {@code name,email,studentId,teacherEmail} (any column order).
+ * <p>
+ * The file is parsed incrementally and handled in chunks of
+ * {@code app.import.batch-size} rows: each chunk is validated, teacher emails
+ * are resolved through a per-import cache, emails and student ids already
+ * stored are looked up with one query, and the surviving rows are written with
+ * {@code COPY FROM STDIN} on PostgreSQL or a JDBC batch elsewhere. Invalid
+ * rows are reported with their line number and skipped; the accepted rows are
+ * committed in one transaction.
+ */
+@Service
+public class RosterImportService {
+
+    private static final List<String> COLUMNS = List.of("name", "email", "studentid", "teacheremail");
+    private static final int LOOKUP_CHUNK = 500;
+
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final TeacherRepository teacherRepository;
+    private final StudentRepository studentRepository;
+    private final ImportJobRegistry jobRegistry;
+    private final EntityCacheEvictor cacheEvictor;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ChangeFeed changeFeed;
+    private final SyncTracker syncTracker;
+    private final int batchSize;
+
+    public RosterImportService(DataSource dataSource,
+                               PlatformTransactionManager transactionManager,
+                               TeacherRepository teacherRepository,
+                               StudentRepository studentRepository,
+                               ImportJobRegistry jobRegistry,
+                               EntityCacheEvictor cacheEvictor,
+                               AutocompleteIndex autocompleteIndex,
+                               ChangeFeed changeFeed,
+                               SyncTracker syncTracker,
+                               @Value("${app.import.batch-size:5000}") int batchSize) {
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.teacherRepository = teacherRepository;
+        this.studentRepository = studentRepository;
+        this.jobRegistry = jobRegistry;
+        this.cacheEvictor = cacheEvictor;
+        this.autocompleteIndex = autocompleteIndex;
+        this.changeFeed = changeFeed;
+        this.syncTracker = syncTracker;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs an import to completion on the calling thread. Progress is visible
+     * through {@link ImportJobRegistry} while it runs.
+     */
+    public ImportJob importStudents(Reader csv) {
+        ImportJob job = jobRegistry.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> run(job, new CsvReader(csv)));
+            job.complete();
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof UncheckedIOException ? e.getCause() : e;
+            job.fail(cause.getMessage());
+        }
+        return job;
+    }
+
+    private void run(ImportJob job, CsvReader reader) {
+        try {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            boolean postgres = connection.isWrapperFor(PGConnection.class);
+            StudentRowWriter writer = postgres ? new CopyStudentRowWriter() : new BatchStudentRowWriter();
+            StudentIdAllocator idAllocator = new StudentIdAllocator(postgres);
+
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV is empty");
+            }
+            int[] columns = columnIndexes(header);
+
+            Map<String, TeacherLookup> teachers = new HashMap<>();
+            Set<String> seenEmails = new HashSet<>();
+            Set<String> seenStudentIds = new HashSet<>();
+            List<StudentImportRow> chunk = new ArrayList<>(batchSize);
+
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                job.rowRead();
+                StudentImportRow row = parse(job, reader.lineNumber(), record, columns, teachers, seenEmails,
+                        seenStudentIds);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == batchSize) {
+                    flush(job, connection, idAllocator, writer, chunk);
+                }
+            }
+            flush(job, connection, idAllocator, writer, chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private StudentImportRow parse(ImportJob job, long line, List<String> record, int[] columns,
+                                   Map<String, TeacherLookup> teachers, Set<String> seenEmails,
+                                   Set<String> seenStudentIds) {
+        int required = Arrays.stream(columns).max().orElse(0) + 1;
+        if (record.size() < required) {
+            job.reject(line, "expected " + required + " columns but found " + record.size());
+            return null;
+        }
+        String name = record.get(columns[0]).trim();
+        String email = record.get(columns[1]).trim();
+        String studentId = record.get(columns[2]).trim();
+        String teacherEmail = record.get(columns[3]).trim();
+
+        String reason = null;
+        if (name.isEmpty()) {
+            reason = "name is required";
+        } else if (email.isEmpty()) {
+            reason = "email is required";
+        } else if (studentId.isEmpty()) {
+            reason = "studentId is required";
+        }
+        Long teacherId = null;
+        if (reason == null && !teacherEmail.isEmpty()) {
+            TeacherLookup lookup = teachers.computeIfAbsent(teacherEmail, this::lookupTeacher);
+            teacherId = lookup.id();
+            reason = lookup.error();
+        }
+        if (reason == null && !seenEmails.add(email)) {
+            reason = "duplicate email in file";
+        }
+        if (reason == null && !seenStudentIds.add(studentId)) {
+            reason = "duplicate studentId in file";
+        }
+        if (reason != null) {
+            job.reject(line, reason);
+            return null;
+        }
+        return new StudentImportRow(line, name, email, studentId, teacherId);
+    }
+
+    private void flush(ImportJob job, Connection connection, StudentIdAllocator idAllocator,
+                       StudentRowWriter writer, List<StudentImportRow> chunk) throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingStudentIds = new HashSet<>();
+        findTaken(chunk, existingEmails, existingStudentIds);
+        List<StudentImportRow> accepted = new ArrayList<>(chunk.size());
+        for (StudentImportRow row : chunk) {
+            if (existingEmails.contains(row.email())) {
+                job.reject(row.line(), "email already exists");
+            } else if (existingStudentIds.contains(row.studentId())) {
+                job.reject(row.line(), "studentId already exists");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            long[] ids = idAllocator.allocate(connection, accepted.size());
+            writer.write(connection, ids, accepted, syncTracker.stamp());
+            // COPY and JDBC batches bypass Hibernate, so the entity listeners never see these rows
+            cacheEvictor.evictTeachers(accepted.stream()
+                    .map(StudentImportRow::teacherId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+            Map<Long, String> studentIds = new HashMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                studentIds.put(ids[i], accepted.get(i).studentId());
+            }
+            cacheEvictor.evictStudents(studentIds.keySet());
+            autocompleteIndex.studentsChanged(studentIds);
+            changeFeed.reload(ChangeEvent.Entity.STUDENT);
+            job.rowsImported(accepted.size());
+        }
+        chunk.clear();
+    }
+
+    private void findTaken(List<StudentImportRow> chunk, Set<String> emails, Set<String> studentIds) {
+        for (int from = 0; from < chunk.size(); from += LOOKUP_CHUNK) {
+            List<StudentImportRow> rows = chunk.subList(from, Math.min(from + LOOKUP_CHUNK, chunk.size()));
+            Set<String> chunkEmails = rows.stream().map(StudentImportRow::email).collect(Collectors.toSet());
+            Set<String> chunkStudentIds = rows.stream().map(StudentImportRow::studentId).collect(Collectors.toSet());
+            for (Object[] taken : studentRepository.findTaken(chunkEmails, chunkStudentIds)) {
+                if (chunkEmails.contains((String) taken[0])) {
+                    emails.add((String) taken[0]);
+                }
+                if (chunkStudentIds.contains((String) taken[1])) {
+                    studentIds.add((String) taken[1]);
+                }
+            }
+        }
+    }
+
+    private TeacherLookup lookupTeacher(String email) {
+        try {
+            Optional<Teacher> teacher = teacherRepository.findByEmail(email);
+            return teacher.map(t -> new TeacherLookup(t.getId(), null))
+                    .orElseGet(() -> new TeacherLookup(null, "unknown teacher email " + email));
+        } catch (IncorrectResultSizeDataAccessException e) {
+            return new TeacherLookup(null, "teacher email " + email + " matches several teachers");
+        }
+    }
+
+    private static int[] columnIndexes(List<String> header) {
+        int[] indexes = new int[COLUMNS.size()];
+        List<String> normalized = header.stream()
+                .map(h -> h.trim().replace("_", "").toLowerCase(Locale.ROOT))
+                .toList();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            indexes[i] = normalized.indexOf(COLUMNS.get(i));
+            if (indexes[i] < 0) {
+                throw new IllegalArgumentException("CSV header is missing column " + COLUMNS.get(i));
+            }
+        }
+        return indexes;
+    }
+
+    private record TeacherLookup(Long id, String error) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.StudentSearchHit;
+import com.example.sepm_assignment.search.Trigrams;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Fuzzy student search over name, email and student id. A student matches
+ * when the query's {@code word_similarity} to any of the three reaches
+ * {@value Trigrams#WORD_SIMILARITY_THRESHOLD}; matches are ranked by the best
+ * of the three scores, then by id.
+ * <p>
+ * On PostgreSQL the filter is written with the {@code <%} operator so it can
+ * use the trigram GIN index, which covers the three columns concatenated: a
+ * row whose columns match always matches their concatenation, so one index
+ * scan finds the candidates and the per-column conditions then pick the
+ * matches. Other databases, H2 in the tests, get the same filter and ranking
+ * from the {@link Trigrams} function, by scanning the table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StudentSearchService {
+
+    private static final String SCORE = "greatest(word_similarity(:q, name), word_similarity(:q, email),"
+            + " word_similarity(:q, student_id))";
+    private static final String POSTGRES_SEARCH = "select id, name, email, student_id, " + SCORE + " as score"
+            + " from students where :q <% (name || ' ' || email || ' ' || student_id)"
+            + " and (:q <% name or :q <% email or :q <% student_id)"
+            + " order by score desc, id limit :limit offset :offset";
+    private static final String PORTABLE_SEARCH = "select id, name, email, student_id, score"
+            + " from (select id, name, email, student_id, " + SCORE + " as score from students) s"
+            + " where score >= " + Trigrams.WORD_SIMILARITY_THRESHOLD
+            + " order by score desc, id limit :limit offset :offset";
+
+    private final EntityManager entityManager;
+    private final String search;
+
+    // decided by the database actually connected to: the test profile keeps the PostgreSQL dialect on H2
+    public StudentSearchService(EntityManager entityManager, DataSource dataSource) throws MetaDataAccessException {
+        this.entityManager = entityManager;
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.search = "PostgreSQL".equals(product) ? POSTGRES_SEARCH : PORTABLE_SEARCH;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<StudentSearchHit> search(String query, int offset, int limit) {
+        List<Object[]> rows = entityManager.createNativeQuery(search)
+                .setParameter("q", query)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new StudentSearchHit(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                        (String) row[3], ((Number) row[4]).doubleValue()))
+                .toList();
+    }
+}
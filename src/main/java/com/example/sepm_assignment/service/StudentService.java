@@ -1,39 +1,118 @@
 package com.example.sepm_assignment.service;
 
+import com.example.sepm_assignment.dto.BulkCreateResult;
+import com.example.sepm_assignment.dto.BulkRowError;
+import com.example.sepm_assignment.dto.KeysetPage;
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.dto.StudentPatch;
+import com.example.sepm_assignment.dto.VersionSummary;
 import com.example.sepm_assignment.model.Student;
 import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
 import com.example.sepm_assignment.repository.StudentRepository;
 import com.example.sepm_assignment.repository.TeacherRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class StudentService {
 
+    public static final int MAX_BULK_SIZE = 10_000;
+
+    private static final int LOOKUP_CHUNK = 500;
+
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EntityManager entityManager;
+    private final EntityCacheEvictor cacheEvictor;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ChangeFeed changeFeed;
+    private final SyncTracker syncTracker;
+    private final RegistrationService registrationService;
+    private final int batchSize;
 
-    public StudentService(StudentRepository studentRepository, TeacherRepository teacherRepository) {
+    public StudentService(StudentRepository studentRepository,
+                          TeacherRepository teacherRepository,
+                          EnrollmentRepository enrollmentRepository,
+                          EntityManager entityManager,
+                          EntityCacheEvictor cacheEvictor,
+                          AutocompleteIndex autocompleteIndex,
+                          ChangeFeed changeFeed,
+                          SyncTracker syncTracker,
+                          RegistrationService registrationService,
+                          @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
         this.studentRepository = studentRepository;
         this.teacherRepository = teacherRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.entityManager = entityManager;
+        this.cacheEvictor = cacheEvictor;
+        this.autocompleteIndex = autocompleteIndex;
+        this.changeFeed = changeFeed;
+        this.syncTracker = syncTracker;
+        this.registrationService = registrationService;
+        this.batchSize = batchSize;
     }
 
     public List<Student> findAll() {
         return studentRepository.findAll();
     }
 
-    public Optional<Student> findById(Long id) {
-        return studentRepository.findById(id);
+    @Transactional(readOnly = true)
+    public VersionSummary versionSummary() {
+        return studentRepository.versionSummary();
+    }
+
+    @Transactional(readOnly = true)
+    public VersionSummary versionSummaryByTeacherId(Long teacherId) {
+        return studentRepository.versionSummaryByTeacherId(teacherId);
+    }
+
+    public KeysetPage<Student> findPage(long after, int limit) {
+        return KeysetPage.of(studentRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1)),
+                limit, Student::getId);
+    }
+
+    /**
+     * Read-through cached; {@link EntityCacheEvictor} evicts the entry on every
+     * write to the student. Unknown ids are cached as well, which is safe
+     * because inserting the id evicts the entry.
+     */
+    @Cacheable(cacheNames = EntityCacheEvictor.STUDENTS, key = "#id", sync = true)
+    @Transactional(readOnly = true)
+    public Optional<StudentDto> findById(Long id) {
+        return studentRepository.findById(id).map(StudentDto::from);
     }
 
     public List<Student> findByTeacherId(Long teacherId) {
         return studentRepository.findByTeacherId(teacherId);
     }
 
+    public KeysetPage<Student> findPageByTeacherId(Long teacherId, long after, int limit) {
+        return KeysetPage.of(studentRepository.findByTeacherIdAndIdGreaterThanOrderByIdAsc(teacherId, after, Limit.of(limit + 1)),
+                limit, Student::getId);
+    }
+
     public Student save(Student student) {
         return studentRepository.save(student);
     }
@@ -45,6 +124,69 @@ public class StudentService {
         return studentRepository.save(student);
     }
 
+    /**
+     * Inserts many students for one teacher in a single transaction using JDBC
+     * batches of {@code hibernate.jdbc.batch_size}. Rows that would violate a
+     * constraint (missing fields, an email or studentId repeated in the request
+     * or already stored) are reported in the result instead of failing the
+     * whole request.
+     */
+    public BulkCreateResult saveAllWithTeacher(Long teacherId, List<Student> students) {
+        if (students.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " students per request");
+        }
+        if (!teacherRepository.existsById(teacherId)) {
+            throw new RuntimeException("Teacher not found with id: " + teacherId);
+        }
+
+        List<BulkRowError> errors = new ArrayList<>();
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingStudentIds = new HashSet<>();
+        findTaken(students, existingEmails, existingStudentIds);
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenStudentIds = new HashSet<>();
+        List<Student> accepted = new ArrayList<>();
+
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            String reason = validate(student);
+            if (reason == null && existingEmails.contains(student.getEmail())) {
+                reason = "email already exists";
+            }
+            if (reason == null && existingStudentIds.contains(student.getStudentId())) {
+                reason = "studentId already exists";
+            }
+            if (reason == null && !seenEmails.add(student.getEmail())) {
+                reason = "duplicate email in request";
+            }
+            if (reason == null && !seenStudentIds.add(student.getStudentId())) {
+                reason = "duplicate studentId in request";
+            }
+            if (reason != null) {
+                errors.add(new BulkRowError(i, student == null ? null : student.getEmail(), reason));
+            } else {
+                accepted.add(student);
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Student student = accepted.get(i);
+            student.setId(null);
+            student.setTeacher(entityManager.getReference(Teacher.class, teacherId));
+            entityManager.persist(student);
+            ids.add(student.getId());
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return new BulkCreateResult(students.size(), ids.size(), ids, errors);
+    }
+
     public Student update(Long id, Student studentDetails) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found with id: " + id));
@@ -56,7 +198,108 @@ public class StudentService {
         return studentRepository.save(student);
     }
 
+    /**
+     * Applies the non-null fields of {@code patch} if the student is still at
+     * {@code expectedVersion} and returns the new version. Students are not in
+     * the second-level cache, so instead of reading the row first this issues
+     * a single {@code UPDATE ... WHERE id = ? AND version = ?} setting only the
+     * supplied columns; no matching row means the precondition failed.
+     */
+    public long patch(Long id, long expectedVersion, StudentPatch patch) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch contains no fields");
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Student> update = cb.createCriteriaUpdate(Student.class);
+        Root<Student> student = update.from(Student.class);
+
+        if (patch.name() != null) {
+            update.set(student.<String>get("name"), requireText(patch.name(), "name"));
+        }
+        if (patch.email() != null) {
+            update.set(student.<String>get("email"), requireText(patch.email(), "email"));
+        }
+        if (patch.studentId() != null) {
+            update.set(student.<String>get("studentId"), requireText(patch.studentId(), "studentId"));
+        }
+        update.set(student.<Long>get("version"), cb.sum(student.<Long>get("version"), 1L));
+        update.set(student.<Instant>get("updatedAt"), syncTracker.stamp());
+        update.where(cb.equal(student.get("id"), id), cb.equal(student.get("version"), expectedVersion));
+
+        int updated;
+        try {
+            updated = entityManager.createQuery(update).executeUpdate();
+        } catch (ConstraintViolationException e) {
+            // the query does not go through a repository, so Spring does not translate its exceptions
+            throw new DataIntegrityViolationException(e.getMessage(), e);
+        }
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException("Student " + id + " is not at version " + expectedVersion);
+        }
+        // A bulk update skips the entity listeners
+        cacheEvictor.evictStudent(id);
+        if (patch.studentId() != null) {
+            autocompleteIndex.studentsChanged(Map.of(id, patch.studentId()));
+        }
+        changeFeed.studentUpdated(id);
+        return expectedVersion + 1;
+    }
+
+    /**
+     * Deletes the student. The database drops its enrollments with it, so
+     * the seats it held in capacity-limited courses go to those courses'
+     * waitlists after the commit, as for an unenroll.
+     */
     public void delete(Long id) {
+        List<Long> cappedCourseIds = enrollmentRepository.findCappedCourseIdsByStudentId(id);
         studentRepository.deleteById(id);
+        cappedCourseIds.forEach(registrationService::seatsFreed);
+    }
+
+    // adds the emails and studentIds of the request that are already stored, one query per chunk of rows
+    private void findTaken(List<Student> students, Set<String> emails, Set<String> studentIds) {
+        List<Student> complete = students.stream()
+                .filter(s -> s != null && s.getEmail() != null && s.getStudentId() != null)
+                .toList();
+        for (int from = 0; from < complete.size(); from += LOOKUP_CHUNK) {
+            List<Student> rows = complete.subList(from, Math.min(from + LOOKUP_CHUNK, complete.size()));
+            Set<String> chunkEmails = rows.stream().map(Student::getEmail).collect(Collectors.toSet());
+            Set<String> chunkStudentIds = rows.stream().map(Student::getStudentId).collect(Collectors.toSet());
+            for (Object[] taken : studentRepository.findTaken(chunkEmails, chunkStudentIds)) {
+                if (chunkEmails.contains((String) taken[0])) {
+                    emails.add((String) taken[0]);
+                }
+                if (chunkStudentIds.contains((String) taken[1])) {
+                    studentIds.add((String) taken[1]);
+                }
+            }
+        }
+    }
+
+    private static String validate(Student student) {
+        if (student == null) {
+            return "row is empty";
+        }
+        if (isBlank(student.getName())) {
+            return "name is required";
+        }
+        if (isBlank(student.getEmail())) {
+            return "email is required";
+        }
+        if (isBlank(student.getStudentId())) {
+            return "studentId is required";
+        }
+        return null;
+    }
+
+    private static String requireText(String value, String field) {
+        if (value.isBlank()) {
+            throw new IllegalArgumentException(field + " must not be blank");
+        }
+        return value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 }
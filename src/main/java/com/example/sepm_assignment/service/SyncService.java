@@ -0,0 +1,204 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.ChangeEvent.Entity;
+import com.example.sepm_assignment.dto.CourseExportRow;
+import com.example.sepm_assignment.dto.StudentExportRow;
+import com.example.sepm_assignment.dto.SyncDeletion;
+import com.example.sepm_assignment.dto.SyncResponse;
+import com.example.sepm_assignment.dto.TeacherExportRow;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Delta sync: the teachers, students and courses written, and the ones
+ * deleted, since the token of an earlier sync.
+ * <p>
+ * Changes are read in (stamp, kind, id) order by one index range scan per
+ * kind, over {@code (updated_at, id)} of each table and
+ * {@code (deleted_at, id)} of the tombstones, each stopping after
+ * {@code limit + 1} rows, so a sync reads in proportion to what changed
+ * rather than to the size of the tables. A full page ends at its last change
+ * and the next one continues right after it. The last page ends at
+ * {@link SyncTracker#settled()}, so rows of transactions still running are
+ * left for the next sync instead of being skipped once they commit.
+ * <p>
+ * Tombstones are kept for {@code app.sync.tombstone-retention}; a token older
+ * than that is rejected, and the client starts over without one.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SyncService {
+
+    private final EntityManager entityManager;
+    private final SyncTracker syncTracker;
+    private final Duration tombstoneRetention;
+
+    public SyncService(EntityManager entityManager,
+                       SyncTracker syncTracker,
+                       @Value("${app.sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.entityManager = entityManager;
+        this.syncTracker = syncTracker;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code token}, or from the beginning
+     * without one.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     * @throws ExpiredTokenException    if deletions after the token may have been pruned
+     */
+    public SyncResponse changesSince(String token, int limit) {
+        Position from = token == null ? Position.START : Position.decode(token);
+        if (token != null && from.at().isBefore(Instant.now().minus(tombstoneRetention))) {
+            throw new ExpiredTokenException("Sync token is older than " + tombstoneRetention);
+        }
+        Instant until = syncTracker.settled();
+        if (!from.at().isBefore(until)) {
+            return new SyncResponse(List.of(), List.of(), List.of(), List.of(), from.encode(), false);
+        }
+
+        List<Change> changes = new ArrayList<>();
+        for (Kind kind : Kind.values()) {
+            changes.addAll(scan(kind, from, until, limit + 1));
+        }
+        changes.sort(Comparator.comparing(Change::at)
+                .thenComparing(Change::kind)
+                .thenComparingLong(Change::id));
+
+        boolean more = changes.size() > limit;
+        List<Change> page = more ? changes.subList(0, limit) : changes;
+        Position next = more ? page.get(limit - 1).position() : new Position(until, 0, Long.MIN_VALUE);
+
+        List<TeacherExportRow> teachers = new ArrayList<>();
+        List<StudentExportRow> students = new ArrayList<>();
+        List<CourseExportRow> courses = new ArrayList<>();
+        List<SyncDeletion> deleted = new ArrayList<>();
+        for (Change change : page) {
+            if (change.row() instanceof TeacherExportRow teacher) {
+                teachers.add(teacher);
+            } else if (change.row() instanceof StudentExportRow student) {
+                students.add(student);
+            } else if (change.row() instanceof CourseExportRow course) {
+                courses.add(course);
+            } else {
+                deleted.add((SyncDeletion) change.row());
+            }
+        }
+        return new SyncResponse(teachers, students, courses, deleted, next.encode(), more);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sync.prune-interval:PT1H}",
+            initialDelayString = "${app.sync.prune-interval:PT1H}")
+    @Transactional
+    public int pruneTombstones() {
+        return entityManager.createQuery("delete from Tombstone d where d.deletedAt < :cutoff")
+                .setParameter("cutoff", Instant.now().minus(tombstoneRetention))
+                .executeUpdate();
+    }
+
+    // rows after "from" in (stamp, kind, id) order: for an earlier kind that is a later stamp, for the same
+    // kind a later stamp or a higher id, for a later kind the same stamp or later
+    private List<Change> scan(Kind kind, Position from, Instant until, int max) {
+        int order = kind.ordinal();
+        long afterId = order < from.kind() ? Long.MAX_VALUE : order == from.kind() ? from.afterId() : Long.MIN_VALUE;
+        List<Object[]> rows = entityManager.createQuery(kind.jpql, Object[].class)
+                .setParameter("since", from.at())
+                .setParameter("afterId", afterId)
+                .setParameter("until", until)
+                .setMaxResults(max)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultList();
+        List<Change> changes = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Instant at = (Instant) row[0];
+            Long id = (Long) row[1];
+            changes.add(new Change(at, order, id, switch (kind) {
+                case TEACHERS -> new TeacherExportRow(id, (String) row[2], (String) row[3], (String) row[4]);
+                case STUDENTS -> new StudentExportRow(id, (String) row[2], (String) row[3], (String) row[4],
+                        (Long) row[5]);
+                case COURSES -> new CourseExportRow(id, (String) row[2], (String) row[3], (Integer) row[4],
+                        (Long) row[5]);
+                case TOMBSTONES -> new SyncDeletion((Entity) row[2], (Long) row[3]);
+            }));
+        }
+        return changes;
+    }
+
+    /** The token was issued before the tombstones it needs were pruned; sync again without one. */
+    public static class ExpiredTokenException extends RuntimeException {
+
+        public ExpiredTokenException(String message) {
+            super(message);
+        }
+    }
+
+    private enum Kind {
+        TEACHERS("select t.updatedAt, t.id, t.name, t.email, t.department from Teacher t", "t", "updatedAt"),
+        STUDENTS("select s.updatedAt, s.id, s.name, s.email, s.studentId, s.teacher.id from Student s",
+                "s", "updatedAt"),
+        COURSES("select c.updatedAt, c.id, c.title, c.courseCode, c.credits, c.teacher.id from Course c",
+                "c", "updatedAt"),
+        TOMBSTONES("select d.deletedAt, d.id, d.entity, d.entityId from Tombstone d", "d", "deletedAt");
+
+        private final String jpql;
+
+        Kind(String select, String alias, String stamp) {
+            String at = alias + "." + stamp;
+            String id = alias + ".id";
+            this.jpql = select + " where " + at + " >= :since and (" + at + " > :since or " + id + " > :afterId)"
+                    + " and " + at + " < :until order by " + at + ", " + id;
+        }
+    }
+
+    private record Change(Instant at, int kind, long id, Object row) {
+
+        Position position() {
+            return new Position(at, kind, id);
+        }
+    }
+
+    /** Where a sync left off: after the change of {@code kind} with {@code afterId} stamped {@code at}. */
+    private record Position(Instant at, int kind, long afterId) {
+
+        static final Position START = new Position(Instant.EPOCH, 0, Long.MIN_VALUE);
+
+        String encode() {
+            long micros = ChronoUnit.MICROS.between(Instant.EPOCH, at);
+            String plain = micros + ":" + kind + ":" + afterId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static Position decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII)
+                        .split(":");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Invalid sync token");
+                }
+                int kind = Integer.parseInt(parts[1]);
+                if (kind < 0 || kind >= Kind.values().length) {
+                    throw new IllegalArgumentException("Invalid sync token");
+                }
+                return new Position(Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS), kind,
+                        Long.parseLong(parts[2]));
+            } catch (IllegalArgumentException e) {
+                // NumberFormatException and Base64 errors included
+                throw new IllegalArgumentException("Invalid sync token", e);
+            }
+        }
+    }
+}
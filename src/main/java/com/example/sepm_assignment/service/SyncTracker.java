@@ -0,0 +1,219 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.ChangeEvent.Entity;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.model.Tombstone;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the {@code updatedAt} stamps and tombstones the delta sync
+ * ({@link SyncService}) scans. {@link Listener} is registered as a JPA entity
+ * listener next to {@link ChangeFeed.Listener}: it stamps every teacher,
+ * student and course Hibernate inserts or updates, and records a tombstone for
+ * every one it deletes, including the children deleted with a teacher. The
+ * tombstones of a transaction are inserted in one JDBC batch just before it
+ * commits. Writes that bypass Hibernate must take their stamp from
+ * {@link #stamp()}.
+ * <p>
+ * A row only becomes visible once its transaction commits, which can be long
+ * after it was stamped (a roster import is a single transaction), so a sync
+ * token must not move past the stamps of transactions still running. The
+ * first stamp of each transaction is kept here until the transaction
+ * completes, and {@link #settled()} never passes the oldest one. The
+ * transactions of other instances are not seen; {@code app.sync.clock-skew}
+ * is held back for them and for clocks that disagree.
+ */
+@Component
+public class SyncTracker {
+
+    private static final String INSERT_TOMBSTONE =
+            "insert into tombstones (entity, entity_id, deleted_at) values (?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final Duration clockSkew;
+
+    // both guarded by lock; ordered by first stamp
+    private final NavigableSet<InFlight> inFlight = new TreeSet<>();
+    private long registered;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public SyncTracker(DataSource dataSource, @Value("${app.sync.clock-skew:PT1S}") Duration clockSkew) {
+        this.dataSource = dataSource;
+        this.clockSkew = clockSkew;
+    }
+
+    /**
+     * The time to record for a write made now. The surrounding transaction
+     * counts as in flight from its first stamp until it completes.
+     */
+    public Instant stamp() {
+        Instant now = now();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return now;
+        }
+        Instant first = inFlight().first;
+        return now.isBefore(first) ? first : now;
+    }
+
+    /**
+     * The instant before which every stamp handed out belongs to a finished
+     * transaction, as far as this instance can tell.
+     */
+    public Instant settled() {
+        lock.lock();
+        try {
+            Instant now = now();
+            Instant settled = inFlight.isEmpty() || now.isBefore(inFlight.first().first) ? now : inFlight.first().first;
+            return settled.minus(clockSkew);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deleted(Entity entity, Long id) {
+        Instant at = stamp();
+        inFlight().tombstones.add(new Tombstone(null, entity, id, at));
+    }
+
+    private InFlight inFlight() {
+        InFlight transaction = (InFlight) TransactionSynchronizationManager.getResource(this);
+        if (transaction == null) {
+            lock.lock();
+            try {
+                transaction = new InFlight(now(), registered++);
+                inFlight.add(transaction);
+            } finally {
+                lock.unlock();
+            }
+            TransactionSynchronizationManager.bindResource(this, transaction);
+            TransactionSynchronizationManager.registerSynchronization(transaction);
+        }
+        return transaction;
+    }
+
+    private void insert(List<Tombstone> tombstones) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_TOMBSTONE)) {
+            for (Tombstone tombstone : tombstones) {
+                statement.setString(1, tombstone.getEntity().name());
+                statement.setLong(2, tombstone.getEntityId());
+                statement.setObject(3, tombstone.getDeletedAt().atOffset(ZoneOffset.UTC));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // the database keeps microseconds; stamps are cut to match so tokens compare exactly
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * The JPA entity listener. Without the tracker bean, as in
+     * {@code @DataJpaTest} slices, rows are stamped with the current time and
+     * no tombstones are kept.
+     */
+    public static class Listener {
+
+        private final ObjectProvider<SyncTracker> tracker;
+
+        public Listener(ObjectProvider<SyncTracker> tracker) {
+            this.tracker = tracker;
+        }
+
+        @PrePersist
+        @PreUpdate
+        public void onWrite(Object entity) {
+            SyncTracker target = tracker.getIfAvailable();
+            Instant at = target == null ? now() : target.stamp();
+            if (entity instanceof Student student) {
+                student.setUpdatedAt(at);
+            } else if (entity instanceof Course course) {
+                course.setUpdatedAt(at);
+            } else {
+                ((Teacher) entity).setUpdatedAt(at);
+            }
+        }
+
+        @PreRemove
+        public void onRemove(Object entity) {
+            SyncTracker target = tracker.getIfAvailable();
+            if (target == null) {
+                return;
+            }
+            if (entity instanceof Student student) {
+                target.deleted(Entity.STUDENT, student.getId());
+            } else if (entity instanceof Course course) {
+                target.deleted(Entity.COURSE, course.getId());
+            } else {
+                target.deleted(Entity.TEACHER, ((Teacher) entity).getId());
+            }
+        }
+    }
+
+    /** A write transaction from its first stamp until it completes. */
+    private final class InFlight implements TransactionSynchronization, Comparable<InFlight> {
+
+        private final Instant first;
+        private final long order;
+        private final List<Tombstone> tombstones = new ArrayList<>();
+
+        private InFlight(Instant first, long order) {
+            this.first = first;
+            this.order = order;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!tombstones.isEmpty()) {
+                insert(tombstones);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            lock.lock();
+            try {
+                inFlight.remove(this);
+            } finally {
+                lock.unlock();
+            }
+            TransactionSynchronizationManager.unbindResourceIfPossible(SyncTracker.this);
+        }
+
+        @Override
+        public int compareTo(InFlight other) {
+            int byStamp = first.compareTo(other.first);
+            return byStamp != 0 ? byStamp : Long.compare(order, other.order);
+        }
+    }
+}
@@ -1,29 +1,97 @@
 package com.example.sepm_assignment.service;
 
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.KeysetPage;
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.dto.TeacherDto;
+import com.example.sepm_assignment.dto.TeacherPatch;
+import com.example.sepm_assignment.dto.VersionSummary;
 import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
 import com.example.sepm_assignment.repository.TeacherRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class TeacherService {
 
+    // Keeps the IN (...) lists of the batch queries well below driver parameter limits
+    private static final int RELATION_BATCH_SIZE = 500;
+
     private final TeacherRepository teacherRepository;
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final RegistrationService registrationService;
 
-    public TeacherService(TeacherRepository teacherRepository) {
+    public TeacherService(TeacherRepository teacherRepository,
+                          StudentRepository studentRepository,
+                          CourseRepository courseRepository,
+                          EnrollmentRepository enrollmentRepository,
+                          RegistrationService registrationService) {
         this.teacherRepository = teacherRepository;
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.registrationService = registrationService;
     }
 
     public List<Teacher> findAll() {
         return teacherRepository.findAll();
     }
 
-    public Optional<Teacher> findById(Long id) {
-        return teacherRepository.findById(id);
+    /**
+     * Version summaries of the teachers, students and courses tables, in that
+     * order. Teacher listings embed students and courses, so all three count.
+     */
+    @Transactional(readOnly = true)
+    public List<VersionSummary> versionSummaries() {
+        return List.of(teacherRepository.versionSummary(),
+                studentRepository.versionSummary(),
+                courseRepository.versionSummary());
+    }
+
+    public KeysetPage<Teacher> findPage(long after, int limit) {
+        return KeysetPage.of(teacherRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1)),
+                limit, Teacher::getId);
+    }
+
+    /**
+     * Loads every teacher with its students and courses in three queries
+     * (one per table) instead of lazily initializing two collections per teacher.
+     */
+    @Transactional(readOnly = true)
+    public List<TeacherDto> findAllWithRelations() {
+        return withRelations(teacherRepository.findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<TeacherDto> findPageWithRelations(long after, int limit) {
+        KeysetPage<Teacher> page = findPage(after, limit);
+        return new KeysetPage<>(withRelations(page.items()), page.nextCursor());
+    }
+
+    /**
+     * Read-through cached together with the teacher's students and courses;
+     * {@link EntityCacheEvictor} evicts the entry when any of them changes.
+     */
+    @Cacheable(cacheNames = EntityCacheEvictor.TEACHERS, key = "#id", sync = true)
+    @Transactional(readOnly = true)
+    public Optional<TeacherDto> findById(Long id) {
+        return teacherRepository.findById(id).map(teacher -> withRelations(List.of(teacher)).get(0));
     }
 
     public Optional<Teacher> findByEmail(String email) {
@@ -45,7 +113,71 @@ public class TeacherService {
         return teacherRepository.save(teacher);
     }
 
+    /**
+     * Applies the non-null fields of {@code patch} if the teacher is still at
+     * {@code expectedVersion} and returns the resulting version. Like
+     * {@link CourseService#patch}, the read is normally a second-level cache
+     * hit and only the changed columns are written.
+     */
+    public long patch(Long id, long expectedVersion, TeacherPatch patch) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch contains no fields");
+        }
+        Teacher teacher = teacherRepository.findById(id)
+                .filter(t -> Objects.equals(t.getVersion(), expectedVersion))
+                .orElseThrow(() -> new OptimisticLockingFailureException(
+                        "Teacher " + id + " is not at version " + expectedVersion));
+
+        if (patch.name() != null) {
+            teacher.setName(requireText(patch.name(), "name"));
+        }
+        if (patch.email() != null) {
+            teacher.setEmail(requireText(patch.email(), "email"));
+        }
+        if (patch.department() != null) {
+            teacher.setDepartment(requireText(patch.department(), "department"));
+        }
+        return teacherRepository.saveAndFlush(teacher).getVersion();
+    }
+
+    /**
+     * Deletes the teacher with its students and courses. Seats the students
+     * held in other teachers' capacity-limited courses go to those courses'
+     * waitlists after the commit.
+     */
     public void delete(Long id) {
+        List<Long> cappedCourseIds = enrollmentRepository.findCappedCourseIdsByTeacherStudents(id);
         teacherRepository.deleteById(id);
+        cappedCourseIds.forEach(registrationService::seatsFreed);
+    }
+
+    private static String requireText(String value, String field) {
+        if (value.isBlank()) {
+            throw new IllegalArgumentException(field + " must not be blank");
+        }
+        return value;
+    }
+
+    private List<TeacherDto> withRelations(List<Teacher> teachers) {
+        Map<Long, List<StudentDto>> studentsByTeacher = new HashMap<>();
+        Map<Long, List<CourseDto>> coursesByTeacher = new HashMap<>();
+
+        for (int from = 0; from < teachers.size(); from += RELATION_BATCH_SIZE) {
+            List<Long> ids = teachers.subList(from, Math.min(from + RELATION_BATCH_SIZE, teachers.size())).stream()
+                    .map(Teacher::getId)
+                    .toList();
+            studentRepository.findByTeacherIdInOrderByIdAsc(ids).forEach(student -> studentsByTeacher
+                    .computeIfAbsent(student.getTeacher().getId(), id -> new ArrayList<>())
+                    .add(StudentDto.from(student)));
+            courseRepository.findByTeacherIdInOrderByIdAsc(ids).forEach(course -> coursesByTeacher
+                    .computeIfAbsent(course.getTeacher().getId(), id -> new ArrayList<>())
+                    .add(CourseDto.from(course)));
+        }
+
+        return teachers.stream()
+                .map(teacher -> TeacherDto.from(teacher,
+                        studentsByTeacher.getOrDefault(teacher.getId(), List.of()),
+                        coursesByTeacher.getOrDefault(teacher.getId(), List.of())))
+                .toList();
     }
 }
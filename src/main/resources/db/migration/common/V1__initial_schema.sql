@@ -0,0 +1,41 @@
+-- Schema as mapped by the entities before migrations were introduced.
+-- Databases created earlier by ddl-auto=update are baselined at this version.
+
+create sequence teachers_seq start with 1 increment by 50;
+create sequence students_seq start with 1 increment by 50;
+create sequence courses_seq start with 1 increment by 50;
+
+create table teachers (
+    id         bigint       not null,
+    name       varchar(255) not null,
+    email      varchar(255) not null,
+    department varchar(255) not null,
+    version    bigint       default 0 not null,
+    constraint pk_teachers primary key (id)
+);
+
+create table students (
+    id         bigint       not null,
+    name       varchar(255) not null,
+    email      varchar(255) not null,
+    student_id varchar(255) not null,
+    teacher_id bigint,
+    version    bigint       default 0 not null,
+    constraint pk_students primary key (id),
+    constraint uk_students_email unique (email),
+    constraint fk_students_teacher foreign key (teacher_id) references teachers (id)
+);
+
+create table courses (
+    id          bigint       not null,
+    title       varchar(255) not null,
+    course_code varchar(255) not null,
+    credits     integer      not null,
+    teacher_id  bigint,
+    version     bigint       default 0 not null,
+    constraint pk_courses primary key (id),
+    constraint fk_courses_teacher foreign key (teacher_id) references teachers (id)
+);
+
+create index idx_students_teacher_id on students (teacher_id, id);
+create index idx_courses_teacher_id on courses (teacher_id, id);
@@ -0,0 +1,23 @@
+-- Indexes for the single-row lookups (findByEmail, findByStudentId,
+-- findByCourseCode), unique because each identifies one row in the domain.
+-- A schema from ddl-auto may already hold duplicates of these values;
+-- DuplicateLookupKeyCheck then stops before this migration and lists them.
+-- The "if not exists" statements bring databases baselined from
+-- ddl-auto=update up to V1 first; they are no-ops on a fresh schema. Schemas
+-- from before the id sequences have only the IDENTITY columns' own sequences;
+-- V3 moves the new ones past the ids already handed out.
+
+create sequence if not exists teachers_seq start with 1 increment by 50;
+create sequence if not exists students_seq start with 1 increment by 50;
+create sequence if not exists courses_seq start with 1 increment by 50;
+
+alter table teachers add column if not exists version bigint default 0 not null;
+alter table students add column if not exists version bigint default 0 not null;
+alter table courses add column if not exists version bigint default 0 not null;
+
+create index if not exists idx_students_teacher_id on students (teacher_id, id);
+create index if not exists idx_courses_teacher_id on courses (teacher_id, id);
+
+create unique index ux_teachers_email on teachers (email);
+create unique index ux_students_student_id on students (student_id);
+create unique index ux_courses_course_code on courses (course_code);
@@ -0,0 +1,14 @@
+-- Which students take which course. The primary key serves course rosters
+-- (course_id, then student_id in keyset order); ix_enrollments_student_course
+-- serves a student's schedule the same way. Enrollments go with the course or
+-- student they belong to.
+
+create table enrollments (
+    course_id  bigint not null,
+    student_id bigint not null,
+    constraint pk_enrollments primary key (course_id, student_id),
+    constraint fk_enrollments_course foreign key (course_id) references courses (id) on delete cascade,
+    constraint fk_enrollments_student foreign key (student_id) references students (id) on delete cascade
+);
+
+create index ix_enrollments_student_course on enrollments (student_id, course_id);
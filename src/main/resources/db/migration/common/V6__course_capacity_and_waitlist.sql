@@ -0,0 +1,20 @@
+-- Registration limits. A course without a capacity takes any number of
+-- students; one with a capacity admits up to that many through registration
+-- and queues the rest on its waitlist, which is served in ticket order as
+-- seats free up. Waitlist entries go with the course or student they belong to.
+
+alter table courses add column capacity integer;
+alter table courses add constraint ck_courses_capacity check (capacity >= 0);
+
+create sequence waitlist_seq;
+
+create table waitlist (
+    course_id  bigint not null,
+    student_id bigint not null,
+    ticket     bigint not null,
+    constraint pk_waitlist primary key (course_id, student_id),
+    constraint fk_waitlist_course foreign key (course_id) references courses (id) on delete cascade,
+    constraint fk_waitlist_student foreign key (student_id) references students (id) on delete cascade
+);
+
+create index ix_waitlist_course_ticket on waitlist (course_id, ticket);
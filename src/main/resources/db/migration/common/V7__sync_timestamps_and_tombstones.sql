@@ -0,0 +1,22 @@
+-- Delta sync (/api/sync). Every teacher, student and course carries the time
+-- it was last written, and each (updated_at, id) index turns "what changed
+-- since" into a range scan. Deleted rows leave a tombstone behind, scanned the
+-- same way by (deleted_at, id). Existing rows count as written now.
+
+alter table teachers add column updated_at timestamp(6) with time zone default current_timestamp not null;
+alter table students add column updated_at timestamp(6) with time zone default current_timestamp not null;
+alter table courses add column updated_at timestamp(6) with time zone default current_timestamp not null;
+
+create index ix_teachers_updated_at on teachers (updated_at, id);
+create index ix_students_updated_at on students (updated_at, id);
+create index ix_courses_updated_at on courses (updated_at, id);
+
+create table tombstones (
+    id         bigint generated by default as identity,
+    entity     varchar(16)                 not null,
+    entity_id  bigint                      not null,
+    deleted_at timestamp(6) with time zone not null,
+    constraint pk_tombstones primary key (id)
+);
+
+create index ix_tombstones_deleted_at on tombstones (deleted_at, id);
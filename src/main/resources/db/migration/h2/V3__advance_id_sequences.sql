@@ -0,0 +1,11 @@
+-- H2 counterpart of the PostgreSQL V3, so the test profile can upgrade a
+-- pre-migration schema the same way. H2 has no setval; restarting a sequence
+-- sets the next value it returns, which is max(id) + 50 for the block
+-- (max(id), max(id) + 50]. Never moves a sequence back.
+
+alter sequence teachers_seq restart with greatest(coalesce((select max(id) from teachers) + 50, 1),
+    (select base_value from information_schema.sequences where sequence_name = 'TEACHERS_SEQ'));
+alter sequence students_seq restart with greatest(coalesce((select max(id) from students) + 50, 1),
+    (select base_value from information_schema.sequences where sequence_name = 'STUDENTS_SEQ'));
+alter sequence courses_seq restart with greatest(coalesce((select max(id) from courses) + 50, 1),
+    (select base_value from information_schema.sequences where sequence_name = 'COURSES_SEQ'));
@@ -0,0 +1,4 @@
+-- H2 has no pg_trgm. The Java port of its word_similarity lets the test
+-- profile run the same search ranking as PostgreSQL, without an index.
+
+create alias if not exists word_similarity deterministic for 'com.example.sepm_assignment.search.Trigrams.wordSimilarity';
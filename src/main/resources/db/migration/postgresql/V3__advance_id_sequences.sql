@@ -0,0 +1,11 @@
+-- The id sequences replaced IDENTITY columns, so on databases that already
+-- held rows they start below max(id). Hibernate's pooled optimizer reads a
+-- value v as the block (v - 50, v], so moving each sequence to at least
+-- max(id) keeps new blocks clear of existing ids. Never moves a sequence back.
+
+select setval('teachers_seq', greatest((select coalesce(max(id), 1) from teachers),
+                                       (select last_value from teachers_seq)));
+select setval('students_seq', greatest((select coalesce(max(id), 1) from students),
+                                       (select last_value from students_seq)));
+select setval('courses_seq', greatest((select coalesce(max(id), 1) from courses),
+                                      (select last_value from courses_seq)));
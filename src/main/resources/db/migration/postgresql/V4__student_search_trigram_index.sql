@@ -0,0 +1,10 @@
+-- Fuzzy student search (StudentSearchService) matches the query against name,
+-- email and student_id with pg_trgm's word-similarity operator <%. One GIN
+-- index covers all three columns; each "q <% column" condition of the search
+-- becomes a bitmap scan of it and the three are OR-ed together, so only rows
+-- that share trigrams with the query are read and ranked.
+
+create extension if not exists pg_trgm;
+
+create index ix_students_search_trgm on students
+    using gin (name gin_trgm_ops, email gin_trgm_ops, student_id gin_trgm_ops);
@@ -1,9 +1,12 @@
 // Global state
 let currentUser = null;
-let currentPassword = null;
+let accessToken = null;
+let refreshToken = null;
 let isAdmin = false;
 
 const API_BASE_URL = '/api';
+const PAGE_SIZE = 50;
+const SESSION_KEY = 'sepm.tokens';
 
 // Helper Functions
 function fillCredentials(username, password) {
@@ -42,37 +45,27 @@ function login(username, password) {
     // Clear any previous error messages
     showLoginError('');
 
-    // Test the credentials with the API
-    fetch(`${API_BASE_URL}/teachers`, {
+    // Exchange the credentials for a token once; later calls only send the token
+    fetch(`${API_BASE_URL}/auth/token`, {
+        method: 'POST',
         headers: {
-            'Authorization': 'Basic ' + btoa(username + ':' + password),
             'Content-Type': 'application/json'
-        }
+        },
+        body: JSON.stringify({ username, password })
     })
     .then(response => {
         if (response.ok) {
-            // Credentials are valid
-            currentUser = username;
-            currentPassword = password;
-            isAdmin = username === 'admin';
-
-            // Show dashboard, hide login
-            document.getElementById('loginSection').classList.add('login-hidden');
-            document.getElementById('dashboardSection').classList.remove('dashboard-hidden');
+            return response.json().then(tokens => {
+                // Credentials are valid
+                storeTokens(tokens);
 
-            // Update user info in sidebar
-            document.getElementById('currentUser').textContent = username === 'admin' ? 'Admin User' : 'Student User';
+                // Clear login form
+                document.getElementById('username').value = '';
+                document.getElementById('password').value = '';
 
-            // Clear login form
-            document.getElementById('username').value = '';
-            document.getElementById('password').value = '';
-
-            // Show/hide admin buttons
-            updateUIForRole();
-
-            // Load initial data
-            loadTeachers();
-            showMessage(`Welcome ${username}!`, 'success');
+                enterDashboard(tokens.username, tokens.roles);
+                showMessage(`Welcome ${username}!`, 'success');
+            });
         } else if (response.status === 401 || response.status === 403) {
             // Invalid credentials
             showLoginError('Invalid username or password. Please try again.');
@@ -87,6 +80,58 @@ function login(username, password) {
     });
 }
 
+function storeTokens(tokens) {
+    accessToken = tokens.accessToken;
+    refreshToken = tokens.refreshToken;
+    sessionStorage.setItem(SESSION_KEY, JSON.stringify({ accessToken, refreshToken }));
+}
+
+function enterDashboard(username, roles) {
+    currentUser = username;
+    isAdmin = roles.includes('ADMIN');
+
+    // Show dashboard, hide login
+    document.getElementById('loginSection').classList.add('login-hidden');
+    document.getElementById('dashboardSection').classList.remove('dashboard-hidden');
+
+    // Update user info in sidebar
+    document.getElementById('currentUser').textContent = isAdmin ? 'Admin User' : 'Student User';
+
+    // Show/hide admin buttons
+    updateUIForRole();
+
+    // Load initial data
+    loadTeachers();
+    startChangeFeed();
+}
+
+// A reload keeps the session: /me checks the stored token (refreshing it if expired) without loading any data
+function restoreSession() {
+    const stored = JSON.parse(sessionStorage.getItem(SESSION_KEY) || 'null');
+    if (!stored) {
+        return;
+    }
+    accessToken = stored.accessToken;
+    refreshToken = stored.refreshToken;
+
+    fetchAPI('/me')
+        .then(response => response.ok ? response.json() : Promise.reject(response.status))
+        .then(me => enterDashboard(me.username, me.roles))
+        .catch(() => clearSession());
+}
+
+function clearSession() {
+    stopChangeFeed();
+    currentUser = null;
+    accessToken = null;
+    refreshToken = null;
+    isAdmin = false;
+    responseCache.clear();
+    sessionStorage.removeItem(SESSION_KEY);
+}
+
+document.addEventListener('DOMContentLoaded', restoreSession);
+
 function showLoginError(message) {
     const errorDiv = document.getElementById('loginError');
     if (message) {
@@ -99,9 +144,7 @@ function showLoginError(message) {
 }
 
 function logout() {
-    currentUser = null;
-    currentPassword = null;
-    isAdmin = false;
+    clearSession();
 
     // Show login, hide dashboard
     document.getElementById('loginSection').classList.remove('login-hidden');
@@ -122,8 +165,54 @@ function updateUIForRole() {
 
 // API Helper
 function fetchAPI(endpoint, options = {}) {
+    return sendAPI(endpoint, options).then(response => {
+        if (response.status !== 401 || !refreshToken) {
+            return response;
+        }
+        // Access token expired: refresh once and replay the request
+        return refreshAccessToken().then(refreshed => refreshed ? sendAPI(endpoint, options) : response);
+    });
+}
+
+// Last ETag, body and next-page cursor per GET endpoint; repeated loads send If-None-Match and reuse them on 304
+const responseCache = new Map();
+
+function fetchJSON(endpoint) {
+    return fetchCached(endpoint).then(entry => entry.data);
+}
+
+// One page of a list endpoint: { items, nextCursor }, where nextCursor is null on the last page
+function fetchPage(endpoint) {
+    return fetchCached(endpoint).then(entry => ({ items: entry.data, nextCursor: entry.nextCursor }));
+}
+
+function fetchCached(endpoint) {
+    const cached = responseCache.get(endpoint);
+    const options = cached ? { headers: { 'If-None-Match': cached.etag } } : {};
+
+    return fetchAPI(endpoint, options).then(response => {
+        if (response.status === 304 && cached) {
+            return cached;
+        }
+        if (!response.ok) {
+            throw new Error(`GET ${endpoint} failed with status ${response.status}`);
+        }
+        return response.json().then(data => {
+            const etag = response.headers.get('ETag');
+            const entry = { etag, data, nextCursor: response.headers.get('X-Next-Cursor') };
+            if (etag) {
+                responseCache.set(endpoint, entry);
+            } else {
+                responseCache.delete(endpoint);
+            }
+            return entry;
+        });
+    });
+}
+
+function sendAPI(endpoint, options) {
     const headers = {
-        'Authorization': 'Basic ' + btoa(currentUser + ':' + currentPassword),
+        'Authorization': 'Bearer ' + accessToken,
         'Content-Type': 'application/json',
         ...options.headers
     };
@@ -134,6 +223,196 @@ function fetchAPI(endpoint, options = {}) {
     });
 }
 
+function refreshAccessToken() {
+    return fetch(`${API_BASE_URL}/auth/refresh`, {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        body: JSON.stringify({ refreshToken })
+    })
+    .then(response => {
+        if (!response.ok) {
+            return false;
+        }
+        return response.json().then(tokens => {
+            storeTokens(tokens);
+            return true;
+        });
+    })
+    .catch(() => false);
+}
+
+// Change feed (/api/events): the lists are patched from the server's change events instead of being refetched.
+// EventSource cannot send the Authorization header, so the stream is read through fetch; after a dropped connection
+// it reconnects with Last-Event-ID and gets the events it missed.
+const FEED_RETRY_MIN_MS = 1000;
+const FEED_RETRY_MAX_MS = 30000;
+let changeFeed = null;
+let summaryReload = null;
+
+function startChangeFeed() {
+    stopChangeFeed();
+    changeFeed = { controller: new AbortController(), lastEventId: null, connected: false, retryMs: FEED_RETRY_MIN_MS };
+    connectChangeFeed(changeFeed);
+}
+
+function stopChangeFeed() {
+    if (changeFeed) {
+        changeFeed.controller.abort();
+        changeFeed = null;
+    }
+}
+
+// While connected, the feed reports the user's own changes as well, so they need no reload
+function changeFeedConnected() {
+    return changeFeed !== null && changeFeed.connected;
+}
+
+function connectChangeFeed(feed) {
+    const headers = { 'Accept': 'text/event-stream' };
+    if (feed.lastEventId) {
+        headers['Last-Event-ID'] = feed.lastEventId;
+    }
+
+    fetchAPI('/events', { headers, signal: feed.controller.signal })
+        .then(response => {
+            if (!response.ok) {
+                throw new Error(`GET /events failed with status ${response.status}`);
+            }
+            feed.connected = true;
+            feed.retryMs = FEED_RETRY_MIN_MS;
+            return readChangeEvents(response.body, feed);
+        })
+        .catch(error => {
+            if (!feed.controller.signal.aborted) {
+                console.error('Change feed:', error);
+            }
+        })
+        .finally(() => {
+            feed.connected = false;
+            if (changeFeed !== feed) {
+                return;
+            }
+            setTimeout(() => changeFeed === feed && connectChangeFeed(feed), feed.retryMs);
+            feed.retryMs = Math.min(feed.retryMs * 2, FEED_RETRY_MAX_MS);
+        });
+}
+
+function readChangeEvents(body, feed) {
+    const reader = body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+
+    const read = () => reader.read().then(({ value, done }) => {
+        if (done) {
+            return;
+        }
+        buffer += value;
+        let end;
+        while ((end = buffer.indexOf('\n\n')) >= 0) {
+            const event = parseChangeEvent(buffer.slice(0, end));
+            buffer = buffer.slice(end + 2);
+            if (event) {
+                feed.lastEventId = event.id || feed.lastEventId;
+                applyChange(event.name, JSON.parse(event.data));
+            }
+        }
+        return read();
+    });
+    return read();
+}
+
+// One "field:value" block of the stream; comments (the server's keep-alives) and blocks without data are skipped
+function parseChangeEvent(block) {
+    const event = { id: null, name: 'message', data: [] };
+    block.split('\n').filter(line => line && !line.startsWith(':')).forEach(line => {
+        const colon = line.indexOf(':');
+        const field = colon < 0 ? line : line.slice(0, colon);
+        const value = colon < 0 ? '' : line.slice(colon + 1).replace(/^ /, '');
+        if (field === 'id') {
+            event.id = value;
+        } else if (field === 'event') {
+            event.name = value;
+        } else if (field === 'data') {
+            event.data.push(value);
+        }
+    });
+    return event.data.length ? { ...event, data: event.data.join('\n') } : null;
+}
+
+function applyChange(name, change) {
+    if (name === 'ready') {
+        return;
+    }
+    // Counts and credits per teacher change with almost every write; the summary is one request, so it is refetched
+    scheduleSummaryReload();
+
+    if (name === 'reload' || change.action === 'RELOAD') {
+        if (!change.entity || change.entity === 'STUDENT') {
+            reloadIfVisible('students', loadStudents);
+        }
+        if (!change.entity || change.entity === 'COURSE') {
+            reloadIfVisible('courses', loadCourses);
+        }
+    } else if (change.entity === 'STUDENT') {
+        patchList('students', '/students', change, renderStudent, loadStudents);
+    } else if (change.entity === 'COURSE') {
+        patchList('courses', '/courses', change, renderCourse, loadCourses);
+    }
+}
+
+function isTabVisible(tabName) {
+    return !document.getElementById(`${tabName}Tab`).classList.contains('hidden');
+}
+
+// Hidden tabs are loaded afresh when shown, so only the visible one is kept current
+function reloadIfVisible(tabName, load) {
+    if (isTabVisible(tabName)) {
+        load();
+    }
+}
+
+function scheduleSummaryReload() {
+    if (!isTabVisible('teachers')) {
+        return;
+    }
+    clearTimeout(summaryReload);
+    summaryReload = setTimeout(() => loadTeachers(true), 300);
+}
+
+// Applies one change to a paged list ordered by id: rows are replaced or removed in place, and new rows are appended
+// once the last page is shown (until then "Load more" brings them in)
+function patchList(tabName, endpoint, change, renderItem, load) {
+    if (!isTabVisible(tabName)) {
+        return;
+    }
+    const list = document.getElementById(`${tabName}List`);
+    const row = list.querySelector(`[data-id="${change.id}"]`);
+
+    if (change.action === 'DELETED') {
+        row?.remove();
+        if (!list.querySelector('[data-id]') && !list.querySelector('.load-more')) {
+            load();
+        }
+    } else if (change.action === 'CREATED') {
+        if (!list.querySelector('[data-id]')) {
+            load();
+        } else if (!row && !list.querySelector('.load-more')) {
+            list.insertAdjacentHTML('beforeend', renderItem(change.data));
+        }
+    } else if (row && change.data) {
+        row.outerHTML = renderItem(change.data);
+    } else if (row) {
+        // The update bypassed the entity, so the event carries only the id
+        fetchJSON(`${endpoint}/${change.id}`)
+            .then(item => {
+                const current = list.querySelector(`[data-id="${change.id}"]`);
+                if (current) {
+                    current.outerHTML = renderItem(item);
+                }
+            })
+            .catch(error => console.error('Error:', error));
+    }
+}
+
 // Message Display
 function showMessage(text, type = 'success') {
     const messageDiv = document.getElementById('message');
@@ -175,14 +454,19 @@ function showTab(tabName) {
     }
 }
 
-// Teachers
-function loadTeachers() {
+// Teachers and summary counts, from one aggregate request instead of the full teacher, student and course lists
+// A refresh keeps the current list on screen until the new one is there
+function loadTeachers(refresh = false) {
     const list = document.getElementById('teachersList');
-    list.innerHTML = '<div class="p-12 text-center text-slate-500 font-medium">Loading teachers...</div>';
+    if (!refresh) {
+        list.innerHTML = '<div class="p-12 text-center text-slate-500 font-medium">Loading teachers...</div>';
+    }
 
-    fetchAPI('/teachers')
-        .then(response => response.json())
-        .then(teachers => {
+    fetchJSON('/dashboard/summary')
+        .then(summary => {
+            renderSummary(summary);
+
+            const teachers = summary.teachers;
             if (teachers.length === 0) {
                 list.innerHTML = '<div class="p-12 text-center text-slate-500 font-medium">No teachers found. Click "Add Teacher" to create one!</div>';
                 return;
@@ -199,8 +483,9 @@ function loadTeachers() {
                             <p class="text-sm text-slate-500 dark:text-slate-400 mb-2">${teacher.email}</p>
                             <div class="flex items-center space-x-3 mt-2">
                                 <span class="text-xs px-3 py-1.5 bg-gradient-to-r from-primary/10 to-primary/20 text-primary font-bold rounded-full border border-primary/30">${teacher.department}</span>
-                                ${teacher.students ? `<span class="text-xs text-slate-400 font-semibold flex items-center"><span class="material-symbols-outlined text-sm mr-1">groups</span>${teacher.students.length} Students</span>` : ''}
-                                ${teacher.courses ? `<span class="text-xs text-slate-400 font-semibold flex items-center"><span class="material-symbols-outlined text-sm mr-1">menu_book</span>${teacher.courses.length} Courses</span>` : ''}
+                                <span class="text-xs text-slate-400 font-semibold flex items-center"><span class="material-symbols-outlined text-sm mr-1">groups</span>${teacher.students} Students</span>
+                                <span class="text-xs text-slate-400 font-semibold flex items-center"><span class="material-symbols-outlined text-sm mr-1">menu_book</span>${teacher.courses} Courses</span>
+                                <span class="text-xs text-slate-400 font-semibold flex items-center"><span class="material-symbols-outlined text-sm mr-1">star</span>${teacher.credits} Credits</span>
                             </div>
                         </div>
                     </div>
@@ -218,6 +503,59 @@ function loadTeachers() {
         });
 }
 
+function renderSummary(summary) {
+    const totals = summary.totals;
+    const stat = (icon, label, value) => `
+        <div class="bg-white dark:bg-card-dark rounded-2xl shadow-lg p-5 flex items-center space-x-4">
+            <span class="material-symbols-outlined text-3xl text-primary">${icon}</span>
+            <div>
+                <p class="text-2xl font-extrabold">${value}</p>
+                <p class="text-xs text-slate-500 font-semibold uppercase tracking-wide">${label}</p>
+            </div>
+        </div>`;
+
+    document.getElementById('summaryStats').innerHTML =
+        stat('school', 'Teachers', totals.teachers) +
+        stat('groups', 'Students', totals.students) +
+        stat('menu_book', 'Courses', totals.courses) +
+        stat('star', 'Credits', totals.credits);
+
+    document.getElementById('summaryDepartments').innerHTML = summary.departments.map(department => `
+        <span class="text-xs px-3 py-1.5 bg-gradient-to-r from-primary/10 to-primary/20 text-primary font-bold rounded-full border border-primary/30">${department.department}: ${department.teachers}</span>
+    `).join('');
+}
+
+// Renders a list endpoint PAGE_SIZE rows at a time, with a "Load more" row while further pages exist
+function loadPagedList(list, endpoint, renderItem, emptyMessage, errorMessage, after = null) {
+    const url = `${endpoint}?limit=${PAGE_SIZE}` + (after ? `&after=${after}` : '');
+
+    fetchPage(url)
+        .then(page => {
+            if (!after && page.items.length === 0) {
+                list.innerHTML = `<div class="p-12 text-center text-slate-500 font-medium">${emptyMessage}</div>`;
+                return;
+            }
+            if (!after) {
+                list.innerHTML = '';
+            }
+            list.querySelector('.load-more')?.remove();
+            list.insertAdjacentHTML('beforeend', page.items.map(renderItem).join(''));
+
+            if (page.nextCursor) {
+                const more = document.createElement('button');
+                more.className = 'load-more w-full p-6 text-center text-primary font-bold hover:bg-primary/5 transition-all';
+                more.textContent = 'Load more';
+                more.addEventListener('click', () =>
+                    loadPagedList(list, endpoint, renderItem, emptyMessage, errorMessage, page.nextCursor));
+                list.appendChild(more);
+            }
+        })
+        .catch(error => {
+            list.innerHTML = `<div class="p-12 text-center text-red-500 font-medium">${errorMessage}</div>`;
+            console.error('Error:', error);
+        });
+}
+
 function showAddTeacherForm() {
     document.getElementById('addTeacherModal').classList.remove('hidden');
 }
@@ -246,7 +584,9 @@ function addTeacher(event) {
         if (response.ok) {
             showMessage('Teacher added successfully', 'success');
             hideAddTeacherForm();
-            loadTeachers();
+            if (!changeFeedConnected()) {
+                loadTeachers();
+            }
         } else {
             showMessage('Failed to add teacher', 'error');
         }
@@ -266,7 +606,9 @@ function deleteTeacher(id) {
         .then(response => {
             if (response.ok) {
                 showMessage('Teacher deleted successfully', 'success');
-                loadTeachers();
+                if (!changeFeedConnected()) {
+                    loadTeachers();
+                }
             } else {
                 showMessage('Failed to delete teacher', 'error');
             }
@@ -282,38 +624,30 @@ function loadStudents() {
     const list = document.getElementById('studentsList');
     list.innerHTML = '<div class="p-12 text-center text-slate-500 font-medium">Loading students...</div>';
 
-    fetchAPI('/students')
-        .then(response => response.json())
-        .then(students => {
-            if (students.length === 0) {
-                list.innerHTML = '<div class="p-12 text-center text-slate-500 font-medium">No students found. Click "Add Student" to enroll one!</div>';
-                return;
-            }
+    loadPagedList(list, '/students', renderStudent,
+        'No students found. Click "Add Student" to enroll one!', 'Error loading students');
+}
 
-            list.innerHTML = students.map(student => `
-                <div class="p-6 flex items-center justify-between hover:bg-gradient-to-r hover:from-emerald-500/5 hover:to-transparent transition-all group">
-                    <div class="flex items-center space-x-5">
-                        <div class="w-16 h-16 bg-gradient-to-br from-emerald-500 to-teal-600 rounded-2xl flex items-center justify-center shadow-lg group-hover:scale-110 transition-transform">
-                            <span class="material-symbols-outlined text-white text-3xl">person</span>
-                        </div>
-                        <div>
-                            <h3 class="font-bold text-lg mb-1">${student.name}</h3>
-                            <p class="text-sm text-slate-500 dark:text-slate-400 mb-2">${student.email}</p>
-                            <span class="text-xs px-3 py-1.5 bg-gradient-to-r from-emerald-500/10 to-emerald-500/20 text-emerald-700 dark:text-emerald-400 font-bold rounded-full border border-emerald-500/30">ID: ${student.studentId}</span>
-                        </div>
-                    </div>
-                    ${isAdmin ? `
-                    <button onclick="deleteStudent(${student.id})" class="p-3 text-red-500 hover:bg-red-50 dark:hover:bg-red-900/20 rounded-xl transition-all hover:scale-110">
-                        <span class="material-symbols-outlined text-2xl">delete</span>
-                    </button>
-                    ` : ''}
+function renderStudent(student) {
+    return `
+        <div data-id="${student.id}" class="p-6 flex items-center justify-between hover:bg-gradient-to-r hover:from-emerald-500/5 hover:to-transparent transition-all group">
+            <div class="flex items-center space-x-5">
+                <div class="w-16 h-16 bg-gradient-to-br from-emerald-500 to-teal-600 rounded-2xl flex items-center justify-center shadow-lg group-hover:scale-110 transition-transform">
+                    <span class="material-symbols-outlined text-white text-3xl">person</span>
                 </div>
-            `).join('');
-        })
-        .catch(error => {
-            list.innerHTML = '<div class="p-12 text-center text-red-500 font-medium">Error loading students</div>';
-            console.error('Error:', error);
-        });
+                <div>
+                    <h3 class="font-bold text-lg mb-1">${student.name}</h3>
+                    <p class="text-sm text-slate-500 dark:text-slate-400 mb-2">${student.email}</p>
+                    <span class="text-xs px-3 py-1.5 bg-gradient-to-r from-emerald-500/10 to-emerald-500/20 text-emerald-700 dark:text-emerald-400 font-bold rounded-full border border-emerald-500/30">ID: ${student.studentId}</span>
+                </div>
+            </div>
+            ${isAdmin ? `
+            <button onclick="deleteStudent(${student.id})" class="p-3 text-red-500 hover:bg-red-50 dark:hover:bg-red-900/20 rounded-xl transition-all hover:scale-110">
+                <span class="material-symbols-outlined text-2xl">delete</span>
+            </button>
+            ` : ''}
+        </div>
+    `;
 }
 
 function showAddStudentForm() {
@@ -347,7 +681,10 @@ function addStudent(event) {
         if (response.ok) {
             showMessage('Student added successfully', 'success');
             hideAddStudentForm();
-            loadStudents();
+            if (!changeFeedConnected()) {
+                loadStudents();
+                loadTeachers();
+            }
         } else {
             showMessage('Failed to add student', 'error');
         }
@@ -367,7 +704,10 @@ function deleteStudent(id) {
         .then(response => {
             if (response.ok) {
                 showMessage('Student deleted successfully', 'success');
-                loadStudents();
+                if (!changeFeedConnected()) {
+                    loadStudents();
+                    loadTeachers();
+                }
             } else {
                 showMessage('Failed to delete student', 'error');
             }
@@ -383,38 +723,30 @@ function loadCourses() {
     const list = document.getElementById('coursesList');
     list.innerHTML = '<div class="p-12 text-center text-slate-500 font-medium">Loading courses...</div>';
 
-    fetchAPI('/courses')
-        .then(response => response.json())
-        .then(courses => {
-            if (courses.length === 0) {
-                list.innerHTML = '<div class="p-12 text-center text-slate-500 font-medium">No courses found. Click "Add Course" to create one!</div>';
-                return;
-            }
+    loadPagedList(list, '/courses', renderCourse,
+        'No courses found. Click "Add Course" to create one!', 'Error loading courses');
+}
 
-            list.innerHTML = courses.map(course => `
-                <div class="p-6 flex items-center justify-between hover:bg-gradient-to-r hover:from-amber-500/5 hover:to-transparent transition-all group">
-                    <div class="flex items-center space-x-5">
-                        <div class="w-16 h-16 bg-gradient-to-br from-amber-500 to-orange-600 rounded-2xl flex items-center justify-center shadow-lg group-hover:scale-110 transition-transform">
-                            <span class="material-symbols-outlined text-white text-3xl">menu_book</span>
-                        </div>
-                        <div>
-                            <h3 class="font-bold text-lg mb-1">${course.title}</h3>
-                            <p class="text-sm text-slate-500 dark:text-slate-400 mb-2">Code: ${course.courseCode}</p>
-                            <span class="text-xs px-3 py-1.5 bg-gradient-to-r from-amber-500/10 to-amber-500/20 text-amber-700 dark:text-amber-400 font-bold rounded-full border border-amber-500/30">${course.credits} Credits</span>
-                        </div>
-                    </div>
-                    ${isAdmin ? `
-                    <button onclick="deleteCourse(${course.id})" class="p-3 text-red-500 hover:bg-red-50 dark:hover:bg-red-900/20 rounded-xl transition-all hover:scale-110">
-                        <span class="material-symbols-outlined text-2xl">delete</span>
-                    </button>
-                    ` : ''}
+function renderCourse(course) {
+    return `
+        <div data-id="${course.id}" class="p-6 flex items-center justify-between hover:bg-gradient-to-r hover:from-amber-500/5 hover:to-transparent transition-all group">
+            <div class="flex items-center space-x-5">
+                <div class="w-16 h-16 bg-gradient-to-br from-amber-500 to-orange-600 rounded-2xl flex items-center justify-center shadow-lg group-hover:scale-110 transition-transform">
+                    <span class="material-symbols-outlined text-white text-3xl">menu_book</span>
                 </div>
-            `).join('');
-        })
-        .catch(error => {
-            list.innerHTML = '<div class="p-12 text-center text-red-500 font-medium">Error loading courses</div>';
-            console.error('Error:', error);
-        });
+                <div>
+                    <h3 class="font-bold text-lg mb-1">${course.title}</h3>
+                    <p class="text-sm text-slate-500 dark:text-slate-400 mb-2">Code: ${course.courseCode}</p>
+                    <span class="text-xs px-3 py-1.5 bg-gradient-to-r from-amber-500/10 to-amber-500/20 text-amber-700 dark:text-amber-400 font-bold rounded-full border border-amber-500/30">${course.credits} Credits</span>
+                </div>
+            </div>
+            ${isAdmin ? `
+            <button onclick="deleteCourse(${course.id})" class="p-3 text-red-500 hover:bg-red-50 dark:hover:bg-red-900/20 rounded-xl transition-all hover:scale-110">
+                <span class="material-symbols-outlined text-2xl">delete</span>
+            </button>
+            ` : ''}
+        </div>
+    `;
 }
 
 function showAddCourseForm() {
@@ -448,7 +780,10 @@ function addCourse(event) {
         if (response.ok) {
             showMessage('Course added successfully', 'success');
             hideAddCourseForm();
-            loadCourses();
+            if (!changeFeedConnected()) {
+                loadCourses();
+                loadTeachers();
+            }
         } else {
             showMessage('Failed to add course', 'error');
         }
@@ -468,7 +803,10 @@ function deleteCourse(id) {
         .then(response => {
             if (response.ok) {
                 showMessage('Course deleted successfully', 'success');
-                loadCourses();
+                if (!changeFeedConnected()) {
+                    loadCourses();
+                    loadTeachers();
+                }
             } else {
                 showMessage('Failed to delete course', 'error');
             }
@@ -479,12 +817,12 @@ function deleteCourse(id) {
         });
 }
 
-// Helper function to load teachers for select dropdowns
+// Helper function to load teachers for select dropdowns; the summary lists them without their students and courses
 function loadTeachersForSelect(selectId) {
     const select = document.getElementById(selectId);
 
-    fetchAPI('/teachers')
-        .then(response => response.json())
+    fetchJSON('/dashboard/summary')
+        .then(summary => summary.teachers)
         .then(teachers => {
             select.innerHTML = '<option value="">Select Teacher</option>' +
                 teachers.map(teacher => `<option value="${teacher.id}">${teacher.name}</option>`).join('');
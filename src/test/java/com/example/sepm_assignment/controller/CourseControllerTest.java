@@ -1,6 +1,10 @@
 package com.example.sepm_assignment.controller;
 
 import com.example.sepm_assignment.config.SecurityConfig;
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.CoursePatch;
+import com.example.sepm_assignment.dto.KeysetPage;
+import com.example.sepm_assignment.dto.VersionSummary;
 import com.example.sepm_assignment.model.Course;
 import com.example.sepm_assignment.model.Teacher;
 import com.example.sepm_assignment.service.CourseService;
@@ -21,6 +25,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -47,6 +52,8 @@ class CourseControllerTest {
         teacher = new Teacher(1L, "John Doe", "john@school.com", "Computer Science",
                 new ArrayList<>(), new ArrayList<>());
         course = new Course(1L, "Java Basics", "CS101", 3, teacher);
+        when(courseService.versionSummary()).thenReturn(new VersionSummary(1, 1, 0));
+        when(courseService.versionSummaryByTeacherId(anyLong())).thenReturn(new VersionSummary(1, 1, 0));
     }
 
     // ─── GET /api/courses ────────────────────────────────────────────────────
@@ -71,16 +78,31 @@ class CourseControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/courses?limit= – returns one page with the next cursor")
+    void getAllCourses_keysetPage() throws Exception {
+        when(courseService.findPage(0L, 1)).thenReturn(new KeysetPage<>(List.of(course), 1L));
+
+        mockMvc.perform(get("/api/courses").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].courseCode").value("CS101"))
+                .andExpect(header().string("X-Next-Cursor", "1"));
+
+        verify(courseService, never()).findAll();
+    }
+
     // ─── GET /api/courses/{id} ───────────────────────────────────────────────
 
     @Test
     @WithMockUser(roles = "USER")
     @DisplayName("GET /api/courses/{id} – returns 200 when course exists")
     void getCourseById_found() throws Exception {
-        when(courseService.findById(1L)).thenReturn(Optional.of(course));
+        when(courseService.findById(1L)).thenReturn(Optional.of(CourseDto.from(course)));
 
         mockMvc.perform(get("/api/courses/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"course-1-0\""))
                 .andExpect(jsonPath("$.title").value("Java Basics"))
                 .andExpect(jsonPath("$.credits").value(3));
     }
@@ -178,6 +200,38 @@ class CourseControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    // ─── PATCH /api/courses/{id} ─────────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/courses/{id} – 204 with the new ETag")
+    void patchCourse_success() throws Exception {
+        when(courseService.patch(eq(1L), eq(0L), any(CoursePatch.class))).thenReturn(1L);
+
+        mockMvc.perform(patch("/api/courses/1")
+                        .header("If-Match", "\"course-1-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"credits\":5}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"course-1-1\""));
+
+        verify(courseService).patch(1L, 0L, new CoursePatch(null, null, 5, null));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/courses/{id} – 400 for an empty patch")
+    void patchCourse_empty() throws Exception {
+        when(courseService.patch(eq(1L), eq(0L), any(CoursePatch.class)))
+                .thenThrow(new IllegalArgumentException("Patch contains no fields"));
+
+        mockMvc.perform(patch("/api/courses/1")
+                        .header("If-Match", "\"course-1-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
     // ─── DELETE /api/courses/{id} ────────────────────────────────────────────
 
     @Test
@@ -1,8 +1,15 @@
 package com.example.sepm_assignment.controller;
 
 import com.example.sepm_assignment.config.SecurityConfig;
+import com.example.sepm_assignment.dto.BulkCreateResult;
+import com.example.sepm_assignment.dto.KeysetPage;
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.dto.StudentPatch;
+import com.example.sepm_assignment.dto.StudentSearchHit;
+import com.example.sepm_assignment.dto.VersionSummary;
 import com.example.sepm_assignment.model.Student;
 import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.service.StudentSearchService;
 import com.example.sepm_assignment.service.StudentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +19,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,6 +29,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -39,6 +49,9 @@ class StudentControllerTest {
     @MockBean
     private StudentService studentService;
 
+    @MockBean
+    private StudentSearchService studentSearchService;
+
     private Teacher teacher;
     private Student student;
 
@@ -47,6 +60,8 @@ class StudentControllerTest {
         teacher = new Teacher(1L, "John Doe", "john@school.com", "Computer Science",
                 new ArrayList<>(), new ArrayList<>());
         student = new Student(1L, "Alice Smith", "alice@school.com", "S001", teacher);
+        when(studentService.versionSummary()).thenReturn(new VersionSummary(1, 1, 0));
+        when(studentService.versionSummaryByTeacherId(anyLong())).thenReturn(new VersionSummary(1, 1, 0));
     }
 
     // ─── GET /api/students ───────────────────────────────────────────────────
@@ -71,16 +86,95 @@ class StudentControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/students?after=&limit= – returns one page with the next cursor")
+    void getAllStudents_keysetPage() throws Exception {
+        when(studentService.findPage(0L, 1)).thenReturn(new KeysetPage<>(List.of(student), 1L));
+
+        mockMvc.perform(get("/api/students").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].studentId").value("S001"))
+                .andExpect(header().string("X-Next-Cursor", "1"))
+                .andExpect(header().string("Link", "<http://localhost/api/students?after=1&limit=1>; rel=\"next\""));
+
+        verify(studentService, never()).findAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/students?after= – clamps the limit and omits the cursor on the last page")
+    void getAllStudents_lastPage() throws Exception {
+        when(studentService.findPage(1L, 500)).thenReturn(new KeysetPage<>(List.of(), null));
+
+        mockMvc.perform(get("/api/students").param("after", "1").param("limit", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/students – returns 304 without loading students when the ETag matches")
+    void getAllStudents_notModified() throws Exception {
+        mockMvc.perform(get("/api/students").header("If-None-Match", "\"students-1.1.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"students-1.1.0\""));
+
+        verify(studentService, never()).findAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/students – returns 200 with a new ETag when the data changed")
+    void getAllStudents_modified() throws Exception {
+        when(studentService.findAll()).thenReturn(List.of(student));
+
+        mockMvc.perform(get("/api/students").header("If-None-Match", "W/\"students-1.1.5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"students-1.1.0\""))
+                .andExpect(jsonPath("$[0].name").value("Alice Smith"));
+    }
+
+    // ─── GET /api/students/search ────────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/students/search – returns one page of hits with the next offset")
+    void searchStudents_page() throws Exception {
+        StudentSearchHit hit = new StudentSearchHit(1L, "Alice Smith", "alice@school.com", "S001", 1.0);
+        when(studentSearchService.search("alice", 0, 2)).thenReturn(List.of(hit, hit));
+
+        mockMvc.perform(get("/api/students/search?q=alice&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].score").value(1.0))
+                .andExpect(header().string("X-Next-Offset", "1"))
+                .andExpect(header().string("Link",
+                        "<http://localhost/api/students/search?q=alice&offset=1&limit=1>; rel=\"next\""));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/students/search – returns 400 for queries under three characters")
+    void searchStudents_shortQuery() throws Exception {
+        mockMvc.perform(get("/api/students/search").param("q", " al "))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(studentSearchService);
+    }
+
     // ─── GET /api/students/{id} ──────────────────────────────────────────────
 
     @Test
     @WithMockUser(roles = "USER")
     @DisplayName("GET /api/students/{id} – returns 200 when student exists")
     void getStudentById_found() throws Exception {
-        when(studentService.findById(1L)).thenReturn(Optional.of(student));
+        when(studentService.findById(1L)).thenReturn(Optional.of(StudentDto.from(student)));
 
         mockMvc.perform(get("/api/students/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"student-1-0\""))
                 .andExpect(jsonPath("$.name").value("Alice Smith"));
     }
 
@@ -94,6 +188,17 @@ class StudentControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/students/{id} – returns 304 with an empty body when the ETag matches")
+    void getStudentById_notModified() throws Exception {
+        when(studentService.findById(1L)).thenReturn(Optional.of(StudentDto.from(student)));
+
+        mockMvc.perform(get("/api/students/1").header("If-None-Match", "\"student-1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     // ─── GET /api/students/teacher/{teacherId} ───────────────────────────────
 
     @Test
@@ -107,6 +212,17 @@ class StudentControllerTest {
                 .andExpect(jsonPath("$[0].studentId").value("S001"));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/students/teacher/{teacherId}?after= – pages within the teacher's students")
+    void getStudentsByTeacher_keysetPage() throws Exception {
+        when(studentService.findPageByTeacherId(1L, 5L, 50)).thenReturn(new KeysetPage<>(List.of(student), null));
+
+        mockMvc.perform(get("/api/students/teacher/1").param("after", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].studentId").value("S001"));
+    }
+
     // ─── POST /api/students/teacher/{teacherId} ──────────────────────────────
 
     @Test
@@ -149,6 +265,32 @@ class StudentControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/students/teacher/{id}/bulk – returns 201 with the bulk summary")
+    void createStudentsBulk_returnsCreated() throws Exception {
+        Student input = new Student(null, "Alice Smith", "alice@school.com", "S001", null);
+        when(studentService.saveAllWithTeacher(eq(1L), anyList()))
+                .thenReturn(new BulkCreateResult(1, 1, List.of(1L), List.of()));
+
+        mockMvc.perform(post("/api/students/teacher/1/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(input))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.ids[0]").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /api/students/teacher/{id}/bulk – returns 403 for USER role")
+    void createStudentsBulk_forbidden_forUserRole() throws Exception {
+        mockMvc.perform(post("/api/students/teacher/1/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+    }
+
     // ─── PUT /api/students/{id} ──────────────────────────────────────────────
 
     @Test
@@ -177,6 +319,74 @@ class StudentControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    // ─── PATCH /api/students/{id} ────────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/students/{id} – 204 with the new ETag")
+    void patchStudent_success() throws Exception {
+        when(studentService.patch(eq(1L), eq(3L), any(StudentPatch.class))).thenReturn(4L);
+
+        mockMvc.perform(patch("/api/students/1")
+                        .header("If-Match", "\"student-1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Alice Updated\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"student-1-4\""));
+
+        verify(studentService).patch(1L, 3L, new StudentPatch("Alice Updated", null, null));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/students/{id} – 428 without If-Match")
+    void patchStudent_preconditionRequired() throws Exception {
+        mockMvc.perform(patch("/api/students/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Alice Updated\"}"))
+                .andExpect(status().isPreconditionRequired());
+
+        verify(studentService, never()).patch(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/students/{id} – 412 when the version is stale")
+    void patchStudent_stale() throws Exception {
+        when(studentService.patch(eq(1L), eq(2L), any(StudentPatch.class)))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        mockMvc.perform(patch("/api/students/1")
+                        .header("If-Match", "\"student-1-2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Alice Updated\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/students/{id} – 412 for a tag of another resource")
+    void patchStudent_foreignTag() throws Exception {
+        mockMvc.perform(patch("/api/students/1")
+                        .header("If-Match", "\"student-2-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Alice Updated\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(studentService, never()).patch(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("PATCH /api/students/{id} – 403 for USER role")
+    void patchStudent_forbidden_forUserRole() throws Exception {
+        mockMvc.perform(patch("/api/students/1")
+                        .header("If-Match", "\"student-1-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Alice Updated\"}"))
+                .andExpect(status().isForbidden());
+    }
+
     // ─── DELETE /api/students/{id} ───────────────────────────────────────────
 
     @Test
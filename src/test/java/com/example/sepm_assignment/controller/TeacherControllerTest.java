@@ -1,6 +1,12 @@
 package com.example.sepm_assignment.controller;
 
 import com.example.sepm_assignment.config.SecurityConfig;
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.KeysetPage;
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.dto.TeacherDto;
+import com.example.sepm_assignment.dto.TeacherPatch;
+import com.example.sepm_assignment.dto.VersionSummary;
 import com.example.sepm_assignment.model.Teacher;
 import com.example.sepm_assignment.service.TeacherService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -52,13 +58,18 @@ class TeacherControllerTest {
     @WithMockUser(roles = "USER")
     @DisplayName("GET /api/teachers – returns 200 with list for USER role")
     void getAllTeachers_returnsOk() throws Exception {
-        when(teacherService.findAll()).thenReturn(List.of(teacher));
+        TeacherDto dto = TeacherDto.from(teacher,
+                List.of(new StudentDto(1L, "Alice Smith", "alice@school.com", "S001", 0L)),
+                List.of(new CourseDto(1L, "Java Basics", "CS101", 3, null, 0L)));
+        when(teacherService.findAllWithRelations()).thenReturn(List.of(dto));
 
         mockMvc.perform(get("/api/teachers"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value("John Doe"))
                 .andExpect(jsonPath("$[0].email").value("john@school.com"))
-                .andExpect(jsonPath("$[0].department").value("Computer Science"));
+                .andExpect(jsonPath("$[0].department").value("Computer Science"))
+                .andExpect(jsonPath("$[0].students[0].studentId").value("S001"))
+                .andExpect(jsonPath("$[0].courses[0].courseCode").value("CS101"));
     }
 
     @Test
@@ -68,16 +79,51 @@ class TeacherControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/teachers?limit= – returns one page with the next cursor")
+    void getAllTeachers_keysetPage() throws Exception {
+        TeacherDto dto = TeacherDto.from(teacher, List.of(), List.of());
+        when(teacherService.findPageWithRelations(0L, 1)).thenReturn(new KeysetPage<>(List.of(dto), 1L));
+
+        mockMvc.perform(get("/api/teachers").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("John Doe"))
+                .andExpect(header().string("X-Next-Cursor", "1"));
+
+        verify(teacherService, never()).findAllWithRelations();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/teachers – returns 304 without loading teachers when the ETag matches")
+    void getAllTeachers_notModified() throws Exception {
+        when(teacherService.versionSummaries()).thenReturn(List.of(
+                new VersionSummary(1, 1, 0), new VersionSummary(2, 5, 3), new VersionSummary(0, 0, 0)));
+
+        String etag = mockMvc.perform(get("/api/teachers"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/teachers").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        verify(teacherService, times(1)).findAllWithRelations();
+    }
+
     // ─── GET /api/teachers/{id} ──────────────────────────────────────────────
 
     @Test
     @WithMockUser(roles = "USER")
     @DisplayName("GET /api/teachers/{id} – returns 200 when teacher exists")
     void getTeacherById_found() throws Exception {
-        when(teacherService.findById(1L)).thenReturn(Optional.of(teacher));
+        when(teacherService.findById(1L)).thenReturn(Optional.of(TeacherDto.from(teacher, List.of(), List.of())));
 
         mockMvc.perform(get("/api/teachers/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"teacher-1-0-0.0.0-0.0.0\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("John Doe"));
     }
@@ -151,6 +197,34 @@ class TeacherControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    // ─── PATCH /api/teachers/{id} ────────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/teachers/{id} – 204 and checks only the teacher's own version")
+    void patchTeacher_success() throws Exception {
+        mockMvc.perform(patch("/api/teachers/1")
+                        .header("If-Match", "\"teacher-1-7-2.9.3-0.0.0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"department\":\"Physics\"}"))
+                .andExpect(status().isNoContent());
+
+        verify(teacherService).patch(1L, 7L, new TeacherPatch(null, null, "Physics"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/teachers/{id} – 412 for a weak tag")
+    void patchTeacher_weakTag() throws Exception {
+        mockMvc.perform(patch("/api/teachers/1")
+                        .header("If-Match", "W/\"teacher-1-7-0.0.0-0.0.0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"department\":\"Physics\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(teacherService);
+    }
+
     // ─── DELETE /api/teachers/{id} ───────────────────────────────────────────
 
     @Test
@@ -0,0 +1,209 @@
+package com.example.sepm_assignment.events;
+
+import com.example.sepm_assignment.dto.ChangeEvent;
+import com.example.sepm_assignment.dto.ChangeEvent.Action;
+import com.example.sepm_assignment.dto.ChangeEvent.Entity;
+import com.example.sepm_assignment.dto.TeacherExportRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ChangeBroadcasterTest {
+
+    private static final int SUBSCRIBER_BUFFER = 4;
+    private static final int SENDER_THREADS = 2;
+
+    private final ChangeBroadcaster broadcaster = new ChangeBroadcaster(new ObjectMapper(), 8, SUBSCRIBER_BUFFER,
+            SENDER_THREADS, Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofMinutes(1));
+
+    @AfterEach
+    void close() throws InterruptedException {
+        broadcaster.close();
+    }
+
+    // helpers
+    private static ChangeEvent created(long id) {
+        return new ChangeEvent(Entity.TEACHER, Action.CREATED, id,
+                new TeacherExportRow(id, "Teacher " + id, "teacher" + id + "@school.com", "CS"));
+    }
+
+    private static String field(String frame, String name) {
+        return frame.lines()
+                .filter(line -> line.startsWith(name + ":"))
+                .map(line -> line.substring(name.length() + 1))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /** Records the frames written to it; blocks every write until released if {@code release} is given. */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            frames.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+            super.complete();
+        }
+
+        String next() throws InterruptedException {
+            String frame = frames.poll(5, TimeUnit.SECONDS);
+            assertThat(frame).as("frame within 5 seconds").isNotNull();
+            return frame;
+        }
+    }
+
+    // ─── subscribe ───────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("subscribe – starts with ready, then gets each event with the next id")
+    void subscribe_readyThenEvents() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        broadcaster.subscribe(null, emitter);
+
+        String ready = emitter.next();
+        assertThat(field(ready, "event")).isEqualTo("ready");
+        assertThat(field(ready, "id")).endsWith("-0");
+
+        broadcaster.publish(List.of(created(1), created(2)));
+
+        String first = emitter.next();
+        assertThat(field(first, "event")).isEqualTo("teacher.created");
+        assertThat(field(first, "id")).endsWith("-1");
+        assertThat(field(first, "data")).contains("\"id\":1", "teacher1@school.com");
+        assertThat(field(emitter.next(), "id")).endsWith("-2");
+        assertThat(broadcaster.subscribers()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("subscribe – Last-Event-ID replays the events published after it")
+    void subscribe_resumes() throws Exception {
+        RecordingEmitter first = new RecordingEmitter(null);
+        broadcaster.subscribe(null, first);
+        broadcaster.publish(List.of(created(1)));
+        first.next();
+        String lastSeen = field(first.next(), "id");
+        broadcaster.publish(List.of(created(2), created(3)));
+
+        RecordingEmitter resumed = new RecordingEmitter(null);
+        broadcaster.subscribe(lastSeen, resumed);
+
+        assertThat(field(resumed.next(), "event")).isEqualTo("ready");
+        assertThat(field(resumed.next(), "data")).contains("\"id\":2");
+        assertThat(field(resumed.next(), "data")).contains("\"id\":3");
+    }
+
+    @Test
+    @DisplayName("subscribe – an id from another process or older than the replay buffer gets reload")
+    void subscribe_reloadWhenGapUnknown() throws Exception {
+        RecordingEmitter stranger = new RecordingEmitter(null);
+        broadcaster.subscribe("abc-3", stranger);
+        String reload = stranger.next();
+        assertThat(field(reload, "event")).isEqualTo("reload");
+        assertThat(field(reload, "data")).contains("\"action\":\"RELOAD\"");
+
+        RecordingEmitter listener = new RecordingEmitter(null);
+        broadcaster.subscribe(null, listener);
+        String start = field(listener.next(), "id");
+        for (long id = 1; id <= 9; id++) {
+            broadcaster.publish(List.of(created(id)));
+        }
+
+        RecordingEmitter late = new RecordingEmitter(null);
+        broadcaster.subscribe(start, late);
+        assertThat(field(late.next(), "event")).isEqualTo("reload");
+    }
+
+    // ─── publish ─────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("publish – a subscriber a full buffer behind is disconnected, the others get every event")
+    void publish_dropsSlowSubscriber() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        broadcaster.subscribe(null, slow);
+        broadcaster.subscribe(null, fast);
+        fast.next();
+
+        try {
+            for (long id = 1; id <= SUBSCRIBER_BUFFER * 2; id++) {
+                broadcaster.publish(List.of(created(id)));
+                assertThat(field(fast.next(), "data")).contains("\"id\":" + id);
+            }
+
+            assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(broadcaster.subscribers()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("publish – writes blocked past the send timeout are abandoned, the healthy subscriber keeps up")
+    void publish_abandonsBlockedWrites() throws Exception {
+        ChangeBroadcaster timed = new ChangeBroadcaster(new ObjectMapper(), 8, SUBSCRIBER_BUFFER, SENDER_THREADS,
+                Duration.ofMillis(200), Duration.ofHours(1), Duration.ofMinutes(1));
+        CountDownLatch release = new CountDownLatch(1);
+        List<RecordingEmitter> blocked = new ArrayList<>();
+        try {
+            // more stalled clients than sender threads, each holding one in its first write
+            for (int i = 0; i < SENDER_THREADS * 2; i++) {
+                RecordingEmitter emitter = new RecordingEmitter(release);
+                blocked.add(emitter);
+                timed.subscribe(null, emitter);
+            }
+            RecordingEmitter healthy = new RecordingEmitter(null);
+            timed.subscribe(null, healthy);
+            assertThat(field(healthy.next(), "event")).isEqualTo("ready");
+
+            for (long id = 1; id <= SUBSCRIBER_BUFFER * 2; id++) {
+                timed.publish(List.of(created(id)));
+                assertThat(field(healthy.next(), "data")).contains("\"id\":" + id);
+            }
+            assertThat(timed.subscribers()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+
+        // the abandoned writes return and complete their emitters
+        for (RecordingEmitter emitter : blocked) {
+            assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        timed.close();
+    }
+}
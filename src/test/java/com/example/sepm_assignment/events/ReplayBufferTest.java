@@ -0,0 +1,63 @@
+package com.example.sepm_assignment.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReplayBufferTest {
+
+    @Test
+    @DisplayName("append – numbers the items from 1")
+    void append_numbersFromOne() {
+        ReplayBuffer<String> buffer = new ReplayBuffer<>(3);
+        assertThat(buffer.last()).isZero();
+
+        assertThat(buffer.append("a")).isEqualTo(1);
+        assertThat(buffer.append("b")).isEqualTo(2);
+        assertThat(buffer.last()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("after – the items appended since the sequence, oldest first")
+    void after_returnsNewerItems() {
+        ReplayBuffer<String> buffer = new ReplayBuffer<>(3);
+        buffer.append("a");
+        buffer.append("b");
+
+        assertThat(buffer.after(0)).contains(List.of("a", "b"));
+        assertThat(buffer.after(1)).contains(List.of("b"));
+        assertThat(buffer.after(2)).contains(List.of());
+    }
+
+    @Test
+    @DisplayName("after – empty once an item it would return was overwritten")
+    void after_overwritten() {
+        ReplayBuffer<String> buffer = new ReplayBuffer<>(3);
+        for (String item : List.of("a", "b", "c", "d", "e")) {
+            buffer.append(item);
+        }
+
+        assertThat(buffer.after(2)).contains(List.of("c", "d", "e"));
+        assertThat(buffer.after(1)).isEmpty();
+        assertThat(buffer.after(0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("after – empty for a sequence that was never handed out")
+    void after_unknownSequence() {
+        ReplayBuffer<String> buffer = new ReplayBuffer<>(3);
+        buffer.append("a");
+
+        assertThat(buffer.after(2)).isEmpty();
+        assertThat(buffer.after(-1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("new ReplayBuffer – rejects a capacity below 1")
+    void constructor_rejectsEmptyCapacity() {
+        assertThatThrownBy(() -> new ReplayBuffer<>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
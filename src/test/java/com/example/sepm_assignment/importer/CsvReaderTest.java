@@ -0,0 +1,58 @@
+package com.example.sepm_assignment.importer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("next – splits plain records and tracks line numbers")
+    void next_plainRecords() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\n1,2,3\n"));
+
+        assertThat(reader.next()).containsExactly("a", "b", "c");
+        assertThat(reader.lineNumber()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("1", "2", "3");
+        assertThat(reader.lineNumber()).isEqualTo(2);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("next – handles quotes, escaped quotes, embedded separators and newlines")
+    void next_quotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "\"Smith, Jane\",\"say \"\"hi\"\"\",\"two\nlines\"\r\nlast,,\n"));
+
+        assertThat(reader.next()).containsExactly("Smith, Jane", "say \"hi\"", "two\nlines");
+        assertThat(reader.lineNumber()).isEqualTo(1);
+        assertThat(reader.next()).containsExactly("last", "", "");
+        assertThat(reader.lineNumber()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("next – accepts a final record without trailing newline and CRLF endings")
+    void next_noTrailingNewline() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("x,y\r\nz,w"));
+
+        assertThat(reader.next()).containsExactly("x", "y");
+        assertThat(reader.next()).containsExactly("z", "w");
+        assertThat(reader.lineNumber()).isEqualTo(2);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("next – rejects an unterminated quoted field")
+    void next_unterminatedQuote() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("ok\n\"broken,field\n"));
+
+        reader.next();
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("line 2");
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.sepm_assignment.integration;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records the SQL statements sent through the test {@code DataSource} while
+ * an action runs. Every JDBC execution counts once (a batch is one round
+ * trip), whichever thread issued it, so queries run by cache loaders or
+ * plain JDBC code count toward the request that caused them.
+ * <pre>
+ * queries.atMost(2, () -&gt; mockMvc.perform(get("/api/students/" + id)).andExpect(status().isOk()));
+ * </pre>
+ * Register it with {@code @Import(QueryCountConfig.class)}.
+ */
+public class QueryCounter implements QueryExecutionListener {
+
+    private final List<String> statements = new ArrayList<>();
+    private volatile boolean recording;
+
+    /**
+     * Runs {@code action} and fails if it issued more than
+     * {@code maxStatements} statements, listing the ones it did issue.
+     */
+    public <T> T atMost(int maxStatements, Callable<T> action) throws Exception {
+        List<String> executed = new ArrayList<>();
+        T result = record(action, executed);
+        assertThat(executed)
+                .as("SQL statements (budget %d)", maxStatements)
+                .hasSizeLessThanOrEqualTo(maxStatements);
+        return result;
+    }
+
+    /**
+     * Runs {@code action} and returns how many statements it issued.
+     */
+    public int count(Callable<?> action) throws Exception {
+        List<String> executed = new ArrayList<>();
+        record(action, executed);
+        return executed.size();
+    }
+
+    private synchronized <T> T record(Callable<T> action, List<String> executed) throws Exception {
+        synchronized (statements) {
+            statements.clear();
+        }
+        recording = true;
+        try {
+            return action.call();
+        } finally {
+            recording = false;
+            synchronized (statements) {
+                executed.addAll(statements);
+                statements.clear();
+            }
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!recording) {
+            return;
+        }
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        synchronized (statements) {
+            statements.add(sql);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.dto.RefreshRequest;
+import com.example.sepm_assignment.dto.TokenRequest;
+import com.example.sepm_assignment.dto.TokenResponse;
+import com.example.sepm_assignment.integration.QueryCountConfig;
+import com.example.sepm_assignment.integration.QueryCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for {@code /api/auth}.
+ * Exercises the real security filter chain rather than {@code @WithMockUser}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
+@ActiveProfiles("test")
+class AuthControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queries;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // helpers
+    private TokenResponse login(String username, String password) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenRequest(username, password))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, TokenResponse.class);
+    }
+
+    // ─── POST /api/auth/token ────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("POST /api/auth/token – 200 with tokens for valid credentials")
+    void issueToken_validCredentials() throws Exception {
+        queries.atMost(0, () -> mockMvc.perform(post("/api/auth/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenRequest("admin", "adminpass"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.username").value("admin"))
+                .andExpect(jsonPath("$.accessToken").isNotEmpty())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty()));
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/token – 401 for a wrong password")
+    void issueToken_wrongPassword() throws Exception {
+        queries.atMost(0, () -> mockMvc.perform(post("/api/auth/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenRequest("admin", "wrong"))))
+                .andExpect(status().isUnauthorized()));
+    }
+
+    // ─── Bearer access ───────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Bearer token – grants the roles of the logged-in user")
+    void bearerToken_grantsRoles() throws Exception {
+        TokenResponse user = login("user", "userpass");
+
+        mockMvc.perform(get("/api/teachers").header("Authorization", "Bearer " + user.accessToken()))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/teachers/1").header("Authorization", "Bearer " + user.accessToken()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Bearer token – 401 for a forged token")
+    void bearerToken_forged() throws Exception {
+        queries.atMost(0, () -> mockMvc.perform(get("/api/teachers").header("Authorization", "Bearer abc.def"))
+                .andExpect(status().isUnauthorized()));
+    }
+
+    @Test
+    @DisplayName("Basic auth – still accepted alongside tokens")
+    void basicAuth_stillAccepted() throws Exception {
+        mockMvc.perform(get("/api/teachers").with(httpBasic("user", "userpass")))
+                .andExpect(status().isOk());
+    }
+
+    // ─── POST /api/auth/refresh ──────────────────────────────────────────────
+
+    @Test
+    @DisplayName("POST /api/auth/refresh – 200 with a new usable access token")
+    void refresh_valid() throws Exception {
+        TokenResponse tokens = login("admin", "adminpass");
+
+        String body = queries.atMost(0, () -> mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(tokens.refreshToken()))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        TokenResponse refreshed = objectMapper.readValue(body, TokenResponse.class);
+
+        mockMvc.perform(get("/api/teachers").header("Authorization", "Bearer " + refreshed.accessToken()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/refresh – 401 when given an access token")
+    void refresh_withAccessToken() throws Exception {
+        TokenResponse tokens = login("admin", "adminpass");
+
+        queries.atMost(0, () -> mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest(tokens.accessToken()))))
+                .andExpect(status().isUnauthorized()));
+    }
+
+    // ─── GET /api/me ─────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /api/me – 200 with name and roles, no SQL")
+    void me_withBearerToken() throws Exception {
+        TokenResponse tokens = login("admin", "adminpass");
+
+        queries.atMost(0, () -> mockMvc.perform(get("/api/me")
+                        .header("Authorization", "Bearer " + tokens.accessToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("admin"))
+                .andExpect(jsonPath("$.roles[0]").value("ADMIN"))
+                .andExpect(jsonPath("$.roles[1]").value("USER")));
+    }
+
+    @Test
+    @DisplayName("GET /api/me – 401 when unauthenticated")
+    void me_unauthenticated() throws Exception {
+        queries.atMost(0, () -> mockMvc.perform(get("/api/me"))
+                .andExpect(status().isUnauthorized()));
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.integration.QueryCountConfig;
+import com.example.sepm_assignment.integration.QueryCounter;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.example.sepm_assignment.service.AutocompleteIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for {@code /api/autocomplete}: lookups are
+ * served without SQL and follow writes made through the API.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
+@ActiveProfiles("test")
+class AutocompleteControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queries;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Teacher teacher;
+
+    @BeforeEach
+    void setUp() {
+        teacher = teacherRepository.save(new Teacher(null, "Typeahead", "typeahead_it@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAll();
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // helpers
+    private Course persistCourse(String code) {
+        return courseRepository.save(new Course(null, "Course " + code, code, 3, teacher));
+    }
+
+    private Student persistStudent(String studentId) {
+        return studentRepository.save(new Student(null, "Student " + studentId,
+                studentId.toLowerCase() + "_ac_it@school.com", studentId, teacher));
+    }
+
+    // ─── GET /api/autocomplete/courses ───────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/autocomplete/courses – matching codes in order, ignoring case, without SQL")
+    void suggestCourses_fromMemory() throws Exception {
+        persistCourse("AC-CS102");
+        Course first = persistCourse("AC-CS101");
+        persistCourse("AC-MA101");
+
+        queries.atMost(0, () -> mockMvc.perform(get("/api/autocomplete/courses").param("prefix", "ac-cs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].value", contains("AC-CS101", "AC-CS102")))
+                .andExpect(jsonPath("$[0].id").value(first.getId())));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/autocomplete/courses – limit caps the suggestions")
+    void suggestCourses_limit() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            persistCourse("AC-LIM" + i);
+        }
+
+        mockMvc.perform(get("/api/autocomplete/courses").param("prefix", "AC-LIM").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].value", contains("AC-LIM0", "AC-LIM1", "AC-LIM2")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/autocomplete/courses – follows course creates, renames and deletes")
+    void suggestCourses_followsWrites() throws Exception {
+        mockMvc.perform(post("/api/courses/teacher/" + teacher.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Typeahead\",\"courseCode\":\"AC-NEW1\",\"credits\":3}"))
+                .andExpect(status().isCreated());
+        Course renamed = persistCourse("AC-OLD1");
+        mockMvc.perform(put("/api/courses/" + renamed.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\",\"courseCode\":\"AC-NEW2\",\"credits\":3}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/autocomplete/courses").param("prefix", "AC-"))
+                .andExpect(jsonPath("$[*].value", contains("AC-NEW1", "AC-NEW2")));
+
+        mockMvc.perform(delete("/api/courses/" + renamed.getId())).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/autocomplete/courses").param("prefix", "AC-"))
+                .andExpect(jsonPath("$[*].value", contains("AC-NEW1")));
+    }
+
+    // ─── GET /api/autocomplete/students ──────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/autocomplete/students – follows patches, imports and teacher deletes")
+    void suggestStudents_followsWrites() throws Exception {
+        Student patched = persistStudent("AC-S-1");
+        mockMvc.perform(patch("/api/students/" + patched.getId())
+                        .header("If-Match", "\"student-" + patched.getId() + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":\"AC-S-9\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/import/students")
+                        .contentType("text/csv")
+                        .content("name,email,studentId,teacherEmail\n"
+                                + "Imported,imported_ac_it@school.com,AC-S-5,typeahead_it@school.com\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        mockMvc.perform(get("/api/autocomplete/students").param("prefix", "ac-s-"))
+                .andExpect(jsonPath("$[*].value", contains("AC-S-5", "AC-S-9")));
+
+        mockMvc.perform(delete("/api/teachers/" + teacher.getId())).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/autocomplete/students").param("prefix", "ac-s-"))
+                .andExpect(jsonPath("$", empty()));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/autocomplete/students – a rolled back insert never shows up")
+    void suggestStudents_ignoresRollback() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            studentRepository.saveAndFlush(new Student(null, "Rolled Back", "rollback_ac_it@school.com",
+                    "AC-RB-1", teacher));
+            status.setRollbackOnly();
+        });
+
+        mockMvc.perform(get("/api/autocomplete/students").param("prefix", "AC-RB"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", empty()));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/autocomplete/students – a rebuild reloads the keys from the database")
+    void suggestStudents_rebuild() throws Exception {
+        persistStudent("AC-RE-1");
+        persistStudent("AC-RE-2");
+
+        autocompleteIndex.rebuild();
+
+        mockMvc.perform(get("/api/autocomplete/students").param("prefix", "AC-RE"))
+                .andExpect(jsonPath("$", hasSize(2)));
+        assertThat(autocompleteIndex.students("AC-RE-2", 10)).singleElement()
+                .extracting(s -> s.value()).isEqualTo("AC-RE-2");
+    }
+
+    @Test
+    @DisplayName("GET /api/autocomplete/students – 401 without credentials")
+    void suggestStudents_unauthenticated() throws Exception {
+        mockMvc.perform(get("/api/autocomplete/students").param("prefix", "AC"))
+                .andExpect(status().isUnauthorized());
+    }
+}
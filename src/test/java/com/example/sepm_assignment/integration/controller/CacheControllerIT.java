@@ -0,0 +1,105 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.integration.QueryCountConfig;
+import com.example.sepm_assignment.integration.QueryCounter;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.example.sepm_assignment.service.TeacherService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for {@code /api/cache}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
+@ActiveProfiles("test")
+class CacheControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queries;
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @AfterEach
+    void cleanUp() {
+        teacherRepository.deleteAll();
+    }
+
+    // ─── GET /api/cache/* ────────────────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/cache/regions – lists the second-level cache regions")
+    void getRegionStatistics() throws Exception {
+        queries.atMost(0, () -> mockMvc.perform(get("/api/cache/regions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].region", hasItem("teachers")))
+                .andExpect(jsonPath("$[*].region", hasItem("courses")))
+                .andExpect(jsonPath("$[*].region", hasItem("teacher-courses"))));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/cache/entities – reports hits, misses and size of the findById caches")
+    void getEntityCacheStatistics() throws Exception {
+        Teacher teacher = teacherService.save(new Teacher(null, "Stats", "stats@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        mockMvc.perform(delete("/api/cache")).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/teachers/" + teacher.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/teachers/" + teacher.getId())).andExpect(status().isOk());
+
+        queries.atMost(0, () -> mockMvc.perform(get("/api/cache/entities"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.cache == 'teachers')].size").value(1))
+                .andExpect(jsonPath("$[?(@.cache == 'teachers')].evictions").value(0))
+                .andExpect(jsonPath("$[*].cache", hasItem("students"))));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/cache/entities – 403 for USER role")
+    void getEntityCacheStatistics_forbidden() throws Exception {
+        queries.atMost(0, () -> mockMvc.perform(get("/api/cache/entities"))
+                .andExpect(status().isForbidden()));
+    }
+
+    // ─── DELETE /api/cache ───────────────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("DELETE /api/cache – empties every cache")
+    void evictAll() throws Exception {
+        Teacher teacher = teacherService.save(new Teacher(null, "Evict", "evict@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        teacherService.findById(teacher.getId());
+
+        queries.atMost(0, () -> mockMvc.perform(delete("/api/cache"))
+                .andExpect(status().isNoContent()));
+
+        mockMvc.perform(get("/api/cache/entities"))
+                .andExpect(jsonPath("$[?(@.cache == 'teachers')].size").value(0));
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.sepm_assignment.integration.controller;
 
+import com.example.sepm_assignment.integration.QueryCountConfig;
+import com.example.sepm_assignment.integration.QueryCounter;
 import com.example.sepm_assignment.model.Course;
 import com.example.sepm_assignment.model.Teacher;
 import com.example.sepm_assignment.repository.CourseRepository;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -30,12 +33,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
 @ActiveProfiles("test")
 class CourseControllerIT {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private QueryCounter queries;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -61,6 +68,18 @@ class CourseControllerIT {
                 new ArrayList<>(), new ArrayList<>()));
     }
 
+    // each course gets a teacher of its own, so a per-row teacher lookup would show in the count
+    private void persistCoursesWithTeachers(int count, String prefix) {
+        for (int i = 0; i < count; i++) {
+            Teacher t = persistTeacher(prefix + " Teacher " + i, prefix + "_teacher" + i + "_c_it@school.com");
+            courseRepository.save(new Course(null, prefix + " Course " + i, prefix + "-C-" + i, 3, t));
+        }
+    }
+
+    private int statementsFor(String url) throws Exception {
+        return queries.count(() -> mockMvc.perform(get(url)).andExpect(status().isOk()));
+    }
+
     // ─── GET /api/courses ────────────────────────────────────────────────────
 
     @Test
@@ -70,16 +89,27 @@ class CourseControllerIT {
         Teacher t = persistTeacher("Teacher A", "teacherA_c_it@school.com");
         courseRepository.save(new Course(null, "Java Basics", "C-I-001", 3, t));
 
-        mockMvc.perform(get("/api/courses"))
+        queries.atMost(2, () -> mockMvc.perform(get("/api/courses"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].title").value("Java Basics"));
+                .andExpect(jsonPath("$[0].title").value("Java Basics")));
     }
 
     @Test
     @DisplayName("GET /api/courses – 401 when unauthenticated")
     void getAllCourses_unauthenticated() throws Exception {
-        mockMvc.perform(get("/api/courses"))
-                .andExpect(status().isUnauthorized());
+        queries.atMost(0, () -> mockMvc.perform(get("/api/courses"))
+                .andExpect(status().isUnauthorized()));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/courses – query count does not grow with the number of courses")
+    void getAllCourses_constantQueryCount() throws Exception {
+        persistCoursesWithTeachers(2, "small");
+        int small = statementsFor("/api/courses");
+
+        persistCoursesWithTeachers(20, "large");
+        assertThat(statementsFor("/api/courses")).isEqualTo(small);
     }
 
     // ─── GET /api/courses/{id} ───────────────────────────────────────────────
@@ -91,18 +121,18 @@ class CourseControllerIT {
         Teacher t = persistTeacher("Teacher B", "teacherB_c_it@school.com");
         Course saved = courseRepository.save(new Course(null, "Algorithms", "C-I-002", 4, t));
 
-        mockMvc.perform(get("/api/courses/" + saved.getId()))
+        queries.atMost(0, () -> mockMvc.perform(get("/api/courses/" + saved.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.title").value("Algorithms"))
-                .andExpect(jsonPath("$.credits").value(4));
+                .andExpect(jsonPath("$.credits").value(4)));
     }
 
     @Test
     @WithMockUser(roles = "USER")
     @DisplayName("GET /api/courses/{id} – 404 when course does not exist")
     void getCourseById_notFound() throws Exception {
-        mockMvc.perform(get("/api/courses/99999"))
-                .andExpect(status().isNotFound());
+        queries.atMost(1, () -> mockMvc.perform(get("/api/courses/99999"))
+                .andExpect(status().isNotFound()));
     }
 
     // ─── GET /api/courses/teacher/{teacherId} ────────────────────────────────
@@ -114,9 +144,9 @@ class CourseControllerIT {
         Teacher t = persistTeacher("Teacher C", "teacherC_c_it@school.com");
         courseRepository.save(new Course(null, "OS", "C-I-003", 3, t));
 
-        mockMvc.perform(get("/api/courses/teacher/" + t.getId()))
+        queries.atMost(2, () -> mockMvc.perform(get("/api/courses/teacher/" + t.getId()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].courseCode").value("C-I-003"));
+                .andExpect(jsonPath("$[0].courseCode").value("C-I-003")));
     }
 
     // ─── POST /api/courses/teacher/{teacherId} ───────────────────────────────
@@ -128,12 +158,12 @@ class CourseControllerIT {
         Teacher t = persistTeacher("Teacher D", "teacherD_c_it@school.com");
         Course input = new Course(null, "Databases", "C-I-004", 3, null);
 
-        String responseBody = mockMvc.perform(post("/api/courses/teacher/" + t.getId())
+        String responseBody = queries.atMost(1, () -> mockMvc.perform(post("/api/courses/teacher/" + t.getId())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.title").value("Databases"))
-                .andReturn().getResponse().getContentAsString();
+                .andReturn().getResponse().getContentAsString());
 
         Course created = objectMapper.readValue(responseBody, Course.class);
         assertThat(courseRepository.findById(created.getId())).isPresent();
@@ -145,10 +175,10 @@ class CourseControllerIT {
     void createCourse_badRequest_whenTeacherMissing() throws Exception {
         Course input = new Course(null, "Networks", "C-I-005", 3, null);
 
-        mockMvc.perform(post("/api/courses/teacher/99999")
+        queries.atMost(1, () -> mockMvc.perform(post("/api/courses/teacher/99999")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isBadRequest()));
     }
 
     @Test
@@ -158,10 +188,10 @@ class CourseControllerIT {
         Teacher t = persistTeacher("Teacher E", "teacherE_c_it@school.com");
         Course input = new Course(null, "Security", "C-I-006", 3, null);
 
-        mockMvc.perform(post("/api/courses/teacher/" + t.getId())
+        queries.atMost(0, () -> mockMvc.perform(post("/api/courses/teacher/" + t.getId())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input)))
-                .andExpect(status().isForbidden());
+                .andExpect(status().isForbidden()));
     }
 
     // ─── PUT /api/courses/{id} ───────────────────────────────────────────────
@@ -175,12 +205,12 @@ class CourseControllerIT {
 
         Course updatePayload = new Course(null, "New Title", "C-I-007U", 5, null);
 
-        mockMvc.perform(put("/api/courses/" + saved.getId())
+        queries.atMost(1, () -> mockMvc.perform(put("/api/courses/" + saved.getId())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatePayload)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.title").value("New Title"))
-                .andExpect(jsonPath("$.credits").value(5));
+                .andExpect(jsonPath("$.credits").value(5)));
 
         Course updated = courseRepository.findById(saved.getId()).orElseThrow();
         assertThat(updated.getTitle()).isEqualTo("New Title");
@@ -193,10 +223,54 @@ class CourseControllerIT {
     void updateCourse_notFound() throws Exception {
         Course updatePayload = new Course(null, "X", "X", 1, null);
 
-        mockMvc.perform(put("/api/courses/99999")
+        queries.atMost(1, () -> mockMvc.perform(put("/api/courses/99999")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatePayload)))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound()));
+    }
+
+    // ─── PATCH /api/courses/{id} ─────────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/courses/{id} – one UPDATE when the course is in the second-level cache")
+    void patchCourse_singleStatement() throws Exception {
+        Teacher t = persistTeacher("Teacher P", "teacherP_c_it@school.com");
+        Course saved = courseRepository.save(new Course(null, "Compilers", "C-I-P1", 3, t));
+
+        queries.atMost(1, () -> mockMvc.perform(patch("/api/courses/" + saved.getId())
+                        .header("If-Match", "\"course-" + saved.getId() + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"credits\":6}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"course-" + saved.getId() + "-1\"")));
+
+        Course updated = courseRepository.findById(saved.getId()).orElseThrow();
+        assertThat(updated.getCredits()).isEqualTo(6);
+        assertThat(updated.getTitle()).isEqualTo("Compilers");
+
+        mockMvc.perform(patch("/api/courses/" + saved.getId())
+                        .header("If-Match", "\"course-" + saved.getId() + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"credits\":1}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/courses/{id} – 409 when the courseCode belongs to another course")
+    void patchCourse_uniqueConflict() throws Exception {
+        Teacher t = persistTeacher("Teacher R", "teacherR_c_it@school.com");
+        courseRepository.save(new Course(null, "Networks", "C-I-R1", 3, t));
+        Course saved = courseRepository.save(new Course(null, "Graphics", "C-I-R2", 3, t));
+
+        mockMvc.perform(patch("/api/courses/" + saved.getId())
+                        .header("If-Match", "\"course-" + saved.getId() + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseCode\":\"C-I-R1\"}"))
+                .andExpect(status().isConflict());
+
+        assertThat(courseRepository.findById(saved.getId()).orElseThrow().getCourseCode()).isEqualTo("C-I-R2");
     }
 
     // ─── DELETE /api/courses/{id} ────────────────────────────────────────────
@@ -208,8 +282,8 @@ class CourseControllerIT {
         Teacher t = persistTeacher("Teacher G", "teacherG_c_it@school.com");
         Course saved = courseRepository.save(new Course(null, "ToDelete", "C-I-008", 1, t));
 
-        mockMvc.perform(delete("/api/courses/" + saved.getId()))
-                .andExpect(status().isNoContent());
+        queries.atMost(2, () -> mockMvc.perform(delete("/api/courses/" + saved.getId()))
+                .andExpect(status().isNoContent()));
 
         assertThat(courseRepository.findById(saved.getId())).isEmpty();
     }
@@ -221,7 +295,7 @@ class CourseControllerIT {
         Teacher t = persistTeacher("Teacher H", "teacherH_c_it@school.com");
         Course saved = courseRepository.save(new Course(null, "Protected", "C-I-009", 2, t));
 
-        mockMvc.perform(delete("/api/courses/" + saved.getId()))
-                .andExpect(status().isForbidden());
+        queries.atMost(0, () -> mockMvc.perform(delete("/api/courses/" + saved.getId()))
+                .andExpect(status().isForbidden()));
     }
 }
@@ -0,0 +1,142 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.integration.QueryCountConfig;
+import com.example.sepm_assignment.integration.QueryCounter;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for {@code /api/dashboard}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
+@ActiveProfiles("test")
+class DashboardControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queries;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAll();
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // helpers
+    private Teacher persistTeacher(String name, String email, String department) {
+        return teacherRepository.save(new Teacher(null, name, email, department,
+                new ArrayList<>(), new ArrayList<>()));
+    }
+
+    private void persistStudents(Teacher teacher, int count, String prefix) {
+        for (int i = 0; i < count; i++) {
+            studentRepository.save(new Student(null, prefix + " Student " + i,
+                    prefix + "_student" + i + "_d_it@school.com", prefix + "-S-" + i, teacher));
+        }
+    }
+
+    private int statementsForSummary() throws Exception {
+        return queries.count(() -> mockMvc.perform(get("/api/dashboard/summary")).andExpect(status().isOk()));
+    }
+
+    // ─── GET /api/dashboard/summary ──────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/dashboard/summary – totals, departments and per-teacher counts")
+    void getSummary_returnsAggregates() throws Exception {
+        Teacher alice = persistTeacher("Alice", "alice_d_it@school.com", "CS");
+        Teacher bob = persistTeacher("Bob", "bob_d_it@school.com", "CS");
+        persistTeacher("Carol", "carol_d_it@school.com", "Math");
+        persistStudents(alice, 3, "alice");
+        persistStudents(bob, 1, "bob");
+        courseRepository.save(new Course(null, "Algorithms", "C-D-1", 4, alice));
+        courseRepository.save(new Course(null, "Compilers", "C-D-2", 3, alice));
+        courseRepository.save(new Course(null, "Databases", "C-D-3", 2, bob));
+
+        queries.atMost(1, () -> mockMvc.perform(get("/api/dashboard/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totals.teachers").value(3))
+                .andExpect(jsonPath("$.totals.students").value(4))
+                .andExpect(jsonPath("$.totals.courses").value(3))
+                .andExpect(jsonPath("$.totals.credits").value(9))
+                .andExpect(jsonPath("$.departments[0].department").value("CS"))
+                .andExpect(jsonPath("$.departments[0].teachers").value(2))
+                .andExpect(jsonPath("$.departments[1].department").value("Math"))
+                .andExpect(jsonPath("$.departments[1].teachers").value(1))
+                .andExpect(jsonPath("$.teachers[0].name").value("Alice"))
+                .andExpect(jsonPath("$.teachers[0].email").value("alice_d_it@school.com"))
+                .andExpect(jsonPath("$.teachers[0].students").value(3))
+                .andExpect(jsonPath("$.teachers[0].courses").value(2))
+                .andExpect(jsonPath("$.teachers[0].credits").value(7))
+                .andExpect(jsonPath("$.teachers[2].name").value("Carol"))
+                .andExpect(jsonPath("$.teachers[2].students").value(0))
+                .andExpect(jsonPath("$.teachers[2].credits").value(0)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/dashboard/summary – zero totals on an empty database")
+    void getSummary_empty() throws Exception {
+        mockMvc.perform(get("/api/dashboard/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totals.teachers").value(0))
+                .andExpect(jsonPath("$.totals.credits").value(0))
+                .andExpect(jsonPath("$.departments").isEmpty())
+                .andExpect(jsonPath("$.teachers").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/dashboard/summary – query count does not grow with the data")
+    void getSummary_constantQueryCount() throws Exception {
+        Teacher small = persistTeacher("Small", "small_d_it@school.com", "CS");
+        persistStudents(small, 2, "small");
+        int before = statementsForSummary();
+
+        Teacher large = persistTeacher("Large", "large_d_it@school.com", "Physics");
+        persistStudents(large, 30, "large");
+        assertThat(statementsForSummary()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("GET /api/dashboard/summary – 401 when unauthenticated")
+    void getSummary_unauthenticated() throws Exception {
+        queries.atMost(0, () -> mockMvc.perform(get("/api/dashboard/summary"))
+                .andExpect(status().isUnauthorized()));
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.integration.QueryCountConfig;
+import com.example.sepm_assignment.integration.QueryCounter;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for course rosters, student schedules and
+ * batch enrollment.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
+@ActiveProfiles("test")
+class EnrollmentControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queries;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private Teacher teacher;
+    private Course course;
+    private List<Student> students;
+
+    @BeforeEach
+    void setUp() {
+        teacher = teacherRepository.save(new Teacher(null, "Registrar", "registrar_it@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        course = courseRepository.save(new Course(null, "Algorithms", "ENR-101", 5, teacher));
+        students = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            students.add(studentRepository.save(new Student(null, "Enrolled " + i,
+                    "enrolled" + i + "_it@school.com", "ENR-S-" + i, teacher)));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAll();
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // helpers
+    private String body(List<?> studentIds) {
+        return studentIds.stream().map(String::valueOf).collect(Collectors.joining(",", "{\"studentIds\":[", "]}"));
+    }
+
+    private List<Long> ids(int... indexes) {
+        List<Long> ids = new ArrayList<>();
+        for (int i : indexes) {
+            ids.add(students.get(i).getId());
+        }
+        return ids;
+    }
+
+    private void enroll(Course target, List<Long> studentIds) throws Exception {
+        mockMvc.perform(post("/api/courses/" + target.getId() + "/enrollments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(studentIds)))
+                .andExpect(status().isOk());
+    }
+
+    // ─── POST /api/courses/{id}/enrollments ──────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/courses/{id}/enrollments – enrolls known students in one statement, skipping the rest")
+    void enroll_setBased() throws Exception {
+        enroll(course, ids(0));
+        List<Long> requested = new ArrayList<>(ids(0, 1, 2, 1));
+        requested.add(-1L);
+
+        queries.atMost(2, () -> mockMvc.perform(post("/api/courses/" + course.getId() + "/enrollments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(requested)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(4))
+                .andExpect(jsonPath("$.changed").value(2)));
+
+        assertThat(enrollmentRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/courses/{id}/enrollments – 404 for an unknown course, 400 without student ids")
+    void enroll_invalid() throws Exception {
+        mockMvc.perform(post("/api/courses/-1/enrollments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(ids(0))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/courses/" + course.getId() + "/enrollments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /api/courses/{id}/enrollments – 403 for non-admin")
+    void enroll_forbiddenForUser() throws Exception {
+        mockMvc.perform(post("/api/courses/" + course.getId() + "/enrollments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(ids(0))))
+                .andExpect(status().isForbidden());
+    }
+
+    // ─── DELETE /api/courses/{id}/enrollments ────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("DELETE /api/courses/{id}/enrollments – removes the listed enrollments in one statement")
+    void unenroll_setBased() throws Exception {
+        enroll(course, ids(0, 1, 2));
+
+        queries.atMost(2, () -> mockMvc.perform(delete("/api/courses/" + course.getId() + "/enrollments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(ids(0, 2, 3))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.changed").value(2)));
+
+        mockMvc.perform(get("/api/courses/" + course.getId() + "/students"))
+                .andExpect(jsonPath("$[*].id", contains(students.get(1).getId().intValue())));
+    }
+
+    // ─── GET /api/courses/{id}/students ──────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/courses/{id}/students – pages the roster by student id with one query per page")
+    void roster_keysetPages() throws Exception {
+        enroll(course, ids(4, 0, 2, 3));
+
+        String next = queries.atMost(1, () -> mockMvc.perform(get("/api/courses/" + course.getId() + "/students")
+                        .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].studentId", contains("ENR-S-0", "ENR-S-2", "ENR-S-3")))
+                .andExpect(header().string("X-Next-Cursor", students.get(3).getId().toString()))
+                .andReturn().getResponse().getHeader("X-Next-Cursor"));
+
+        queries.atMost(1, () -> mockMvc.perform(get("/api/courses/" + course.getId() + "/students")
+                        .param("after", next).param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].studentId", contains("ENR-S-4")))
+                .andExpect(header().doesNotExist("X-Next-Cursor")));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/courses/{id}/students – empty roster is 200, unknown course is 404")
+    void roster_emptyOrUnknown() throws Exception {
+        mockMvc.perform(get("/api/courses/" + course.getId() + "/students"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", empty()));
+        mockMvc.perform(get("/api/courses/-1/students"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/courses/{id}/students – deleting a student or the course drops its enrollments")
+    void roster_followsDeletes() throws Exception {
+        enroll(course, ids(0, 1));
+
+        mockMvc.perform(delete("/api/students/" + students.get(0).getId())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/courses/" + course.getId() + "/students"))
+                .andExpect(jsonPath("$[*].studentId", contains("ENR-S-1")));
+
+        mockMvc.perform(delete("/api/courses/" + course.getId())).andExpect(status().isNoContent());
+        assertThat(enrollmentRepository.count()).isZero();
+    }
+
+    // ─── GET /api/students/{id}/courses ──────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/students/{id}/courses – pages the schedule by course id with one query per page")
+    void schedule_keysetPages() throws Exception {
+        Course second = courseRepository.save(new Course(null, "Databases", "ENR-102", 4, teacher));
+        Course third = courseRepository.save(new Course(null, "Networks", "ENR-103", 3, teacher));
+        for (Course c : List.of(third, course, second)) {
+            enroll(c, ids(1));
+        }
+        enroll(second, ids(2));
+
+        queries.atMost(1, () -> mockMvc.perform(get("/api/students/" + students.get(1).getId() + "/courses")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].courseCode", contains("ENR-101", "ENR-102")))
+                .andExpect(header().string("X-Next-Cursor", second.getId().toString())));
+
+        mockMvc.perform(get("/api/students/" + students.get(1).getId() + "/courses")
+                        .param("after", second.getId().toString()))
+                .andExpect(jsonPath("$[*].courseCode", contains("ENR-103")));
+        mockMvc.perform(get("/api/students/-1/courses"))
+                .andExpect(status().isNotFound());
+    }
+}
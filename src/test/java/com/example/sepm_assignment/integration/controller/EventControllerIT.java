@@ -0,0 +1,287 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.dto.ChangeEvent;
+import com.example.sepm_assignment.dto.ChangeEvent.Entity;
+import com.example.sepm_assignment.dto.StudentPatch;
+import com.example.sepm_assignment.events.ChangeBroadcaster;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.example.sepm_assignment.service.CourseService;
+import com.example.sepm_assignment.service.StudentService;
+import com.example.sepm_assignment.service.TeacherService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The change feed over real HTTP, read line by line the way a browser's
+ * stream reader sees it, while the services write through their usual
+ * transactions.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class EventControllerIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ChangeBroadcaster broadcaster;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<EventStream> streams = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        streams.forEach(EventStream::close);
+        courseRepository.deleteAll();
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // helpers
+    private EventStream subscribe(String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events"))
+                .header("Authorization", basicAuth("user", "userpass"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                contentType -> assertThat(contentType).startsWith("text/event-stream"));
+        EventStream stream = new EventStream(response.body());
+        streams.add(stream);
+        return stream;
+    }
+
+    private Teacher teacher(String name) {
+        return teacherService.save(new Teacher(null, name, name.toLowerCase().replace(' ', '_') + "_it@school.com",
+                "CS", new ArrayList<>(), new ArrayList<>()));
+    }
+
+    private static String basicAuth(String username, String password) {
+        byte[] credentials = (username + ":" + password).getBytes(StandardCharsets.UTF_8);
+        return "Basic " + Base64.getEncoder().encodeToString(credentials);
+    }
+
+    /** The events of one stream, parsed on a thread of their own; comments are skipped. */
+    private static final class EventStream {
+
+        private final Stream<String> lines;
+        private final BlockingQueue<Map<String, String>> events = new LinkedBlockingQueue<>();
+
+        EventStream(Stream<String> lines) {
+            this.lines = lines;
+            Thread reader = new Thread(this::read, "event-stream-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        private void read() {
+            Map<String, String> event = new HashMap<>();
+            try {
+                for (String line : (Iterable<String>) lines::iterator) {
+                    if (line.isEmpty()) {
+                        if (!event.isEmpty()) {
+                            events.add(event);
+                        }
+                        event = new HashMap<>();
+                    } else if (!line.startsWith(":")) {
+                        int colon = line.indexOf(':');
+                        event.merge(line.substring(0, colon), line.substring(colon + 1), (a, b) -> a + "\n" + b);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // closed by the test
+            }
+        }
+
+        Map<String, String> next() throws InterruptedException {
+            Map<String, String> event = events.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("event within 5 seconds").isNotNull();
+            return event;
+        }
+
+        Map<String, String> poll(long millis) throws InterruptedException {
+            return events.poll(millis, TimeUnit.MILLISECONDS);
+        }
+
+        void close() {
+            lines.close();
+        }
+    }
+
+    // ─── GET /api/events ─────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /api/events – ready, then the rows the services create, update and delete")
+    void events_createUpdateDelete() throws Exception {
+        EventStream stream = subscribe(null);
+        assertThat(stream.next()).containsEntry("event", "ready");
+
+        Teacher teacher = teacher("Feed Teacher");
+        Student student = studentService.saveWithTeacher(teacher.getId(),
+                new Student(null, "Feed Student", "feed_student_it@school.com", "FEED-1", null));
+        Student current = studentRepository.findById(student.getId()).orElseThrow();
+        studentService.patch(student.getId(), current.getVersion(), new StudentPatch("Renamed", null, null));
+        studentService.delete(student.getId());
+
+        assertThat(stream.next()).containsEntry("event", "teacher.created");
+        Map<String, String> created = stream.next();
+        assertThat(created).containsEntry("event", "student.created");
+        assertThat(created.get("data")).contains("\"studentId\":\"FEED-1\"",
+                "\"teacherId\":" + teacher.getId());
+        Map<String, String> updated = stream.next();
+        assertThat(updated).containsEntry("event", "student.updated");
+        assertThat(updated.get("data")).contains("\"id\":" + student.getId(), "\"data\":null");
+        assertThat(stream.next()).containsEntry("event", "student.deleted");
+    }
+
+    @Test
+    @DisplayName("GET /api/events – deleting a teacher reports its students and courses as deleted too")
+    void events_cascadedDelete() throws Exception {
+        Teacher teacher = teacher("Cascade Teacher");
+        Student student = studentService.saveWithTeacher(teacher.getId(),
+                new Student(null, "Cascade Student", "cascade_student_it@school.com", "CASC-1", null));
+        Course course = courseService.saveWithTeacher(teacher.getId(),
+                new Course(null, "Cascades", "CASC-101", 3, null));
+        EventStream stream = subscribe(null);
+        stream.next();
+
+        teacherService.delete(teacher.getId());
+
+        List<String> deleted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, String> event = stream.next();
+            deleted.add(event.get("event") + " " + event.get("data").replaceAll(".*?\"id\":(\\d+).*", "$1"));
+        }
+        assertThat(deleted).containsExactlyInAnyOrder(
+                "teacher.deleted " + teacher.getId(),
+                "student.deleted " + student.getId(),
+                "course.deleted " + course.getId());
+    }
+
+    @Test
+    @DisplayName("GET /api/events – a rolled back transaction publishes nothing")
+    void events_rollback() throws Exception {
+        EventStream stream = subscribe(null);
+        stream.next();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            teacher("Rolled Back");
+            status.setRollbackOnly();
+        });
+        teacher("Committed");
+
+        Map<String, String> event = stream.next();
+        assertThat(event).containsEntry("event", "teacher.created");
+        assertThat(event.get("data")).contains("Committed").doesNotContain("Rolled Back");
+        assertThat(stream.poll(200)).isNull();
+    }
+
+    @Test
+    @DisplayName("GET /api/events – Last-Event-ID resumes after the last event received")
+    void events_resume() throws Exception {
+        EventStream first = subscribe(null);
+        first.next();
+        teacher("Before Disconnect");
+        String lastEventId = first.next().get("id");
+        first.close();
+
+        teacher("While Away");
+        EventStream resumed = subscribe(lastEventId);
+
+        assertThat(resumed.next()).containsEntry("event", "ready");
+        Map<String, String> missed = resumed.next();
+        assertThat(missed).containsEntry("event", "teacher.created");
+        assertThat(missed.get("data")).contains("While Away");
+    }
+
+    @Test
+    @DisplayName("GET /api/events – an id this server never handed out gets reload")
+    void events_unknownIdReloads() throws Exception {
+        EventStream stream = subscribe("0-42");
+
+        Map<String, String> reload = stream.next();
+        assertThat(reload).containsEntry("event", "reload");
+        assertThat(reload.get("data")).contains("\"entity\":null", "\"action\":\"RELOAD\"");
+    }
+
+    @Test
+    @DisplayName("GET /api/events – closed streams are unsubscribed")
+    void events_disconnectUnsubscribes() throws Exception {
+        int before = broadcaster.subscribers();
+        EventStream stream = subscribe(null);
+        stream.next();
+        assertThat(broadcaster.subscribers()).isEqualTo(before + 1);
+
+        stream.close();
+
+        // the server notices a closed connection when a write to it fails
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            broadcaster.publish(List.of(ChangeEvent.reload(Entity.TEACHER)));
+            assertThat(broadcaster.subscribers()).isEqualTo(before);
+        });
+    }
+
+    @Test
+    @DisplayName("GET /api/events – 401 without credentials")
+    void events_unauthenticated() throws Exception {
+        HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events")).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        assertThat(response.statusCode()).isEqualTo(401);
+    }
+}
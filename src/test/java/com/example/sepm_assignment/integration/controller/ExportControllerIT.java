@@ -0,0 +1,120 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.integration.QueryCountConfig;
+import com.example.sepm_assignment.integration.QueryCounter;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for {@code /api/export}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
+@ActiveProfiles("test")
+class ExportControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queries;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAll();
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    private String[] exportLines(String type) throws Exception {
+        String body = mockMvc.perform(get("/api/export/" + type))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        return body.split("\n");
+    }
+
+    // ─── GET /api/export/{type} ──────────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/export/students – one JSON object per line in id order")
+    void exportStudents_ndjson() throws Exception {
+        Teacher t = teacherRepository.save(new Teacher(null, "Export Teacher", "export_it@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        studentRepository.save(new Student(null, "Alice", "alice_export@school.com", "S-E-1", t));
+        studentRepository.save(new Student(null, "Bob", "bob_export@school.com", "S-E-2", null));
+
+        String[] lines = exportLines("students");
+
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("name").asText()).isEqualTo("Alice");
+        assertThat(first.get("teacherId").asLong()).isEqualTo(t.getId());
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("studentId").asText()).isEqualTo("S-E-2");
+        assertThat(second.get("teacherId").isNull()).isTrue();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/export/teachers and /courses – flat rows without nested collections")
+    void exportTeachersAndCourses_ndjson() throws Exception {
+        Teacher t = teacherRepository.save(new Teacher(null, "Export Teacher", "export2_it@school.com", "Maths",
+                new ArrayList<>(), new ArrayList<>()));
+        courseRepository.save(new Course(null, "Algebra", "C-E-1", 4, t));
+
+        String[] teachers = exportLines("teachers");
+        assertThat(teachers).hasSize(1);
+        assertThat(objectMapper.readTree(teachers[0]).get("department").asText()).isEqualTo("Maths");
+        assertThat(objectMapper.readTree(teachers[0]).has("students")).isFalse();
+
+        String[] courses = exportLines("courses");
+        assertThat(courses).hasSize(1);
+        assertThat(objectMapper.readTree(courses[0]).get("courseCode").asText()).isEqualTo("C-E-1");
+        assertThat(objectMapper.readTree(courses[0]).get("teacherId").asLong()).isEqualTo(t.getId());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/export/students – 403 for USER role")
+    void exportStudents_forbidden_forUserRole() throws Exception {
+        queries.atMost(0, () -> mockMvc.perform(get("/api/export/students"))
+                .andExpect(status().isForbidden()));
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.integration.QueryCountConfig;
+import com.example.sepm_assignment.integration.QueryCounter;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for {@code /api/import}. Runs the JDBC batch
+ * writer, since the H2 test database has no {@code COPY}.
+ */
+@SpringBootTest(properties = "app.import.batch-size=3")
+@AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
+@ActiveProfiles("test")
+class ImportControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queries;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // ─── POST /api/import/students ───────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/import/students – imports valid rows and reports bad ones by line")
+    void importStudents_partialSuccess() throws Exception {
+        Teacher t = teacherRepository.save(new Teacher(null, "Importer", "importer_it@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        studentRepository.save(new Student(null, "Existing", "existing_import@school.com", "S-X", t));
+
+        String csv = """
+                studentId,name,email,teacherEmail
+                S-1,"Doe, Jane",jane_import@school.com,importer_it@school.com
+                S-2,Bob,bob_import@school.com,
+                S-3,,nameless_import@school.com,importer_it@school.com
+                S-4,Carl,carl_import@school.com,nobody@school.com
+                S-5,Dup,jane_import@school.com,importer_it@school.com
+                S-6,Old,existing_import@school.com,importer_it@school.com
+                S-7,Eve,eve_import@school.com,importer_it@school.com
+                S-8,Fay,fay_import@school.com,importer_it@school.com
+                """;
+
+        String body = queries.atMost(8, () -> mockMvc.perform(post("/api/import/students")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsRead").value(8))
+                .andExpect(jsonPath("$.imported").value(4))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andReturn().getResponse().getContentAsString());
+
+        JsonNode errors = objectMapper.readTree(body).get("errors");
+        assertThat(errors).extracting(e -> e.get("line").asLong()).containsExactlyInAnyOrder(4L, 5L, 6L, 7L);
+        assertThat(errors).extracting(e -> e.get("reason").asText()).contains(
+                "name is required",
+                "unknown teacher email nobody@school.com",
+                "duplicate email in file",
+                "email already exists");
+
+        Student jane = studentRepository.findByEmail("jane_import@school.com").orElseThrow();
+        assertThat(jane.getName()).isEqualTo("Doe, Jane");
+        assertThat(studentRepository.findByTeacherId(t.getId())).hasSize(4);
+        assertThat(studentRepository.findByEmail("bob_import@school.com").orElseThrow().getTeacher()).isNull();
+
+        // ids written by the importer must not collide with ids Hibernate hands out next
+        Student next = studentRepository.save(new Student(null, "After", "after_import@school.com", "S-9", t));
+        assertThat(studentRepository.count()).isEqualTo(6);
+        assertThat(next.getId()).isNotNull();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/import/students – rejects taken and repeated studentIds by line and imports the rest")
+    void importStudents_studentIdConflicts() throws Exception {
+        Teacher t = teacherRepository.save(new Teacher(null, "Id Importer", "id_importer_it@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        studentRepository.save(new Student(null, "Existing", "existing_id_import@school.com", "S-TAKEN", t));
+
+        String csv = """
+                studentId,name,email,teacherEmail
+                S-TAKEN,Ann,ann_id_import@school.com,
+                S-10,Ben,ben_id_import@school.com,
+                S-10,Cid,cid_id_import@school.com,
+                S-11,Dee,dee_id_import@school.com,
+                """;
+
+        String body = mockMvc.perform(post("/api/import/students")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode errors = objectMapper.readTree(body).get("errors");
+        assertThat(errors).extracting(e -> e.get("line").asLong() + ": " + e.get("reason").asText())
+                .containsExactlyInAnyOrder("2: studentId already exists", "4: duplicate studentId in file");
+        assertThat(studentRepository.findByStudentId("S-10").orElseThrow().getName()).isEqualTo("Ben");
+        assertThat(studentRepository.findByStudentId("S-11")).isPresent();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/import/students – an id looked up before it was imported is found afterwards")
+    void importStudents_evictsCachedMisses() throws Exception {
+        mockMvc.perform(post("/api/import/students").contentType("text/csv")
+                        .content("studentId,name,email,teacherEmail\nS-C1,Gus,gus_import@school.com,\n"))
+                .andExpect(jsonPath("$.imported").value(1));
+        // each import draws a fresh block of 50 from students_seq, so the next one starts 50 ids later
+        long nextId = studentRepository.findByStudentId("S-C1").orElseThrow().getId() + 50;
+        mockMvc.perform(get("/api/students/" + nextId)).andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/api/import/students").contentType("text/csv")
+                        .content("studentId,name,email,teacherEmail\nS-C2,Hal,hal_import@school.com,\n"))
+                .andExpect(jsonPath("$.imported").value(1));
+
+        assertThat(studentRepository.findByStudentId("S-C2").orElseThrow().getId()).isEqualTo(nextId);
+        mockMvc.perform(get("/api/students/" + nextId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.studentId").value("S-C2"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /api/import/students – 400 and nothing stored when the header is wrong")
+    void importStudents_badHeader() throws Exception {
+        queries.atMost(0, () -> mockMvc.perform(post("/api/import/students")
+                        .contentType("text/csv")
+                        .content("name,email\nAlice,alice_import@school.com\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("FAILED"))
+                .andExpect(jsonPath("$.failure").value("CSV header is missing column studentid")));
+
+        assertThat(studentRepository.count()).isZero();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /api/import/students – 403 for USER role")
+    void importStudents_forbidden_forUserRole() throws Exception {
+        queries.atMost(0, () -> mockMvc.perform(post("/api/import/students")
+                        .contentType("text/csv")
+                        .content("name,email,studentId,teacherEmail\n"))
+                .andExpect(status().isForbidden()));
+    }
+
+    // ─── GET /api/import/jobs/{id} ───────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/import/jobs/{id} – returns progress and throughput of a job")
+    void getJob_returnsProgress() throws Exception {
+        String body = mockMvc.perform(post("/api/import/students")
+                        .contentType("text/csv")
+                        .content("name,email,studentId,teacherEmail\nAlice,alice_job@school.com,S-1,\n"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(body).get("id").asText();
+
+        queries.atMost(0, () -> mockMvc.perform(get("/api/import/jobs/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rowsPerSecond").isNumber()));
+
+        mockMvc.perform(get("/api/import/jobs/unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
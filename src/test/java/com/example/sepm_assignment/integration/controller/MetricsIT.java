@@ -0,0 +1,126 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for the Actuator endpoints: who may read them
+ * and which application meters a Prometheus scrape exposes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @SpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // helpers
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus").with(httpBasic("admin", "adminpass")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    // ─── access ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /actuator/health – 200 without credentials")
+    void health_public() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus – 401 without credentials")
+    void prometheus_anonymous() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus – 403 for a USER")
+    void prometheus_user() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("user", "userpass")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus – repeated scrapes verify the password at most once")
+    void prometheus_cachedCredentials() throws Exception {
+        clearInvocations(passwordEncoder);
+
+        scrape();
+        scrape();
+        scrape();
+
+        verify(passwordEncoder, atMost(1)).matches(any(CharSequence.class), anyString());
+    }
+
+    // ─── meters ──────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /actuator/prometheus – endpoint histograms, pool, Hibernate and service meters; cache-miss queries count toward the request")
+    void prometheus_applicationMeters() throws Exception {
+        Teacher teacher = teacherRepository.save(new Teacher(null, "Metered Teacher", "metered@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        Student student = studentRepository.save(new Student(null, "Metered Student", "metered.s@school.com",
+                "S-METER-1", teacher));
+        mockMvc.perform(get("/api/students/{id}", student.getId()).with(httpBasic("user", "userpass")))
+                .andExpect(status().isOk());
+
+        String body = scrape();
+
+        assertThat(body)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/api/students/{id}\"")
+                .contains("hikaricp_connections")
+                .contains("hibernate_statements_total")
+                .containsPattern("hibernate_request_statements_sum\\{[^}]*uri=\"/api/students/\\{id}\",} [1-9]")
+                .contains("hibernate_request_entity_loads_bucket{")
+                .contains("app_service_calls_seconds_bucket{")
+                .contains("service=\"StudentService\"");
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.integration.QueryCountConfig;
+import com.example.sepm_assignment.integration.QueryCounter;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for course registration within capacity and
+ * the waitlist behind it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
+@ActiveProfiles("test")
+class RegistrationControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queries;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Teacher teacher;
+    private Course course;
+    private List<Student> students;
+
+    @BeforeEach
+    void setUp() {
+        teacher = teacherRepository.save(new Teacher(null, "Registrar", "registration_it@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        course = new Course(null, "Compilers", "REG-101", 5, teacher);
+        course.setCapacity(2);
+        course = courseRepository.save(course);
+        students = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            students.add(studentRepository.save(new Student(null, "Registrant " + i,
+                    "registrant" + i + "_it@school.com", "REG-S-" + i, teacher)));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAll();
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // helpers
+    private ResultActions register(Course target, Object studentId) throws Exception {
+        MvcResult pending = mockMvc.perform(post("/api/courses/" + target.getId() + "/registrations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":" + studentId + "}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(pending));
+    }
+
+    private ResultActions register(int student) throws Exception {
+        return register(course, students.get(student).getId());
+    }
+
+    private ResultActions seats() throws Exception {
+        return mockMvc.perform(get("/api/courses/" + course.getId() + "/seats"));
+    }
+
+    /** Seats freed outside registration are handed out after the commit, on the writer thread. */
+    private void awaitEnrolled(int enrolled) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String body = seats().andReturn().getResponse().getContentAsString();
+            if (body.contains("\"enrolled\":" + enrolled + ",")) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        seats().andExpect(jsonPath("$.enrolled").value(enrolled));
+    }
+
+    // ─── POST /api/courses/{id}/registrations ────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /api/courses/{id}/registrations – enrolls up to capacity, then waitlists")
+    void register_capacityThenWaitlist() throws Exception {
+        register(0).andExpect(status().isOk()).andExpect(jsonPath("$.status").value("ENROLLED"));
+        queries.atMost(6, () -> register(1)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("ENROLLED")));
+        register(2).andExpect(jsonPath("$.status").value("WAITLISTED"));
+        register(3).andExpect(jsonPath("$.status").value("WAITLISTED"));
+
+        queries.atMost(1, () -> seats()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.capacity").value(2))
+                .andExpect(jsonPath("$.enrolled").value(2))
+                .andExpect(jsonPath("$.waitlisted").value(2)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /api/courses/{id}/registrations – registering again is answered without a second seat")
+    void register_idempotent() throws Exception {
+        register(0);
+        register(1);
+        register(2);
+
+        register(0).andExpect(status().isOk()).andExpect(jsonPath("$.status").value("ALREADY_ENROLLED"));
+        register(2).andExpect(status().isOk()).andExpect(jsonPath("$.status").value("ALREADY_WAITLISTED"));
+        seats().andExpect(jsonPath("$.enrolled").value(2)).andExpect(jsonPath("$.waitlisted").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /api/courses/{id}/registrations – a course without capacity takes everyone")
+    void register_unlimited() throws Exception {
+        Course open = courseRepository.save(new Course(null, "Seminar", "REG-102", 1, teacher));
+        for (Student student : students) {
+            register(open, student.getId()).andExpect(jsonPath("$.status").value("ENROLLED"));
+        }
+        mockMvc.perform(get("/api/courses/" + open.getId() + "/seats"))
+                .andExpect(jsonPath("$.capacity").doesNotExist())
+                .andExpect(jsonPath("$.enrolled").value(4))
+                .andExpect(jsonPath("$.waitlisted").value(0));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /api/courses/{id}/registrations – 404 for an unknown course or student, 400 without one")
+    void register_invalid() throws Exception {
+        Course missing = new Course(-1L, "Missing", "REG-404", 1, teacher);
+        register(missing, students.get(0).getId()).andExpect(status().isNotFound());
+        register(course, -1L).andExpect(status().isNotFound());
+        register(course, null).andExpect(status().isBadRequest());
+        seats().andExpect(jsonPath("$.enrolled").value(0)).andExpect(jsonPath("$.waitlisted").value(0));
+    }
+
+    @Test
+    @DisplayName("POST /api/courses/{id}/registrations – 401 without credentials")
+    void register_unauthenticated() throws Exception {
+        mockMvc.perform(post("/api/courses/" + course.getId() + "/registrations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\":" + students.get(0).getId() + "}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // ─── seats freed outside registration ────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("DELETE /api/courses/{id}/enrollments – freed seats go to the head of the waitlist")
+    void unenroll_promotesWaitlist() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            register(i);
+        }
+
+        mockMvc.perform(delete("/api/courses/" + course.getId() + "/enrollments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentIds\":[" + students.get(0).getId() + "]}"))
+                .andExpect(status().isOk());
+
+        awaitEnrolled(2);
+        seats().andExpect(jsonPath("$.waitlisted").value(1));
+        mockMvc.perform(get("/api/courses/" + course.getId() + "/students"))
+                .andExpect(jsonPath("$[*].studentId").value(contains("REG-S-1", "REG-S-2")));
+        register(3).andExpect(jsonPath("$.status").value("ALREADY_WAITLISTED"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/courses/{id} – raising the capacity promotes the waitlist")
+    void raiseCapacity_promotesWaitlist() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            register(i);
+        }
+
+        mockMvc.perform(patch("/api/courses/" + course.getId())
+                        .header("If-Match", "\"course-" + course.getId() + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"capacity\":3}"))
+                .andExpect(status().isNoContent());
+
+        awaitEnrolled(3);
+        seats().andExpect(jsonPath("$.capacity").value(3)).andExpect(jsonPath("$.waitlisted").value(1));
+        register(1).andExpect(jsonPath("$.status").value("ALREADY_ENROLLED"));
+        register(3).andExpect(jsonPath("$.status").value("ALREADY_WAITLISTED"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("DELETE /api/students/{id} – the deleted student's seat goes to the head of the waitlist")
+    void deleteStudent_promotesWaitlist() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            register(i);
+        }
+
+        mockMvc.perform(delete("/api/students/" + students.get(0).getId())).andExpect(status().isNoContent());
+
+        awaitEnrolled(2);
+        seats().andExpect(jsonPath("$.waitlisted").value(1));
+        mockMvc.perform(get("/api/courses/" + course.getId() + "/students"))
+                .andExpect(jsonPath("$[*].studentId").value(contains("REG-S-1", "REG-S-2")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("DELETE /api/teachers/{id} – seats of the teacher's students in other courses go to their waitlists")
+    void deleteTeacher_promotesWaitlist() throws Exception {
+        Teacher other = teacherRepository.save(new Teacher(null, "Leaving", "leaving_registration_it@school.com",
+                "CS", new ArrayList<>(), new ArrayList<>()));
+        Student leaver = studentRepository.save(new Student(null, "Leaver", "leaver_it@school.com", "REG-S-L",
+                other));
+        register(course, leaver.getId()).andExpect(jsonPath("$.status").value("ENROLLED"));
+        register(0);
+        register(1).andExpect(jsonPath("$.status").value("WAITLISTED"));
+        register(2);
+
+        mockMvc.perform(delete("/api/teachers/" + other.getId())).andExpect(status().isNoContent());
+
+        awaitEnrolled(2);
+        seats().andExpect(jsonPath("$.waitlisted").value(1));
+        mockMvc.perform(get("/api/courses/" + course.getId() + "/students"))
+                .andExpect(jsonPath("$[*].studentId").value(contains("REG-S-0", "REG-S-1")));
+    }
+
+    // ─── GET /api/courses/{id}/seats ─────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/courses/{id}/seats – 404 for an unknown course")
+    void seats_unknownCourse() throws Exception {
+        mockMvc.perform(get("/api/courses/-1/seats"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The static resources as the build leaves them in target/classes, served
+ * over real HTTP: the client here does not decompress anything, so the
+ * encodings and caching headers are exactly what a browser would get.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class StaticAssetsIT {
+
+    private static final Pattern APP_JS = Pattern.compile("src=\"(assets/app\\.[0-9a-f]{10}\\.js)\"");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // helpers
+    private HttpResponse<byte[]> get(String path, String... headers) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private String appJsPath() throws Exception {
+        String html = new String(get("/index.html").body(), StandardCharsets.UTF_8);
+        Matcher matcher = APP_JS.matcher(html);
+        assertThat(matcher.find()).as("index.html references the fingerprinted app.js").isTrue();
+        return "/" + matcher.group(1);
+    }
+
+    private static byte[] source(String path) throws IOException {
+        return new ClassPathResource(path).getContentAsByteArray();
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static String basicAuth(String username, String password) {
+        byte[] credentials = (username + ":" + password).getBytes(StandardCharsets.UTF_8);
+        return "Basic " + Base64.getEncoder().encodeToString(credentials);
+    }
+
+    // ─── fingerprinted assets ────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /assets/** – precompressed brotli, cached for good, outside the security chain")
+    void asset_brotli() throws Exception {
+        HttpResponse<byte[]> response = get(appJsPath(), "Accept-Encoding", "br, gzip");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("br");
+        assertThat(response.headers().allValues("Vary"))
+                .anySatisfy(vary -> assertThat(vary).contains("Accept-Encoding"));
+        assertThat(response.headers().firstValue("Cache-Control"))
+                .hasValueSatisfying(cacheControl -> assertThat(cacheControl)
+                        .contains("max-age=31536000", "public", "immutable"));
+        assertThat(response.headers().firstValue("X-Frame-Options")).isEmpty();
+
+        Brotli4jLoader.ensureAvailability();
+        assertThat(Decoder.decompress(response.body()).getDecompressedData()).isEqualTo(source("static/app.js"));
+    }
+
+    @Test
+    @DisplayName("GET /assets/** – gzip for clients without brotli, identity for clients without either")
+    void asset_gzipAndIdentity() throws Exception {
+        String path = appJsPath();
+
+        HttpResponse<byte[]> gzipped = get(path, "Accept-Encoding", "gzip");
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gunzip(gzipped.body())).isEqualTo(source("static/app.js"));
+
+        HttpResponse<byte[]> plain = get(path);
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(plain.headers().firstValue("Cache-Control"))
+                .hasValueSatisfying(cacheControl -> assertThat(cacheControl).contains("immutable"));
+        assertThat(plain.body()).isEqualTo(source("static/app.js"));
+    }
+
+    @Test
+    @DisplayName("GET /assets/** – 404 for a fingerprint that was never built")
+    void asset_unknownFingerprint() throws Exception {
+        assertThat(get("/assets/app.0000000000.js").statusCode()).isEqualTo(404);
+    }
+
+    // ─── pages ───────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /index.html – precompressed, revalidated on every load, with the security headers")
+    void page_revalidatedAndSecured() throws Exception {
+        HttpResponse<byte[]> response = get("/index.html", "Accept-Encoding", "gzip");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(response.headers().firstValue("Cache-Control"))
+                .hasValueSatisfying(cacheControl -> assertThat(cacheControl)
+                        .contains("no-cache")
+                        .doesNotContain("immutable"));
+        assertThat(response.headers().firstValue("X-Frame-Options")).isPresent();
+        assertThat(new String(gunzip(response.body()), StandardCharsets.UTF_8))
+                .containsPattern(APP_JS)
+                .doesNotContain("src=\"app.js\"");
+    }
+
+    // ─── JSON API ────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET /api/** – large JSON responses are gzipped, small ones are not")
+    void api_compressedAboveThreshold() throws Exception {
+        Teacher teacher = teacherRepository.save(new Teacher(null, "Static Teacher", "static_it@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            students.add(new Student(null, "Static Student " + i, "static" + i + "_it@school.com", "STA-" + i,
+                    teacher));
+        }
+        studentRepository.saveAll(students);
+        String user = basicAuth("user", "userpass");
+
+        HttpResponse<byte[]> large = get("/api/students", "Authorization", user, "Accept-Encoding", "gzip");
+        assertThat(large.statusCode()).isEqualTo(200);
+        assertThat(large.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(new String(gunzip(large.body()), StandardCharsets.UTF_8)).contains("STA-49");
+
+        HttpResponse<byte[]> small = get("/api/me", "Authorization", user, "Accept-Encoding", "gzip");
+        assertThat(small.statusCode()).isEqualTo(200);
+        assertThat(small.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(small.headers().firstValueAsLong("Content-Length")).hasValue(small.body().length);
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.integration.QueryCountConfig;
+import com.example.sepm_assignment.integration.QueryCounter;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Full-stack integration tests for {@code /api/sync}. The database is shared
+ * with the other tests, so each test first syncs up to the present and only
+ * looks at what changes after that token.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
+@ActiveProfiles("test")
+class SyncControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queries;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAll();
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // helpers
+    private Teacher persistTeacher(String name) {
+        return teacherRepository.save(new Teacher(null, name, name.toLowerCase().replace(' ', '_') + "_sync@school.com",
+                "CS", new ArrayList<>(), new ArrayList<>()));
+    }
+
+    private JsonNode sync(String since, Integer limit) throws Exception {
+        var request = get("/api/sync");
+        if (since != null) {
+            request.param("since", since);
+        }
+        if (limit != null) {
+            request.param("limit", limit.toString());
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    // pages through everything already in the database and returns the token that follows it
+    private String syncToNow() throws Exception {
+        JsonNode response = sync(null, 10_000);
+        while (response.get("more").asBoolean()) {
+            response = sync(response.get("token").asText(), 10_000);
+        }
+        return response.get("token").asText();
+    }
+
+    private static List<Long> ids(JsonNode rows) {
+        List<Long> ids = new ArrayList<>();
+        rows.forEach(row -> ids.add(row.get("id").asLong()));
+        return ids;
+    }
+
+    private static List<String> deletions(JsonNode response) {
+        List<String> deleted = new ArrayList<>();
+        response.get("deleted").forEach(d -> deleted.add(d.get("entity").asText() + ":" + d.get("id").asLong()));
+        return deleted;
+    }
+
+    // ─── GET /api/sync ───────────────────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/sync – returns only what was written after the token, then nothing")
+    void sync_createsAndUpdates() throws Exception {
+        Teacher before = persistTeacher("Before Sync");
+        String token = syncToNow();
+
+        Teacher teacher = persistTeacher("After Sync");
+        Student student = studentRepository.save(new Student(null, "Synced Student", "student_sync@school.com",
+                "SYNC-S-1", teacher));
+        Course course = courseRepository.save(new Course(null, "Synced Course", "SYNC-C-1", 3, teacher));
+        before.setDepartment("Maths");
+        teacherRepository.save(before);
+
+        JsonNode changes = sync(token, null);
+        assertThat(ids(changes.get("teachers"))).containsExactlyInAnyOrder(before.getId(), teacher.getId());
+        assertThat(ids(changes.get("students"))).containsExactly(student.getId());
+        assertThat(changes.get("students").get(0).get("teacherId").asLong()).isEqualTo(teacher.getId());
+        assertThat(ids(changes.get("courses"))).containsExactly(course.getId());
+        assertThat(changes.get("deleted")).isEmpty();
+        assertThat(changes.get("more").asBoolean()).isFalse();
+
+        JsonNode again = sync(changes.get("token").asText(), null);
+        assertThat(again.get("teachers")).isEmpty();
+        assertThat(again.get("students")).isEmpty();
+        assertThat(again.get("courses")).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/sync – deleting a teacher reports it and the students and courses deleted with it")
+    void sync_tombstonesIncludeCascade() throws Exception {
+        Teacher teacher = persistTeacher("Doomed Teacher");
+        Student student = studentRepository.save(new Student(null, "Doomed Student", "doomed_sync@school.com",
+                "SYNC-S-2", teacher));
+        Course course = courseRepository.save(new Course(null, "Doomed Course", "SYNC-C-2", 3, teacher));
+        String token = syncToNow();
+
+        mockMvc.perform(delete("/api/teachers/" + teacher.getId())).andExpect(status().isNoContent());
+
+        JsonNode changes = sync(token, null);
+        assertThat(deletions(changes)).containsExactlyInAnyOrder(
+                "TEACHER:" + teacher.getId(), "STUDENT:" + student.getId(), "COURSE:" + course.getId());
+        assertThat(changes.get("teachers")).isEmpty();
+        assertThat(changes.get("students")).isEmpty();
+        assertThat(changes.get("courses")).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/sync – a full page sets more and the next page continues right after it")
+    void sync_pages() throws Exception {
+        String token = syncToNow();
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(persistTeacher("Paged Teacher " + i).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        JsonNode page = sync(token, 2);
+        int pages = 1;
+        seen.addAll(ids(page.get("teachers")));
+        while (page.get("more").asBoolean()) {
+            assertThat(page.get("teachers")).hasSize(2);
+            page = sync(page.get("token").asText(), 2);
+            seen.addAll(ids(page.get("teachers")));
+            pages++;
+        }
+
+        assertThat(seen).containsExactlyElementsOf(created);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/sync – one range scan per table, however many rows there are")
+    void sync_constantQueryCount() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            persistTeacher("Counted Teacher " + i);
+        }
+        String token = syncToNow();
+        persistTeacher("Counted Change");
+
+        queries.atMost(4, () -> mockMvc.perform(get("/api/sync").param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teachers.length()").value(1)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/sync – rows of a running transaction arrive in the sync after it commits")
+    void sync_waitsForInFlightTransaction() throws Exception {
+        String token = syncToNow();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CompletableFuture<Teacher> slow = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+            Teacher teacher = teacherRepository.saveAndFlush(new Teacher(null, "Slow Teacher", "slow_sync@school.com",
+                    "CS", new ArrayList<>(), new ArrayList<>()));
+            written.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return teacher;
+        }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Teacher fast = persistTeacher("Fast Teacher");
+        JsonNode during = sync(token, null);
+        assertThat(ids(during.get("teachers"))).doesNotContain(fast.getId());
+
+        release.countDown();
+        Teacher committed = slow.get(10, TimeUnit.SECONDS);
+
+        JsonNode after = sync(during.get("token").asText(), null);
+        assertThat(ids(after.get("teachers"))).containsExactlyInAnyOrder(committed.getId(), fast.getId());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /api/sync – students written by the roster import are stamped too")
+    void sync_includesImportedStudents() throws Exception {
+        persistTeacher("Import Teacher");
+        String token = syncToNow();
+
+        String csv = """
+                studentId,name,email,teacherEmail
+                SYNC-I-1,Ida,ida_sync@school.com,import_teacher_sync@school.com
+                SYNC-I-2,Jon,jon_sync@school.com,
+                """;
+        mockMvc.perform(post("/api/import/students").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+
+        JsonNode changes = sync(token, null);
+        List<String> studentIds = new ArrayList<>();
+        changes.get("students").forEach(s -> studentIds.add(s.get("studentId").asText()));
+        assertThat(studentIds).containsExactlyInAnyOrder("SYNC-I-1", "SYNC-I-2");
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/sync – 400 for a malformed token")
+    void sync_badToken() throws Exception {
+        mockMvc.perform(get("/api/sync").param("since", "not a token"))
+                .andExpect(status().isBadRequest());
+        String wrongShape = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("12:x".getBytes(StandardCharsets.US_ASCII));
+        mockMvc.perform(get("/api/sync").param("since", wrongShape))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/sync – 410 for a token older than the tombstone retention")
+    void sync_expiredToken() throws Exception {
+        String ancient = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("1:0:0".getBytes(StandardCharsets.US_ASCII));
+
+        mockMvc.perform(get("/api/sync").param("since", ancient).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    @DisplayName("GET /api/sync – 401 when unauthenticated")
+    void sync_unauthenticated() throws Exception {
+        mockMvc.perform(get("/api/sync")).andExpect(status().isUnauthorized());
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.sepm_assignment.integration.controller;
 
+import com.example.sepm_assignment.integration.QueryCountConfig;
+import com.example.sepm_assignment.integration.QueryCounter;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
 import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
 import com.example.sepm_assignment.repository.StudentRepository;
 import com.example.sepm_assignment.repository.TeacherRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -18,6 +27,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.ArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -28,12 +38,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
 @ActiveProfiles("test")
 class TeacherControllerIT {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private QueryCounter queries;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -43,12 +57,34 @@ class TeacherControllerIT {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @AfterEach
     void cleanUp() {
+        courseRepository.deleteAll();
         studentRepository.deleteAll();
         teacherRepository.deleteAll();
     }
 
+    // helpers
+    private void persistTeachersWithRelations(int count, String prefix) {
+        for (int i = 0; i < count; i++) {
+            Teacher t = teacherRepository.save(new Teacher(null, prefix + " Teacher " + i, prefix + i + "_it@school.com",
+                    "CS", new ArrayList<>(), new ArrayList<>()));
+            studentRepository.save(new Student(null, "Student " + i, prefix + "_student" + i + "_it@school.com",
+                    prefix + "-S-" + i, t));
+            courseRepository.save(new Course(null, "Course " + i, prefix + "-C-" + i, 3, t));
+        }
+    }
+
+    private long statementsFor(String url) throws Exception {
+        return queries.count(() -> mockMvc.perform(get(url)).andExpect(status().isOk()));
+    }
+
     // ─── GET /api/teachers ───────────────────────────────────────────────────
 
     @Test
@@ -58,17 +94,82 @@ class TeacherControllerIT {
         Teacher t = teacherRepository.save(new Teacher(null, "John Doe", "john_it@school.com",
                 "Computer Science", new ArrayList<>(), new ArrayList<>()));
 
-        mockMvc.perform(get("/api/teachers"))
+        queries.atMost(6, () -> mockMvc.perform(get("/api/teachers"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(t.getId()))
-                .andExpect(jsonPath("$[0].name").value("John Doe"));
+                .andExpect(jsonPath("$[0].name").value("John Doe")));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/teachers – includes nested students and courses")
+    void getAllTeachers_includesRelations() throws Exception {
+        persistTeachersWithRelations(1, "shape");
+
+        queries.atMost(6, () -> mockMvc.perform(get("/api/teachers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].students[0].studentId").value("shape-S-0"))
+                .andExpect(jsonPath("$[0].students[0].teacher").doesNotExist())
+                .andExpect(jsonPath("$[0].courses[0].courseCode").value("shape-C-0"))
+                .andExpect(jsonPath("$[0].courses[0].credits").value(3)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/teachers – query count does not grow with the number of teachers")
+    void getAllTeachers_constantQueryCount() throws Exception {
+        persistTeachersWithRelations(2, "small");
+        long small = statementsFor("/api/teachers");
+
+        persistTeachersWithRelations(20, "large");
+        long large = statementsFor("/api/teachers");
+
+        // three version summaries for the ETag, then teachers, students and courses
+        assertThat(small).isEqualTo(6);
+        assertThat(large).isEqualTo(small);
+        assertThat(statementsFor("/api/teachers?limit=10")).isEqualTo(6);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/teachers – 304 is answered from the version summaries alone")
+    void getAllTeachers_notModified_skipsLoading() throws Exception {
+        persistTeachersWithRelations(3, "etag");
+        String etag = mockMvc.perform(get("/api/teachers"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        queries.atMost(3, () -> mockMvc.perform(get("/api/teachers").header("If-None-Match", etag))
+                .andExpect(status().isNotModified()));
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/teachers/{id} – ETag changes when a student joins the teacher")
+    void getTeacherById_etagChangesWithStudents() throws Exception {
+        Teacher saved = teacherRepository.save(new Teacher(null, "Etag Teacher", "etagteacher_it@school.com",
+                "CS", new ArrayList<>(), new ArrayList<>()));
+        String etag = mockMvc.perform(get("/api/teachers/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        studentRepository.save(new Student(null, "Joiner", "joiner_it@school.com", "S-J-1", saved));
+
+        queries.atMost(2, () -> mockMvc.perform(get("/api/teachers/" + saved.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students[0].name").value("Joiner"))
+                .andExpect(header().string("ETag", not(etag))));
     }
 
     @Test
     @DisplayName("GET /api/teachers – 401 when unauthenticated")
     void getAllTeachers_unauthenticated() throws Exception {
-        mockMvc.perform(get("/api/teachers"))
-                .andExpect(status().isUnauthorized());
+        queries.atMost(0, () -> mockMvc.perform(get("/api/teachers"))
+                .andExpect(status().isUnauthorized()));
     }
 
     // ─── GET /api/teachers/{id} ──────────────────────────────────────────────
@@ -80,18 +181,18 @@ class TeacherControllerIT {
         Teacher saved = teacherRepository.save(new Teacher(null, "Jane Doe", "jane_it@school.com",
                 "Mathematics", new ArrayList<>(), new ArrayList<>()));
 
-        mockMvc.perform(get("/api/teachers/" + saved.getId()))
+        queries.atMost(2, () -> mockMvc.perform(get("/api/teachers/" + saved.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Jane Doe"))
-                .andExpect(jsonPath("$.department").value("Mathematics"));
+                .andExpect(jsonPath("$.department").value("Mathematics")));
     }
 
     @Test
     @WithMockUser(roles = "USER")
     @DisplayName("GET /api/teachers/{id} – 404 when teacher does not exist")
     void getTeacherById_notFound() throws Exception {
-        mockMvc.perform(get("/api/teachers/99999"))
-                .andExpect(status().isNotFound());
+        queries.atMost(1, () -> mockMvc.perform(get("/api/teachers/99999"))
+                .andExpect(status().isNotFound()));
     }
 
     // ─── POST /api/teachers ──────────────────────────────────────────────────
@@ -103,13 +204,13 @@ class TeacherControllerIT {
         Teacher input = new Teacher(null, "New Teacher", "newteacher_it@school.com",
                 "Physics", new ArrayList<>(), new ArrayList<>());
 
-        String responseBody = mockMvc.perform(post("/api/teachers")
+        String responseBody = queries.atMost(1, () -> mockMvc.perform(post("/api/teachers")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.name").value("New Teacher"))
                 .andExpect(jsonPath("$.department").value("Physics"))
-                .andReturn().getResponse().getContentAsString();
+                .andReturn().getResponse().getContentAsString());
 
         Teacher created = objectMapper.readValue(responseBody, Teacher.class);
         assertThat(teacherRepository.findById(created.getId())).isPresent();
@@ -122,10 +223,10 @@ class TeacherControllerIT {
         Teacher input = new Teacher(null, "New Teacher", "newteacher2_it@school.com",
                 "Physics", new ArrayList<>(), new ArrayList<>());
 
-        mockMvc.perform(post("/api/teachers")
+        queries.atMost(0, () -> mockMvc.perform(post("/api/teachers")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input)))
-                .andExpect(status().isForbidden());
+                .andExpect(status().isForbidden()));
     }
 
     // ─── PUT /api/teachers/{id} ──────────────────────────────────────────────
@@ -140,12 +241,12 @@ class TeacherControllerIT {
         Teacher updatePayload = new Teacher(null, "Updated Name", "updated_it@school.com",
                 "New Dept", new ArrayList<>(), new ArrayList<>());
 
-        mockMvc.perform(put("/api/teachers/" + saved.getId())
+        queries.atMost(3, () -> mockMvc.perform(put("/api/teachers/" + saved.getId())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatePayload)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Updated Name"))
-                .andExpect(jsonPath("$.department").value("New Dept"));
+                .andExpect(jsonPath("$.department").value("New Dept")));
 
         Teacher updated = teacherRepository.findById(saved.getId()).orElseThrow();
         assertThat(updated.getName()).isEqualTo("Updated Name");
@@ -158,10 +259,31 @@ class TeacherControllerIT {
         Teacher updatePayload = new Teacher(null, "X", "x_it@school.com", "X",
                 new ArrayList<>(), new ArrayList<>());
 
-        mockMvc.perform(put("/api/teachers/99999")
+        queries.atMost(1, () -> mockMvc.perform(put("/api/teachers/99999")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatePayload)))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound()));
+    }
+
+    // ─── PATCH /api/teachers/{id} ────────────────────────────────────────────
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("PATCH /api/teachers/{id} – 409 when the email belongs to another teacher")
+    void patchTeacher_uniqueConflict() throws Exception {
+        teacherRepository.save(new Teacher(null, "Taken", "taken_patch_it@school.com", "Dept",
+                new ArrayList<>(), new ArrayList<>()));
+        Teacher saved = teacherRepository.save(new Teacher(null, "Patched", "patched_it@school.com", "Dept",
+                new ArrayList<>(), new ArrayList<>()));
+
+        mockMvc.perform(patch("/api/teachers/" + saved.getId())
+                        .header("If-Match", "\"teacher-" + saved.getId() + "-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"taken_patch_it@school.com\"}"))
+                .andExpect(status().isConflict());
+
+        assertThat(teacherRepository.findById(saved.getId()).orElseThrow().getEmail())
+                .isEqualTo("patched_it@school.com");
     }
 
     // ─── DELETE /api/teachers/{id} ───────────────────────────────────────────
@@ -173,8 +295,9 @@ class TeacherControllerIT {
         Teacher saved = teacherRepository.save(new Teacher(null, "ToDelete", "todelete_it@school.com",
                 "Dept", new ArrayList<>(), new ArrayList<>()));
 
-        mockMvc.perform(delete("/api/teachers/" + saved.getId()))
-                .andExpect(status().isNoContent());
+        // includes the lookup of capacity-limited courses that lose a seat
+        queries.atMost(5, () -> mockMvc.perform(delete("/api/teachers/" + saved.getId()))
+                .andExpect(status().isNoContent()));
 
         assertThat(teacherRepository.findById(saved.getId())).isEmpty();
     }
@@ -186,7 +309,7 @@ class TeacherControllerIT {
         Teacher saved = teacherRepository.save(new Teacher(null, "Protected", "protected_it@school.com",
                 "Dept", new ArrayList<>(), new ArrayList<>()));
 
-        mockMvc.perform(delete("/api/teachers/" + saved.getId()))
-                .andExpect(status().isForbidden());
+        queries.atMost(0, () -> mockMvc.perform(delete("/api/teachers/" + saved.getId()))
+                .andExpect(status().isForbidden()));
     }
 }
@@ -0,0 +1,182 @@
+package com.example.sepm_assignment.integration.controller;
+
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the application in the {@code virtual-threads} mode over real HTTP
+ * and records JFR {@code jdk.VirtualThreadPinned} events while list and
+ * create requests hit it concurrently. A virtual thread that parks while
+ * holding a monitor pins its carrier. None of that may happen in the
+ * application, Hibernate, HikariCP or the PostgreSQL driver. Pinning inside
+ * H2, which only backs the tests, is ignored.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "virtual-threads"})
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadPinningIT {
+
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    private static final List<String> DATA_LAYER = List.of(
+            "com.example.sepm_assignment.", "org.hibernate.", "com.zaxxer.hikari.", "org.postgresql.");
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Teacher teacher;
+
+    @BeforeEach
+    void setUp() {
+        teacher = teacherRepository.save(new Teacher(null, "Virtual Teacher", "virtual@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        for (int i = 0; i < 20; i++) {
+            studentRepository.save(new Student(null, "Virtual " + i, "virtual" + i + "@school.com",
+                    "S-V-" + i, teacher));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAll();
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // ─── threading mode ──────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("virtual-threads profile – Tomcat runs requests on virtual threads")
+    void tomcat_usesVirtualThreads() {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+
+        assertThat(webServer.getTomcat().getConnector().getProtocolHandler().getExecutor())
+                .extracting(executor -> executor.getClass().getSimpleName())
+                .isEqualTo("VirtualThreadExecutor");
+    }
+
+    // ─── pinning ─────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("GET lists and POST creates under concurrency – no carrier pinning in the data layer")
+    void listAndCreate_noPinning() throws Exception {
+        Path dump = Files.createTempFile("virtual-thread-pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            drive();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<String> pinned = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals(PINNED))
+                .filter(event -> !hasFrame(event, List.of("org.h2.")))
+                .filter(event -> hasFrame(event, DATA_LAYER))
+                .map(VirtualThreadPinningIT::describe)
+                .toList();
+        Files.deleteIfExists(dump);
+
+        assertThat(pinned).isEmpty();
+    }
+
+    private void drive() throws Exception {
+        TestRestTemplate user = restTemplate.withBasicAuth("user", "userpass");
+        TestRestTemplate admin = restTemplate.withBasicAuth("admin", "adminpass");
+        AtomicInteger created = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        ResponseEntity<String> response = switch (i % 4) {
+                            case 0 -> user.getForEntity("/api/students?limit=10", String.class);
+                            case 1 -> user.getForEntity("/api/students/teacher/" + teacher.getId(), String.class);
+                            case 2 -> user.getForEntity("/api/courses", String.class);
+                            default -> {
+                                int n = created.incrementAndGet();
+                                yield admin.postForEntity("/api/courses/teacher/" + teacher.getId(),
+                                        new Course(null, "Virtual " + n, "C-V-" + n, 3, null), String.class);
+                            }
+                        };
+                        assertThat(response.getStatusCode().is2xxSuccessful())
+                                .as("%s", response.getStatusCode()).isTrue();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static boolean hasFrame(RecordedEvent event, List<String> packages) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .map(frame -> frame.getMethod().getType().getName())
+                .anyMatch(type -> packages.stream().anyMatch(type::startsWith));
+    }
+
+    private static String describe(RecordedEvent event) {
+        String header = "pinned for " + event.getDuration().toMillis() + " ms\n    at ";
+        return event.getStackTrace().getFrames().stream()
+                .limit(12)
+                .map(VirtualThreadPinningIT::describe)
+                .collect(Collectors.joining("\n    at ", header, ""));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.sepm_assignment.integration.repository;
+
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.CoreMigrationType;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Starts the application on a database as {@code ddl-auto=update} left it
+ * before the Flyway migrations: IDENTITY ids, no id sequences, no version
+ * columns, and rows already in it. Flyway baselines it at V1 and migrates it,
+ * Hibernate validates the mappings against the result, and new rows must get
+ * ids past the existing ones.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LegacySchemaUpgradeIT {
+
+    private static final String URL = "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL";
+    private static final String DUPLICATES_URL =
+            "jdbc:h2:mem:legacy_duplicates;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL";
+
+    // the tables Hibernate generated for the entities as they were, with ids from IDENTITY columns
+    private static final String[] LEGACY_SCHEMA = {
+            "create table teachers (id bigint generated by default as identity, department varchar(255) not null,"
+                    + " email varchar(255) not null, name varchar(255) not null, primary key (id))",
+            "create table students (id bigint generated by default as identity, teacher_id bigint,"
+                    + " email varchar(255) not null unique, name varchar(255) not null,"
+                    + " student_id varchar(255) not null, primary key (id))",
+            "create table courses (credits integer not null, id bigint generated by default as identity,"
+                    + " teacher_id bigint, course_code varchar(255) not null, title varchar(255) not null,"
+                    + " primary key (id))",
+            "alter table students add constraint fk_legacy_students_teacher foreign key (teacher_id)"
+                    + " references teachers",
+            "alter table courses add constraint fk_legacy_courses_teacher foreign key (teacher_id)"
+                    + " references teachers",
+            "insert into teachers (id, name, email, department) values (120, 'Legacy Teacher',"
+                    + " 'legacy@school.com', 'CS')",
+            "insert into students (id, name, email, student_id, teacher_id) values (340, 'Legacy Student',"
+                    + " 'legacy_student@school.com', 'LEG-1', 120)",
+            "insert into courses (id, title, course_code, credits, teacher_id) values (75, 'Legacy Course',"
+                    + " 'LEG-C-1', 3, 120)"
+    };
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        createLegacySchema(URL);
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    // helpers
+    private static void createLegacySchema(String url, String... extraRows) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+            for (String sql : LEGACY_SCHEMA) {
+                statement.execute(sql);
+            }
+            for (String sql : extraRows) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    // ─── upgrade ─────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("migrate – a pre-Flyway schema is baselined at V1 and brought up to date")
+    void migrate_baselinesAndUpgrades() {
+        assertThat(flyway.info().applied()[0].getType()).isEqualTo(CoreMigrationType.BASELINE);
+        assertThat(flyway.info().pending()).isEmpty();
+
+        Teacher teacher = teacherRepository.findById(120L).orElseThrow();
+        assertThat(teacher.getVersion()).isZero();
+        assertThat(teacher.getUpdatedAt()).isNotNull();
+        assertThat(studentRepository.findByStudentId("LEG-1")).isPresent();
+    }
+
+    @Test
+    @DisplayName("save – new rows get ids past the rows created before the upgrade")
+    void save_idsPastExistingRows() {
+        Teacher teacher = teacherRepository.save(new Teacher(null, "New Teacher", "new_legacy@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        Student student = studentRepository.save(new Student(null, "New Student", "new_student_legacy@school.com",
+                "LEG-2", teacher));
+        Course course = courseRepository.save(new Course(null, "New Course", "LEG-C-2", 3, teacher));
+
+        assertThat(teacher.getId()).isGreaterThan(120L);
+        assertThat(student.getId()).isGreaterThan(340L);
+        assertThat(course.getId()).isGreaterThan(75L);
+
+        studentRepository.delete(student);
+        courseRepository.delete(course);
+        teacherRepository.delete(teacher);
+    }
+
+    @Test
+    @DisplayName("migrate – values that V2's unique indexes would reject stop the migration and are listed")
+    void migrate_duplicateLookupKeysAreReported() throws SQLException {
+        createLegacySchema(DUPLICATES_URL,
+                "insert into teachers (id, name, email, department) values (121, 'Twin', 'legacy@school.com', 'CS')",
+                "insert into courses (id, title, course_code, credits, teacher_id) values (76, 'Twin Course',"
+                        + " 'LEG-C-1', 3, 121)");
+        Flyway duplicates = Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(DUPLICATES_URL, "sa", "")
+                .load();
+
+        assertThatThrownBy(duplicates::migrate)
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("teachers.email: 'legacy@school.com' x2")
+                .hasMessageContaining("courses.course_code: 'LEG-C-1' x2")
+                .hasMessageNotContaining("students.student_id");
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.sepm_assignment.integration.repository;
+
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the single-row lookups of the repositories are planned on the
+ * unique indexes of the V2 migration. How much the indexes save is measured
+ * by {@code LookupIndexBenchmark} in the {@code benchmarks} profile.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LookupIndexIT {
+
+    private static final int ROWS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < ROWS; i++) {
+            Teacher teacher = teacherRepository.save(new Teacher(null, "Teacher " + i, "teacher" + i + "@seed.com",
+                    "CS", new ArrayList<>(), new ArrayList<>()));
+            studentRepository.save(new Student(null, "Student " + i, "student" + i + "@seed.com", "SEED-" + i,
+                    teacher));
+            courseRepository.save(new Course(null, "Course " + i, "SEED-C-" + i, 3, teacher));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAllInBatch();
+        courseRepository.deleteAllInBatch();
+        teacherRepository.deleteAllInBatch();
+    }
+
+    // helpers
+    private String plan(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+
+    // ─── lookups ─────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("findByStudentId/findByEmail/findByCourseCode – each lookup is planned on its unique index")
+    void lookups_useIndexes() {
+        assertThat(studentRepository.findByStudentId("SEED-7")).isPresent();
+        assertThat(teacherRepository.findByEmail("teacher7@seed.com")).isPresent();
+        assertThat(courseRepository.findByCourseCode("SEED-C-7")).isPresent();
+
+        assertThat(plan("select * from students where student_id = 'SEED-7'"))
+                .containsIgnoringCase("ux_students_student_id");
+        assertThat(plan("select * from teachers where email = 'teacher7@seed.com'"))
+                .containsIgnoringCase("ux_teachers_email");
+        assertThat(plan("select * from courses where course_code = 'SEED-C-7'"))
+                .containsIgnoringCase("ux_courses_course_code");
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.sepm_assignment.integration.repository;
 
+import com.example.sepm_assignment.config.CachingConfig;
+import com.example.sepm_assignment.config.SecondLevelCacheConfig;
 import com.example.sepm_assignment.model.Student;
 import com.example.sepm_assignment.model.Teacher;
 import com.example.sepm_assignment.repository.StudentRepository;
@@ -9,6 +11,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +25,7 @@ import static org.assertj.core.api.Assertions.*;
  * Uses an H2 in-memory database spun up by {@code @DataJpaTest}.
  */
 @DataJpaTest
+@Import({SecondLevelCacheConfig.class, CachingConfig.class})
 class StudentRepositoryTest {
 
     @Autowired
@@ -104,6 +109,31 @@ class StudentRepositoryTest {
         assertThat(result).isEmpty();
     }
 
+    // ─── keyset scans ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("findByIdGreaterThanOrderByIdAsc – returns rows after the cursor in id order")
+    void findByIdGreaterThan_keyset() {
+        Student second = entityManager.persistAndFlush(new Student(null, "Bob Jones", "bob@school.com", "S002", teacher));
+        Student third = entityManager.persistAndFlush(new Student(null, "Carol White", "carol@school.com", "S003", teacher));
+
+        assertThat(studentRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .extracting(Student::getId).containsExactly(student.getId(), second.getId());
+        assertThat(studentRepository.findByIdGreaterThanOrderByIdAsc(second.getId(), Limit.of(2)))
+                .extracting(Student::getId).containsExactly(third.getId());
+    }
+
+    @Test
+    @DisplayName("findByTeacherIdAndIdGreaterThanOrderByIdAsc – only scans the given teacher's students")
+    void findByTeacherIdAndIdGreaterThan_keyset() {
+        Teacher otherTeacher = entityManager.persistAndFlush(new Teacher(null, "Jane Doe", "jane@school.com",
+                "Mathematics", new ArrayList<>(), new ArrayList<>()));
+        entityManager.persistAndFlush(new Student(null, "Bob Jones", "bob@school.com", "S002", otherTeacher));
+
+        assertThat(studentRepository.findByTeacherIdAndIdGreaterThanOrderByIdAsc(teacher.getId(), 0L, Limit.of(10)))
+                .extracting(Student::getName).containsExactly("Alice Smith");
+    }
+
     // ─── CRUD ────────────────────────────────────────────────────────────────
 
     @Test
@@ -1,5 +1,7 @@
 package com.example.sepm_assignment.integration.repository;
 
+import com.example.sepm_assignment.config.CachingConfig;
+import com.example.sepm_assignment.config.SecondLevelCacheConfig;
 import com.example.sepm_assignment.model.Teacher;
 import com.example.sepm_assignment.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,6 +23,7 @@ import static org.assertj.core.api.Assertions.*;
  * Uses an H2 in-memory database spun up by {@code @DataJpaTest}.
  */
 @DataJpaTest
+@Import({SecondLevelCacheConfig.class, CachingConfig.class})
 class TeacherRepositoryTest {
 
     @Autowired
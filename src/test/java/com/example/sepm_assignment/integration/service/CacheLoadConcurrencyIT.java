@@ -0,0 +1,112 @@
+package com.example.sepm_assignment.integration.service;
+
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.example.sepm_assignment.service.StudentService;
+import com.example.sepm_assignment.service.TeacherService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache misses and writes on the same keys with fewer pooled connections
+ * than threads. A load that held the cache's lock while waiting for a
+ * connection would deadlock with writers evicting the key from inside their
+ * transactions until the pool timed out.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=2000"})
+@ActiveProfiles("test")
+class CacheLoadConcurrencyIT {
+
+    private static final int STUDENTS = 20;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 50;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    private Teacher teacher;
+    private List<Student> students;
+
+    @BeforeEach
+    void setUp() {
+        teacher = teacherRepository.save(new Teacher(null, "Busy Teacher", "busy@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(studentRepository.save(new Student(null, "Student " + i, "busy" + i + "@school.com",
+                    "S-BUSY-" + i, teacher)));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // ─── concurrent loads ────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("findById under writes – misses never hold the cache while waiting for a connection")
+    void findById_concurrentWrites_noPoolDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                boolean writer = t % 2 == 0;
+                Random random = new Random(t);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        Student student = students.get(random.nextInt(STUDENTS));
+                        if (writer) {
+                            try {
+                                studentService.update(student.getId(), new Student(null, "Renamed " + i,
+                                        student.getEmail(), student.getStudentId(), null));
+                            } catch (OptimisticLockingFailureException e) {
+                                // another writer updated the same student first
+                            }
+                        } else {
+                            assertThat(studentService.findById(student.getId())).isPresent();
+                            assertThat(teacherService.findById(teacher.getId())).isPresent();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
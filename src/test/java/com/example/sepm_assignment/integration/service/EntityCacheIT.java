@@ -0,0 +1,235 @@
+package com.example.sepm_assignment.integration.service;
+
+import com.example.sepm_assignment.dto.EntityCacheStats;
+import com.example.sepm_assignment.dto.TeacherDto;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.example.sepm_assignment.service.CacheService;
+import com.example.sepm_assignment.service.CourseService;
+import com.example.sepm_assignment.service.EntityCacheEvictor;
+import com.example.sepm_assignment.service.RosterImportService;
+import com.example.sepm_assignment.service.StudentService;
+import com.example.sepm_assignment.service.TeacherService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the services' {@code findById} caches serve repeated reads and
+ * are evicted by every write path, including cascades and the CSV importer.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EntityCacheIT {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private EntityCacheEvictor cacheEvictor;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Teacher teacher;
+    private Student student;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        cacheService.evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        teacher = teacherService.save(new Teacher(null, "Cached", "cached@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        student = studentService.saveWithTeacher(teacher.getId(), new Student(null, "Alice", "alice_cache@school.com", "S1", null));
+        course = courseService.saveWithTeacher(teacher.getId(), new Course(null, "Java", "CC101", 3, null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    private EntityCacheStats studentCacheStats() {
+        return cacheService.entityCacheStatistics().stream()
+                .filter(stats -> stats.cache().equals(EntityCacheEvictor.STUDENTS))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private long statementsFor(Runnable work) {
+        long before = statistics.getPrepareStatementCount();
+        work.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    // ─── read-through ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("findById – repeated lookups are served without touching the database")
+    void findById_cachedAfterFirstLoad() {
+        EntityCacheStats before = studentCacheStats();
+        studentService.findById(student.getId());
+        teacherService.findById(teacher.getId());
+        courseService.findById(course.getId());
+
+        long statements = statementsFor(() -> {
+            for (int i = 0; i < 10; i++) {
+                assertThat(studentService.findById(student.getId())).isPresent();
+                assertThat(teacherService.findById(teacher.getId())).isPresent();
+                assertThat(courseService.findById(course.getId())).isPresent();
+            }
+        });
+
+        assertThat(statements).isZero();
+        EntityCacheStats after = studentCacheStats();
+        assertThat(after.hits() - before.hits()).isEqualTo(10);
+        assertThat(after.misses() - before.misses()).isEqualTo(1);
+        assertThat(after.hitRatio()).isPositive();
+        assertThat(after.averageLoadMillis()).isPositive();
+    }
+
+    @Test
+    @DisplayName("findById – unknown ids are cached until the id is created")
+    void findById_missingThenCreated() {
+        Long next = student.getId() + 1;
+        assertThat(studentService.findById(next)).isEmpty();
+
+        Student created = studentService.saveWithTeacher(teacher.getId(),
+                new Student(null, "Bob", "bob_cache@school.com", "S2", null));
+
+        assertThat(created.getId()).isEqualTo(next);
+        assertThat(studentService.findById(next)).isPresent();
+    }
+
+    // ─── eviction ────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("update – evicts the student and the teacher entry that embeds it")
+    void updateStudent_evictsStudentAndTeacher() {
+        studentService.findById(student.getId());
+        teacherService.findById(teacher.getId());
+
+        studentService.update(student.getId(), new Student(null, "Alicia", "alice_cache@school.com", "S1", null));
+
+        assertThat(studentService.findById(student.getId()).orElseThrow().name()).isEqualTo("Alicia");
+        assertThat(teacherService.findById(teacher.getId()).orElseThrow().students())
+                .extracting("name").containsExactly("Alicia");
+    }
+
+    @Test
+    @DisplayName("update – evicts the teacher and the course")
+    void updateTeacherAndCourse_evicts() {
+        teacherService.findById(teacher.getId());
+        courseService.findById(course.getId());
+
+        teacherService.update(teacher.getId(), new Teacher(null, "Renamed", "cached@school.com", "Math",
+                new ArrayList<>(), new ArrayList<>()));
+        courseService.update(course.getId(), new Course(null, "Kotlin", "CC101", 4, null));
+
+        TeacherDto cached = teacherService.findById(teacher.getId()).orElseThrow();
+        assertThat(cached.name()).isEqualTo("Renamed");
+        assertThat(cached.courses()).extracting("title").containsExactly("Kotlin");
+        assertThat(courseService.findById(course.getId()).orElseThrow().credits()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("saveWithTeacher/saveAllWithTeacher – new students and courses appear on the cached teacher")
+    void save_evictsTeacher() {
+        teacherService.findById(teacher.getId());
+
+        studentService.saveWithTeacher(teacher.getId(), new Student(null, "Bob", "bob_cache@school.com", "S2", null));
+        courseService.saveWithTeacher(teacher.getId(), new Course(null, "SQL", "CC102", 2, null));
+        assertThat(teacherService.findById(teacher.getId()).orElseThrow().students()).hasSize(2);
+
+        studentService.saveAllWithTeacher(teacher.getId(), List.of(
+                new Student(null, "Cara", "cara_cache@school.com", "S3", null)));
+        TeacherDto cached = teacherService.findById(teacher.getId()).orElseThrow();
+        assertThat(cached.students()).hasSize(3);
+        assertThat(cached.courses()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("delete – removing a course or student evicts it and its teacher")
+    void deleteChildren_evicts() {
+        teacherService.findById(teacher.getId());
+        courseService.findById(course.getId());
+        studentService.findById(student.getId());
+
+        courseService.delete(course.getId());
+        studentService.delete(student.getId());
+
+        assertThat(courseService.findById(course.getId())).isEmpty();
+        assertThat(studentService.findById(student.getId())).isEmpty();
+        TeacherDto cached = teacherService.findById(teacher.getId()).orElseThrow();
+        assertThat(cached.students()).isEmpty();
+        assertThat(cached.courses()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("delete – deleting a teacher evicts the students and courses removed by the cascade")
+    void deleteTeacher_evictsCascade() {
+        teacherService.findById(teacher.getId());
+        courseService.findById(course.getId());
+        studentService.findById(student.getId());
+
+        teacherService.delete(teacher.getId());
+
+        assertThat(teacherService.findById(teacher.getId())).isEmpty();
+        assertThat(studentService.findById(student.getId())).isEmpty();
+        assertThat(courseService.findById(course.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("importStudents – rows written with COPY/JDBC still evict their teacher")
+    void rosterImport_evictsTeacher() {
+        teacherService.findById(teacher.getId());
+
+        rosterImportService.importStudents(new StringReader(
+                "name,email,studentId,teacherEmail\nDan,dan_cache@school.com,S4,cached@school.com\n"));
+
+        assertThat(teacherService.findById(teacher.getId()).orElseThrow().students())
+                .extracting("email").contains("dan_cache@school.com");
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.sepm_assignment.integration.service;
+
+import com.example.sepm_assignment.service.ExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Volume test for {@link ExportService}: streams a few hundred thousand rows
+ * and checks that heap use stays flat while doing so.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportServiceIT {
+
+    private static final int ROWS = 200_000;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        // enrollments reference students, which rules out truncate
+        jdbcTemplate.execute("delete from students");
+    }
+
+    @Test
+    @DisplayName("exportStudents – streams 200k rows without accumulating them on the heap")
+    void exportStudents_largeTable() throws Exception {
+        // H2's SYSTEM_RANGE seeds the table in one statement
+        jdbcTemplate.update("insert into students (id, name, email, student_id) "
+                + "select nextval('students_seq'), 'Student ' || x, 'bulk' || x || '@school.com', 'B' || x from system_range(1, ?)", ROWS);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong lines = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong peakRetained = new AtomicLong();
+
+        OutputStream sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) {
+                bytes.addAndGet(length);
+                for (int i = offset; i < offset + length; i++) {
+                    if (buffer[i] == '\n' && lines.incrementAndGet() % 100_000 == 0) {
+                        System.gc();
+                        peakRetained.accumulateAndGet(memory.getHeapMemoryUsage().getUsed() - baseline, Math::max);
+                    }
+                }
+            }
+        };
+
+        long exported = exportService.exportStudents(sink);
+
+        assertThat(exported).isEqualTo(ROWS);
+        assertThat(lines.get()).isEqualTo(ROWS);
+        // Fully materialising 200k rows would retain far more than the ~20 MB of output
+        assertThat(peakRetained.get()).isLessThan(bytes.get());
+    }
+}
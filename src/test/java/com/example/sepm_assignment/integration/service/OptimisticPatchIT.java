@@ -0,0 +1,152 @@
+package com.example.sepm_assignment.integration.service;
+
+import com.example.sepm_assignment.dto.StudentPatch;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.example.sepm_assignment.service.StudentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same parallel edit load through the read-modify-write
+ * {@code update} and the version-guarded {@code patch}, counting the
+ * statements each issues and checking that no PATCH is silently lost.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OptimisticPatchIT {
+
+    private static final int STUDENTS = 16;
+    private static final int THREADS = 8;
+    private static final int EDITS_PER_THREAD = 100;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Student> students;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Teacher teacher = teacherRepository.save(new Teacher(null, "Patch Teacher", "patch@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(studentRepository.save(new Student(null, "Student " + i, "patch" + i + "@school.com",
+                    "S-PT-" + i, teacher)));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    private long totalVersion() {
+        return studentRepository.findAll().stream().mapToLong(Student::getVersion).sum();
+    }
+
+    private void runParallel(Edit edit) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(thread);
+                    Map<Long, Long> knownVersions = new HashMap<>();
+                    for (int i = 0; i < EDITS_PER_THREAD; i++) {
+                        Student student = students.get(random.nextInt(STUDENTS));
+                        edit.apply(student, thread + "-" + i, knownVersions);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Edit {
+        void apply(Student student, String tag, Map<Long, Long> knownVersions);
+    }
+
+    // ─── parallel edits ──────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("parallel edits – PATCH needs fewer statements than PUT and loses no update")
+    void parallelEdits_patchSavesRoundTrips() throws Exception {
+        long before = statistics.getPrepareStatementCount();
+        runParallel((student, tag, knownVersions) -> {
+            try {
+                studentService.update(student.getId(), new Student(null, "Put " + tag, student.getEmail(),
+                        student.getStudentId(), null));
+            } catch (OptimisticLockingFailureException e) {
+                // a lost race still spent its statements, which is what is counted
+            }
+        });
+        long putStatements = statistics.getPrepareStatementCount() - before;
+
+        AtomicLong successes = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        long versionsBefore = totalVersion();
+        before = statistics.getPrepareStatementCount();
+        runParallel((student, tag, knownVersions) -> {
+            // A client starts from the ETag of a GET it already made and then reuses the PATCH response's tag
+            long version = knownVersions.computeIfAbsent(student.getId(),
+                    id -> studentService.findById(id).orElseThrow().version());
+            try {
+                knownVersions.put(student.getId(),
+                        studentService.patch(student.getId(), version, new StudentPatch("Patch " + tag, null, null)));
+                successes.incrementAndGet();
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.incrementAndGet();
+                knownVersions.remove(student.getId());
+            }
+        });
+        long patchStatements = statistics.getPrepareStatementCount() - before;
+
+        long edits = (long) THREADS * EDITS_PER_THREAD;
+        assertThat(successes.get() + conflicts.get()).isEqualTo(edits);
+        assertThat(totalVersion() - versionsBefore).isEqualTo(successes.get());
+        assertThat(putStatements).isGreaterThanOrEqualTo(2 * edits);
+        assertThat(patchStatements).isLessThan(putStatements);
+    }
+}
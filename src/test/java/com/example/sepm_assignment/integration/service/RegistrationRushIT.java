@@ -0,0 +1,193 @@
+package com.example.sepm_assignment.integration.service;
+
+import com.example.sepm_assignment.dto.RegistrationResult.Status;
+import com.example.sepm_assignment.dto.SeatSummary;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.example.sepm_assignment.service.EnrollmentService;
+import com.example.sepm_assignment.service.RegistrationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many students registering for one course at once. The seats must go to
+ * exactly the first {@value #CAPACITY} registrations and never to more, also
+ * with a second {@link RegistrationService} sharing the database and after a
+ * restart that lost every in-memory count.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RegistrationRushIT {
+
+    private static final int CAPACITY = 50;
+    private static final int STUDENTS = 300;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Course course;
+    private List<Long> studentIds;
+
+    @BeforeEach
+    void setUp() {
+        Teacher teacher = teacherRepository.save(new Teacher(null, "Rush", "rush_it@school.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        course = new Course(null, "Popular", "RUSH-101", 5, teacher);
+        course.setCapacity(CAPACITY);
+        course = courseRepository.save(course);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new Student(null, "Rusher " + i, "rusher" + i + "_it@school.com", "RUSH-S-" + i, teacher));
+        }
+        studentIds = studentRepository.saveAll(students).stream().map(Student::getId).toList();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAll();
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    // helpers
+    private record Outcome(long startedAt, long answeredAt, Status status) {
+    }
+
+    /** Registers every student at once, spread round-robin over {@code services}. */
+    private List<Outcome> rush(List<RegistrationService> services) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Outcome>> futures = new ArrayList<>();
+            for (int i = 0; i < studentIds.size(); i++) {
+                RegistrationService service = services.get(i % services.size());
+                Long studentId = studentIds.get(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long startedAt = System.nanoTime();
+                    Status status = service.register(course.getId(), studentId).get(30, TimeUnit.SECONDS);
+                    return new Outcome(startedAt, System.nanoTime(), status);
+                }));
+            }
+            start.countDown();
+            List<Outcome> outcomes = new ArrayList<>();
+            for (Future<Outcome> future : futures) {
+                outcomes.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<Status, Long> countByStatus(List<Outcome> outcomes) {
+        return outcomes.stream().collect(Collectors.groupingBy(Outcome::status, Collectors.counting()));
+    }
+
+    private SeatSummary seats() {
+        return registrationService.seats(course.getId()).orElseThrow();
+    }
+
+    // ─── registration rush ───────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("register – a rush fills the course exactly, first come first served")
+    void rush_fillsCapacityInArrivalOrder() throws Exception {
+        List<Outcome> outcomes = rush(List.of(registrationService));
+
+        assertThat(countByStatus(outcomes)).containsOnly(
+                Map.entry(Status.ENROLLED, (long) CAPACITY),
+                Map.entry(Status.WAITLISTED, (long) (STUDENTS - CAPACITY)));
+        assertThat(seats()).isEqualTo(new SeatSummary(CAPACITY, CAPACITY, STUDENTS - CAPACITY));
+
+        // nobody who started after a waitlisted student had their answer got a seat
+        long firstWaitlistAnswer = outcomes.stream().filter(o -> o.status() == Status.WAITLISTED)
+                .mapToLong(Outcome::answeredAt).min().orElseThrow();
+        assertThat(outcomes).filteredOn(o -> o.status() == Status.ENROLLED)
+                .allSatisfy(o -> assertThat(o.startedAt()).isLessThan(firstWaitlistAnswer));
+    }
+
+    @Test
+    @DisplayName("register – two instances sharing the database and a restart never overbook or double-admit")
+    void rush_acrossInstancesAndRestart() throws Exception {
+        RegistrationService second = new RegistrationService(dataSource, transactionManager, 100);
+        try {
+            List<Outcome> outcomes = rush(List.of(registrationService, second));
+            assertThat(countByStatus(outcomes)).containsOnly(
+                    Map.entry(Status.ENROLLED, (long) CAPACITY),
+                    Map.entry(Status.WAITLISTED, (long) (STUDENTS - CAPACITY)));
+        } finally {
+            second.close();
+        }
+
+        // a restarted instance starts without counts; clients retrying their registrations change nothing
+        RegistrationService restarted = new RegistrationService(dataSource, transactionManager, 100);
+        try {
+            Map<Status, Long> retried = countByStatus(rush(List.of(restarted)));
+            assertThat(retried).containsOnly(
+                    Map.entry(Status.ALREADY_ENROLLED, (long) CAPACITY),
+                    Map.entry(Status.ALREADY_WAITLISTED, (long) (STUDENTS - CAPACITY)));
+        } finally {
+            restarted.close();
+        }
+        assertThat(seats()).isEqualTo(new SeatSummary(CAPACITY, CAPACITY, STUDENTS - CAPACITY));
+    }
+
+    @Test
+    @DisplayName("register – seats taken behind the counter's back are not handed out twice")
+    void register_staleCounter() throws Exception {
+        Function<Integer, Status> register = i -> registrationService.register(course.getId(), studentIds.get(i))
+                .join();
+        assertThat(register.apply(0)).isEqualTo(Status.ENROLLED);
+
+        // the registrar fills the course outside registration; the counter still sees one student
+        enrollmentService.enroll(course.getId(), studentIds.subList(1, CAPACITY));
+
+        assertThat(register.apply(CAPACITY)).isEqualTo(Status.WAITLISTED);
+        assertThat(register.apply(CAPACITY + 1)).isEqualTo(Status.WAITLISTED);
+        assertThat(seats()).isEqualTo(new SeatSummary(CAPACITY, CAPACITY, 2));
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.sepm_assignment.integration.service;
+
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
+import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
+import com.example.sepm_assignment.repository.TeacherRepository;
+import com.example.sepm_assignment.service.CourseService;
+import com.example.sepm_assignment.service.StudentService;
+import com.example.sepm_assignment.service.TeacherService;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the second-level cache stays consistent with the services'
+ * write paths, and measures the database round trips it saves on a
+ * read-heavy mix.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheIT {
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+    private Teacher createTeacher(String tag, int courses) {
+        Teacher teacher = teacherService.save(new Teacher(null, "Teacher " + tag, tag + "@cache.com", "CS",
+                new ArrayList<>(), new ArrayList<>()));
+        for (int i = 0; i < courses; i++) {
+            courseService.saveWithTeacher(teacher.getId(), new Course(null, "Course " + tag + i, tag + "-" + i, 3, null));
+        }
+        return teacher;
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return tx.execute(status -> work.get());
+    }
+
+    private List<String> courseCodesOf(Long teacherId) {
+        return inTransaction(() -> teacherRepository.findById(teacherId).orElseThrow().getCourses().stream()
+                .map(Course::getCourseCode)
+                .sorted()
+                .toList());
+    }
+
+    private long statementsFor(Runnable work) {
+        long before = statistics.getPrepareStatementCount();
+        work.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    // ─── consistency ─────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("findById – second lookup of a teacher and its courses is served from the cache")
+    void findById_servedFromCache() {
+        Teacher teacher = createTeacher("hit", 2);
+        courseCodesOf(teacher.getId());
+
+        long statements = statementsFor(() -> courseCodesOf(teacher.getId()));
+
+        assertThat(statements).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("teachers").getHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics("teacher-courses").getHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("update – later reads see the new teacher and course values")
+    void update_visibleThroughCache() {
+        Teacher teacher = createTeacher("upd", 1);
+        courseCodesOf(teacher.getId());
+        Long courseId = courseRepository.findByTeacherId(teacher.getId()).get(0).getId();
+        inTransaction(() -> courseRepository.findById(courseId).orElseThrow());
+
+        teacherService.update(teacher.getId(), new Teacher(null, "Renamed", "upd@cache.com", "Math",
+                new ArrayList<>(), new ArrayList<>()));
+        courseService.update(courseId, new Course(null, "Retitled", "upd-0", 5, null));
+
+        Teacher reloaded = inTransaction(() -> teacherRepository.findById(teacher.getId()).orElseThrow());
+        Course course = inTransaction(() -> courseRepository.findById(courseId).orElseThrow());
+        assertThat(reloaded.getName()).isEqualTo("Renamed");
+        assertThat(reloaded.getDepartment()).isEqualTo("Math");
+        assertThat(course.getTitle()).isEqualTo("Retitled");
+        assertThat(course.getCredits()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("saveWithTeacher/delete – cached course collection follows inserts and deletes")
+    void courseCollection_followsWrites() {
+        Teacher teacher = createTeacher("col", 2);
+        assertThat(courseCodesOf(teacher.getId())).containsExactly("col-0", "col-1");
+
+        Course added = courseService.saveWithTeacher(teacher.getId(), new Course(null, "Extra", "col-2", 3, null));
+        assertThat(courseCodesOf(teacher.getId())).containsExactly("col-0", "col-1", "col-2");
+
+        courseService.delete(added.getId());
+        assertThat(courseCodesOf(teacher.getId())).containsExactly("col-0", "col-1");
+        assertThat(inTransaction(() -> courseRepository.findById(added.getId()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("delete – deleted teacher is no longer returned from the cache")
+    void deleteTeacher_evicted() {
+        Teacher teacher = createTeacher("del", 1);
+        courseCodesOf(teacher.getId());
+
+        teacherService.delete(teacher.getId());
+
+        assertThat(inTransaction(() -> teacherRepository.findById(teacher.getId()))).isEmpty();
+        assertThat(courseRepository.findByTeacherId(teacher.getId())).isEmpty();
+    }
+
+    // ─── round trips on a read-heavy mix ─────────────────────────────────────
+
+    @Test
+    @DisplayName("read-heavy mix – the cache removes most database round trips")
+    void readHeavyMix_savesRoundTrips() {
+        List<Long> teacherIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            teacherIds.add(createTeacher("mix" + i, 5).getId());
+        }
+        List<Long> courseIds = courseRepository.findAll().stream().map(Course::getId).toList();
+
+        long uncached = statementsFor(() -> runMix(teacherIds, courseIds, false, "a"));
+        long cached = statementsFor(() -> runMix(teacherIds, courseIds, true, "b"));
+
+        assertThat(cached).isLessThan(uncached / 3);
+    }
+
+    private static final int MIX_OPERATIONS = 2_000;
+    private static final String RETRIEVE_MODE = "jakarta.persistence.cache.retrieveMode";
+    private static final String STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    /**
+     * 45% teacher page views (teacher plus its courses), 30% course lookups,
+     * 15% student enrolments under a teacher and 10% course edits. Every
+     * operation runs in its own transaction, as a request would.
+     */
+    private void runMix(List<Long> teacherIds, List<Long> courseIds, boolean useCache, String tag) {
+        Random random = new Random(42);
+        for (int i = 0; i < MIX_OPERATIONS; i++) {
+            int roll = random.nextInt(100);
+            Long teacherId = teacherIds.get(random.nextInt(teacherIds.size()));
+            Long courseId = courseIds.get(random.nextInt(courseIds.size()));
+            int n = i;
+            tx.executeWithoutResult(status -> {
+                if (!useCache) {
+                    entityManager.setProperty(RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+                    entityManager.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+                }
+                if (roll < 45) {
+                    teacherRepository.findById(teacherId).orElseThrow().getCourses().size();
+                } else if (roll < 75) {
+                    courseRepository.findById(courseId).orElseThrow();
+                } else if (roll < 90) {
+                    studentService.saveWithTeacher(teacherId,
+                            new Student(null, "Student " + n, tag + n + "@mix.com", tag + "-M" + n, null));
+                } else {
+                    Course course = courseRepository.findById(courseId).orElseThrow();
+                    courseService.update(courseId, new Course(null, course.getTitle(), course.getCourseCode(),
+                            course.getCredits() % 5 + 1, null));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.sepm_assignment.registration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SeatCounterTest {
+
+    @Test
+    @DisplayName("tryReserve – reserves until enrolled and reserved seats reach the capacity")
+    void tryReserve_stopsAtCapacity() {
+        SeatCounter counter = new SeatCounter(3, 1);
+
+        assertThat(counter.tryReserve()).isTrue();
+        assertThat(counter.tryReserve()).isTrue();
+        assertThat(counter.tryReserve()).isFalse();
+        assertThat(counter.available()).isZero();
+    }
+
+    @Test
+    @DisplayName("tryReserve – a course without capacity never fills up")
+    void tryReserve_unlimited() {
+        SeatCounter counter = new SeatCounter(null, Integer.MAX_VALUE - 1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(counter.tryReserve()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("settle – takes the database count and keeps the reservations not yet written")
+    void settle_reconciles() {
+        SeatCounter counter = new SeatCounter(10, 0);
+        for (int i = 0; i < 5; i++) {
+            counter.tryReserve();
+        }
+
+        // three of the five were written, and somebody else took two seats meanwhile
+        counter.settle(10, 5, 3);
+        assertThat(counter.available()).isEqualTo(3);
+
+        counter.settle(6, 5, 0);
+        assertThat(counter.available()).isZero();
+        assertThat(counter.tryReserve()).isFalse();
+
+        counter.settle(null, 8, 2);
+        assertThat(counter.tryReserve()).isTrue();
+    }
+
+    @Test
+    @DisplayName("tryReserve – concurrent reservations never exceed the capacity")
+    void tryReserve_concurrent() throws Exception {
+        int capacity = 500;
+        int threads = 16;
+        SeatCounter counter = new SeatCounter(capacity, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> reserved = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                reserved.add(executor.submit(() -> {
+                    start.await();
+                    int seats = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (counter.tryReserve()) {
+                            seats++;
+                        }
+                    }
+                    return seats;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> seats : reserved) {
+                total += seats.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(total).isEqualTo(capacity);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
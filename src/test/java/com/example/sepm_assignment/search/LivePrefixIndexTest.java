@@ -0,0 +1,91 @@
+package com.example.sepm_assignment.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LivePrefixIndexTest {
+
+    // helpers
+    private static LivePrefixIndex loaded(int compactAt, String... keys) {
+        LivePrefixIndex index = new LivePrefixIndex(compactAt);
+        index.rebuild(() -> {
+            PrefixIndex.Builder builder = PrefixIndex.builder();
+            for (int i = 0; i < keys.length; i++) {
+                builder.add(i + 1, keys[i]);
+            }
+            return builder.build();
+        });
+        return index;
+    }
+
+    private static List<String> keys(LivePrefixIndex index, String prefix) {
+        return index.find(prefix, 100).stream().map(PrefixIndex.Entry::key).toList();
+    }
+
+    private static Map<Long, String> change(long id, String key) {
+        Map<Long, String> change = new HashMap<>();
+        change.put(id, key);
+        return change;
+    }
+
+    @Test
+    @DisplayName("apply – pending changes are merged into lookups in key order")
+    void apply_mergesOverlay() {
+        LivePrefixIndex index = loaded(100, "S001", "S003", "S005");
+
+        index.apply(change(9L, "S002"));
+        index.apply(change(3L, "S004"));
+        index.apply(change(1L, null));
+
+        assertThat(keys(index, "s00")).containsExactly("S002", "S003", "S004");
+        assertThat(index.find("S", 2)).extracting(PrefixIndex.Entry::id).containsExactly(9L, 2L);
+    }
+
+    @Test
+    @DisplayName("apply – folds the overlay into the base once it reaches the threshold")
+    void apply_compacts() {
+        LivePrefixIndex index = loaded(2, "S001");
+        long before = index.memoryBytes();
+
+        index.apply(change(2L, "S002"));
+        assertThat(index.memoryBytes()).isEqualTo(before);
+
+        index.apply(change(3L, "S003"));
+        assertThat(index.memoryBytes()).isGreaterThan(before);
+        assertThat(keys(index, "S")).containsExactly("S001", "S002", "S003");
+    }
+
+    @Test
+    @DisplayName("rebuild – keeps serving the old contents while loading and replays changes made meanwhile")
+    void rebuild_replaysConcurrentChanges() {
+        LivePrefixIndex index = loaded(100, "OLD1");
+
+        index.rebuild(() -> {
+            assertThat(keys(index, "")).containsExactly("OLD1");
+            index.apply(change(7L, "NEW7"));
+            index.apply(change(2L, null));
+            return PrefixIndex.builder().add(1, "NEW1").add(2, "NEW2").build();
+        });
+
+        assertThat(keys(index, "")).containsExactly("NEW1", "NEW7");
+    }
+
+    @Test
+    @DisplayName("rebuild – a failed load leaves the contents and later changes intact")
+    void rebuild_failedLoad() {
+        LivePrefixIndex index = loaded(100, "S001");
+
+        assertThatThrownBy(() -> index.rebuild(() -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+        index.apply(change(2L, "S002"));
+
+        assertThat(keys(index, "S")).containsExactly("S001", "S002");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.sepm_assignment.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    private static PrefixIndex courses() {
+        return PrefixIndex.builder()
+                .add(3, "MATH201")
+                .add(1, "cs101")
+                .add(2, "CS102")
+                .add(4, "CS2")
+                .add(5, "PHYS100")
+                .build();
+    }
+
+    @Test
+    @DisplayName("find – keys starting with the prefix in key order, ignoring ASCII case")
+    void find_ignoresCase() {
+        assertThat(courses().find("cs1", 10)).containsExactly(
+                new PrefixIndex.Entry(1, "cs101"), new PrefixIndex.Entry(2, "CS102"));
+        assertThat(courses().find("Cs", 10)).extracting(PrefixIndex.Entry::id).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    @DisplayName("find – stops at the limit; an empty prefix matches everything")
+    void find_limit() {
+        assertThat(courses().find("", 2)).extracting(PrefixIndex.Entry::key).containsExactly("cs101", "CS102");
+        assertThat(courses().find("", 10)).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("find – prefixes before, between and after all keys match nothing")
+    void find_noMatch() {
+        assertThat(courses().find("A", 10)).isEmpty();
+        assertThat(courses().find("CS3", 10)).isEmpty();
+        assertThat(courses().find("ZZ", 10)).isEmpty();
+        assertThat(courses().find("CS1010", 10)).isEmpty();
+        assertThat(PrefixIndex.EMPTY.find("CS", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("find – non-ASCII keys round-trip and match by their UTF-8 prefix")
+    void find_utf8() {
+        PrefixIndex index = PrefixIndex.builder().add(1, "ÜBUNG-1").add(2, "UBUNG-2").build();
+
+        assertThat(index.find("Ü", 10)).containsExactly(new PrefixIndex.Entry(1, "ÜBUNG-1"));
+        assertThat(index.find("ub", 10)).containsExactly(new PrefixIndex.Entry(2, "UBUNG-2"));
+    }
+
+    @Test
+    @DisplayName("withChanges – inserts, re-keys and removes by id and keeps the rest in order")
+    void withChanges_mergesInOrder() {
+        Map<Long, String> changes = new HashMap<>();
+        changes.put(6L, "CS150");
+        changes.put(1L, "BIO101");
+        changes.put(5L, null);
+
+        PrefixIndex changed = courses().withChanges(changes);
+
+        assertThat(changed.find("", 10)).extracting(PrefixIndex.Entry::key)
+                .containsExactly("BIO101", "CS102", "CS150", "CS2", "MATH201");
+        assertThat(changed.find("cs1", 10)).extracting(PrefixIndex.Entry::id).containsExactly(2L, 6L);
+        assertThat(courses().find("", 10)).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("memoryBytes – about twelve bytes per key on top of the encoded key")
+    void memoryBytes_perKey() {
+        PrefixIndex.Builder builder = PrefixIndex.builder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.add(i, String.format("S%07d", i));
+        }
+        PrefixIndex index = builder.build();
+
+        assertThat(index.size()).isEqualTo(100_000);
+        assertThat((double) index.memoryBytes() / index.size()).isCloseTo(20.0, within(0.01));
+        assertThat(index.find("s000012", 20)).extracting(PrefixIndex.Entry::key)
+                .startsWith("S0000120").hasSize(10);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.sepm_assignment.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TrigramsTest {
+
+    @Test
+    @DisplayName("of – pads each lower-cased word with two spaces in front and one behind")
+    void of_padsWords() {
+        assertThat(Trigrams.of("Word")).containsExactly("  w", " wo", "wor", "ord", "rd ");
+        assertThat(Trigrams.of("a")).containsExactly("  a", " a ");
+    }
+
+    @Test
+    @DisplayName("of – splits words at non-alphanumeric characters")
+    void of_splitsAtPunctuation() {
+        assertThat(Trigrams.of("a.b@c")).containsExactly("  a", " a ", "  b", " b ", "  c", " c ");
+        assertThat(Trigrams.of(" -- ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("wordSimilarity – matches the pg_trgm documentation example")
+    void wordSimilarity_documentationExample() {
+        assertThat(Trigrams.wordSimilarity("word", "two words")).isCloseTo(0.8, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("wordSimilarity – scores against the best extent, ignoring case, other words and word order")
+    void wordSimilarity_prefix() {
+        assertThat(Trigrams.wordSimilarity("alic", "Alice Johnson")).isCloseTo(0.8, within(1e-6));
+        assertThat(Trigrams.wordSimilarity("JOHNSON", "Alice Johnson")).isEqualTo(1.0);
+        assertThat(Trigrams.wordSimilarity("alice johnson", "Johnson, Alice")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("wordSimilarity – unrelated text, nulls and queries without trigrams score 0")
+    void wordSimilarity_noMatch() {
+        assertThat(Trigrams.wordSimilarity("xyz", "Alice Johnson")).isZero();
+        assertThat(Trigrams.wordSimilarity(null, "Alice")).isZero();
+        assertThat(Trigrams.wordSimilarity("--", "Alice")).isZero();
+    }
+
+    @Test
+    @DisplayName("wordSimilarity – a one-letter typo stays above the <% threshold in a long enough word")
+    void wordSimilarity_typo() {
+        assertThat(Trigrams.wordSimilarity("jonhson", "alice.johnson@school.com"))
+                .isLessThan(Trigrams.WORD_SIMILARITY_THRESHOLD);
+        assertThat(Trigrams.wordSimilarity("johnsen", "Alice Johnson"))
+                .isGreaterThanOrEqualTo(Trigrams.WORD_SIMILARITY_THRESHOLD);
+    }
+}
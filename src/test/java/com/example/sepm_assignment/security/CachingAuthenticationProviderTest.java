@@ -0,0 +1,138 @@
+package com.example.sepm_assignment.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CachingAuthenticationProviderTest {
+
+    private PasswordEncoder passwordEncoder;
+    private InMemoryUserDetailsManager userDetailsManager;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = spy(new BCryptPasswordEncoder(4));
+        userDetailsManager = new InMemoryUserDetailsManager(
+                User.builder()
+                        .username("user")
+                        .password(passwordEncoder.encode("userpass"))
+                        .roles("USER")
+                        .build());
+        provider = new CachingAuthenticationProvider(userDetailsManager, passwordEncoder, 100, Duration.ofMinutes(5));
+    }
+
+    private Authentication basic(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+
+    // ─── authenticate ────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("authenticate – verifies the password hash only once for repeated requests")
+    void authenticate_repeatedCredentials_hashOnce() {
+        for (int i = 0; i < 10; i++) {
+            Authentication result = provider.authenticate(basic("user", "userpass"));
+            assertThat(result.isAuthenticated()).isTrue();
+            assertThat(result.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        }
+
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+        assertThat(provider.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("authenticate – a maximum size of 0 verifies the password hash on every request")
+    void authenticate_cacheOff_hashEveryTime() {
+        CachingAuthenticationProvider uncached = new CachingAuthenticationProvider(userDetailsManager, passwordEncoder,
+                0, Duration.ofMinutes(5));
+        for (int i = 0; i < 3; i++) {
+            assertThat(uncached.authenticate(basic("user", "userpass")).isAuthenticated()).isTrue();
+        }
+
+        verify(passwordEncoder, times(3)).matches(anyString(), anyString());
+        assertThat(uncached.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("authenticate – wrong password is never served from the cache")
+    void authenticate_wrongPassword_rejected() {
+        provider.authenticate(basic("user", "userpass"));
+
+        assertThatThrownBy(() -> provider.authenticate(basic("user", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(basic("user", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+
+        verify(passwordEncoder, times(3)).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("authenticate – password change invalidates the cached verification")
+    void authenticate_passwordChanged_reverifies() {
+        provider.authenticate(basic("user", "userpass"));
+
+        userDetailsManager.updateUser(User.builder()
+                .username("user")
+                .password(passwordEncoder.encode("newpass"))
+                .roles("USER")
+                .build());
+
+        assertThatThrownBy(() -> provider.authenticate(basic("user", "userpass")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(provider.authenticate(basic("user", "newpass")).isAuthenticated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("authenticate – role change is reflected instead of the cached authorities")
+    void authenticate_rolesChanged_reverifies() {
+        provider.authenticate(basic("user", "userpass"));
+        String encoded = userDetailsManager.loadUserByUsername("user").getPassword();
+
+        userDetailsManager.updateUser(User.withUsername("user").password(encoded).roles("USER", "ADMIN").build());
+
+        Authentication result = provider.authenticate(basic("user", "userpass"));
+        assertThat(result.getAuthorities()).extracting("authority")
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        verify(passwordEncoder, times(2)).matches(any(), any());
+    }
+
+    @Test
+    @DisplayName("authenticate – deleted user is rejected even with a cached verification")
+    void authenticate_userDeleted_rejected() {
+        provider.authenticate(basic("user", "userpass"));
+
+        userDetailsManager.deleteUser("user");
+
+        assertThatThrownBy(() -> provider.authenticate(basic("user", "userpass")))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    // ─── invalidate ──────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("invalidate – removes every entry for the user")
+    void invalidate_removesEntries() {
+        provider.authenticate(basic("user", "userpass"));
+
+        provider.invalidate("user");
+
+        assertThat(provider.size()).isZero();
+        provider.authenticate(basic("user", "userpass"));
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+    }
+}
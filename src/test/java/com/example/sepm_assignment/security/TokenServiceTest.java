@@ -0,0 +1,122 @@
+package com.example.sepm_assignment.security;
+
+import com.example.sepm_assignment.dto.TokenResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-09-01T08:00:00Z");
+
+    private InMemoryUserDetailsManager userDetailsManager;
+    private UserDetails admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = User.withUsername("admin").password("{noop}adminpass").roles("ADMIN", "USER").build();
+        userDetailsManager = new InMemoryUserDetailsManager(admin);
+    }
+
+    private TokenService serviceAt(Instant instant) {
+        return new TokenService(userDetailsManager, "test-secret", Duration.ofMinutes(15), Duration.ofHours(8),
+                Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    // ─── issue / authenticate ────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("issue – access token authenticates with the user's authorities")
+    void issue_accessTokenAuthenticates() {
+        TokenService tokenService = serviceAt(NOW);
+        TokenResponse tokens = tokenService.issue(admin);
+
+        Optional<Authentication> result = tokenService.authenticate(tokens.accessToken());
+
+        assertThat(tokens.roles()).containsExactly("ADMIN", "USER");
+        assertThat(tokens.expiresIn()).isEqualTo(900);
+        assertThat(result).isPresent();
+        assertThat(result.get().getName()).isEqualTo("admin");
+        assertThat(result.get().getAuthorities()).extracting("authority")
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("authenticate – rejects expired access tokens")
+    void authenticate_expired() {
+        TokenResponse tokens = serviceAt(NOW).issue(admin);
+
+        assertThat(serviceAt(NOW.plus(Duration.ofMinutes(16))).authenticate(tokens.accessToken())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("authenticate – rejects tampered tokens and refresh tokens")
+    void authenticate_tamperedOrWrongType() {
+        TokenService tokenService = serviceAt(NOW);
+        TokenResponse tokens = tokenService.issue(admin);
+        String token = tokens.accessToken();
+        String tampered = (token.charAt(0) == 'A' ? 'B' : 'A') + token.substring(1);
+
+        assertThat(tokenService.authenticate(tampered)).isEmpty();
+        assertThat(tokenService.authenticate(tokens.refreshToken())).isEmpty();
+        assertThat(tokenService.authenticate("not-a-token")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("authenticate – rejects tokens signed with another secret")
+    void authenticate_otherSecret() {
+        TokenResponse tokens = serviceAt(NOW).issue(admin);
+        TokenService other = new TokenService(userDetailsManager, "other-secret", Duration.ofMinutes(15),
+                Duration.ofHours(8), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(other.authenticate(tokens.accessToken())).isEmpty();
+    }
+
+    // ─── refresh ─────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("refresh – issues a new pair after the access token expired")
+    void refresh_afterAccessExpiry() {
+        TokenResponse tokens = serviceAt(NOW).issue(admin);
+        TokenService later = serviceAt(NOW.plus(Duration.ofHours(1)));
+
+        Optional<TokenResponse> refreshed = later.refresh(tokens.refreshToken());
+
+        assertThat(refreshed).isPresent();
+        assertThat(later.authenticate(refreshed.get().accessToken())).isPresent();
+    }
+
+    @Test
+    @DisplayName("refresh – picks up role changes and rejects deleted users")
+    void refresh_reloadsUser() {
+        TokenResponse tokens = serviceAt(NOW).issue(admin);
+        userDetailsManager.updateUser(User.withUsername("admin").password("{noop}adminpass").roles("USER").build());
+
+        assertThat(serviceAt(NOW).refresh(tokens.refreshToken()))
+                .get().extracting(TokenResponse::roles).asList().containsExactly("USER");
+
+        userDetailsManager.deleteUser("admin");
+        assertThat(serviceAt(NOW).refresh(tokens.refreshToken())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("refresh – rejects access tokens and expired refresh tokens")
+    void refresh_invalid() {
+        TokenResponse tokens = serviceAt(NOW).issue(admin);
+
+        assertThat(serviceAt(NOW).refresh(tokens.accessToken())).isEmpty();
+        assertThat(serviceAt(NOW.plus(Duration.ofHours(9))).refresh(tokens.refreshToken())).isEmpty();
+    }
+}
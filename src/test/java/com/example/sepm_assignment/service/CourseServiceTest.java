@@ -1,5 +1,7 @@
 package com.example.sepm_assignment.service;
 
+import com.example.sepm_assignment.dto.CourseDto;
+import com.example.sepm_assignment.dto.CoursePatch;
 import com.example.sepm_assignment.model.Course;
 import com.example.sepm_assignment.model.Teacher;
 import com.example.sepm_assignment.repository.CourseRepository;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +32,9 @@ class CourseServiceTest {
     @Mock
     private TeacherRepository teacherRepository;
 
+    @Mock
+    private RegistrationService registrationService;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -62,7 +68,7 @@ class CourseServiceTest {
     void findById_present() {
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
 
-        assertThat(courseService.findById(1L)).isPresent().contains(course);
+        assertThat(courseService.findById(1L)).contains(CourseDto.from(course));
     }
 
     @Test
@@ -148,6 +154,47 @@ class CourseServiceTest {
                 .hasMessageContaining("Course not found with id: 99");
     }
 
+    // ─── patch ───────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("patch – applies only the supplied fields and returns the new version")
+    void patch_valid() {
+        course.setVersion(2L);
+        Course flushed = new Course(1L, "Advanced Java", "CS101", 3, null, teacher, 3L, null);
+
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(courseRepository.saveAndFlush(course)).thenReturn(flushed);
+
+        long version = courseService.patch(1L, 2L, new CoursePatch("Advanced Java", null, null, null));
+
+        assertThat(version).isEqualTo(3L);
+        assertThat(course.getTitle()).isEqualTo("Advanced Java");
+        assertThat(course.getCourseCode()).isEqualTo("CS101");
+        assertThat(course.getCredits()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("patch – throws without writing when the version is stale")
+    void patch_staleVersion_throws() {
+        course.setVersion(5L);
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+
+        assertThatThrownBy(() -> courseService.patch(1L, 4L, new CoursePatch("Advanced Java", null, null, null)))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(course.getTitle()).isEqualTo("Java Basics");
+        verify(courseRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("patch – rejects an empty patch")
+    void patch_empty_throws() {
+        assertThatThrownBy(() -> courseService.patch(1L, 0L, new CoursePatch(null, null, null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(courseRepository);
+    }
+
     // ─── delete ──────────────────────────────────────────────────────────────
 
     @Test
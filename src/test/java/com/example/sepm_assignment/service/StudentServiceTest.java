@@ -1,16 +1,21 @@
 package com.example.sepm_assignment.service;
 
+import com.example.sepm_assignment.dto.BulkCreateResult;
+import com.example.sepm_assignment.dto.KeysetPage;
+import com.example.sepm_assignment.dto.StudentDto;
 import com.example.sepm_assignment.model.Student;
 import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
 import com.example.sepm_assignment.repository.StudentRepository;
 import com.example.sepm_assignment.repository.TeacherRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,7 +34,27 @@ class StudentServiceTest {
     @Mock
     private TeacherRepository teacherRepository;
 
-    @InjectMocks
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityCacheEvictor cacheEvictor;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
+    @Mock
+    private ChangeFeed changeFeed;
+
+    @Mock
+    private SyncTracker syncTracker;
+
+    @Mock
+    private RegistrationService registrationService;
+
     private StudentService studentService;
 
     private Teacher teacher;
@@ -37,6 +62,8 @@ class StudentServiceTest {
 
     @BeforeEach
     void setUp() {
+        studentService = new StudentService(studentRepository, teacherRepository, enrollmentRepository, entityManager,
+                cacheEvictor, autocompleteIndex, changeFeed, syncTracker, registrationService, 2);
         teacher = new Teacher(1L, "John Doe", "john@school.com", "Computer Science",
                 new ArrayList<>(), new ArrayList<>());
         student = new Student(1L, "Alice Smith", "alice@school.com", "S001", teacher);
@@ -55,6 +82,31 @@ class StudentServiceTest {
         verify(studentRepository).findAll();
     }
 
+    // ─── findPage ────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("findPage – fetches one extra row and returns the last id as cursor")
+    void findPage_hasMore() {
+        Student second = new Student(2L, "Bob Jones", "bob@school.com", "S002", teacher);
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(student, second));
+
+        KeysetPage<Student> page = studentService.findPage(0L, 1);
+
+        assertThat(page.items()).containsExactly(student);
+        assertThat(page.nextCursor()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("findPage – returns no cursor on the last page")
+    void findPage_lastPage() {
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(List.of(student));
+
+        KeysetPage<Student> page = studentService.findPage(0L, 2);
+
+        assertThat(page.items()).containsExactly(student);
+        assertThat(page.nextCursor()).isNull();
+    }
+
     // ─── findById ────────────────────────────────────────────────────────────
 
     @Test
@@ -62,7 +114,7 @@ class StudentServiceTest {
     void findById_present() {
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
 
-        assertThat(studentService.findById(1L)).isPresent().contains(student);
+        assertThat(studentService.findById(1L)).contains(StudentDto.from(student));
     }
 
     @Test
@@ -120,6 +172,88 @@ class StudentServiceTest {
         verify(studentRepository, never()).save(any());
     }
 
+    // ─── saveAllWithTeacher ──────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("saveAllWithTeacher – persists valid rows and reports invalid ones by index")
+    void saveAllWithTeacher_reportsRowErrors() {
+        List<Student> input = List.of(
+                new Student(null, "Alice", "alice@school.com", "S001", null),
+                new Student(null, "Bob", "taken@school.com", "S002", null),
+                new Student(null, "Carol", "alice@school.com", "S003", null),
+                new Student(null, "", "dan@school.com", "S004", null),
+                new Student(null, "Eve", "eve@school.com", "S005", null));
+
+        when(teacherRepository.existsById(1L)).thenReturn(true);
+        when(studentRepository.findTaken(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{"taken@school.com", "S900"}));
+        when(entityManager.getReference(Teacher.class, 1L)).thenReturn(teacher);
+
+        BulkCreateResult result = studentService.saveAllWithTeacher(1L, input);
+
+        assertThat(result.requested()).isEqualTo(5);
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.errors()).extracting("index").containsExactly(1, 2, 3);
+        assertThat(result.errors()).extracting("reason")
+                .containsExactly("email already exists", "duplicate email in request", "name is required");
+        verify(entityManager).persist(input.get(0));
+        verify(entityManager).persist(input.get(4));
+        verify(entityManager, times(2)).persist(any());
+        assertThat(input.get(0).getTeacher()).isEqualTo(teacher);
+    }
+
+    @Test
+    @DisplayName("saveAllWithTeacher – reports studentIds already stored or repeated in the request")
+    void saveAllWithTeacher_reportsStudentIdConflicts() {
+        List<Student> input = List.of(
+                new Student(null, "Alice", "alice@school.com", "S001", null),
+                new Student(null, "Bob", "bob@school.com", "TAKEN", null),
+                new Student(null, "Carol", "carol@school.com", "S001", null),
+                new Student(null, "Dan", "dan@school.com", "S004", null));
+
+        when(teacherRepository.existsById(1L)).thenReturn(true);
+        when(studentRepository.findTaken(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{"other@school.com", "TAKEN"}));
+        when(entityManager.getReference(Teacher.class, 1L)).thenReturn(teacher);
+
+        BulkCreateResult result = studentService.saveAllWithTeacher(1L, input);
+
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.errors()).extracting("index").containsExactly(1, 2);
+        assertThat(result.errors()).extracting("reason")
+                .containsExactly("studentId already exists", "duplicate studentId in request");
+        verify(entityManager).persist(input.get(0));
+        verify(entityManager).persist(input.get(3));
+        verify(entityManager, times(2)).persist(any());
+    }
+
+    @Test
+    @DisplayName("saveAllWithTeacher – flushes and clears after every batch")
+    void saveAllWithTeacher_flushesPerBatch() {
+        List<Student> input = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            input.add(new Student(null, "Student " + i, "s" + i + "@school.com", "S" + i, null));
+        }
+        when(teacherRepository.existsById(1L)).thenReturn(true);
+
+        studentService.saveAllWithTeacher(1L, input);
+
+        // batch size 2: after rows 2 and 4, then once more for the tail
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    @DisplayName("saveAllWithTeacher – throws when teacher does not exist")
+    void saveAllWithTeacher_invalidTeacher_throws() {
+        when(teacherRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> studentService.saveAllWithTeacher(99L, List.of(student)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Teacher not found with id: 99");
+        verify(entityManager, never()).persist(any());
+    }
+
     // ─── update ──────────────────────────────────────────────────────────────
 
     @Test
@@ -157,4 +291,16 @@ class StudentServiceTest {
 
         verify(studentRepository).deleteById(1L);
     }
+
+    @Test
+    @DisplayName("delete – hands the seats of capacity-limited courses to their waitlists")
+    void delete_freesCappedSeats() {
+        when(enrollmentRepository.findCappedCourseIdsByStudentId(1L)).thenReturn(List.of(7L, 9L));
+
+        studentService.delete(1L);
+
+        verify(studentRepository).deleteById(1L);
+        verify(registrationService).seatsFreed(7L);
+        verify(registrationService).seatsFreed(9L);
+    }
 }
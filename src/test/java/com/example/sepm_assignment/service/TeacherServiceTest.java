@@ -1,6 +1,14 @@
 package com.example.sepm_assignment.service;
 
+import com.example.sepm_assignment.dto.StudentDto;
+import com.example.sepm_assignment.dto.TeacherDto;
+import com.example.sepm_assignment.dto.TeacherPatch;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Student;
 import com.example.sepm_assignment.model.Teacher;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.StudentRepository;
 import com.example.sepm_assignment.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,12 +17,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +33,18 @@ class TeacherServiceTest {
     @Mock
     private TeacherRepository teacherRepository;
 
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private RegistrationService registrationService;
+
     @InjectMocks
     private TeacherService teacherService;
 
@@ -47,14 +69,55 @@ class TeacherServiceTest {
         verify(teacherRepository).findAll();
     }
 
+    // ─── findAllWithRelations ────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("findAllWithRelations – attaches students and courses from one batch query each")
+    void findAllWithRelations_batchesRelations() {
+        Teacher other = new Teacher(2L, "Jane Doe", "jane@school.com", "Mathematics",
+                new ArrayList<>(), new ArrayList<>());
+        Student student = new Student(10L, "Alice Smith", "alice@school.com", "S001", teacher);
+        Course course = new Course(20L, "Calculus", "MA101", 4, other);
+
+        when(teacherRepository.findAll()).thenReturn(List.of(teacher, other));
+        when(studentRepository.findByTeacherIdInOrderByIdAsc(List.of(1L, 2L))).thenReturn(List.of(student));
+        when(courseRepository.findByTeacherIdInOrderByIdAsc(List.of(1L, 2L))).thenReturn(List.of(course));
+
+        List<TeacherDto> result = teacherService.findAllWithRelations();
+
+        assertThat(result).extracting(TeacherDto::name).containsExactly("John Doe", "Jane Doe");
+        assertThat(result.get(0).students()).extracting("studentId").containsExactly("S001");
+        assertThat(result.get(0).courses()).isEmpty();
+        assertThat(result.get(1).students()).isEmpty();
+        assertThat(result.get(1).courses()).extracting("courseCode").containsExactly("MA101");
+        verify(studentRepository, times(1)).findByTeacherIdInOrderByIdAsc(any());
+        verify(courseRepository, times(1)).findByTeacherIdInOrderByIdAsc(any());
+    }
+
+    @Test
+    @DisplayName("findAllWithRelations – skips relation queries when there are no teachers")
+    void findAllWithRelations_empty() {
+        when(teacherRepository.findAll()).thenReturn(List.of());
+
+        assertThat(teacherService.findAllWithRelations()).isEmpty();
+        verifyNoInteractions(studentRepository, courseRepository);
+    }
+
     // ─── findById ────────────────────────────────────────────────────────────
 
     @Test
-    @DisplayName("findById – returns Optional with teacher when ID exists")
+    @DisplayName("findById – returns the teacher with its students and courses when ID exists")
     void findById_present() {
+        Student student = new Student(10L, "Alice Smith", "alice@school.com", "S001", teacher);
         when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher));
+        when(studentRepository.findByTeacherIdInOrderByIdAsc(List.of(1L))).thenReturn(List.of(student));
+
+        Optional<TeacherDto> result = teacherService.findById(1L);
 
-        assertThat(teacherService.findById(1L)).isPresent().contains(teacher);
+        assertThat(result).isPresent();
+        assertThat(result.get().name()).isEqualTo("John Doe");
+        assertThat(result.get().students()).containsExactly(StudentDto.from(student));
+        assertThat(result.get().courses()).isEmpty();
     }
 
     @Test
@@ -126,6 +189,46 @@ class TeacherServiceTest {
                 .hasMessageContaining("Teacher not found with id: 99");
     }
 
+    // ─── patch ───────────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("patch – applies only the supplied fields and returns the new version")
+    void patch_valid() {
+        teacher.setVersion(0L);
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher));
+        when(teacherRepository.saveAndFlush(teacher)).thenAnswer(invocation -> {
+            teacher.setVersion(1L);
+            return teacher;
+        });
+
+        long version = teacherService.patch(1L, 0L, new TeacherPatch(null, null, "Physics"));
+
+        assertThat(version).isEqualTo(1L);
+        assertThat(teacher.getDepartment()).isEqualTo("Physics");
+        assertThat(teacher.getName()).isEqualTo("John Doe");
+    }
+
+    @Test
+    @DisplayName("patch – missing teacher fails the precondition")
+    void patch_missing_throws() {
+        when(teacherRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> teacherService.patch(99L, 0L, new TeacherPatch("Jane", null, null)))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    @DisplayName("patch – rejects blank values")
+    void patch_blank_throws() {
+        teacher.setVersion(0L);
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher));
+
+        assertThatThrownBy(() -> teacherService.patch(1L, 0L, new TeacherPatch(" ", null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(teacherRepository, never()).saveAndFlush(any());
+    }
+
     // ─── delete ──────────────────────────────────────────────────────────────
 
     @Test